@@ -1,5 +1,6 @@
 function fn() {
     var config = {};
-    config.demoBaseUrl = 'http://localhost:8080';
+    // The load test points the journeys at the app it started
+    config.demoBaseUrl = karate.properties['demoBaseUrl'] || 'http://localhost:8080';
     return config;
 }
@@ -0,0 +1,104 @@
+package com.gen.example.officelibrary.load;
+
+import com.intuit.karate.PerfHook;
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.core.PerfEvent;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.http.HttpRequest;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the HTTP calls Karate makes while replaying the journeys, per endpoint: a latency
+ * histogram and the number of calls whose step failed. Endpoints are named by method and path,
+ * with ids and emails in the path replaced by placeholders, so every book's
+ * {@code GET /api/books/{id}} lands in the same histogram.
+ */
+class EndpointLatencies implements PerfHook {
+
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(?=/|$)");
+    private static final Pattern EMAIL_SEGMENT = Pattern.compile("/[^/]+@[^/]+(?=/|$)");
+    private static final Pattern ISBN_SEGMENT = Pattern.compile("/isbn/[^/]+");
+
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong journeys = new AtomicLong();
+    private final AtomicLong failedJourneys = new AtomicLong();
+
+    @Override
+    public String getPerfEventName(HttpRequest request, ScenarioRuntime scenario) {
+        String path = URI.create(request.getUrl()).getPath();
+        path = UUID_SEGMENT.matcher(path).replaceAll("/{id}");
+        path = EMAIL_SEGMENT.matcher(path).replaceAll("/{email}");
+        path = ISBN_SEGMENT.matcher(path).replaceAll("/isbn/{isbn}");
+        return request.getMethod() + " " + path;
+    }
+
+    @Override
+    public void reportPerfEvent(PerfEvent event) {
+        Endpoint endpoint = endpoints.computeIfAbsent(event.getName(), name -> new Endpoint());
+        endpoint.latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MILLIS, event.getEndTime() - event.getStartTime()));
+        if (event.isFailed()) {
+            endpoint.failures.incrementAndGet();
+        }
+    }
+
+    // Journeys run on the virtual user's own thread
+    @Override
+    public void submit(Runnable journey) {
+        journey.run();
+    }
+
+    @Override
+    public void afterFeature(FeatureResult result) {
+        journeys.incrementAndGet();
+        if (result.isFailed()) {
+            failedJourneys.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void pause(Number millis) {
+        try {
+            Thread.sleep(millis.longValue());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Map<String, Endpoint> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    long journeys() {
+        return journeys.get();
+    }
+
+    long failedJourneys() {
+        return failedJourneys.get();
+    }
+
+    static class Endpoint {
+
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MILLIS, 3);
+        final AtomicLong failures = new AtomicLong();
+
+        long calls() {
+            return latencies.getTotalCount();
+        }
+
+        double errorRate() {
+            return calls() == 0 ? 0 : (double) failures.get() / calls();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.gen.example.officelibrary.load;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gen.example.officelibrary.OfficeLibraryAppApplication;
+import com.gen.example.officelibrary.shared.dataset.LibraryDataset;
+import com.intuit.karate.Runner;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays the Karate journeys ({@code author.feature} and {@code library.feature}) with concurrent
+ * virtual users and reports throughput, error rate and latency percentiles per endpoint. Each user
+ * starts after its share of the ramp-up and runs the journeys one after the other until the
+ * duration is over. The application is started in-process on a random port unless
+ * {@code load.base-url} points at a running one.
+ *
+ * <p>Run with {@code ./gradlew loadTest}; {@code -Pload.users}, {@code -Pload.ramp-up-seconds},
+ * {@code -Pload.duration-seconds} and {@code -Pload.features} shape the load. The run fails when
+ * an endpoint's error rate exceeds {@code -Pload.max-error-rate}, or, if set, its p99 latency
+ * exceeds {@code -Pload.max-p99-ms}. The summary and an HDR percentile distribution per endpoint
+ * are written to {@code build/reports/load}.
+ *
+ * <p>With {@code -Pload.dataset=true} the in-process application first gets a synthetic library,
+ * shaped by {@code -Pload.dataset.books}, {@code -Pload.dataset.loans} and the other
+ * {@link LibraryDataset.Spec} components, so the journeys run against realistic table sizes. The
+ * dataset is written right after the Flyway migration, so the in-memory indexes load it at startup.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final int USERS = Integer.getInteger("load.users", 8);
+    private static final long RAMP_UP_SECONDS = Long.getLong("load.ramp-up-seconds", 10);
+    private static final long DURATION_SECONDS = Long.getLong("load.duration-seconds", 60);
+    private static final List<String> FEATURES =
+            Arrays.asList(System.getProperty("load.features", "author,library").split(","));
+    private static final String BASE_URL = System.getProperty("load.base-url");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private static final long MAX_P99_MS = Long.getLong("load.max-p99-ms", 0);
+    private static final boolean DATASET = Boolean.getBoolean("load.dataset");
+
+    private static final Path REPORTS = Path.of("build/reports/load");
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Karate logs every request and response at debug level
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.intuit.karate")).setLevel(Level.WARN);
+
+        List<String> violations;
+        if (BASE_URL != null) {
+            violations = run(BASE_URL);
+        } else {
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(OfficeLibraryAppApplication.class);
+            if (DATASET) {
+                builder.initializers(context -> context.getBeanFactory()
+                        .registerSingleton("loadDatasetMigration", seedingMigration()));
+            }
+            try (ConfigurableApplicationContext app = builder.run("--server.port=0", "--spring.jpa.show-sql=false")) {
+                violations = run("http://localhost:" + app.getEnvironment().getProperty("local.server.port"));
+            }
+        }
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> log.error("Load test gate failed: {}", violation));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Migrates the schema and writes the synthetic library straight after, before any bean that
+     * loads tables into memory (indexes, counters, Bloom filters) is initialised or a request is
+     * served, so none of them has to be rebuilt.
+     */
+    private static FlywayMigrationStrategy seedingMigration() {
+        return flyway -> {
+            flyway.migrate();
+            LibraryDataset.plan(LibraryDataset.Spec.DEFAULT.withOverrides("load.dataset"))
+                    .writeTo(new JdbcTemplate(flyway.getConfiguration().getDataSource()));
+        };
+    }
+
+    private static List<String> run(String baseUrl) throws IOException, InterruptedException {
+        log.info("{} users against {}, ramping up over {} s, for {} s: {}", USERS, baseUrl, RAMP_UP_SECONDS,
+                DURATION_SECONDS, FEATURES);
+        EndpointLatencies latencies = new EndpointLatencies();
+        AtomicLong journeyIds = new AtomicLong(System.currentTimeMillis());
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        try (ExecutorService users = Executors.newFixedThreadPool(USERS)) {
+            for (int user = 0; user < USERS; user++) {
+                long startsAt = started + TimeUnit.SECONDS.toNanos(RAMP_UP_SECONDS) * user / USERS;
+                users.submit(() -> {
+                    TimeUnit.NANOSECONDS.sleep(startsAt - System.nanoTime());
+                    while (System.nanoTime() < deadline) {
+                        for (String feature : FEATURES) {
+                            Map<String, Object> journey = Map.of("uniqueId", journeyIds.incrementAndGet());
+                            Runner.callAsync(karate(baseUrl), "classpath:com/gen/example/officelibrary/" + feature
+                                    + ".feature", journey, latencies);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        return report(latencies, seconds);
+    }
+
+    private static Runner.Builder<?> karate(String baseUrl) {
+        return Runner.builder()
+                .systemProperty("demoBaseUrl", baseUrl)
+                .reportDir("build/karate-load")
+                .outputHtmlReport(false)
+                .outputCucumberJson(false)
+                .outputJunitXml(false)
+                .backupReportDir(false);
+    }
+
+    private static List<String> report(EndpointLatencies latencies, double seconds) throws IOException {
+        Files.createDirectories(REPORTS);
+        List<String> violations = new ArrayList<>();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long calls = 0;
+        long failures = 0;
+        log.info(String.format("%-52s %8s %8s %7s %8s %8s %8s %8s %8s", "endpoint", "calls", "req/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, EndpointLatencies.Endpoint> entry : latencies.endpoints().entrySet()) {
+            String name = entry.getKey();
+            EndpointLatencies.Endpoint endpoint = entry.getValue();
+            Histogram histogram = endpoint.latencies;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("calls", endpoint.calls());
+            summary.put("throughput", endpoint.calls() / seconds);
+            summary.put("errorRate", endpoint.errorRate());
+            for (double percentile : PERCENTILES) {
+                summary.put("p" + percentile + "Millis", histogram.getValueAtPercentile(percentile));
+            }
+            summary.put("maxMillis", histogram.getMaxValue());
+            endpoints.put(name, summary);
+            log.info(String.format("%-52s %8d %8.1f %6.2f%% %8d %8d %8d %8d %8d", name, endpoint.calls(),
+                    endpoint.calls() / seconds, endpoint.errorRate() * 100, histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+                    histogram.getValueAtPercentile(99.9), histogram.getMaxValue()));
+            try (PrintStream distribution = new PrintStream(REPORTS.resolve(fileName(name) + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(distribution, 1.0);
+            }
+            calls += endpoint.calls();
+            failures += endpoint.failures.get();
+            if (endpoint.errorRate() > MAX_ERROR_RATE) {
+                violations.add(String.format("%s failed %.2f%% of %d calls, more than %.2f%%", name,
+                        endpoint.errorRate() * 100, endpoint.calls(), MAX_ERROR_RATE * 100));
+            }
+            if (MAX_P99_MS > 0 && histogram.getValueAtPercentile(99) > MAX_P99_MS) {
+                violations.add(String.format("%s p99 is %d ms, more than %d ms", name,
+                        histogram.getValueAtPercentile(99), MAX_P99_MS));
+            }
+        }
+        log.info("{} calls in {} s, {} req/s, {} failed; {} journeys, {} failed", calls, String.format("%.1f", seconds),
+                String.format("%.1f", calls / seconds), failures, latencies.journeys(), latencies.failedJourneys());
+        if (calls == 0) {
+            violations.add("no requests were made");
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("users", USERS);
+        summary.put("rampUpSeconds", RAMP_UP_SECONDS);
+        summary.put("durationSeconds", DURATION_SECONDS);
+        summary.put("features", FEATURES);
+        summary.put("journeys", latencies.journeys());
+        summary.put("failedJourneys", latencies.failedJourneys());
+        summary.put("throughput", calls / seconds);
+        summary.put("errorRate", calls == 0 ? 0 : (double) failures / calls);
+        summary.put("endpoints", endpoints);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(REPORTS.resolve("summary.json").toFile(), summary);
+        return violations;
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9-]+", "_").replaceAll("^_|_$", "");
+    }
+}
\ No newline at end of file
@@ -4,7 +4,8 @@ Feature: Complete Author journey testing all Author endpoints
     * url demoBaseUrl
 
   Scenario: Complete Author CRUD journey
-    * def timestamp = new java.util.Date().getTime()
+    # The load test passes a unique id per journey, so concurrent journeys do not collide on emails
+    * def timestamp = karate.get('uniqueId', new java.util.Date().getTime())
     * def uniqueEmail1 = 'john.doe.' + timestamp + '@example.com'
     * def uniqueEmail2 = 'jane.smith.' + timestamp + '@example.com'
     
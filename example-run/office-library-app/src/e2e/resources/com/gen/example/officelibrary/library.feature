@@ -4,7 +4,8 @@ Feature: Complete Library journey testing all Book and Borrowing endpoints
     * url demoBaseUrl
 
   Scenario: Complete Library CRUD and Borrowing journey
-    * def timestamp = new java.util.Date().getTime()
+    # The load test passes a unique id per journey, so concurrent journeys do not collide on emails and ISBNs
+    * def timestamp = karate.get('uniqueId', new java.util.Date().getTime())
     * def uniqueAuthorEmail = 'test.author.' + timestamp + '@example.com'
     * def uniqueBorrowerEmail1 = 'john.borrower.' + timestamp + '@example.com'
     * def uniqueBorrowerEmail2 = 'another.borrower.' + timestamp + '@example.com'
@@ -113,11 +114,11 @@ Feature: Complete Library journey testing all Book and Borrowing endpoints
 
     # 7. Search books by ISBN
     Given path '/api/books/search'
-    And param query = '9781234567890'
+    And param query = uniqueIsbn1
     When method GET
     Then status 200
     And match response == '#array'
-    And match response[0].isbn == '9781234567890'
+    And match response[0].isbn == uniqueIsbn1
 
     # 8. Update book information
     Given path '/api/books', bookId
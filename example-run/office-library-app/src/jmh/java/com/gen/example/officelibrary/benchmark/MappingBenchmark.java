@@ -0,0 +1,41 @@
+package com.gen.example.officelibrary.benchmark;
+
+import com.gen.example.officelibrary.author.domain.AuthorDTO;
+import com.gen.example.officelibrary.library.domain.BookDTO;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a whole response list, as the services do before returning.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Benchmark
+    public List<AuthorDTO> authors(ResponseFixtures fixtures) {
+        return fixtures.authors.stream().map(fixtures.authorMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<BookDTO> books(ResponseFixtures fixtures) {
+        return fixtures.books.stream().map(fixtures.bookMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<BorrowingRecordDTO> borrowingRecords(ResponseFixtures fixtures) {
+        return fixtures.borrowingRecords.stream().map(fixtures.borrowingRecordMapper::toDto).toList();
+    }
+}
\ No newline at end of file
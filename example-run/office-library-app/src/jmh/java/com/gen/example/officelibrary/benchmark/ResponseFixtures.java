@@ -0,0 +1,92 @@
+package com.gen.example.officelibrary.benchmark;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.domain.AuthorDTO;
+import com.gen.example.officelibrary.author.domain.AuthorMapper;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookDTO;
+import com.gen.example.officelibrary.library.domain.BookMapper;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordDTO;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordMapper;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Response-sized lists of fully populated entities and their DTOs, the way the list endpoints hand
+ * them to the mappers and to Jackson. Every ten books share an author, and every book has one loan.
+ */
+@State(Scope.Benchmark)
+public class ResponseFixtures {
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    final AuthorMapper authorMapper = new AuthorMapper();
+    final BookMapper bookMapper = new BookMapper(authorMapper);
+    final BorrowingRecordMapper borrowingRecordMapper = new BorrowingRecordMapper(bookMapper);
+
+    List<Author> authors;
+    List<Book> books;
+    List<BorrowingRecord> borrowingRecords;
+
+    List<AuthorDTO> authorDtos;
+    List<BookDTO> bookDtos;
+    List<BorrowingRecordDTO> borrowingRecordDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        authors = new ArrayList<>(size);
+        books = new ArrayList<>(size);
+        borrowingRecords = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            authors.add(author(i, random));
+        }
+        for (int i = 0; i < size; i++) {
+            Book book = book(i, authors.get(i / 10), today.minusDays(random.nextInt(3_650)));
+            books.add(book);
+            borrowingRecords.add(borrowingRecord(i, book, today.minusDays(random.nextInt(30))));
+        }
+        authorDtos = authors.stream().map(authorMapper::toDto).toList();
+        bookDtos = books.stream().map(bookMapper::toDto).toList();
+        borrowingRecordDtos = borrowingRecords.stream().map(borrowingRecordMapper::toDto).toList();
+    }
+
+    private static Author author(int i, Random random) {
+        Author author = new Author("First" + i, "Last" + i, "Biography of author " + i + " ".repeat(40),
+                LocalDate.of(1940 + random.nextInt(60), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                "Nationality", "author" + i + "@example.com");
+        author.setId(new UUID(random.nextLong(), random.nextLong()));
+        author.setVersion(0L);
+        return author;
+    }
+
+    private static Book book(int i, Author author, LocalDate dateAdded) {
+        Book book = new Book(String.format("978%010d", i), "Book title number " + i, author, "Publisher " + i % 50,
+                1950 + i % 75, "Genre " + i % 20, BookStatus.BORROWED, dateAdded, "Shelf " + i % 200);
+        book.setId(new UUID(i, author.getId().getLeastSignificantBits()));
+        book.setVersion(1L);
+        return book;
+    }
+
+    private static BorrowingRecord borrowingRecord(int i, Book book, LocalDate borrowDate) {
+        BorrowingRecord record = new BorrowingRecord("Reader " + i, "reader" + i + "@example.com", borrowDate,
+                borrowDate.plusDays(14), BorrowingStatus.ACTIVE, "Notes for loan " + i, book);
+        record.setId(new UUID(book.getId().getMostSignificantBits(), i));
+        record.setVersion(0L);
+        return record;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.gen.example.officelibrary.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a mapped response list into the bytes written to the client, with an
+ * object mapper configured the way Spring Boot configures the one behind the controllers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Benchmark
+    public byte[] authors(ResponseFixtures fixtures) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fixtures.authorDtos);
+    }
+
+    @Benchmark
+    public byte[] books(ResponseFixtures fixtures) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fixtures.bookDtos);
+    }
+
+    @Benchmark
+    public byte[] borrowingRecords(ResponseFixtures fixtures) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fixtures.borrowingRecordDtos);
+    }
+}
\ No newline at end of file
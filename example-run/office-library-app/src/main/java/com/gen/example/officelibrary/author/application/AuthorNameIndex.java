@@ -0,0 +1,307 @@
+package com.gen.example.officelibrary.author.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.search.Ranking;
+import com.gen.example.officelibrary.shared.search.TextNormalizer;
+import com.gen.example.officelibrary.shared.transaction.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over author full names. Matches are ranked by trigram similarity (shared
+ * trigrams over the union of both sets) and include names that merely contain the query, or
+ * whose words are each within a small edit distance of a query word, so misspellings still
+ * find the author. Loaded before the application starts serving requests and kept current by
+ * {@link AuthorService}; changes apply after commit.
+ */
+@Component
+@Slf4j
+public class AuthorNameIndex implements SmartInitializingSingleton {
+
+    static final double SIMILARITY_THRESHOLD = 0.3;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // Rough per-object sizes on a 64-bit JVM with compressed oops, for the footprint gauge
+    private static final long BYTES_PER_TRIGRAM_KEY = 96;
+    private static final long BYTES_PER_POSTING = 48;
+    private static final long BYTES_PER_ENTRY = 160;
+
+    private final AuthorRepository authorRepository;
+    private final Timer rebuildTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+    private final Map<UUID, IndexedName> names = new HashMap<>();
+    private long postingCount;
+    private long nameChars;
+
+    public AuthorNameIndex(AuthorRepository authorRepository, MeterRegistry meterRegistry) {
+        this.authorRepository = authorRepository;
+        this.rebuildTimer = Timer.builder("authors.name.index.rebuild")
+                .description("Time to rebuild the author name trigram index from the database")
+                .register(meterRegistry);
+        Gauge.builder("authors.name.index.size", this, AuthorNameIndex::size)
+                .description("Authors in the name trigram index")
+                .register(meterRegistry);
+        Gauge.builder("authors.name.index.memory", this, AuthorNameIndex::estimatedMemoryBytes)
+                .description("Estimated heap used by the author name trigram index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every name. The write lock is held throughout, so changes committed meanwhile wait
+     * and are applied on top of the reloaded names instead of being overwritten by them. Each
+     * batch is read in its own transaction.
+     */
+    public void rebuild() {
+        rebuildTimer.record(() -> {
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                names.clear();
+                postingCount = 0;
+                nameChars = 0;
+                List<Author> batch = authorRepository.findByIdGreaterThanOrderByIdAsc(PageCursor.LOWEST_ID,
+                        Limit.of(REBUILD_BATCH_SIZE));
+                while (!batch.isEmpty()) {
+                    for (Author author : batch) {
+                        add(IndexedName.of(author));
+                    }
+                    UUID last = batch.get(batch.size() - 1).getId();
+                    batch = batch.size() < REBUILD_BATCH_SIZE ? List.of()
+                            : authorRepository.findByIdGreaterThanOrderByIdAsc(last, Limit.of(REBUILD_BATCH_SIZE));
+                }
+                log.info("Rebuilt author name index with {} authors and {} trigrams", names.size(), postings.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Adds or replaces the author's name once the current transaction commits.
+     */
+    public void index(Author author) {
+        IndexedName indexed = IndexedName.of(author);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeName(indexed.id);
+                add(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(UUID authorId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeName(authorId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Ids of the matching authors, most similar first (ties broken by id), resuming after the
+     * given author as described in {@link Ranking#resumeAfter}.
+     */
+    public List<UUID> search(String query, UUID after, int limit) {
+        String normalizedQuery = TextNormalizer.normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        Set<String> queryTrigrams = trigrams(normalizedQuery);
+        List<String> queryWords = TextNormalizer.tokenize(normalizedQuery);
+
+        Map<UUID, Double> matches = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            Map<UUID, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                for (UUID authorId : postings.getOrDefault(trigram, Set.of())) {
+                    shared.merge(authorId, 1, Integer::sum);
+                }
+            }
+            shared.forEach((authorId, count) -> {
+                IndexedName name = names.get(authorId);
+                double similarity = (double) count / (queryTrigrams.size() + name.trigrams.size() - count);
+                if (similarity >= SIMILARITY_THRESHOLD
+                        || name.normalized.contains(normalizedQuery)
+                        || withinEditDistance(queryWords, name.words)) {
+                    matches.put(authorId, similarity);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<UUID> ranked = matches.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        return Ranking.resumeAfter(ranked, after, limit);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.size() * BYTES_PER_TRIGRAM_KEY
+                    + postingCount * BYTES_PER_POSTING
+                    + names.size() * BYTES_PER_ENTRY
+                    + nameChars * 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Allowed typos grow with word length: one for short words, two from five letters on.
+     */
+    static int maxEditDistance(String word) {
+        return word.length() <= 4 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), giving up as
+     * soon as every alignment exceeds {@code max}. Returns {@code max + 1} in that case.
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static boolean withinEditDistance(List<String> queryWords, List<String> nameWords) {
+        for (String queryWord : queryWords) {
+            int max = maxEditDistance(queryWord);
+            boolean matched = nameWords.stream().anyMatch(word -> editDistance(queryWord, word, max) <= max);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Word trigrams padded like PostgreSQL's pg_trgm: two spaces before each word and one after,
+     * so short words and word starts still produce trigrams.
+     */
+    static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : TextNormalizer.tokenize(normalized)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private void add(IndexedName name) {
+        names.put(name.id, name);
+        nameChars += name.normalized.length();
+        for (String trigram : name.trigrams) {
+            postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(name.id);
+            postingCount++;
+        }
+    }
+
+    private void removeName(UUID authorId) {
+        IndexedName name = names.remove(authorId);
+        if (name == null) {
+            return;
+        }
+        nameChars -= name.normalized.length();
+        for (String trigram : name.trigrams) {
+            Set<UUID> ids = postings.get(trigram);
+            ids.remove(authorId);
+            postingCount--;
+            if (ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static final class IndexedName {
+
+        private final UUID id;
+        private final String normalized;
+        private final List<String> words;
+        private final Set<String> trigrams;
+
+        private IndexedName(UUID id, String fullName) {
+            this.id = id;
+            this.normalized = TextNormalizer.normalize(fullName);
+            this.words = TextNormalizer.tokenize(normalized);
+            this.trigrams = trigrams(normalized);
+        }
+
+        static IndexedName of(Author author) {
+            return new IndexedName(author.getId(), author.getFullName());
+        }
+    }
+}
\ No newline at end of file
@@ -2,13 +2,24 @@ package com.gen.example.officelibrary.author.application;
 
 import com.gen.example.officelibrary.author.domain.*;
 import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.application.BookCache;
+import com.gen.example.officelibrary.library.application.BookSearchIndex;
+import com.gen.example.officelibrary.library.application.BookSuggestionIndex;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.exception.PreconditionFailedException;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.persistence.UniqueConstraints;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,34 +29,49 @@ public class AuthorService {
 
     private final AuthorRepository authorRepository;
     private final AuthorMapper authorMapper;
+    private final AuthorNameIndex authorNameIndex;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final BookCache bookCache;
+    private final KnownAuthorEmails knownAuthorEmails;
 
-    public AuthorService(AuthorRepository authorRepository, AuthorMapper authorMapper) {
+    public AuthorService(AuthorRepository authorRepository, AuthorMapper authorMapper,
+                         AuthorNameIndex authorNameIndex, BookSearchIndex bookSearchIndex,
+                         BookSuggestionIndex bookSuggestionIndex, BookCache bookCache,
+                         KnownAuthorEmails knownAuthorEmails) {
         this.authorRepository = authorRepository;
         this.authorMapper = authorMapper;
+        this.authorNameIndex = authorNameIndex;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestionIndex = bookSuggestionIndex;
+        this.bookCache = bookCache;
+        this.knownAuthorEmails = knownAuthorEmails;
     }
 
     public AuthorDTO create(CreateAuthorRequest request) {
         log.info("Creating new author: {} {}", request.getFirstName(), request.getLastName());
         
-        // Check if email already exists
-        if (request.getEmail() != null && authorRepository.existsByEmail(request.getEmail())) {
-            throw new BusinessRuleException("Author with email " + request.getEmail() + " already exists");
+        // Probe for a duplicate only when the email might be known; the unique constraint has the final say
+        String duplicateEmail = "Author with email " + request.getEmail() + " already exists";
+        if (request.getEmail() != null && knownAuthorEmails.mightContain(request.getEmail()) &&
+            authorRepository.existsByEmail(request.getEmail())) {
+            throw new BusinessRuleException(duplicateEmail);
         }
         
         Author author = authorMapper.toEntity(request);
-        Author savedAuthor = authorRepository.save(author);
+        knownAuthorEmails.add(request.getEmail());
+        Author savedAuthor = UniqueConstraints.enforce(Author.EMAIL_CONSTRAINT, duplicateEmail,
+                () -> authorRepository.saveAndFlush(author));
+        authorNameIndex.index(savedAuthor);
         
         log.info("Successfully created author with id: {}", savedAuthor.getId());
         return authorMapper.toDto(savedAuthor);
     }
 
     @Transactional(readOnly = true)
-    public List<AuthorDTO> findAll() {
-        log.debug("Retrieving all authors");
-        return authorRepository.findAll()
-                .stream()
-                .map(authorMapper::toDto)
-                .collect(Collectors.toList());
+    public CursorPage<AuthorDTO> findAll(CursorRequest page) {
+        log.debug("Retrieving authors page after: {}", page.getAfter());
+        return toPage(authorRepository.findByIdGreaterThanOrderByIdAsc(page.ascendingId(), page.fetchLimit()), page);
     }
 
     @Transactional(readOnly = true)
@@ -57,38 +83,63 @@ public class AuthorService {
     }
 
     @Transactional(readOnly = true)
-    public List<AuthorDTO> searchByName(String searchTerm) {
+    public CursorPage<AuthorDTO> searchByName(String searchTerm, CursorRequest page) {
         log.debug("Searching authors by name: {}", searchTerm);
-        return authorRepository.searchByFullName(searchTerm)
-                .stream()
-                .map(authorMapper::toDto)
-                .collect(Collectors.toList());
+        UUID after = page.getAfter() != null ? page.getAfter().getId() : null;
+        List<UUID> rankedIds = authorNameIndex.search(searchTerm, after, page.getLimit() + 1);
+        if (rankedIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        
+        // Load by primary key and restore the index's ranking
+        Map<UUID, Author> authorsById = authorRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        List<Author> ranked = rankedIds.stream()
+                .map(authorsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return toPage(ranked, page);
     }
 
     @Transactional(readOnly = true)
-    public List<AuthorDTO> findByNationality(String nationality) {
+    public CursorPage<AuthorDTO> findByNationality(String nationality, CursorRequest page) {
         log.debug("Finding authors by nationality: {}", nationality);
-        return authorRepository.findByNationalityIgnoreCase(nationality)
-                .stream()
-                .map(authorMapper::toDto)
-                .collect(Collectors.toList());
+        return toPage(authorRepository.findByNationalityIgnoreCaseAndIdGreaterThanOrderByIdAsc(nationality,
+                page.ascendingId(), page.fetchLimit()), page);
     }
 
     public AuthorDTO update(UUID id, UpdateAuthorRequest request) {
+        return update(id, request, null);
+    }
+
+    /**
+     * Updates the author only if it is still at {@code expectedVersion}, so a client cannot
+     * overwrite a change it has not seen. A {@code null} version updates unconditionally.
+     */
+    public AuthorDTO update(UUID id, UpdateAuthorRequest request, Long expectedVersion) {
         log.info("Updating author with id: {}", id);
         
         Author author = authorRepository.findById(id)
                 .orElseThrow(() -> new AuthorNotFoundException(id));
+        PreconditionFailedException.check(expectedVersion, author.getVersion(), "Author", id);
         
-        // Check if email is being changed and if new email already exists
+        // Check if email is being changed and if new email might already exist
+        String duplicateEmail = "Author with email " + request.getEmail() + " already exists";
         if (request.getEmail() != null && 
             !request.getEmail().equals(author.getEmail()) && 
+            knownAuthorEmails.mightContain(request.getEmail()) &&
             authorRepository.existsByEmail(request.getEmail())) {
-            throw new BusinessRuleException("Author with email " + request.getEmail() + " already exists");
+            throw new BusinessRuleException(duplicateEmail);
         }
         
         authorMapper.updateEntity(author, request);
-        Author updatedAuthor = authorRepository.save(author);
+        knownAuthorEmails.add(request.getEmail());
+        Author updatedAuthor = UniqueConstraints.enforce(Author.EMAIL_CONSTRAINT, duplicateEmail,
+                () -> authorRepository.saveAndFlush(author));
+        authorNameIndex.index(updatedAuthor);
+        bookSearchIndex.renameAuthor(id, updatedAuthor.getFullName());
+        bookSuggestionIndex.renameAuthor(id, updatedAuthor.getFullName());
+        bookCache.invalidateAuthor(id);
         
         log.info("Successfully updated author with id: {}", id);
         return authorMapper.toDto(updatedAuthor);
@@ -106,6 +157,11 @@ public class AuthorService {
         // For now, we'll allow deletion and let database constraints handle it
         
         authorRepository.deleteById(id);
+        authorNameIndex.remove(id);
         log.info("Successfully deleted author with id: {}", id);
     }
+
+    private CursorPage<AuthorDTO> toPage(List<Author> rows, CursorRequest page) {
+        return CursorPage.from(rows, page, author -> PageCursor.of(author.getId()), authorMapper::toDto);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.gen.example.officelibrary.author.application;
+
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.shared.membership.KnownValues;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Bloom filter of every author email ever stored, letting {@link AuthorService} skip the
+ * duplicate probe for emails that are definitely new. Loaded before the application starts serving
+ * requests.
+ */
+@Component
+@Slf4j
+public class KnownAuthorEmails extends KnownValues implements SmartInitializingSingleton {
+
+    private static final long EXPECTED_EMAILS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final AuthorRepository authorRepository;
+
+    public KnownAuthorEmails(AuthorRepository authorRepository) {
+        super(EXPECTED_EMAILS, FALSE_POSITIVE_RATE);
+        this.authorRepository = authorRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        List<String> emails = authorRepository.findAllEmails();
+        load(emails);
+        log.info("Loaded {} emails into the author email filter", emails.size());
+    }
+}
\ No newline at end of file
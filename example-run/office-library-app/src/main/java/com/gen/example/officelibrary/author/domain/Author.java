@@ -13,12 +13,16 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", uniqueConstraints = {
+        @UniqueConstraint(name = Author.EMAIL_CONSTRAINT, columnNames = "email")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Author extends BaseEntity {
 
+    public static final String EMAIL_CONSTRAINT = "uk_authors_email";
+
     @Column(nullable = false)
     @NotNull
     @Size(min = 1, max = 100)
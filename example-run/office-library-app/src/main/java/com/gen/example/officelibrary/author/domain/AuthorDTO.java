@@ -35,6 +35,9 @@ public class AuthorDTO {
     @Size(max = 255)
     private String email;
 
+    // Row version, the author's part of its entity tag
+    private Long version;
+
     public String getFullName() {
         return firstName + " " + lastName;
     }
@@ -47,7 +50,8 @@ public class AuthorDTO {
                 author.getBiography(),
                 author.getBirthDate(),
                 author.getNationality(),
-                author.getEmail()
+                author.getEmail(),
+                author.getVersion()
         );
     }
 
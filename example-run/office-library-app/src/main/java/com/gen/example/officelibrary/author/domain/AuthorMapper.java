@@ -17,7 +17,8 @@ public class AuthorMapper {
             author.getBiography(),
             author.getBirthDate(),
             author.getNationality(),
-            author.getEmail()
+            author.getEmail(),
+            author.getVersion()
         );
     }
 
@@ -1,25 +1,28 @@
 package com.gen.example.officelibrary.author.persistence;
 
 import com.gen.example.officelibrary.author.domain.Author;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, UUID> {
 
-    List<Author> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-            String firstName, String lastName);
+    boolean existsByEmail(String email);
 
-    @Query("SELECT a FROM Author a WHERE " +
-           "LOWER(CONCAT(a.firstName, ' ', a.lastName)) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Author> searchByFullName(@Param("searchTerm") String searchTerm);
+    List<Author> findByEmailIn(Collection<String> emails);
 
-    List<Author> findByNationalityIgnoreCase(String nationality);
+    @Query("SELECT a.email FROM Author a WHERE a.email IS NOT NULL")
+    List<String> findAllEmails();
 
-    boolean existsByEmail(String email);
+    // Keyset-paginated reads, ordered by the primary key and resumed after the given id
+
+    List<Author> findByIdGreaterThanOrderByIdAsc(UUID afterId, Limit limit);
+
+    List<Author> findByNationalityIgnoreCaseAndIdGreaterThanOrderByIdAsc(String nationality, UUID afterId, Limit limit);
 }
\ No newline at end of file
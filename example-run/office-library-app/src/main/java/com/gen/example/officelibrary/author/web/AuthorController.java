@@ -1,16 +1,24 @@
 package com.gen.example.officelibrary.author.web;
 
 import com.gen.example.officelibrary.author.application.AuthorService;
+import com.gen.example.officelibrary.author.domain.Author;
 import com.gen.example.officelibrary.author.domain.AuthorDTO;
 import com.gen.example.officelibrary.author.domain.CreateAuthorRequest;
 import com.gen.example.officelibrary.author.domain.UpdateAuthorRequest;
 import com.gen.example.officelibrary.library.application.BookService;
 import com.gen.example.officelibrary.library.domain.BookDTO;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
+import com.gen.example.officelibrary.shared.web.EntityTags;
+import com.gen.example.officelibrary.shared.web.PagedResponses;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,10 +30,12 @@ public class AuthorController {
     
     private final AuthorService authorService;
     private final BookService bookService;
+    private final TableVersions tableVersions;
 
-    public AuthorController(AuthorService authorService, BookService bookService) {
+    public AuthorController(AuthorService authorService, BookService bookService, TableVersions tableVersions) {
         this.authorService = authorService;
         this.bookService = bookService;
+        this.tableVersions = tableVersions;
     }
 
     @PostMapping
@@ -37,31 +47,46 @@ public class AuthorController {
 
     @GetMapping
     public ResponseEntity<List<AuthorDTO>> findAll(
-            @RequestParam(required = false) String nationality) {
+            @RequestParam(required = false) String nationality,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
         log.debug("Fetching authors with nationality filter: {}", nationality);
+        // Answers 304 when no author changed since the client's copy, before reading any row
+        TableVersions.Snapshot versions = tableVersions.snapshot(Author.class);
+        if (request.checkNotModified(versions.etag(), versions.lastModifiedMillis())) {
+            return null;
+        }
         
-        List<AuthorDTO> authors;
+        CursorRequest page = CursorRequest.of(after, limit);
+        CursorPage<AuthorDTO> authors;
         if (nationality != null && !nationality.trim().isEmpty()) {
-            authors = authorService.findByNationality(nationality);
+            authors = authorService.findByNationality(nationality, page);
         } else {
-            authors = authorService.findAll();
+            authors = authorService.findAll(page);
         }
         
-        return ResponseEntity.ok(authors);
+        return PagedResponses.ok(authors);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<AuthorDTO> findById(@PathVariable UUID id) {
         log.debug("Fetching author with ID: {}", id);
         AuthorDTO author = authorService.findById(id);
-        return ResponseEntity.ok(author);
+        // Spring answers 304 for a GET whose If-None-Match matches, without writing the body
+        return ResponseEntity.ok().eTag(EntityTags.of(author.getVersion())).body(author);
     }
 
+    /**
+     * Replaces the author; with an {@code If-Match} header only if it has not changed since the
+     * client read it, otherwise 412.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<AuthorDTO> update(@PathVariable UUID id, @Valid @RequestBody UpdateAuthorRequest request) {
+    public ResponseEntity<AuthorDTO> update(@PathVariable UUID id, @Valid @RequestBody UpdateAuthorRequest request,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("Updating author with ID: {}", id);
-        AuthorDTO updated = authorService.update(id, request);
-        return ResponseEntity.ok(updated);
+        AuthorDTO updated = authorService.update(id, request, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -72,16 +97,22 @@ public class AuthorController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<AuthorDTO>> searchByName(@RequestParam String query) {
+    public ResponseEntity<List<AuthorDTO>> searchByName(
+            @RequestParam String query,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         log.debug("Searching authors by name: {}", query);
-        List<AuthorDTO> authors = authorService.searchByName(query);
-        return ResponseEntity.ok(authors);
+        CursorPage<AuthorDTO> authors = authorService.searchByName(query, CursorRequest.of(after, limit));
+        return PagedResponses.ok(authors);
     }
 
     @GetMapping("/{id}/books")
-    public ResponseEntity<List<BookDTO>> findBooksByAuthor(@PathVariable UUID id) {
+    public ResponseEntity<List<BookDTO>> findBooksByAuthor(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         log.debug("Fetching books for author: {}", id);
-        List<BookDTO> books = bookService.findByAuthorId(id);
-        return ResponseEntity.ok(books);
+        CursorPage<BookDTO> books = bookService.findByAuthorId(id, CursorRequest.of(after, limit));
+        return PagedResponses.ok(books);
     }
 }
\ No newline at end of file
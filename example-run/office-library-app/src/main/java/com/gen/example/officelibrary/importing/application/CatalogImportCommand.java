@@ -0,0 +1,65 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.gen.example.officelibrary.importing.domain.ImportFormat;
+import com.gen.example.officelibrary.importing.domain.ImportReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line catalog import. Started with a file, the application imports it and exits instead
+ * of serving requests:
+ *
+ * <pre>
+ * java -jar office-library-app.jar --library.import.file=catalog.csv --spring.main.web-application-type=none
+ * </pre>
+ *
+ * The format follows the extension ({@code .csv}, {@code .ndjson} or {@code .jsonl}) unless
+ * {@code library.import.format} names it. The exit status is 1 when any row failed.
+ */
+@Component
+@ConditionalOnProperty("library.import.file")
+@Slf4j
+public class CatalogImportCommand implements ApplicationRunner {
+
+    private final CatalogImportService catalogImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final ImportFormat format;
+
+    public CatalogImportCommand(CatalogImportService catalogImportService,
+                                ConfigurableApplicationContext context,
+                                @Value("${library.import.file}") Path file,
+                                @Value("${library.import.format:#{null}}") ImportFormat format) {
+        this.catalogImportService = catalogImportService;
+        this.context = context;
+        this.file = file;
+        this.format = format != null ? format : ImportFormat.fromFileName(file.getFileName().toString());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        log.info("Importing {} as {}", file, format);
+        ImportReportDTO report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = catalogImportService.importBooks(input, format);
+        }
+        report.getErrors().forEach(error ->
+                log.warn("Line {} (ISBN {}): {}", error.getLine(), error.getIsbn(), error.getMessage()));
+        if (report.getFailed() > report.getErrors().size()) {
+            log.warn("{} more rows failed", report.getFailed() - report.getErrors().size());
+        }
+        int exitCode = report.getFailed() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.importing.domain.BookImportRow;
+import com.gen.example.officelibrary.importing.domain.ImportFormat;
+import com.gen.example.officelibrary.importing.domain.ImportReportDTO;
+import com.gen.example.officelibrary.importing.domain.ImportRowError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV or NDJSON catalog into the library without holding the whole file in memory.
+ *
+ * <p>A reader thread parses and validates rows into a bounded queue; the calling thread drains it
+ * in batches and hands each batch to the {@link CatalogImportWriter}, one transaction per batch.
+ * When the database falls behind the queue fills up and the reader blocks, so the input is only
+ * read as fast as it can be written. Bad rows are reported with their line and do not stop the
+ * import; a batch that hits a constraint another writer got to first is retried row by row so only
+ * the conflicting rows fail.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+    private final CatalogImportWriter writer;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final int maxReportedErrors;
+
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+    private final Counter authorsCreatedCounter;
+    private final Timer batchTimer;
+    private volatile double lastRowsPerSecond;
+
+    CatalogImportService(CatalogImportWriter writer,
+                         ObjectMapper objectMapper,
+                         Validator validator,
+                         MeterRegistry meterRegistry,
+                         @Value("${library.import.batch-size:500}") int batchSize,
+                         @Value("${library.import.queue-capacity:5000}") int queueCapacity,
+                         @Value("${library.import.max-reported-errors:100}") int maxReportedErrors) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Import batch size and queue capacity must be positive");
+        }
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.maxReportedErrors = maxReportedErrors;
+        this.importedCounter = Counter.builder("catalog.import.rows")
+                .description("Catalog import rows by outcome")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("catalog.import.rows")
+                .description("Catalog import rows by outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.authorsCreatedCounter = Counter.builder("catalog.import.authors.created")
+                .description("Authors created by catalog imports")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("catalog.import.batch")
+                .description("Duration of writing one catalog import batch")
+                .register(meterRegistry);
+        Gauge.builder("catalog.import.throughput", this, service -> service.lastRowsPerSecond)
+                .description("Rows per second read by the last catalog import")
+                .register(meterRegistry);
+    }
+
+    public ImportReportDTO importBooks(InputStream input, ImportFormat format) {
+        long start = System.nanoTime();
+        BlockingQueue<ImportRecord> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Thread reader = Thread.ofPlatform().name("catalog-import-reader").daemon()
+                .start(() -> read(input, format, queue, cancelled));
+
+        Tally tally = new Tally(maxReportedErrors);
+        try {
+            List<ImportRecord> batch = new ArrayList<>(batchSize);
+            for (ImportRecord record = queue.take(); record != ImportRecord.END; record = queue.take()) {
+                tally.received++;
+                if (record.isFailed()) {
+                    tally.fail(record.toError());
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    write(batch, tally);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch, tally);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog import interrupted", ex);
+        } finally {
+            // Stops the reader if the import ended early
+            cancelled.set(true);
+            reader.interrupt();
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = tally.received * 1e9 / Math.max(elapsedNanos, 1);
+        lastRowsPerSecond = rowsPerSecond;
+        log.info("Imported {} of {} rows ({} failed, {} authors created) in {} ms, {} rows/s", tally.imported,
+                tally.received, tally.failed, tally.authorsCreated, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(rowsPerSecond));
+        return new ImportReportDTO(tally.received, tally.imported, tally.failed, tally.authorsCreated,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond, tally.errors);
+    }
+
+    private void read(InputStream input, ImportFormat format, BlockingQueue<ImportRecord> queue,
+                      AtomicBoolean cancelled) {
+        BufferedReader text = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportRowReader rows = format == ImportFormat.CSV
+                ? new CsvImportRowReader(text, objectMapper)
+                : new NdjsonImportRowReader(text, objectMapper);
+        try {
+            try {
+                for (ImportRecord record = rows.next(); record != null && !cancelled.get(); record = rows.next()) {
+                    // Blocks while the writer is behind
+                    queue.put(validate(record));
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Catalog import stopped reading at line {}", rows.line(), ex);
+                queue.put(ImportRecord.failed(rows.line() + 1, null,
+                        "Input could not be read past this line: " + ex.getMessage()));
+            }
+            queue.put(ImportRecord.END);
+        } catch (InterruptedException ex) {
+            // The import was abandoned; nobody is waiting for more rows
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ImportRecord validate(ImportRecord record) {
+        if (record.isFailed()) {
+            return record;
+        }
+        BookImportRow row = record.row();
+        // The author id is resolved from the email when the row is written
+        List<String> problems = validator.validate(row.toBookRequest()).stream()
+                .filter(violation -> !"authorId".equals(violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (row.getAuthorEmail() == null || row.getAuthorEmail().isBlank()) {
+            problems.add("Author email is required");
+        } else {
+            validator.validateProperty(row.toAuthorRequest(), "email").stream()
+                    .map(ConstraintViolation::getMessage)
+                    .forEach(problems::add);
+        }
+        if (problems.isEmpty()) {
+            return record;
+        }
+        problems.sort(null);
+        return ImportRecord.failed(record.line(), row, String.join(", ", problems));
+    }
+
+    private void write(List<ImportRecord> batch, Tally tally) {
+        long start = System.nanoTime();
+        try {
+            tally.add(writer.write(batch));
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Catalog import batch of {} rows conflicted with concurrent writes, retrying row by row",
+                    batch.size());
+            for (ImportRecord record : batch) {
+                try {
+                    tally.add(writer.write(List.of(record)));
+                } catch (DataIntegrityViolationException rowEx) {
+                    tally.fail(new ImportRowError(record.line(), record.isbn(),
+                            "Conflicts with stored data: " + rowEx.getMostSpecificCause().getMessage()));
+                }
+            }
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private final class Tally {
+
+        private final int maxErrors;
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+        private long authorsCreated;
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void add(CatalogImportWriter.BatchResult result) {
+            imported += result.imported();
+            authorsCreated += result.authorsCreated();
+            importedCounter.increment(result.imported());
+            authorsCreatedCounter.increment(result.authorsCreated());
+            result.errors().forEach(this::fail);
+        }
+
+        private void fail(ImportRowError error) {
+            failed++;
+            failedCounter.increment();
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            }
+        }
+    }
+}
\ No newline at end of file
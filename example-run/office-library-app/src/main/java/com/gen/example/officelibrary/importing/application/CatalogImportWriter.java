@@ -0,0 +1,165 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.gen.example.officelibrary.author.application.AuthorNameIndex;
+import com.gen.example.officelibrary.author.application.KnownAuthorEmails;
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.domain.AuthorMapper;
+import com.gen.example.officelibrary.author.domain.CreateAuthorRequest;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.importing.domain.BookImportRow;
+import com.gen.example.officelibrary.importing.domain.ImportRowError;
+import com.gen.example.officelibrary.library.application.BookSearchIndex;
+import com.gen.example.officelibrary.library.application.BookSuggestionIndex;
+import com.gen.example.officelibrary.library.application.KnownIsbns;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookMapper;
+import com.gen.example.officelibrary.library.domain.CreateBookRequest;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one batch of validated import rows in one transaction: authors are resolved by email with
+ * a single query, missing ones are created, and the books and new authors go in with one JDBC batch
+ * per table. Rows that clash with stored books or carry an unknown, incomplete author are reported
+ * back instead of written.
+ */
+@Service
+@Transactional
+class CatalogImportWriter {
+
+    private static final String INSERT_AUTHOR = "INSERT INTO authors "
+            + "(id, first_name, last_name, biography, birth_date, nationality, email) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOK = "INSERT INTO books "
+            + "(id, isbn, title, publisher, publication_year, genre, genre_key, status, date_added, location, "
+            + "author_id, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final AuthorMapper authorMapper;
+    private final BookMapper bookMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final KnownIsbns knownIsbns;
+    private final KnownAuthorEmails knownAuthorEmails;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final AuthorNameIndex authorNameIndex;
+    private final TableVersions tableVersions;
+
+    CatalogImportWriter(AuthorRepository authorRepository, BookRepository bookRepository,
+                        AuthorMapper authorMapper, BookMapper bookMapper, JdbcTemplate jdbcTemplate,
+                        Validator validator, KnownIsbns knownIsbns, KnownAuthorEmails knownAuthorEmails,
+                        BookSearchIndex bookSearchIndex, BookSuggestionIndex bookSuggestionIndex,
+                        AuthorNameIndex authorNameIndex, TableVersions tableVersions) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.authorMapper = authorMapper;
+        this.bookMapper = bookMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.knownIsbns = knownIsbns;
+        this.knownAuthorEmails = knownAuthorEmails;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestionIndex = bookSuggestionIndex;
+        this.authorNameIndex = authorNameIndex;
+        this.tableVersions = tableVersions;
+    }
+
+    public BatchResult write(List<ImportRecord> records) {
+        Set<String> emails = records.stream().map(record -> record.row().getAuthorEmail()).collect(Collectors.toSet());
+        Set<String> isbns = records.stream().map(ImportRecord::isbn).collect(Collectors.toSet());
+        Map<String, Author> authors = authorRepository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(Author::getEmail, Function.identity(), (first, second) -> first, HashMap::new));
+        Set<String> takenIsbns = new HashSet<>(bookRepository.findIsbnsIn(isbns));
+
+        List<Author> newAuthors = new ArrayList<>();
+        List<Book> newBooks = new ArrayList<>();
+        List<ImportRowError> errors = new ArrayList<>();
+        for (ImportRecord record : records) {
+            BookImportRow row = record.row();
+            if (!takenIsbns.add(row.getIsbn())) {
+                errors.add(new ImportRowError(record.line(), row.getIsbn(),
+                        "Book with ISBN " + row.getIsbn() + " already exists"));
+                continue;
+            }
+            Author author = authors.get(row.getAuthorEmail());
+            if (author == null) {
+                CreateAuthorRequest authorRequest = row.toAuthorRequest();
+                Set<ConstraintViolation<CreateAuthorRequest>> violations = validator.validate(authorRequest);
+                if (!violations.isEmpty()) {
+                    // Leave the ISBN free for a later row of the same import
+                    takenIsbns.remove(row.getIsbn());
+                    errors.add(new ImportRowError(record.line(), row.getIsbn(), "Author " + row.getAuthorEmail()
+                            + " does not exist and cannot be created: " + messages(violations)));
+                    continue;
+                }
+                author = authorMapper.toEntity(authorRequest);
+                author.setId(UUID.randomUUID());
+                authors.put(author.getEmail(), author);
+                newAuthors.add(author);
+            }
+            CreateBookRequest bookRequest = row.toBookRequest();
+            bookRequest.setAuthorId(author.getId());
+            Book book = bookMapper.toEntity(bookRequest, author);
+            book.setId(UUID.randomUUID());
+            newBooks.add(book);
+        }
+
+        insertAuthors(newAuthors);
+        insertBooks(newBooks);
+        newAuthors.forEach(author -> {
+            knownAuthorEmails.add(author.getEmail());
+            authorNameIndex.index(author);
+        });
+        newBooks.forEach(book -> knownIsbns.add(book.getIsbn()));
+        bookSearchIndex.indexAll(newBooks);
+        bookSuggestionIndex.indexAll(newBooks);
+        return new BatchResult(newBooks.size(), newAuthors.size(), errors);
+    }
+
+    private void insertAuthors(List<Author> authors) {
+        if (authors.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_AUTHOR, authors.stream()
+                .map(author -> new Object[] {author.getId(), author.getFirstName(), author.getLastName(),
+                        author.getBiography(), author.getBirthDate(), author.getNationality(), author.getEmail()})
+                .toList());
+        tableVersions.changed(Author.class);
+    }
+
+    private void insertBooks(List<Book> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOK, books.stream()
+                .map(book -> new Object[] {book.getId(), book.getIsbn(), book.getTitle(), book.getPublisher(),
+                        book.getPublicationYear(), book.getGenre(), Book.genreKey(book.getGenre()),
+                        book.getStatus().name(), book.getDateAdded(), book.getLocation(), book.getAuthor().getId()})
+                .toList());
+        tableVersions.changed(Book.class);
+    }
+
+    private static String messages(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    record BatchResult(int imported, int authorsCreated, List<ImportRowError> errors) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.importing.domain.BookImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header line naming the {@link BookImportRow} fields. Fields may be quoted,
+ * with doubled quotes inside and line breaks allowed; empty fields are read as missing values.
+ */
+class CsvImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long line;
+
+    CsvImportRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            header = names.stream().map(String::trim).toList();
+        }
+
+        long start;
+        List<String> values;
+        do {
+            start = line + 1;
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+
+        if (values.size() != header.size()) {
+            return ImportRecord.failed(start, null,
+                    "Expected " + header.size() + " fields but found " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i).isEmpty() ? null : values.get(i));
+        }
+        try {
+            return ImportRecord.parsed(start, objectMapper.convertValue(fields, BookImportRow.class));
+        } catch (IllegalArgumentException ex) {
+            BookImportRow partial = new BookImportRow();
+            partial.setIsbn(fields.get("isbn"));
+            String error = ex.getCause() instanceof JsonProcessingException cause
+                    ? ImportRecord.unreadable(start, cause).error()
+                    : "Unreadable row";
+            return ImportRecord.failed(start, partial, error);
+        }
+    }
+
+    @Override
+    public long line() {
+        return line;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        line++;
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    c = reader.read();
+                    if (c == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        line++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+            c = reader.read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+}
\ No newline at end of file
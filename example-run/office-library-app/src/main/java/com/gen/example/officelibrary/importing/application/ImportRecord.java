@@ -0,0 +1,49 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.gen.example.officelibrary.importing.domain.BookImportRow;
+import com.gen.example.officelibrary.importing.domain.ImportRowError;
+
+import java.util.stream.Collectors;
+
+/**
+ * A row on its way through the import pipeline: either a parsed row or the reason it was rejected,
+ * together with the input line it started on.
+ */
+record ImportRecord(long line, BookImportRow row, String error) {
+
+    // Queued by the reader once the input is exhausted
+    static final ImportRecord END = new ImportRecord(-1, null, null);
+
+    static ImportRecord parsed(long line, BookImportRow row) {
+        return new ImportRecord(line, row, null);
+    }
+
+    static ImportRecord failed(long line, BookImportRow row, String error) {
+        return new ImportRecord(line, row, error);
+    }
+
+    static ImportRecord unreadable(long line, JsonProcessingException ex) {
+        if (ex instanceof MismatchedInputException mismatch && !mismatch.getPath().isEmpty()) {
+            String field = mismatch.getPath().stream()
+                    .map(JsonMappingException.Reference::getFieldName)
+                    .collect(Collectors.joining("."));
+            return failed(line, null, "Invalid value for " + field);
+        }
+        return failed(line, null, "Unreadable row: " + ex.getOriginalMessage());
+    }
+
+    boolean isFailed() {
+        return error != null;
+    }
+
+    String isbn() {
+        return row == null ? null : row.getIsbn();
+    }
+
+    ImportRowError toError() {
+        return new ImportRowError(line, isbn(), error);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.gen.example.officelibrary.importing.application;
+
+import java.io.IOException;
+
+/**
+ * Reads an import one row at a time, so only the rows waiting in the pipeline are ever in memory.
+ */
+interface ImportRowReader {
+
+    // The next row, or null once the input is exhausted
+    ImportRecord next() throws IOException;
+
+    // Lines consumed so far
+    long line();
+}
\ No newline at end of file
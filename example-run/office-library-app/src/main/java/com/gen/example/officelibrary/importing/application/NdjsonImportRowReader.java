@@ -0,0 +1,46 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.importing.domain.BookImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line; blank lines are skipped.
+ */
+class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonImportRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return ImportRecord.parsed(line, objectMapper.readValue(text, BookImportRow.class));
+        } catch (JsonProcessingException ex) {
+            return ImportRecord.unreadable(line, ex);
+        }
+    }
+
+    @Override
+    public long line() {
+        return line;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.gen.example.officelibrary.importing.domain;
+
+import com.gen.example.officelibrary.author.domain.CreateAuthorRequest;
+import com.gen.example.officelibrary.library.domain.CreateBookRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One book of a catalog import, with its author inline. The author is identified by email, the
+ * only natural key authors have; unknown authors are created from the other author fields.
+ * CSV headers and NDJSON property names are the field names.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportRow {
+
+    private String isbn;
+    private String title;
+    private String publisher;
+    private Integer publicationYear;
+    private String genre;
+    private String location;
+
+    private String authorEmail;
+    private String authorFirstName;
+    private String authorLastName;
+    private String authorBiography;
+    private LocalDate authorBirthDate;
+    private String authorNationality;
+
+    // The author id is only known once the author has been resolved
+    public CreateBookRequest toBookRequest() {
+        return new CreateBookRequest(isbn, title, null, publisher, publicationYear, genre, location);
+    }
+
+    public CreateAuthorRequest toAuthorRequest() {
+        return new CreateAuthorRequest(authorFirstName, authorLastName, authorBiography, authorBirthDate,
+                authorNationality, authorEmail);
+    }
+}
\ No newline at end of file
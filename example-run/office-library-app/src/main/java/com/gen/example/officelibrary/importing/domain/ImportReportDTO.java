@@ -0,0 +1,22 @@
+package com.gen.example.officelibrary.importing.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+
+    private long received;
+    private long imported;
+    private long failed;
+    private long authorsCreated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // The first failed rows only; failed has the full count
+    private List<ImportRowError> errors;
+}
\ No newline at end of file
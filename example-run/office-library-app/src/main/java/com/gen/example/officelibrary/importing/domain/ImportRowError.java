@@ -0,0 +1,16 @@
+package com.gen.example.officelibrary.importing.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+
+    // Line of the input the row starts on, counting from 1
+    private long line;
+    private String isbn;
+    private String message;
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.gen.example.officelibrary.importing.web;
+
+import com.gen.example.officelibrary.importing.application.CatalogImportService;
+import com.gen.example.officelibrary.importing.domain.ImportFormat;
+import com.gen.example.officelibrary.importing.domain.ImportReportDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * Bulk catalog import. The request body is read as a stream, so files of any size can be posted;
+ * the response reports how many rows were imported and why the others were not.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/imports")
+public class CatalogImportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private final CatalogImportService catalogImportService;
+
+    public CatalogImportController(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    @PostMapping(value = "/books", consumes = CSV)
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream body) {
+        log.debug("Importing books from CSV");
+        return ResponseEntity.ok(catalogImportService.importBooks(body, ImportFormat.CSV));
+    }
+
+    @PostMapping(value = "/books", consumes = NDJSON)
+    public ResponseEntity<ImportReportDTO> importNdjson(InputStream body) {
+        log.debug("Importing books from NDJSON");
+        return ResponseEntity.ok(catalogImportService.importBooks(body, ImportFormat.NDJSON));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.BorrowerLoanCount;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.transaction.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Number of borrowing records still on loan, ACTIVE or OVERDUE, per borrower email, so the
+ * borrowing limit is checked without counting records.
+ *
+ * <p>A borrow {@link #reserve}s a slot with a compare-and-set before its record is written and
+ * gets it back if the transaction rolls back; a return {@link #release}s the slot once it has
+ * committed. Concurrent borrows by the same borrower therefore can not exceed the limit between
+ * them. An overdue loan keeps its slot until it is returned. The counters are seeded from the
+ * records before the application starts serving requests.
+ */
+@Component
+@Slf4j
+public class ActiveLoanCounters implements SmartInitializingSingleton {
+
+    public static final int MAX_ACTIVE_LOANS = 3;
+
+    private final BorrowingRecordRepository borrowingRecordRepository;
+
+    private final ConcurrentMap<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public ActiveLoanCounters(BorrowingRecordRepository borrowingRecordRepository) {
+        this.borrowingRecordRepository = borrowingRecordRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<BorrowerLoanCount> counts = borrowingRecordRepository.countActiveBorrowingsPerBorrower();
+            counters.clear();
+            for (BorrowerLoanCount count : counts) {
+                counters.put(count.getBorrowerEmail(), new AtomicInteger(Math.toIntExact(count.getActiveCount())));
+            }
+            log.info("Loaded active loan counters for {} borrowers", counts.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public int activeCount(String borrowerEmail) {
+        AtomicInteger counter = counters.get(borrowerEmail);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public void reserve(String borrowerEmail) {
+        AtomicInteger counter = counters.computeIfAbsent(borrowerEmail, email -> new AtomicInteger());
+        int current;
+        do {
+            current = counter.get();
+            if (current >= MAX_ACTIVE_LOANS) {
+                throw new BusinessRuleException("Maximum borrowing limit (" + MAX_ACTIVE_LOANS
+                        + " books) reached for user: " + borrowerEmail);
+            }
+        } while (!counter.compareAndSet(current, current + 1));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counter.decrementAndGet();
+                    }
+                }
+            });
+        }
+    }
+
+    public void release(String borrowerEmail) {
+        AfterCommit.run(() -> {
+            AtomicInteger counter = counters.get(borrowerEmail);
+            if (counter != null) {
+                counter.updateAndGet(current -> Math.max(0, current - 1));
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,287 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.*;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.exception.ResourceNotFoundException;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Applies a front-desk batch of borrows, returns and relocations in one transaction.
+ *
+ * <p>Every book and borrowing record the batch refers to is locked and loaded with one IN query
+ * each. The operations are then checked in order against that state with the rules of
+ * {@link BorrowingService}: a borrow needs an available book and a free loan slot, a return an
+ * active record. Later operations see the effect of earlier ones, so a batch may return a book and
+ * lend it out again. The changes are written with one JDBC batch per statement. In
+ * {@link BatchMode#ALL_OR_NOTHING} mode a failed operation rolls the whole batch back; in
+ * {@link BatchMode#BEST_EFFORT} mode it is reported and the others are written.
+ */
+@Service
+@Transactional
+@Slf4j
+public class BatchOperationService {
+
+    private static final String INSERT_RECORD = "INSERT INTO borrowing_records "
+            + "(id, borrower_name, borrower_email, borrower_email_key, borrow_date, due_date, status, notes, book_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String RETURN_RECORD = "UPDATE borrowing_records SET status = ?, return_date = ?, "
+            + "version = version + 1 WHERE id = ?";
+    private static final String UPDATE_BOOK = "UPDATE books SET status = ?, location = ?, version = version + 1 "
+            + "WHERE id = ?";
+
+    private final BookRepository bookRepository;
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final BorrowingRecordMapper borrowingRecordMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ActiveLoanCounters activeLoanCounters;
+    private final DueDateIndex dueDateIndex;
+    private final BookCache bookCache;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final TableVersions tableVersions;
+
+    public BatchOperationService(BookRepository bookRepository,
+                                 BorrowingRecordRepository borrowingRecordRepository,
+                                 BorrowingRecordMapper borrowingRecordMapper,
+                                 JdbcTemplate jdbcTemplate,
+                                 ActiveLoanCounters activeLoanCounters,
+                                 DueDateIndex dueDateIndex,
+                                 BookCache bookCache,
+                                 BookSuggestionIndex bookSuggestionIndex,
+                                 TableVersions tableVersions) {
+        this.bookRepository = bookRepository;
+        this.borrowingRecordRepository = borrowingRecordRepository;
+        this.borrowingRecordMapper = borrowingRecordMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.activeLoanCounters = activeLoanCounters;
+        this.dueDateIndex = dueDateIndex;
+        this.bookCache = bookCache;
+        this.bookSuggestionIndex = bookSuggestionIndex;
+        this.tableVersions = tableVersions;
+    }
+
+    public BatchResultDTO apply(BatchRequest request) {
+        List<BatchOperationRequest> operations = request.getOperations();
+        log.info("Processing batch of {} operations ({})", operations.size(), request.getMode());
+
+        Set<UUID> recordIds = ids(operations, BatchOperationRequest::getBorrowingRecordId);
+        Map<UUID, BorrowingRecord> records = recordIds.isEmpty() ? Map.of() : borrowingRecordRepository
+                .findByIdInForUpdate(recordIds).stream()
+                .collect(Collectors.toMap(BorrowingRecord::getId, Function.identity()));
+        Set<UUID> bookIds = Stream.concat(
+                        operations.stream().map(BatchOperationRequest::getBookId),
+                        records.values().stream().map(record -> record.getBook().getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, BookState> books = bookIds.isEmpty() ? Map.of() : bookRepository.findByIdInForUpdate(bookIds)
+                .stream()
+                .collect(Collectors.toMap(Book::getId, BookState::new));
+
+        Changes changes = new Changes(records, books);
+        List<BatchOperationResultDTO> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationRequest operation = operations.get(i);
+            try {
+                results.add(changes.apply(i, operation));
+            } catch (BusinessRuleException | ResourceNotFoundException ex) {
+                results.add(new BatchOperationResultDTO(i, operation.getType(), false, ex.getMessage(),
+                        operation.getBookId(), operation.getBorrowingRecordId()));
+            }
+        }
+
+        int failed = (int) results.stream().filter(result -> !result.isSucceeded()).count();
+        if (failed > 0 && request.getMode() == BatchMode.ALL_OR_NOTHING) {
+            // Gives back the loan slots the passing borrows reserved
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            results.stream().filter(BatchOperationResultDTO::isSucceeded).forEach(result -> {
+                result.setSucceeded(false);
+                result.setMessage("Rolled back because another operation of the batch failed");
+            });
+            log.info("Rolled back batch of {} operations, {} failed", operations.size(), failed);
+            return new BatchResultDTO(request.getMode(), false, 0, operations.size(), results);
+        }
+
+        changes.write();
+        log.info("Applied batch of {} operations, {} failed", operations.size(), failed);
+        return new BatchResultDTO(request.getMode(), true, operations.size() - failed, failed, results);
+    }
+
+    private static Set<UUID> ids(List<BatchOperationRequest> operations, Function<BatchOperationRequest, UUID> id) {
+        return operations.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static void require(Object value, String message) {
+        if (value == null || value instanceof String text && text.isBlank()) {
+            throw new BusinessRuleException(message);
+        }
+    }
+
+    /**
+     * The batch's view of the loaded rows and the writes it has collected so far.
+     */
+    private final class Changes {
+
+        private final Map<UUID, BorrowingRecord> records;
+        private final Map<UUID, BookState> books;
+        private final List<BorrowingRecord> borrowed = new ArrayList<>();
+        private final Set<UUID> returned = new HashSet<>();
+        // Slots freed by returns in this batch, handed to later borrows by the same borrower
+        private final Map<String, Integer> freedSlots = new LinkedHashMap<>();
+
+        private Changes(Map<UUID, BorrowingRecord> records, Map<UUID, BookState> books) {
+            this.records = records;
+            this.books = books;
+        }
+
+        private BatchOperationResultDTO apply(int index, BatchOperationRequest operation) {
+            return switch (operation.getType()) {
+                case BORROW -> borrow(index, operation);
+                case RETURN -> returnBook(index, operation);
+                case RELOCATE -> relocate(index, operation);
+            };
+        }
+
+        private BatchOperationResultDTO borrow(int index, BatchOperationRequest operation) {
+            require(operation.getBookId(), "Book id is required");
+            require(operation.getBorrowerName(), "Borrower name is required");
+            require(operation.getBorrowerEmail(), "Borrower email is required");
+            BookState book = book(operation.getBookId());
+            if (book.status != BookStatus.AVAILABLE) {
+                throw new BusinessRuleException("Book is not available for borrowing");
+            }
+            takeSlot(operation.getBorrowerEmail());
+
+            book.status = BookStatus.BORROWED;
+            book.changed = true;
+            BorrowingRecord record = borrowingRecordMapper.toEntity(operation.toBorrowRequest(), book.book);
+            record.setId(UUID.randomUUID());
+            borrowed.add(record);
+            return succeeded(index, operation, book.book.getId(), record.getId());
+        }
+
+        private BatchOperationResultDTO returnBook(int index, BatchOperationRequest operation) {
+            require(operation.getBorrowingRecordId(), "Borrowing record id is required");
+            BorrowingRecord record = records.get(operation.getBorrowingRecordId());
+            if (record == null) {
+                throw new BorrowingRecordNotFoundException(operation.getBorrowingRecordId());
+            }
+            if (!record.isOnLoan() || returned.contains(record.getId())) {
+                throw new BusinessRuleException("Borrowing record is not active");
+            }
+
+            returned.add(record.getId());
+            freedSlots.merge(record.getBorrowerEmail(), 1, Integer::sum);
+            UUID bookId = record.getBook().getId();
+            BookState book = books.get(bookId);
+            if (book != null && book.status == BookStatus.BORROWED) {
+                book.status = BookStatus.AVAILABLE;
+                book.changed = true;
+            }
+            return succeeded(index, operation, bookId, record.getId());
+        }
+
+        private BatchOperationResultDTO relocate(int index, BatchOperationRequest operation) {
+            require(operation.getBookId(), "Book id is required");
+            require(operation.getLocation(), "Location is required");
+            BookState book = book(operation.getBookId());
+            book.location = operation.getLocation();
+            book.changed = true;
+            return succeeded(index, operation, book.book.getId(), null);
+        }
+
+        private BookState book(UUID bookId) {
+            BookState book = books.get(bookId);
+            if (book == null) {
+                throw new BookNotFoundException(bookId);
+            }
+            return book;
+        }
+
+        private void takeSlot(String borrowerEmail) {
+            Integer freed = freedSlots.get(borrowerEmail);
+            if (freed != null && freed > 0) {
+                freedSlots.put(borrowerEmail, freed - 1);
+            } else {
+                activeLoanCounters.reserve(borrowerEmail);
+            }
+        }
+
+        private void write() {
+            List<BookState> changedBooks = books.values().stream().filter(book -> book.changed).toList();
+            if (!changedBooks.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_BOOK, changedBooks.stream()
+                        .map(book -> new Object[] {book.status.name(), book.location, book.book.getId()})
+                        .toList());
+                tableVersions.changed(Book.class);
+            }
+            if (!returned.isEmpty() || !borrowed.isEmpty()) {
+                tableVersions.changed(BorrowingRecord.class);
+            }
+            if (!returned.isEmpty()) {
+                LocalDate today = LocalDate.now();
+                jdbcTemplate.batchUpdate(RETURN_RECORD, returned.stream()
+                        .map(id -> new Object[] {BorrowingStatus.RETURNED.name(), today, id})
+                        .toList());
+            }
+            if (!borrowed.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_RECORD, borrowed.stream()
+                        .map(record -> new Object[] {record.getId(), record.getBorrowerName(),
+                                record.getBorrowerEmail(), BorrowingRecord.borrowerEmailKey(record.getBorrowerEmail()),
+                                record.getBorrowDate(), record.getDueDate(), record.getStatus().name(),
+                                record.getNotes(), record.getBook().getId()})
+                        .toList());
+            }
+
+            borrowed.forEach(record -> {
+                dueDateIndex.add(new ActiveLoan(record.getId(), record.getBorrowerEmail(), record.getBorrowDate(),
+                        record.getDueDate()));
+                bookSuggestionIndex.recordBorrow(record.getBook().getId());
+            });
+            returned.forEach(dueDateIndex::remove);
+            freedSlots.forEach((email, slots) -> {
+                for (int i = 0; i < slots; i++) {
+                    activeLoanCounters.release(email);
+                }
+            });
+            changedBooks.forEach(book -> bookCache.invalidate(book.book.getId()));
+        }
+    }
+
+    private static BatchOperationResultDTO succeeded(int index, BatchOperationRequest operation, UUID bookId,
+                                                     UUID borrowingRecordId) {
+        return new BatchOperationResultDTO(index, operation.getType(), true, null, bookId, borrowingRecordId);
+    }
+
+    private static final class BookState {
+
+        private final Book book;
+        private BookStatus status;
+        private String location;
+        private boolean changed;
+
+        private BookState(Book book) {
+            this.book = book;
+            this.status = book.getStatus();
+            this.location = book.getLocation();
+        }
+    }
+}
\ No newline at end of file
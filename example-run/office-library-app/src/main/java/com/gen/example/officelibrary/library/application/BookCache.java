@@ -0,0 +1,228 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.domain.AuthorDTO;
+import com.gen.example.officelibrary.library.domain.BookDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Read-through cache of {@link BookDTO}s for single-book lookups, keyed by id and by ISBN and
+ * bounded by the estimated heap its entries occupy; the least recently used entries go first.
+ *
+ * <p>Writers call {@link #invalidate} or {@link #invalidateAuthor} inside their transaction. From
+ * then until the transaction completes the affected books bypass the cache, and completion evicts
+ * them again and bumps a generation counter, so a reader that loaded the old row concurrently
+ * cannot put it back. Callers always get copies of the cached DTOs.
+ */
+@Component
+public class BookCache {
+
+    // Rough per-object sizes on a 64-bit JVM with compressed oops, for the size bound
+    private static final long BYTES_PER_BOOK = 320;
+    private static final long BYTES_PER_AUTHOR = 160;
+    private static final long BYTES_PER_STRING = 40;
+
+    private final long maxBytes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    // All state below is guarded by this
+    private final LinkedHashMap<UUID, BookDTO> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, UUID> idsByIsbn = new HashMap<>();
+    private final Map<UUID, Integer> pendingBooks = new HashMap<>();
+    private final Map<UUID, Integer> pendingAuthors = new HashMap<>();
+    private long generation;
+    private long bytes;
+
+    public BookCache(MeterRegistry meterRegistry,
+                     @Value("${library.book-cache.max-bytes:4194304}") long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("books.cache.gets")
+                .tag("result", "hit")
+                .description("Single-book lookups answered by the book cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("books.cache.gets")
+                .tag("result", "miss")
+                .description("Single-book lookups that had to load from the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("books.cache.evictions")
+                .description("Books evicted from the book cache to stay within its size bound")
+                .register(meterRegistry);
+        Gauge.builder("books.cache.size", this, BookCache::size)
+                .description("Books in the book cache")
+                .register(meterRegistry);
+        Gauge.builder("books.cache.memory", this, BookCache::estimatedMemoryBytes)
+                .description("Estimated heap used by the book cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached book, or the loader's result (which is then cached). Exceptions from the loader,
+     * such as a not-found, propagate and nothing is cached.
+     */
+    public BookDTO getById(UUID id, Function<UUID, BookDTO> loader) {
+        long token;
+        synchronized (this) {
+            BookDTO cached = entries.get(id);
+            if (cached != null && !isPending(cached)) {
+                hits.increment();
+                return copy(cached);
+            }
+            token = generation;
+        }
+        misses.increment();
+        BookDTO loaded = loader.apply(id);
+        store(loaded, token);
+        return loaded;
+    }
+
+    public BookDTO getByIsbn(String isbn, Function<String, BookDTO> loader) {
+        long token;
+        synchronized (this) {
+            UUID id = idsByIsbn.get(isbn);
+            BookDTO cached = id != null ? entries.get(id) : null;
+            if (cached != null && !isPending(cached)) {
+                hits.increment();
+                return copy(cached);
+            }
+            token = generation;
+        }
+        misses.increment();
+        BookDTO loaded = loader.apply(isbn);
+        store(loaded, token);
+        return loaded;
+    }
+
+    /**
+     * Evicts the book now and again once the current transaction completes; until then lookups of
+     * it go to the database.
+     */
+    public void invalidate(UUID bookId) {
+        invalidate(pendingBooks, bookId, book -> bookId.equals(book.getId()));
+    }
+
+    /**
+     * Same as {@link #invalidate} for every cached book of the author, whose details are embedded
+     * in the book DTOs.
+     */
+    public void invalidateAuthor(UUID authorId) {
+        invalidate(pendingAuthors, authorId, book -> authorId.equals(book.getAuthorId()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long estimatedMemoryBytes() {
+        return bytes;
+    }
+
+    private void invalidate(Map<UUID, Integer> pending, UUID key, Predicate<BookDTO> affected) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (this) {
+                generation++;
+                evict(affected);
+            }
+            return;
+        }
+        synchronized (this) {
+            pending.merge(key, 1, Integer::sum);
+            evict(affected);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (BookCache.this) {
+                    pending.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+                    generation++;
+                    evict(affected);
+                }
+            }
+        });
+    }
+
+    private synchronized void store(BookDTO book, long token) {
+        // Anything invalidated since the load started may have been read before the write committed
+        if (token != generation || isPending(book)) {
+            return;
+        }
+        BookDTO previous = entries.remove(book.getId());
+        if (previous != null) {
+            forget(previous);
+        }
+        BookDTO stored = copy(book);
+        entries.put(stored.getId(), stored);
+        idsByIsbn.put(stored.getIsbn(), stored.getId());
+        bytes += estimateBytes(stored);
+
+        Iterator<BookDTO> leastRecentlyUsed = entries.values().iterator();
+        while (bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            BookDTO evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            forget(evicted);
+            evictions.increment();
+        }
+    }
+
+    private void evict(Predicate<BookDTO> affected) {
+        Iterator<BookDTO> books = entries.values().iterator();
+        while (books.hasNext()) {
+            BookDTO book = books.next();
+            if (affected.test(book)) {
+                books.remove();
+                forget(book);
+            }
+        }
+    }
+
+    private void forget(BookDTO book) {
+        idsByIsbn.remove(book.getIsbn(), book.getId());
+        bytes -= estimateBytes(book);
+    }
+
+    private boolean isPending(BookDTO book) {
+        return pendingBooks.containsKey(book.getId()) || pendingAuthors.containsKey(book.getAuthorId());
+    }
+
+    private static long estimateBytes(BookDTO book) {
+        long size = BYTES_PER_BOOK + stringBytes(book.getIsbn()) * 2 + stringBytes(book.getTitle())
+                + stringBytes(book.getPublisher()) + stringBytes(book.getGenre()) + stringBytes(book.getLocation());
+        AuthorDTO author = book.getAuthor();
+        if (author != null) {
+            size += BYTES_PER_AUTHOR + stringBytes(author.getFirstName()) + stringBytes(author.getLastName())
+                    + stringBytes(author.getBiography()) + stringBytes(author.getNationality())
+                    + stringBytes(author.getEmail());
+        }
+        return size;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : BYTES_PER_STRING + value.length() * 2L;
+    }
+
+    private static BookDTO copy(BookDTO book) {
+        AuthorDTO author = book.getAuthor();
+        AuthorDTO authorCopy = author == null ? null : new AuthorDTO(author.getId(), author.getFirstName(),
+                author.getLastName(), author.getBiography(), author.getBirthDate(), author.getNationality(),
+                author.getEmail(), author.getVersion());
+        return new BookDTO(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthorId(), book.getPublisher(),
+                book.getPublicationYear(), book.getGenre(), book.getStatus(), book.getDateAdded(),
+                book.getLocation(), authorCopy, book.getVersion());
+    }
+}
\ No newline at end of file
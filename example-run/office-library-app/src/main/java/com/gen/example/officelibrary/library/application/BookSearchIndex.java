@@ -0,0 +1,313 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.search.Ranking;
+import com.gen.example.officelibrary.shared.search.TextNormalizer;
+import com.gen.example.officelibrary.shared.transaction.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over book title, ISBN, publisher, genre and author name, ranked with
+ * BM25. It is loaded from the database before the application starts serving requests and kept
+ * current by {@link BookService} and the author service; changes are applied only once the
+ * writing transaction has committed.
+ */
+@Component
+@Slf4j
+public class BookSearchIndex implements SmartInitializingSingleton {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    // Title terms count twice so a title hit outranks the same word in a publisher name
+    private static final int TITLE_WEIGHT = 2;
+    // A query token that is only a prefix of an indexed term ("gats" -> "gatsby") scores at half weight
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Map<UUID, Integer>> postings = new TreeMap<>();
+    private final Map<UUID, IndexedBook> books = new HashMap<>();
+    private final Map<UUID, Set<UUID>> booksByAuthor = new HashMap<>();
+    private long totalLength;
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every book. The write lock is held throughout, so changes committed meanwhile wait
+     * and are applied on top of the reloaded books instead of being overwritten by them. Each
+     * batch is read in its own transaction.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            postings.clear();
+            books.clear();
+            booksByAuthor.clear();
+            totalLength = 0;
+            List<Book> batch = bookRepository.findAllAfter(PageCursor.LOWEST_DATE, PageCursor.LOWEST_ID,
+                    Limit.of(REBUILD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (Book book : batch) {
+                    add(IndexedBook.of(book));
+                }
+                Book last = batch.get(batch.size() - 1);
+                batch = batch.size() < REBUILD_BATCH_SIZE ? List.of()
+                        : bookRepository.findAllAfter(last.getDateAdded(), last.getId(), Limit.of(REBUILD_BATCH_SIZE));
+            }
+            log.info("Rebuilt book search index with {} books and {} terms in {} ms",
+                    books.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the book once the current transaction commits.
+     */
+    public void index(Book book) {
+        IndexedBook indexed = IndexedBook.of(book);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeBook(indexed.id);
+                add(indexed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void indexAll(Collection<Book> books) {
+        List<IndexedBook> indexed = books.stream().map(IndexedBook::of).toList();
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                for (IndexedBook book : indexed) {
+                    removeBook(book.id);
+                    add(book);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(UUID bookId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeBook(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Re-indexes every book of the author under the new name once the current transaction commits.
+     */
+    public void renameAuthor(UUID authorId, String authorName) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                for (UUID bookId : List.copyOf(booksByAuthor.getOrDefault(authorId, Set.of()))) {
+                    IndexedBook renamed = books.get(bookId).withAuthorName(authorName);
+                    removeBook(bookId);
+                    add(renamed);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Ids of the books matching any query term, best match first (ties broken by id), resuming
+     * after the given book as described in {@link Ranking#resumeAfter}.
+     */
+    public List<UUID> search(String query, UUID after, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(TextNormalizer.tokenize(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map.Entry<UUID, Double>> ranked;
+        lock.readLock().lock();
+        try {
+            ranked = new ArrayList<>(score(tokens).entrySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        ranked.sort(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<UUID> rankedIds = ranked.stream()
+                .map(Map.Entry::getKey)
+                .toList();
+        return Ranking.resumeAfter(rankedIds, after, limit);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<UUID, Double> score(Set<String> tokens) {
+        Map<UUID, Double> scores = new HashMap<>();
+        if (books.isEmpty()) {
+            return scores;
+        }
+        double averageLength = (double) totalLength / books.size();
+        for (String token : tokens) {
+            Map<UUID, Integer> exact = postings.get(token);
+            if (exact != null) {
+                accumulate(scores, exact, 1.0, averageLength);
+            }
+            if (token.length() >= MIN_PREFIX_LENGTH) {
+                postings.subMap(token, false, token + Character.MAX_VALUE, false)
+                        .values()
+                        .forEach(docs -> accumulate(scores, docs, PREFIX_MATCH_WEIGHT, averageLength));
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<UUID, Double> scores, Map<UUID, Integer> docs, double weight, double averageLength) {
+        int documentCount = books.size();
+        int documentFrequency = docs.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        docs.forEach((bookId, termFrequency) -> {
+            int length = books.get(bookId).length;
+            double norm = termFrequency + K1 * (1 - B + B * length / averageLength);
+            scores.merge(bookId, weight * idf * termFrequency * (K1 + 1) / norm, Double::sum);
+        });
+    }
+
+    private void add(IndexedBook book) {
+        books.put(book.id, book);
+        totalLength += book.length;
+        book.termFrequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(book.id, frequency));
+        if (book.authorId != null) {
+            booksByAuthor.computeIfAbsent(book.authorId, a -> new HashSet<>()).add(book.id);
+        }
+    }
+
+    private void removeBook(UUID bookId) {
+        IndexedBook book = books.remove(bookId);
+        if (book == null) {
+            return;
+        }
+        totalLength -= book.length;
+        for (String term : book.termFrequencies.keySet()) {
+            Map<UUID, Integer> docs = postings.get(term);
+            docs.remove(bookId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        if (book.authorId != null) {
+            Set<UUID> authored = booksByAuthor.get(book.authorId);
+            authored.remove(bookId);
+            if (authored.isEmpty()) {
+                booksByAuthor.remove(book.authorId);
+            }
+        }
+    }
+
+    /**
+     * Indexed copy of the searchable fields, detached from the entity so it can be applied after
+     * commit and re-tokenized when the author is renamed.
+     */
+    private static final class IndexedBook {
+
+        private final UUID id;
+        private final UUID authorId;
+        private final String title;
+        private final String isbn;
+        private final String publisher;
+        private final String genre;
+        private final String authorName;
+        private final Map<String, Integer> termFrequencies = new HashMap<>();
+        private int length;
+
+        private IndexedBook(UUID id, UUID authorId, String title, String isbn, String publisher,
+                            String genre, String authorName) {
+            this.id = id;
+            this.authorId = authorId;
+            this.title = title;
+            this.isbn = isbn;
+            this.publisher = publisher;
+            this.genre = genre;
+            this.authorName = authorName;
+
+            for (int i = 0; i < TITLE_WEIGHT; i++) {
+                addTerms(title);
+            }
+            addTerms(isbn);
+            // "978-0-12-345678-9" is also searchable as "9780123456789"
+            String isbnDigits = TextNormalizer.normalize(isbn).replace(" ", "");
+            if (!isbnDigits.isEmpty() && !termFrequencies.containsKey(isbnDigits)) {
+                addTerm(isbnDigits);
+            }
+            addTerms(publisher);
+            addTerms(genre);
+            addTerms(authorName);
+        }
+
+        static IndexedBook of(Book book) {
+            String authorName = book.getAuthor() != null ? book.getAuthor().getFullName() : null;
+            return new IndexedBook(book.getId(), book.getAuthorId(), book.getTitle(), book.getIsbn(),
+                    book.getPublisher(), book.getGenre(), authorName);
+        }
+
+        IndexedBook withAuthorName(String newAuthorName) {
+            return new IndexedBook(id, authorId, title, isbn, publisher, genre, newAuthorName);
+        }
+
+        private void addTerms(String text) {
+            TextNormalizer.tokenize(text).forEach(this::addTerm);
+        }
+
+        private void addTerm(String term) {
+            termFrequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+    }
+}
\ No newline at end of file
@@ -6,13 +6,26 @@ import com.gen.example.officelibrary.author.persistence.AuthorRepository;
 import com.gen.example.officelibrary.library.domain.*;
 import com.gen.example.officelibrary.library.persistence.BookRepository;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.exception.PreconditionFailedException;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
+import com.gen.example.officelibrary.shared.persistence.UniqueConstraints;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -22,19 +35,32 @@ public class BookService {
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final BookMapper bookMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggestionIndex bookSuggestionIndex;
+    private final BookCache bookCache;
+    private final KnownIsbns knownIsbns;
+    private final TableVersions tableVersions;
 
-    public BookService(BookRepository bookRepository, AuthorRepository authorRepository, BookMapper bookMapper) {
+    public BookService(BookRepository bookRepository, AuthorRepository authorRepository, BookMapper bookMapper,
+                       BookSearchIndex bookSearchIndex, BookSuggestionIndex bookSuggestionIndex,
+                       BookCache bookCache, KnownIsbns knownIsbns, TableVersions tableVersions) {
         this.bookRepository = bookRepository;
         this.authorRepository = authorRepository;
         this.bookMapper = bookMapper;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggestionIndex = bookSuggestionIndex;
+        this.bookCache = bookCache;
+        this.knownIsbns = knownIsbns;
+        this.tableVersions = tableVersions;
     }
 
     public BookDTO create(CreateBookRequest request) {
         log.info("Creating new book: {}", request.getTitle());
         
-        // Check if ISBN already exists
-        if (bookRepository.existsByIsbn(request.getIsbn())) {
-            throw new BusinessRuleException("Book with ISBN " + request.getIsbn() + " already exists");
+        // Probe for a duplicate only when the ISBN might be known; the unique constraint has the final say
+        String duplicateIsbn = "Book with ISBN " + request.getIsbn() + " already exists";
+        if (knownIsbns.mightContain(request.getIsbn()) && bookRepository.existsByIsbn(request.getIsbn())) {
+            throw new BusinessRuleException(duplicateIsbn);
         }
         
         // Validate author exists
@@ -42,89 +68,136 @@ public class BookService {
                 .orElseThrow(() -> new AuthorNotFoundException(request.getAuthorId()));
         
         Book book = bookMapper.toEntity(request, author);
-        Book savedBook = bookRepository.save(book);
+        knownIsbns.add(request.getIsbn());
+        Book savedBook = UniqueConstraints.enforce(Book.ISBN_CONSTRAINT, duplicateIsbn,
+                () -> bookRepository.saveAndFlush(book));
+        bookSearchIndex.index(savedBook);
+        bookSuggestionIndex.index(savedBook);
         
         log.info("Successfully created book with id: {}", savedBook.getId());
         return bookMapper.toDto(savedBook);
     }
 
     @Transactional(readOnly = true)
-    public List<BookDTO> findAll() {
-        log.debug("Retrieving all books");
-        return bookRepository.findAll()
-                .stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+    public CursorPage<BookDTO> findAll(CursorRequest page) {
+        log.debug("Retrieving books page after: {}", page.getAfter());
+        return toPage(bookRepository.findAllAfter(page.ascendingKey(), page.ascendingId(), page.fetchLimit()), page);
     }
 
-    @Transactional(readOnly = true)
+    // Cache hits need no transaction; misses load the book with its author in a single query
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookDTO findById(UUID id) {
         log.debug("Retrieving book with id: {}", id);
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new BookNotFoundException(id));
-        return bookMapper.toDto(book);
+        return bookCache.getById(id, bookId -> bookMapper.toDto(bookRepository.findWithAuthorById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId))));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookDTO findByIsbn(String isbn) {
         log.debug("Retrieving book with ISBN: {}", isbn);
-        Book book = bookRepository.findByIsbn(isbn)
-                .orElseThrow(() -> new BookNotFoundException("Book with ISBN " + isbn + " not found"));
-        return bookMapper.toDto(book);
+        if (!knownIsbns.mightContain(isbn)) {
+            throw new BookNotFoundException("Book with ISBN " + isbn + " not found");
+        }
+        return bookCache.getByIsbn(isbn, key -> bookMapper.toDto(bookRepository.findByIsbn(key)
+                .orElseThrow(() -> new BookNotFoundException("Book with ISBN " + key + " not found"))));
     }
 
     @Transactional(readOnly = true)
-    public List<BookDTO> findByStatus(BookStatus status) {
+    public CursorPage<BookDTO> findByStatus(BookStatus status, CursorRequest page) {
         log.debug("Finding books by status: {}", status);
-        return bookRepository.findByStatus(status)
-                .stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        return toPage(bookRepository.findByStatusAfter(status, page.ascendingKey(), page.ascendingId(),
+                page.fetchLimit()), page);
     }
 
     @Transactional(readOnly = true)
-    public List<BookDTO> findByAuthorId(UUID authorId) {
+    public CursorPage<BookDTO> findByAuthorId(UUID authorId, CursorRequest page) {
         log.debug("Finding books by author id: {}", authorId);
-        return bookRepository.findByAuthor_Id(authorId)
-                .stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        return toPage(bookRepository.findByAuthorIdAfter(authorId, page.ascendingKey(), page.ascendingId(),
+                page.fetchLimit()), page);
     }
 
     @Transactional(readOnly = true)
-    public List<BookDTO> searchBooks(String searchTerm) {
+    public CursorPage<BookDTO> searchBooks(String searchTerm, CursorRequest page) {
         log.debug("Searching books with term: {}", searchTerm);
-        return bookRepository.searchBooks(searchTerm)
-                .stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        UUID after = page.getAfter() != null ? page.getAfter().getId() : null;
+        List<UUID> rankedIds = bookSearchIndex.search(searchTerm, after, page.getLimit() + 1);
+        if (rankedIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        
+        // Hydrate by primary key and restore the index's ranking
+        Map<UUID, Book> booksById = bookRepository.findByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> ranked = rankedIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return CursorPage.from(ranked, page, book -> PageCursor.of(book.getId()), bookMapper::toDto);
+    }
+
+    // Served from memory, so no transaction (and no connection) is needed
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<BookSuggestionDTO> suggest(String prefix, Integer limit) {
+        log.debug("Suggesting completions for prefix: {}", prefix);
+        if (limit != null && limit < 1) {
+            throw new BusinessRuleException("Suggestion limit must be at least 1");
+        }
+        int effectiveLimit = limit == null ? BookSuggestionIndex.MAX_SUGGESTIONS
+                : Math.min(limit, BookSuggestionIndex.MAX_SUGGESTIONS);
+        return bookSuggestionIndex.suggest(prefix, effectiveLimit);
     }
 
     @Transactional(readOnly = true)
-    public List<BookDTO> findBooksWithFilters(BookStatus status, String genre, UUID authorId) {
+    public CursorPage<BookDTO> findBooksWithFilters(BookStatus status, String genre, UUID authorId, CursorRequest page) {
         log.debug("Finding books with filters - status: {}, genre: {}, authorId: {}", status, genre, authorId);
-        return bookRepository.findBooksWithFilters(status, genre, authorId)
-                .stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        return toPage(bookRepository.findBooksWithFiltersAfter(status, genre, authorId,
+                page.ascendingKey(), page.ascendingId(), page.fetchLimit()), page);
     }
 
+    /**
+     * Hands every book matching the filters to {@code sink} one at a time, in the order of the list
+     * endpoint, without collecting them. Returns how many books there were.
+     */
     @Transactional(readOnly = true)
-    public List<BookDTO> findAvailableBooks() {
+    public long streamBooksWithFilters(BookStatus status, String genre, UUID authorId, Consumer<BookDTO> sink) {
+        log.debug("Streaming books with filters - status: {}, genre: {}, authorId: {}", status, genre, authorId);
+        long[] count = {0};
+        try (Stream<Book> books = bookRepository.streamBooksWithFilters(status, genre, authorId)) {
+            books.forEach(book -> {
+                sink.accept(bookMapper.toDto(book));
+                count[0]++;
+            });
+        }
+        return count[0];
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> findAvailableBooks(CursorRequest page) {
         log.debug("Finding available books");
-        return findByStatus(BookStatus.AVAILABLE);
+        return findByStatus(BookStatus.AVAILABLE, page);
     }
 
     public BookDTO update(UUID id, UpdateBookRequest request) {
+        return update(id, request, null);
+    }
+
+    /**
+     * Updates the book only if it is still at {@code expectedVersion}, so a client cannot overwrite
+     * a change it has not seen. A {@code null} version updates unconditionally.
+     */
+    public BookDTO update(UUID id, UpdateBookRequest request, Long expectedVersion) {
         log.info("Updating book with id: {}", id);
         
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
+        PreconditionFailedException.check(expectedVersion, book.getVersion(), "Book", id);
         
-        // Check if ISBN is being changed and if new ISBN already exists
+        // Check if ISBN is being changed and if new ISBN might already exist
+        String duplicateIsbn = "Book with ISBN " + request.getIsbn() + " already exists";
         if (!request.getIsbn().equals(book.getIsbn()) && 
+            knownIsbns.mightContain(request.getIsbn()) &&
             bookRepository.existsByIsbn(request.getIsbn())) {
-            throw new BusinessRuleException("Book with ISBN " + request.getIsbn() + " already exists");
+            throw new BusinessRuleException(duplicateIsbn);
         }
         
         // Validate author exists
@@ -132,7 +205,12 @@ public class BookService {
                 .orElseThrow(() -> new AuthorNotFoundException(request.getAuthorId()));
         
         bookMapper.updateEntity(book, request, author);
-        Book updatedBook = bookRepository.save(book);
+        knownIsbns.add(request.getIsbn());
+        Book updatedBook = UniqueConstraints.enforce(Book.ISBN_CONSTRAINT, duplicateIsbn,
+                () -> bookRepository.saveAndFlush(book));
+        bookCache.invalidate(id);
+        bookSearchIndex.index(updatedBook);
+        bookSuggestionIndex.index(updatedBook);
         
         log.info("Successfully updated book with id: {}", id);
         return bookMapper.toDto(updatedBook);
@@ -150,30 +228,53 @@ public class BookService {
         }
         
         bookRepository.deleteById(id);
+        bookCache.invalidate(id);
+        bookSearchIndex.remove(id);
+        bookSuggestionIndex.remove(id);
         log.info("Successfully deleted book with id: {}", id);
     }
 
+    /**
+     * Flips the book from available to borrowed with one guarded UPDATE, so concurrent borrowers
+     * of the same book cannot both succeed. Books loaded earlier in the transaction are not refreshed.
+     */
     public void markAsBorrowed(UUID bookId) {
         log.info("Marking book as borrowed: {}", bookId);
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
-        
-        if (!book.isAvailable()) {
+        if (!transition(bookId, BookStatus.AVAILABLE, BookStatus.BORROWED)) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new BookNotFoundException(bookId);
+            }
             throw new BusinessRuleException("Book is not available for borrowing");
         }
-        
-        book.markAsBorrowed();
-        bookRepository.save(book);
+        bookCache.invalidate(bookId);
+        bookSuggestionIndex.recordBorrow(bookId);
         log.info("Successfully marked book as borrowed: {}", bookId);
     }
 
     public void markAsAvailable(UUID bookId) {
         log.info("Marking book as available: {}", bookId);
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
-        
-        book.markAsAvailable();
-        bookRepository.save(book);
+        if (!transition(bookId, BookStatus.BORROWED, BookStatus.AVAILABLE) && !bookRepository.existsById(bookId)) {
+            throw new BookNotFoundException(bookId);
+        }
+        bookCache.invalidate(bookId);
         log.info("Successfully marked book as available: {}", bookId);
     }
+
+    private boolean transition(UUID bookId, BookStatus from, BookStatus to) {
+        try {
+            if (bookRepository.transitionStatus(bookId, from, to) != 1) {
+                return false;
+            }
+            tableVersions.changed(Book.class);
+            return true;
+        } catch (ConcurrencyFailureException ex) {
+            // Another transaction changed the row first; it no longer is in the expected status
+            log.debug("Concurrent status change of book {}: {}", bookId, ex.getMessage());
+            return false;
+        }
+    }
+
+    private CursorPage<BookDTO> toPage(List<Book> rows, CursorRequest page) {
+        return CursorPage.from(rows, page, book -> PageCursor.of(book.getDateAdded(), book.getId()), bookMapper::toDto);
+    }
 }
\ No newline at end of file
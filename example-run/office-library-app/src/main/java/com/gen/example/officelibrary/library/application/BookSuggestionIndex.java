@@ -0,0 +1,414 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookBorrowCount;
+import com.gen.example.officelibrary.library.domain.BookSuggestionDTO;
+import com.gen.example.officelibrary.library.domain.SuggestionType;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.search.TextNormalizer;
+import com.gen.example.officelibrary.shared.transaction.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Search-as-you-type completions for book titles and author names, weighted by borrow count.
+ *
+ * <p>Completions live in an immutable compressed trie (radix tree) keyed by the normalized text
+ * and by every word-suffix of it, so "hob" completes "The Hobbit". Each node caches the best
+ * {@link #MAX_SUGGESTIONS} completions below it, which makes a lookup a walk down the prefix.
+ * Writers copy the path they change and publish the new root with a single volatile write, so
+ * readers never lock and always see a consistent trie.
+ * The trie is built before the application starts serving requests.
+ */
+@Component
+@Slf4j
+public class BookSuggestionIndex implements SmartInitializingSingleton {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text);
+
+    private final BookRepository bookRepository;
+    private final BorrowingRecordRepository borrowingRecordRepository;
+
+    private volatile Node root = Node.EMPTY;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Writer-side bookkeeping, guarded by writeLock
+    private final Map<UUID, IndexedBook> books = new HashMap<>();
+    private final Map<UUID, Long> borrowCounts = new HashMap<>();
+    private final Map<EntryKey, Entry> entries = new HashMap<>();
+    private final Map<String, Set<EntryKey>> entriesByKey = new HashMap<>();
+
+    public BookSuggestionIndex(BookRepository bookRepository, BorrowingRecordRepository borrowingRecordRepository) {
+        this.bookRepository = bookRepository;
+        this.borrowingRecordRepository = borrowingRecordRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            books.clear();
+            borrowCounts.clear();
+            entries.clear();
+            entriesByKey.clear();
+
+            for (BookBorrowCount count : borrowingRecordRepository.countBorrowingsPerBook()) {
+                borrowCounts.put(count.getBookId(), count.getBorrowCount());
+            }
+            Set<EntryKey> touched = new HashSet<>();
+            List<Book> batch = bookRepository.findAllAfter(PageCursor.LOWEST_DATE, PageCursor.LOWEST_ID,
+                    Limit.of(REBUILD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (Book book : batch) {
+                    addBook(IndexedBook.of(book), touched);
+                }
+                Book last = batch.get(batch.size() - 1);
+                batch = batch.size() < REBUILD_BATCH_SIZE ? List.of()
+                        : bookRepository.findAllAfter(last.getDateAdded(), last.getId(), Limit.of(REBUILD_BATCH_SIZE));
+            }
+
+            Node rebuilt = Node.EMPTY;
+            for (String key : entriesByKey.keySet()) {
+                rebuilt = Node.put(rebuilt, key, 0, terminalFor(key), true);
+            }
+            root = rebuilt;
+            log.info("Rebuilt book suggestion index with {} titles and authors in {} ms",
+                    entries.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the book's title and author completions once the current transaction commits.
+     */
+    public void index(Book book) {
+        IndexedBook indexed = IndexedBook.of(book);
+        AfterCommit.run(() -> apply(touched -> {
+            removeBook(indexed.id(), touched);
+            addBook(indexed, touched);
+        }));
+    }
+
+    /**
+     * Adds or replaces many books at once, publishing one new trie version for all of them.
+     */
+    public void indexAll(Collection<Book> books) {
+        List<IndexedBook> indexed = books.stream().map(IndexedBook::of).toList();
+        AfterCommit.run(() -> apply(touched -> {
+            for (IndexedBook book : indexed) {
+                removeBook(book.id(), touched);
+                addBook(book, touched);
+            }
+        }));
+    }
+
+    public void remove(UUID bookId) {
+        AfterCommit.run(() -> apply(touched -> {
+            removeBook(bookId, touched);
+            borrowCounts.remove(bookId);
+        }));
+    }
+
+    public void recordBorrow(UUID bookId) {
+        AfterCommit.run(() -> apply(touched -> {
+            borrowCounts.merge(bookId, 1L, Long::sum);
+            IndexedBook book = books.get(bookId);
+            if (book != null) {
+                touched.addAll(book.entryKeys());
+            }
+        }));
+    }
+
+    public void renameAuthor(UUID authorId, String authorName) {
+        AfterCommit.run(() -> apply(touched -> {
+            List<IndexedBook> authored = books.values().stream()
+                    .filter(book -> authorId.equals(book.authorId()))
+                    .toList();
+            for (IndexedBook book : authored) {
+                removeBook(book.id(), touched);
+                addBook(book.withAuthorName(authorName), touched);
+            }
+        }));
+    }
+
+    /**
+     * Best completions of the prefix, highest borrow count first. Lock-free: reads whichever
+     * trie version was last published.
+     */
+    public List<BookSuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return Node.lookup(root, normalized).stream()
+                .limit(limit)
+                .map(suggestion -> new BookSuggestionDTO(suggestion.text(), suggestion.type(), suggestion.weight()))
+                .toList();
+    }
+
+    private void apply(Consumer<Set<EntryKey>> change) {
+        writeLock.lock();
+        try {
+            Set<EntryKey> touched = new HashSet<>();
+            change.accept(touched);
+
+            Set<String> keys = new LinkedHashSet<>();
+            for (EntryKey entryKey : touched) {
+                keys.addAll(entryKey.keys());
+            }
+            Node updated = root;
+            for (String key : keys) {
+                updated = Node.put(updated, key, 0, terminalFor(key), true);
+            }
+            root = updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void addBook(IndexedBook book, Set<EntryKey> touched) {
+        books.put(book.id(), book);
+        for (EntryKey entryKey : book.entryKeys()) {
+            Entry entry = entries.computeIfAbsent(entryKey, k -> {
+                k.keys().forEach(key -> entriesByKey.computeIfAbsent(key, x -> new HashSet<>()).add(k));
+                return new Entry();
+            });
+            entry.bookIds.add(book.id());
+            entry.text = entryKey.type() == SuggestionType.TITLE ? book.title() : book.authorName();
+            touched.add(entryKey);
+        }
+    }
+
+    private void removeBook(UUID bookId, Set<EntryKey> touched) {
+        IndexedBook book = books.remove(bookId);
+        if (book == null) {
+            return;
+        }
+        for (EntryKey entryKey : book.entryKeys()) {
+            Entry entry = entries.get(entryKey);
+            entry.bookIds.remove(bookId);
+            if (entry.bookIds.isEmpty()) {
+                entries.remove(entryKey);
+                for (String key : entryKey.keys()) {
+                    Set<EntryKey> atKey = entriesByKey.get(key);
+                    atKey.remove(entryKey);
+                    if (atKey.isEmpty()) {
+                        entriesByKey.remove(key);
+                    }
+                }
+            }
+            touched.add(entryKey);
+        }
+    }
+
+    private List<Suggestion> terminalFor(String key) {
+        List<Suggestion> terminal = new ArrayList<>();
+        for (EntryKey entryKey : entriesByKey.getOrDefault(key, Set.of())) {
+            Entry entry = entries.get(entryKey);
+            long weight = entry.bookIds.stream().mapToLong(id -> borrowCounts.getOrDefault(id, 0L)).sum();
+            terminal.add(new Suggestion(entry.text, entryKey.type(), weight));
+        }
+        return terminal;
+    }
+
+    /**
+     * The normalized text and every suffix of it that starts at a word.
+     */
+    static List<String> wordSuffixes(String normalized) {
+        List<String> suffixes = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return suffixes;
+        }
+        suffixes.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            suffixes.add(normalized.substring(i + 1));
+        }
+        return suffixes;
+    }
+
+    record Suggestion(String text, SuggestionType type, long weight) {
+    }
+
+    private record EntryKey(SuggestionType type, String normalized) {
+
+        List<String> keys() {
+            return wordSuffixes(normalized);
+        }
+    }
+
+    private static final class Entry {
+        private final Set<UUID> bookIds = new HashSet<>();
+        private String text;
+    }
+
+    private record IndexedBook(UUID id, String title, UUID authorId, String authorName) {
+
+        static IndexedBook of(Book book) {
+            String authorName = book.getAuthor() != null ? book.getAuthor().getFullName() : null;
+            return new IndexedBook(book.getId(), book.getTitle(), book.getAuthorId(), authorName);
+        }
+
+        IndexedBook withAuthorName(String newAuthorName) {
+            return new IndexedBook(id, title, authorId, newAuthorName);
+        }
+
+        List<EntryKey> entryKeys() {
+            List<EntryKey> keys = new ArrayList<>();
+            String normalizedTitle = TextNormalizer.normalize(title);
+            if (!normalizedTitle.isEmpty()) {
+                keys.add(new EntryKey(SuggestionType.TITLE, normalizedTitle));
+            }
+            String normalizedAuthor = TextNormalizer.normalize(authorName);
+            if (!normalizedAuthor.isEmpty()) {
+                keys.add(new EntryKey(SuggestionType.AUTHOR, normalizedAuthor));
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * Immutable radix tree node. {@code label} is the edge from the parent, {@code terminal} the
+     * completions whose key ends here and {@code top} the best completions in the whole subtree.
+     */
+    private static final class Node {
+
+        static final Node EMPTY = new Node("", Map.of(), List.of());
+
+        private final String label;
+        private final Map<Character, Node> children;
+        private final List<Suggestion> terminal;
+        private final List<Suggestion> top;
+
+        private Node(String label, Map<Character, Node> children, List<Suggestion> terminal) {
+            this.label = label;
+            this.children = children;
+            this.terminal = List.copyOf(terminal);
+            this.top = Stream.concat(this.terminal.stream(), children.values().stream().flatMap(c -> c.top.stream()))
+                    .distinct()
+                    .sorted(BEST_FIRST)
+                    .limit(MAX_SUGGESTIONS)
+                    .toList();
+        }
+
+        static List<Suggestion> lookup(Node node, String prefix) {
+            int pos = 0;
+            while (pos < prefix.length()) {
+                Node child = node.children.get(prefix.charAt(pos));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefixLength(child.label, prefix, pos);
+                if (pos + common == prefix.length()) {
+                    return child.top;
+                }
+                if (common < child.label.length()) {
+                    return List.of();
+                }
+                node = child;
+                pos += common;
+            }
+            return node.top;
+        }
+
+        /**
+         * Returns a copy of {@code node} with {@code key} (from {@code pos} on) mapped to
+         * {@code value}; an empty value removes the key. Untouched subtrees are shared.
+         */
+        static Node put(Node node, String key, int pos, List<Suggestion> value, boolean isRoot) {
+            if (pos == key.length()) {
+                return compact(new Node(node.label, node.children, value), isRoot);
+            }
+            char first = key.charAt(pos);
+            Node child = node.children.get(first);
+            if (child == null) {
+                if (value.isEmpty()) {
+                    return node;
+                }
+                return node.withChild(first, new Node(key.substring(pos), Map.of(), value));
+            }
+            int common = commonPrefixLength(child.label, key, pos);
+            if (common == child.label.length()) {
+                return compact(node.withChild(first, put(child, key, pos + common, value, false)), isRoot);
+            }
+            if (value.isEmpty()) {
+                return node;
+            }
+            // The key leaves the child's edge part-way: split the edge at the divergence point
+            Node tail = new Node(child.label.substring(common), child.children, child.terminal);
+            Map<Character, Node> splitChildren = new HashMap<>();
+            splitChildren.put(tail.label.charAt(0), tail);
+            List<Suggestion> splitTerminal = List.of();
+            if (pos + common == key.length()) {
+                splitTerminal = value;
+            } else {
+                String rest = key.substring(pos + common);
+                splitChildren.put(rest.charAt(0), new Node(rest, Map.of(), value));
+            }
+            Node split = new Node(child.label.substring(0, common), Map.copyOf(splitChildren), splitTerminal);
+            return node.withChild(first, split);
+        }
+
+        private Node withChild(char first, Node child) {
+            Map<Character, Node> updated = new HashMap<>(children);
+            if (child == null) {
+                updated.remove(first);
+            } else {
+                updated.put(first, child);
+            }
+            return new Node(label, Map.copyOf(updated), terminal);
+        }
+
+        /**
+         * Drops nodes that no longer lead anywhere and merges a pass-through node into its only child.
+         */
+        private static Node compact(Node node, boolean isRoot) {
+            if (isRoot || !node.terminal.isEmpty() || node.children.size() > 1) {
+                return node;
+            }
+            if (node.children.isEmpty()) {
+                return null;
+            }
+            Node only = node.children.values().iterator().next();
+            return new Node(node.label + only.label, only.children, only.terminal);
+        }
+
+        private static int commonPrefixLength(String label, String key, int pos) {
+            int max = Math.min(label.length(), key.length() - pos);
+            int i = 0;
+            while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
\ No newline at end of file
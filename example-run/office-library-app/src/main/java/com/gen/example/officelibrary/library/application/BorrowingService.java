@@ -4,14 +4,25 @@ import com.gen.example.officelibrary.library.domain.*;
 import com.gen.example.officelibrary.library.persistence.BookRepository;
 import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -22,45 +33,42 @@ public class BorrowingService {
     private final BookRepository bookRepository;
     private final BorrowingRecordMapper borrowingRecordMapper;
     private final BookService bookService;
+    private final ActiveLoanCounters activeLoanCounters;
+    private final DueDateIndex dueDateIndex;
+    private final TableVersions tableVersions;
 
     public BorrowingService(BorrowingRecordRepository borrowingRecordRepository,
                            BookRepository bookRepository,
                            BorrowingRecordMapper borrowingRecordMapper,
-                           BookService bookService) {
+                           BookService bookService,
+                           ActiveLoanCounters activeLoanCounters,
+                           DueDateIndex dueDateIndex,
+                           TableVersions tableVersions) {
         this.borrowingRecordRepository = borrowingRecordRepository;
         this.bookRepository = bookRepository;
         this.borrowingRecordMapper = borrowingRecordMapper;
         this.bookService = bookService;
+        this.activeLoanCounters = activeLoanCounters;
+        this.dueDateIndex = dueDateIndex;
+        this.tableVersions = tableVersions;
     }
 
     public BorrowingRecordDTO borrowBook(UUID bookId, BorrowBookRequest request) {
         log.info("Processing book borrowing request for book: {} by: {}", bookId, request.getBorrowerEmail());
         
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId));
-        
-        // Check if book is available
-        if (!book.isAvailable()) {
-            throw new BusinessRuleException("Book is not available for borrowing");
-        }
-        
-        // Check if there's already an active borrowing record for this book
-        if (borrowingRecordRepository.existsByBookAndStatus(book, BorrowingStatus.ACTIVE)) {
-            throw new BusinessRuleException("Book is already borrowed");
-        }
+        // Take one of the borrower's loan slots (max 3 active borrowings per user), given back on rollback
+        activeLoanCounters.reserve(request.getBorrowerEmail());
         
-        // Check borrowing limits (e.g., max 3 active borrowings per user)
-        long activeBorrowings = borrowingRecordRepository.countActiveBorrowingsByEmail(request.getBorrowerEmail());
-        if (activeBorrowings >= 3) {
-            throw new BusinessRuleException("Maximum borrowing limit (3 books) reached for user: " + request.getBorrowerEmail());
-        }
+        // Mark book as borrowed: a guarded UPDATE that is both the availability check and the write
+        bookService.markAsBorrowed(bookId);
         
-        // Create borrowing record
+        // Create borrowing record, loading the book after the update so it shows as borrowed
+        Book book = bookRepository.findWithAuthorById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
         BorrowingRecord borrowingRecord = borrowingRecordMapper.toEntity(request, book);
         BorrowingRecord savedRecord = borrowingRecordRepository.save(borrowingRecord);
-        
-        // Mark book as borrowed
-        bookService.markAsBorrowed(bookId);
+        dueDateIndex.add(new ActiveLoan(savedRecord.getId(), savedRecord.getBorrowerEmail(),
+                savedRecord.getBorrowDate(), savedRecord.getDueDate()));
         
         log.info("Successfully created borrowing record with id: {}", savedRecord.getId());
         return borrowingRecordMapper.toDto(savedRecord);
@@ -69,17 +77,19 @@ public class BorrowingService {
     public BorrowingRecordDTO returnBook(UUID borrowingRecordId) {
         log.info("Processing book return for borrowing record: {}", borrowingRecordId);
         
-        BorrowingRecord borrowingRecord = borrowingRecordRepository.findById(borrowingRecordId)
+        BorrowingRecord borrowingRecord = borrowingRecordRepository.findByIdForUpdate(borrowingRecordId)
                 .orElseThrow(() -> new BorrowingRecordNotFoundException(borrowingRecordId));
         
-        // Check if record is active
-        if (!borrowingRecord.isActive()) {
+        // Active or overdue loans can be returned; the row lock makes a concurrent second return fail here
+        if (!borrowingRecord.isOnLoan()) {
             throw new BusinessRuleException("Borrowing record is not active");
         }
         
         // Mark record as returned
         borrowingRecord.markAsReturned(LocalDate.now());
         BorrowingRecord updatedRecord = borrowingRecordRepository.save(borrowingRecord);
+        activeLoanCounters.release(borrowingRecord.getBorrowerEmail());
+        dueDateIndex.remove(borrowingRecordId);
         
         // Mark book as available
         bookService.markAsAvailable(borrowingRecord.getBook().getId());
@@ -88,13 +98,18 @@ public class BorrowingService {
         return borrowingRecordMapper.toDto(updatedRecord);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BorrowerLoansDTO findActiveLoans(String borrowerEmail) {
+        log.debug("Retrieving active loan count for borrower: {}", borrowerEmail);
+        return new BorrowerLoansDTO(borrowerEmail, activeLoanCounters.activeCount(borrowerEmail),
+                ActiveLoanCounters.MAX_ACTIVE_LOANS);
+    }
+
     @Transactional(readOnly = true)
-    public List<BorrowingRecordDTO> findAll() {
-        log.debug("Retrieving all borrowing records");
-        return borrowingRecordRepository.findAll()
-                .stream()
-                .map(borrowingRecordMapper::toDto)
-                .collect(Collectors.toList());
+    public CursorPage<BorrowingRecordDTO> findAll(CursorRequest page) {
+        log.debug("Retrieving borrowing records page after: {}", page.getAfter());
+        return toPage(borrowingRecordRepository.findAllAfter(page.ascendingKey(), page.ascendingId(),
+                page.fetchLimit()), page);
     }
 
     @Transactional(readOnly = true)
@@ -106,64 +121,104 @@ public class BorrowingService {
     }
 
     @Transactional(readOnly = true)
-    public List<BorrowingRecordDTO> findByStatus(BorrowingStatus status) {
-        log.debug("Finding borrowing records by status: {}", status);
-        return borrowingRecordRepository.findByStatus(status)
-                .stream()
-                .map(borrowingRecordMapper::toDto)
-                .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<BorrowingRecordDTO> findByBorrowerEmail(String email) {
+    public CursorPage<BorrowingRecordDTO> findByBorrowerEmail(String email, CursorRequest page) {
         log.debug("Finding borrowing records by borrower email: {}", email);
-        return borrowingRecordRepository.findByBorrowerEmailIgnoreCase(email)
-                .stream()
-                .map(borrowingRecordMapper::toDto)
-                .collect(Collectors.toList());
+        return toPage(borrowingRecordRepository.findByBorrowerEmailAfter(BorrowingRecord.borrowerEmailKey(email),
+                page.ascendingKey(), page.ascendingId(), page.fetchLimit()), page);
     }
 
     @Transactional(readOnly = true)
-    public List<BorrowingRecordDTO> findOverdueRecords() {
+    public CursorPage<BorrowingRecordDTO> findOverdueRecords(CursorRequest page) {
         log.debug("Finding overdue borrowing records");
-        return borrowingRecordRepository.findOverdueRecords(LocalDate.now())
-                .stream()
-                .map(borrowingRecordMapper::toDto)
-                .collect(Collectors.toList());
+        List<ActiveLoan> loans = dueDateIndex.overduePage(LocalDate.now(), page.ascendingKey(), page.ascendingId(),
+                page.getLimit() + 1);
+        if (loans.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        // Hydrate by primary key and restore the index's order, skipping loans returned since
+        Map<UUID, BorrowingRecordView> viewsById = borrowingRecordRepository
+                .findViewsByIdIn(loans.stream().map(ActiveLoan::getId).toList()).stream()
+                .collect(Collectors.toMap(BorrowingRecordView::getId, Function.identity()));
+        List<BorrowingRecordView> ordered = loans.stream()
+                .map(loan -> viewsById.get(loan.getId()))
+                .filter(view -> view != null && view.getStatus() != BorrowingStatus.RETURNED)
+                .toList();
+        return toPage(ordered, page);
     }
 
     @Transactional(readOnly = true)
-    public List<BorrowingRecordDTO> findBorrowingHistoryByBookId(UUID bookId) {
+    public CursorPage<BorrowingRecordDTO> findBorrowingHistoryByBookId(UUID bookId, CursorRequest page) {
         log.debug("Finding borrowing history for book: {}", bookId);
-        return borrowingRecordRepository.findBorrowingHistoryByBookId(bookId)
-                .stream()
-                .map(borrowingRecordMapper::toDto)
-                .collect(Collectors.toList());
+        return toPage(borrowingRecordRepository.findBorrowingHistoryByBookIdBefore(bookId, page.descendingKey(),
+                page.descendingId(), page.fetchLimit()), page);
     }
 
     @Transactional(readOnly = true)
-    public List<BorrowingRecordDTO> findRecordsWithFilters(BorrowingStatus status, String borrowerEmail, 
-                                                          LocalDate fromDate, LocalDate toDate) {
+    public CursorPage<BorrowingRecordDTO> findRecordsWithFilters(BorrowingStatus status, String borrowerEmail,
+                                                                 LocalDate fromDate, LocalDate toDate,
+                                                                 CursorRequest page) {
         log.debug("Finding borrowing records with filters - status: {}, email: {}, from: {}, to: {}", 
                  status, borrowerEmail, fromDate, toDate);
-        return borrowingRecordRepository.findRecordsWithFilters(status, borrowerEmail, fromDate, toDate)
-                .stream()
-                .map(borrowingRecordMapper::toDto)
-                .collect(Collectors.toList());
+        return toPage(borrowingRecordRepository.findRecordsWithFiltersAfter(status, borrowerEmail, fromDate, toDate,
+                page.ascendingKey(), page.ascendingId(), page.fetchLimit()), page);
     }
 
-    public void markOverdueRecords() {
-        log.info("Marking overdue borrowing records");
-        List<BorrowingRecord> overdueRecords = borrowingRecordRepository.findOverdueRecords(LocalDate.now());
-        
-        for (BorrowingRecord record : overdueRecords) {
-            if (record.getStatus() == BorrowingStatus.ACTIVE) {
-                record.markAsOverdue();
-                borrowingRecordRepository.save(record);
-                log.debug("Marked borrowing record {} as overdue", record.getId());
-            }
+    /**
+     * Hands every record matching the filters to {@code sink} one at a time, in the order of the
+     * list endpoint, without collecting them. Returns how many records there were.
+     */
+    @Transactional(readOnly = true)
+    public long streamRecordsWithFilters(BorrowingStatus status, String borrowerEmail, LocalDate fromDate,
+                                         LocalDate toDate, Consumer<BorrowingRecordDTO> sink) {
+        log.debug("Streaming borrowing records with filters - status: {}, email: {}, from: {}, to: {}",
+                 status, borrowerEmail, fromDate, toDate);
+        long[] count = {0};
+        try (Stream<BorrowingRecord> records = borrowingRecordRepository.streamRecordsWithFilters(status,
+                borrowerEmail, fromDate, toDate)) {
+            records.forEach(record -> {
+                sink.accept(borrowingRecordMapper.toDto(record));
+                count[0]++;
+            });
         }
-        
-        log.info("Processed {} overdue records", overdueRecords.size());
+        return count[0];
+    }
+
+    /**
+     * Flips the given loans to OVERDUE if they are still active and due before {@code currentDate},
+     * with a single UPDATE. Each call is its own transaction, so {@link OverdueSweepJob} commits
+     * chunk by chunk and a sweep that stops half-way simply leaves the rest for the next run.
+     *
+     * <p>Overdue loans stay in the due-date index, flagged so the next sweep skips them, and keep
+     * their borrower's loan slot until they are returned.
+     */
+    public int markOverdueRecords(LocalDate currentDate, Collection<UUID> loanIds) {
+        List<ActiveLoan> onLoan = borrowingRecordRepository.findActiveLoansForUpdate(loanIds);
+        List<UUID> overdue = onLoan.stream()
+                .filter(loan -> loan.getDueDate().isBefore(currentDate))
+                .map(ActiveLoan::getId)
+                .toList();
+
+        // Loans that have been returned only linger in the index; drop them as well
+        Set<UUID> stillOnLoan = onLoan.stream().map(ActiveLoan::getId).collect(Collectors.toSet());
+        loanIds.stream().filter(id -> !stillOnLoan.contains(id)).forEach(dueDateIndex::remove);
+        if (overdue.isEmpty()) {
+            return 0;
+        }
+
+        // Loans flagged by an earlier sweep are skipped by the UPDATE and not counted again
+        int marked = borrowingRecordRepository.markAsOverdue(overdue);
+        // All of them are OVERDUE once this commits, so the next sweep no longer reads them
+        dueDateIndex.markOverdue(overdue);
+        if (marked > 0) {
+            tableVersions.changed(BorrowingRecord.class);
+        }
+        log.debug("Marked {} borrowing records as overdue", marked);
+        return marked;
+    }
+
+    private CursorPage<BorrowingRecordDTO> toPage(List<BorrowingRecordView> rows, CursorRequest page) {
+        return CursorPage.from(rows, page, view -> PageCursor.of(view.getBorrowDate(), view.getId()),
+                view -> borrowingRecordMapper.toDto(view));
     }
 }
\ No newline at end of file
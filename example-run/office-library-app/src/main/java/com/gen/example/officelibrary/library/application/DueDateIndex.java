@@ -0,0 +1,206 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.ActiveLoan;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.transaction.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loans not yet returned, ACTIVE or OVERDUE, bucketed by due date, so the overdue list and the
+ * overdue sweep read only the buckets before today instead of scanning {@code borrowing_records}.
+ *
+ * <p>Loans enter when a borrow commits and leave when their return commits. The overdue sweep
+ * leaves them in place, so swept loans stay on the overdue list until they come back, but it
+ * records their new status, so the next sweep only reads loans that are still ACTIVE.
+ * The index is seeded from the records before the application starts serving requests.
+ */
+@Component
+@Slf4j
+public class DueDateIndex implements SmartInitializingSingleton {
+
+    // Same order as the database's keyset pagination: by borrow date, then by id compared unsigned
+    public static final Comparator<ActiveLoan> BORROW_ORDER = Comparator
+            .comparing(ActiveLoan::getBorrowDate)
+            .thenComparing(ActiveLoan::getId, DueDateIndex::compareUnsigned);
+
+    private final BorrowingRecordRepository borrowingRecordRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private final NavigableMap<LocalDate, Map<UUID, ActiveLoan>> byDueDate = new TreeMap<>();
+    // The ACTIVE subset of byDueDate: loans no sweep has marked yet
+    private final NavigableMap<LocalDate, Map<UUID, ActiveLoan>> unsweptByDueDate = new TreeMap<>();
+    private final Map<UUID, ActiveLoan> loans = new HashMap<>();
+
+    public DueDateIndex(BorrowingRecordRepository borrowingRecordRepository, MeterRegistry meterRegistry) {
+        this.borrowingRecordRepository = borrowingRecordRepository;
+        Gauge.builder("borrowing.due.index.size", this, DueDateIndex::size)
+                .description("Active loans held in the due-date index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            List<ActiveLoan> activeLoans = borrowingRecordRepository.findActiveLoans();
+            byDueDate.clear();
+            unsweptByDueDate.clear();
+            loans.clear();
+            activeLoans.forEach(this::put);
+            log.info("Loaded {} active loans into the due-date index", activeLoans.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void add(ActiveLoan loan) {
+        AfterCommit.run(() -> put(loan));
+    }
+
+    public void remove(UUID loanId) {
+        AfterCommit.run(() -> delete(loanId));
+    }
+
+    /**
+     * Records that the sweep has marked the given loans OVERDUE once the current transaction
+     * commits, so later sweeps no longer pick them up. They stay on the overdue list.
+     */
+    public void markOverdue(Collection<UUID> loanIds) {
+        AfterCommit.run(() -> {
+            lock.lock();
+            try {
+                for (UUID loanId : loanIds) {
+                    ActiveLoan loan = loans.get(loanId);
+                    if (loan != null) {
+                        put(loan.markedOverdue());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Every indexed loan due before {@code currentDate}, in no particular order.
+     */
+    public List<ActiveLoan> overdue(LocalDate currentDate) {
+        lock.lock();
+        try {
+            List<ActiveLoan> overdue = new ArrayList<>();
+            byDueDate.headMap(currentDate, false).values().forEach(bucket -> overdue.addAll(bucket.values()));
+            return overdue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The loans due before {@code currentDate} that are still ACTIVE, which are the ones the
+     * overdue sweep has left to mark; loans it marked on earlier runs are not read again.
+     */
+    public List<ActiveLoan> unswept(LocalDate currentDate) {
+        lock.lock();
+        try {
+            List<ActiveLoan> unswept = new ArrayList<>();
+            unsweptByDueDate.headMap(currentDate, false).values().forEach(bucket -> unswept.addAll(bucket.values()));
+            return unswept;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One page of the loans due before {@code currentDate} in {@link #BORROW_ORDER}, starting after
+     * the given position.
+     */
+    public List<ActiveLoan> overduePage(LocalDate currentDate, LocalDate afterDate, UUID afterId, int limit) {
+        ActiveLoan after = new ActiveLoan(afterId, null, afterDate, null);
+        return overdue(currentDate).stream()
+                .filter(loan -> BORROW_ORDER.compare(loan, after) > 0)
+                .sorted(BORROW_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return loans.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(ActiveLoan loan) {
+        lock.lock();
+        try {
+            delete(loan.getId());
+            loans.put(loan.getId(), loan);
+            addToBucket(byDueDate, loan);
+            if (loan.getStatus() == BorrowingStatus.ACTIVE) {
+                addToBucket(unsweptByDueDate, loan);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void delete(UUID loanId) {
+        lock.lock();
+        try {
+            ActiveLoan loan = loans.remove(loanId);
+            if (loan == null) {
+                return;
+            }
+            removeFromBucket(byDueDate, loan);
+            removeFromBucket(unsweptByDueDate, loan);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void addToBucket(NavigableMap<LocalDate, Map<UUID, ActiveLoan>> buckets, ActiveLoan loan) {
+        buckets.computeIfAbsent(loan.getDueDate(), date -> new LinkedHashMap<>()).put(loan.getId(), loan);
+    }
+
+    private static void removeFromBucket(NavigableMap<LocalDate, Map<UUID, ActiveLoan>> buckets, ActiveLoan loan) {
+        Map<UUID, ActiveLoan> bucket = buckets.get(loan.getDueDate());
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(loan.getId());
+        if (bucket.isEmpty()) {
+            buckets.remove(loan.getDueDate());
+        }
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
\ No newline at end of file
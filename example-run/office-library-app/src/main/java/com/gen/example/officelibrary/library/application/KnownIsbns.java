@@ -0,0 +1,40 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.shared.membership.KnownValues;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Bloom filter of every ISBN ever stored. A definite miss means no book has the ISBN, so
+ * {@link BookService} can skip the duplicate probe and answer ISBN lookups with a 404 directly.
+ * Loaded before the application starts serving requests.
+ */
+@Component
+@Slf4j
+public class KnownIsbns extends KnownValues implements SmartInitializingSingleton {
+
+    private static final long EXPECTED_ISBNS = 1_000_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final BookRepository bookRepository;
+
+    public KnownIsbns(BookRepository bookRepository) {
+        super(EXPECTED_ISBNS, FALSE_POSITIVE_RATE);
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        List<String> isbns = bookRepository.findAllIsbns();
+        load(isbns);
+        log.info("Loaded {} ISBNs into the ISBN filter", isbns.size());
+    }
+}
\ No newline at end of file
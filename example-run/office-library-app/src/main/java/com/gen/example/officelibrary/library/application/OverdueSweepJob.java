@@ -0,0 +1,104 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.ActiveLoan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly maintenance job that marks ACTIVE records past their due date as OVERDUE.
+ *
+ * <p>The sweep takes the loans past their due date that are still ACTIVE from the
+ * {@link DueDateIndex}, so its cost follows the number of newly overdue loans rather than the
+ * table size or the backlog marked on earlier nights, and flips them one
+ * {@link BorrowingService#markOverdueRecords} chunk per transaction. Locks are held
+ * for one chunk only, and a failed run keeps the chunks it has committed. Runs do not overlap; a
+ * trigger that fires while a sweep is running is skipped.
+ */
+@Component
+@Slf4j
+public class OverdueSweepJob {
+
+    private final BorrowingService borrowingService;
+    private final DueDateIndex dueDateIndex;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer sweepTimer;
+    private final Counter markedCounter;
+    private volatile double lastRecordsPerSecond;
+
+    public OverdueSweepJob(BorrowingService borrowingService,
+                           DueDateIndex dueDateIndex,
+                           MeterRegistry meterRegistry,
+                           @Value("${library.overdue-sweep.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Overdue sweep chunk size must be positive");
+        }
+        this.borrowingService = borrowingService;
+        this.dueDateIndex = dueDateIndex;
+        this.chunkSize = chunkSize;
+        this.sweepTimer = Timer.builder("borrowing.overdue.sweep")
+                .description("Duration of overdue sweeps")
+                .register(meterRegistry);
+        this.markedCounter = Counter.builder("borrowing.overdue.sweep.records")
+                .description("Borrowing records marked as overdue by the sweep")
+                .register(meterRegistry);
+        Gauge.builder("borrowing.overdue.sweep.throughput", this, job -> job.lastRecordsPerSecond)
+                .description("Records per second marked by the last overdue sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${library.overdue-sweep.cron:0 5 0 * * *}")
+    public void run() {
+        sweep(LocalDate.now());
+    }
+
+    /**
+     * Marks every record due before {@code currentDate}, returning how many were marked, or -1 if
+     * another sweep was already running.
+     */
+    public long sweep(LocalDate currentDate) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Overdue sweep already running, skipping this run");
+            return -1;
+        }
+        try {
+            long start = System.nanoTime();
+            List<UUID> overdueIds = dueDateIndex.unswept(currentDate).stream().map(ActiveLoan::getId).toList();
+            long marked = 0;
+            int chunks = 0;
+            for (int from = 0; from < overdueIds.size(); from += chunkSize) {
+                List<UUID> chunk = overdueIds.subList(from, Math.min(from + chunkSize, overdueIds.size()));
+                int chunkMarked = borrowingService.markOverdueRecords(currentDate, chunk);
+                marked += chunkMarked;
+                markedCounter.increment(chunkMarked);
+                chunks++;
+            }
+
+            long elapsedNanos = System.nanoTime() - start;
+            sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            lastRecordsPerSecond = marked / Math.max(elapsedNanos / 1e9, 1e-9);
+            log.info("Overdue sweep marked {} records in {} chunks in {} ms ({} records/s)", marked, chunks,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(lastRecordsPerSecond));
+            return marked;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public double lastRecordsPerSecond() {
+        return lastRecordsPerSecond;
+    }
+}
\ No newline at end of file
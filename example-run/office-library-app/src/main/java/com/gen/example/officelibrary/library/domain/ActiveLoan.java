@@ -0,0 +1,33 @@
+package com.gen.example.officelibrary.library.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The columns of a borrowing record still on loan, ACTIVE or OVERDUE, that the in-memory loan
+ * structures and maintenance jobs need, selected without loading the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class ActiveLoan {
+
+    private final UUID id;
+    private final String borrowerEmail;
+    private final LocalDate borrowDate;
+    private final LocalDate dueDate;
+    private final BorrowingStatus status;
+
+    /**
+     * A loan that has just been borrowed, so still ACTIVE.
+     */
+    public ActiveLoan(UUID id, String borrowerEmail, LocalDate borrowDate, LocalDate dueDate) {
+        this(id, borrowerEmail, borrowDate, dueDate, BorrowingStatus.ACTIVE);
+    }
+
+    public ActiveLoan markedOverdue() {
+        return new ActiveLoan(id, borrowerEmail, borrowDate, dueDate, BorrowingStatus.OVERDUE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.gen.example.officelibrary.library.domain;
+
+public enum BatchMode {
+    // Nothing is written unless every operation succeeds
+    ALL_OR_NOTHING,
+    // Operations that pass are written, the others are reported
+    BEST_EFFORT
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.gen.example.officelibrary.library.domain;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One operation of a batch. Borrows name the book and the borrower, returns the borrowing record
+ * and relocations the book and its new location.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationRequest {
+
+    @NotNull(message = "Operation type is required")
+    private BatchOperationType type;
+
+    private UUID bookId;
+
+    private UUID borrowingRecordId;
+
+    @Size(min = 1, max = 255, message = "Borrower name must be between 1 and 255 characters")
+    private String borrowerName;
+
+    @Email(message = "Borrower email must be valid")
+    @Size(max = 255, message = "Borrower email must not exceed 255 characters")
+    private String borrowerEmail;
+
+    @Size(max = 500, message = "Notes must not exceed 500 characters")
+    private String notes;
+
+    @Size(max = 100, message = "Location must not exceed 100 characters")
+    private String location;
+
+    public static BatchOperationRequest borrow(UUID bookId, String borrowerName, String borrowerEmail) {
+        return new BatchOperationRequest(BatchOperationType.BORROW, bookId, null, borrowerName, borrowerEmail,
+                null, null);
+    }
+
+    public static BatchOperationRequest returnRecord(UUID borrowingRecordId) {
+        return new BatchOperationRequest(BatchOperationType.RETURN, null, borrowingRecordId, null, null, null, null);
+    }
+
+    public static BatchOperationRequest relocate(UUID bookId, String location) {
+        return new BatchOperationRequest(BatchOperationType.RELOCATE, bookId, null, null, null, null, location);
+    }
+
+    public BorrowBookRequest toBorrowRequest() {
+        return new BorrowBookRequest(borrowerName, borrowerEmail, notes);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.gen.example.officelibrary.library.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResultDTO {
+
+    // Position of the operation in the request, counting from 0
+    private int index;
+    private BatchOperationType type;
+    private boolean succeeded;
+    // Why the operation failed; null when it succeeded
+    private String message;
+    private UUID bookId;
+    private UUID borrowingRecordId;
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.gen.example.officelibrary.library.domain;
+
+public enum BatchOperationType {
+    BORROW,
+    RETURN,
+    RELOCATE
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.gen.example.officelibrary.library.domain;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    public static final int MAX_OPERATIONS = 500;
+
+    private BatchMode mode = BatchMode.BEST_EFFORT;
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = MAX_OPERATIONS, message = "A batch must not exceed " + MAX_OPERATIONS + " operations")
+    private List<@Valid @NotNull BatchOperationRequest> operations;
+}
\ No newline at end of file
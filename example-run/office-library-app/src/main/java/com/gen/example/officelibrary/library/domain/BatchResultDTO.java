@@ -0,0 +1,20 @@
+package com.gen.example.officelibrary.library.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+
+    private BatchMode mode;
+    // False when an all-or-nothing batch was rolled back
+    private boolean committed;
+    private int succeeded;
+    private int failed;
+    private List<BatchOperationResultDTO> results;
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.gen.example.officelibrary.author.domain.Author;
 import com.gen.example.officelibrary.shared.domain.BaseEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -11,16 +12,21 @@ import lombok.Setter;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", uniqueConstraints = {
+        @UniqueConstraint(name = Book.ISBN_CONSTRAINT, columnNames = "isbn")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Book extends BaseEntity {
 
-    @Column(nullable = false, unique = true)
+    public static final String ISBN_CONSTRAINT = "uk_books_isbn";
+
+    @Column(nullable = false)
     @NotNull
     @Size(min = 10, max = 17)
     private String isbn;
@@ -44,6 +50,11 @@ public class Book extends BaseEntity {
     @Size(max = 100)
     private String genre;
 
+    // Lower-cased genre, so genre filters are an indexed equality instead of LOWER(genre) per row
+    @Column(name = "genre_key", length = 100)
+    @Setter(AccessLevel.NONE)
+    private String genreKey;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @NotNull
@@ -86,6 +97,16 @@ public class Book extends BaseEntity {
         this.location = location;
     }
 
+    public static String genreKey(String genre) {
+        return genre != null ? genre.toLowerCase(Locale.ROOT) : null;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateGenreKey() {
+        this.genreKey = genreKey(genre);
+    }
+
     public UUID getAuthorId() {
         return author != null ? author.getId() : null;
     }
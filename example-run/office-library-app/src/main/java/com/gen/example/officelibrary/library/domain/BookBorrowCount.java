@@ -0,0 +1,13 @@
+package com.gen.example.officelibrary.library.domain;
+
+import java.util.UUID;
+
+/**
+ * Number of borrowing records per book, as returned by the grouped count query.
+ */
+public interface BookBorrowCount {
+
+    UUID getBookId();
+
+    long getBorrowCount();
+}
\ No newline at end of file
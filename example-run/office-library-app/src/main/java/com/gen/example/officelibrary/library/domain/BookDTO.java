@@ -50,6 +50,9 @@ public class BookDTO {
     // Optional author information for display purposes
     private AuthorDTO author;
 
+    // Row version, the book's part of its entity tag
+    private Long version;
+
     public static BookDTO fromEntity(Book book) {
         BookDTO dto = new BookDTO(
                 book.getId(),
@@ -62,7 +65,8 @@ public class BookDTO {
                 book.getStatus(),
                 book.getDateAdded(),
                 book.getLocation(),
-                null
+                null,
+                book.getVersion()
         );
         
         if (book.getAuthor() != null) {
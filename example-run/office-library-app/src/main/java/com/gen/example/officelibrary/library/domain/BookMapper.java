@@ -32,7 +32,8 @@ public class BookMapper {
             book.getStatus(),
             book.getDateAdded(),
             book.getLocation(),
-            null
+            null,
+            book.getVersion()
         );
         
         if (book.getAuthor() != null) {
@@ -0,0 +1,18 @@
+package com.gen.example.officelibrary.library.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestionDTO {
+
+    private String text;
+
+    private SuggestionType type;
+
+    // Times the titled book, or all books of the author, have been borrowed
+    private long borrowCount;
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.gen.example.officelibrary.library.domain;
+
+/**
+ * Number of active borrowing records per borrower, as returned by the grouped count query.
+ */
+public interface BorrowerLoanCount {
+
+    String getBorrowerEmail();
+
+    long getActiveCount();
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.gen.example.officelibrary.library.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorrowerLoansDTO {
+
+    private String borrowerEmail;
+
+    private int activeCount;
+
+    private int maxActiveLoans;
+}
\ No newline at end of file
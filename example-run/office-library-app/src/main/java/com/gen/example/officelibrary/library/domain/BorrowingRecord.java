@@ -3,11 +3,13 @@ package com.gen.example.officelibrary.library.domain;
 import com.gen.example.officelibrary.shared.domain.BaseEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.UUID;
 
 @Entity
@@ -28,6 +30,11 @@ public class BorrowingRecord extends BaseEntity {
     @Size(max = 255)
     private String borrowerEmail;
 
+    // Lower-cased email, so email filters are an indexed equality instead of LOWER(borrower_email) per row
+    @Column(name = "borrower_email_key", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private String borrowerEmailKey;
+
     @Column(nullable = false)
     @NotNull
     private LocalDate borrowDate;
@@ -76,10 +83,27 @@ public class BorrowingRecord extends BaseEntity {
         this.book = book;
     }
 
+    public static String borrowerEmailKey(String borrowerEmail) {
+        return borrowerEmail != null ? borrowerEmail.toLowerCase(Locale.ROOT) : null;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateBorrowerEmailKey() {
+        this.borrowerEmailKey = borrowerEmailKey(borrowerEmail);
+    }
+
     public boolean isActive() {
         return status == BorrowingStatus.ACTIVE;
     }
 
+    /**
+     * Whether the book has not come back yet, whether or not the overdue sweep has flagged the loan.
+     */
+    public boolean isOnLoan() {
+        return status == BorrowingStatus.ACTIVE || status == BorrowingStatus.OVERDUE;
+    }
+
     public boolean isOverdue() {
         return status == BorrowingStatus.OVERDUE || 
                (status == BorrowingStatus.ACTIVE && LocalDate.now().isAfter(dueDate));
@@ -1,5 +1,6 @@
 package com.gen.example.officelibrary.library.domain;
 
+import com.gen.example.officelibrary.author.domain.AuthorDTO;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -38,6 +39,54 @@ public class BorrowingRecordMapper {
         return dto;
     }
 
+    public BorrowingRecordDTO toDto(BorrowingRecordView view) {
+        if (view == null) {
+            return null;
+        }
+        
+        AuthorDTO author = null;
+        if (view.getAuthorId() != null) {
+            author = new AuthorDTO(
+                view.getAuthorId(),
+                view.getAuthorFirstName(),
+                view.getAuthorLastName(),
+                view.getAuthorBiography(),
+                view.getAuthorBirthDate(),
+                view.getAuthorNationality(),
+                view.getAuthorEmail(),
+                view.getAuthorVersion()
+            );
+        }
+        
+        BookDTO book = new BookDTO(
+            view.getBookId(),
+            view.getBookIsbn(),
+            view.getBookTitle(),
+            view.getAuthorId(),
+            view.getBookPublisher(),
+            view.getBookPublicationYear(),
+            view.getBookGenre(),
+            view.getBookStatus(),
+            view.getBookDateAdded(),
+            view.getBookLocation(),
+            author,
+            view.getBookVersion()
+        );
+        
+        return new BorrowingRecordDTO(
+            view.getId(),
+            view.getBorrowerName(),
+            view.getBorrowerEmail(),
+            view.getBorrowDate(),
+            view.getDueDate(),
+            view.getReturnDate(),
+            view.getStatus(),
+            view.getNotes(),
+            view.getBookId(),
+            book
+        );
+    }
+
     public BorrowingRecord toEntity(BorrowBookRequest request, Book book) {
         if (request == null || book == null) {
             return null;
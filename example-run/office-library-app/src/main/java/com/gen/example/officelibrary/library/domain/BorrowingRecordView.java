@@ -0,0 +1,46 @@
+package com.gen.example.officelibrary.library.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Flat, read-only row of a borrowing record joined with its book and the book's author, selected
+ * column by column so list reads do not hydrate (and dirty-track) the three entities.
+ * The author columns are null when the book has no author.
+ */
+@Getter
+@AllArgsConstructor
+public class BorrowingRecordView {
+
+    private final UUID id;
+    private final String borrowerName;
+    private final String borrowerEmail;
+    private final LocalDate borrowDate;
+    private final LocalDate dueDate;
+    private final LocalDate returnDate;
+    private final BorrowingStatus status;
+    private final String notes;
+
+    private final UUID bookId;
+    private final String bookIsbn;
+    private final String bookTitle;
+    private final String bookPublisher;
+    private final Integer bookPublicationYear;
+    private final String bookGenre;
+    private final BookStatus bookStatus;
+    private final LocalDate bookDateAdded;
+    private final String bookLocation;
+    private final Long bookVersion;
+
+    private final UUID authorId;
+    private final String authorFirstName;
+    private final String authorLastName;
+    private final String authorBiography;
+    private final LocalDate authorBirthDate;
+    private final String authorNationality;
+    private final String authorEmail;
+    private final Long authorVersion;
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.gen.example.officelibrary.library.domain;
+
+public enum SuggestionType {
+    TITLE,
+    AUTHOR
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.gen.example.officelibrary.library.persistence;
+
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Book filters where every filter is optional. The queries are composed per call and carry only
+ * the predicates for the filters given, so each combination can be served by its own index rather
+ * than one {@code :param IS NULL OR ...} statement that no index fits. Genre matches ignore case.
+ */
+public interface BookFilterQueries {
+
+    List<Book> findBooksWithFilters(BookStatus status, String genre, UUID authorId);
+
+    List<Book> findBooksWithFiltersAfter(BookStatus status, String genre, UUID authorId,
+                                         LocalDate afterDate, UUID afterId, Limit limit);
+
+    // Every matching book with its author in (dateAdded, id) order; close the stream when done
+    Stream<Book> streamBooksWithFilters(BookStatus status, String genre, UUID authorId);
+}
\ No newline at end of file
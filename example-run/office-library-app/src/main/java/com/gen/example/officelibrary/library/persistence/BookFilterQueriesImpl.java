@@ -0,0 +1,83 @@
+package com.gen.example.officelibrary.library.persistence;
+
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.shared.persistence.KeysetPredicates;
+import com.gen.example.officelibrary.shared.persistence.StreamingQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class BookFilterQueriesImpl implements BookFilterQueries {
+
+    private final EntityManager entityManager;
+
+    BookFilterQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Book> findBooksWithFilters(BookStatus status, String genre, UUID authorId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+        book.fetch("author", JoinType.LEFT);
+
+        query.select(book).where(filters(cb, book, status, genre, authorId).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Book> findBooksWithFiltersAfter(BookStatus status, String genre, UUID authorId,
+                                                LocalDate afterDate, UUID afterId, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+        book.fetch("author", JoinType.LEFT);
+
+        List<Predicate> predicates = filters(cb, book, status, genre, authorId);
+        predicates.add(KeysetPredicates.after(cb, book.get("dateAdded"), book.get("id"), afterDate, afterId));
+        query.select(book)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(book.get("dateAdded")), cb.asc(book.get("id")));
+        return KeysetPredicates.limit(entityManager.createQuery(query), limit).getResultList();
+    }
+
+    @Override
+    public Stream<Book> streamBooksWithFilters(BookStatus status, String genre, UUID authorId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+        book.fetch("author", JoinType.LEFT);
+
+        query.select(book)
+                .where(filters(cb, book, status, genre, authorId).toArray(Predicate[]::new))
+                .orderBy(cb.asc(book.get("dateAdded")), cb.asc(book.get("id")));
+        return StreamingQueries.stream(entityManager, entityManager.createQuery(query));
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, Root<Book> book,
+                                    BookStatus status, String genre, UUID authorId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(book.get("status"), status));
+        }
+        if (genre != null) {
+            predicates.add(cb.equal(book.get("genreKey"), Book.genreKey(genre)));
+        }
+        if (authorId != null) {
+            predicates.add(cb.equal(book.get("author").get("id"), authorId));
+        }
+        return predicates;
+    }
+}
\ No newline at end of file
@@ -2,47 +2,95 @@ package com.gen.example.officelibrary.library.persistence;
 
 import com.gen.example.officelibrary.library.domain.Book;
 import com.gen.example.officelibrary.library.domain.BookStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, UUID> {
-
-    List<Book> findByStatus(BookStatus status);
-
-    List<Book> findByAuthor_Id(UUID authorId);
+public interface BookRepository extends JpaRepository<Book, UUID>, BookFilterQueries {
 
+    @EntityGraph(attributePaths = "author")
     Optional<Book> findByIsbn(String isbn);
 
-    List<Book> findByGenreIgnoreCase(String genre);
+    @EntityGraph(attributePaths = "author")
+    Optional<Book> findWithAuthorById(UUID id);
 
-    List<Book> findByPublisherIgnoreCase(String publisher);
+    @Query("SELECT b.isbn FROM Book b")
+    List<String> findAllIsbns();
 
-    List<Book> findByPublicationYear(Integer publicationYear);
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findIsbnsIn(@Param("isbns") Collection<String> isbns);
 
+    @EntityGraph(attributePaths = "author")
     @Query("SELECT b FROM Book b WHERE " +
            "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(b.isbn) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Book> searchBooks(@Param("searchTerm") String searchTerm);
 
+    boolean existsByIsbn(String isbn);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findByIdIn(Collection<UUID> ids);
+
+    // Locks the books so a batch checks and writes their status without a concurrent borrow in between
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids")
+    List<Book> findByIdInForUpdate(@Param("ids") Collection<UUID> ids);
+
+    // Keyset-paginated reads, ordered by (dateAdded, id) and resumed after the given position
+
+    @EntityGraph(attributePaths = "author")
     @Query("SELECT b FROM Book b WHERE " +
-           "(:status IS NULL OR b.status = :status) AND " +
-           "(:genre IS NULL OR LOWER(b.genre) = LOWER(:genre)) AND " +
-           "(:authorId IS NULL OR b.author.id = :authorId)")
-    List<Book> findBooksWithFilters(@Param("status") BookStatus status,
-                                   @Param("genre") String genre,
-                                   @Param("authorId") UUID authorId);
+           "(b.dateAdded > :afterDate OR (b.dateAdded = :afterDate AND b.id > :afterId)) " +
+           "ORDER BY b.dateAdded, b.id")
+    List<Book> findAllAfter(@Param("afterDate") LocalDate afterDate,
+                            @Param("afterId") UUID afterId,
+                            Limit limit);
 
-    boolean existsByIsbn(String isbn);
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT b FROM Book b WHERE b.status = :status AND " +
+           "(b.dateAdded > :afterDate OR (b.dateAdded = :afterDate AND b.id > :afterId)) " +
+           "ORDER BY b.dateAdded, b.id")
+    List<Book> findByStatusAfter(@Param("status") BookStatus status,
+                                 @Param("afterDate") LocalDate afterDate,
+                                 @Param("afterId") UUID afterId,
+                                 Limit limit);
 
-    @Query("SELECT COUNT(b) > 0 FROM Book b JOIN b.borrowingRecords br " +
-           "WHERE b.id = :bookId AND br.status = 'ACTIVE'")
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT b FROM Book b WHERE b.author.id = :authorId AND " +
+           "(b.dateAdded > :afterDate OR (b.dateAdded = :afterDate AND b.id > :afterId)) " +
+           "ORDER BY b.dateAdded, b.id")
+    List<Book> findByAuthorIdAfter(@Param("authorId") UUID authorId,
+                                   @Param("afterDate") LocalDate afterDate,
+                                   @Param("afterId") UUID afterId,
+                                   Limit limit);
+
+    // Loans not returned yet, as in BorrowingRecord.isOnLoan, so an OVERDUE loan blocks the delete too.
+    // One equality probe per status, because H2 only seeks (book_id, status) on an equality.
+    @Query("SELECT COUNT(b) > 0 FROM Book b WHERE b.id = :bookId AND (" +
+           "EXISTS (SELECT 1 FROM BorrowingRecord br WHERE br.book = b AND br.status = 'ACTIVE') OR " +
+           "EXISTS (SELECT 1 FROM BorrowingRecord br WHERE br.book = b AND br.status = 'OVERDUE'))")
     boolean hasActiveBorrowingRecords(@Param("bookId") UUID bookId);
+
+    /**
+     * Moves the book from one status to another in a single statement, bumping its version.
+     * Returns 0 when the book does not exist or is not in the expected status, which makes this
+     * the check and the write at once: of several concurrent callers only one can succeed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.status = :to, b.version = b.version + 1 WHERE b.id = :bookId AND b.status = :from")
+    int transitionStatus(@Param("bookId") UUID bookId, @Param("from") BookStatus from, @Param("to") BookStatus to);
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.gen.example.officelibrary.library.persistence;
+
+import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordView;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Borrowing record filters where every filter is optional. The queries are composed per call and
+ * carry only the predicates for the filters given, so each combination can be served by its own
+ * index. Email matches ignore case; the date range applies to the borrow date, both ends inclusive.
+ */
+public interface BorrowingRecordFilterQueries {
+
+    List<BorrowingRecord> findRecordsWithFilters(BorrowingStatus status, String borrowerEmail,
+                                                 LocalDate fromDate, LocalDate toDate);
+
+    List<BorrowingRecordView> findRecordsWithFiltersAfter(BorrowingStatus status, String borrowerEmail,
+                                                          LocalDate fromDate, LocalDate toDate,
+                                                          LocalDate afterDate, UUID afterId, Limit limit);
+
+    // Every matching record with its book and author in (borrowDate, id) order; close the stream when done
+    Stream<BorrowingRecord> streamRecordsWithFilters(BorrowingStatus status, String borrowerEmail,
+                                                     LocalDate fromDate, LocalDate toDate);
+}
\ No newline at end of file
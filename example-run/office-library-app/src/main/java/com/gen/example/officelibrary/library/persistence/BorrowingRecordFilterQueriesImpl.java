@@ -0,0 +1,108 @@
+package com.gen.example.officelibrary.library.persistence;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordView;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.shared.persistence.KeysetPredicates;
+import com.gen.example.officelibrary.shared.persistence.StreamingQueries;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class BorrowingRecordFilterQueriesImpl implements BorrowingRecordFilterQueries {
+
+    private final EntityManager entityManager;
+
+    BorrowingRecordFilterQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BorrowingRecord> findRecordsWithFilters(BorrowingStatus status, String borrowerEmail,
+                                                        LocalDate fromDate, LocalDate toDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BorrowingRecord> query = cb.createQuery(BorrowingRecord.class);
+        Root<BorrowingRecord> record = query.from(BorrowingRecord.class);
+        Fetch<BorrowingRecord, Book> book = record.fetch("book");
+        book.fetch("author", JoinType.LEFT);
+
+        query.select(record)
+                .where(filters(cb, record, status, borrowerEmail, fromDate, toDate).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // Same columns as BorrowingRecordRepository.VIEW_SELECT, from the same single joined SELECT
+    @Override
+    public List<BorrowingRecordView> findRecordsWithFiltersAfter(BorrowingStatus status, String borrowerEmail,
+                                                                 LocalDate fromDate, LocalDate toDate,
+                                                                 LocalDate afterDate, UUID afterId, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BorrowingRecordView> query = cb.createQuery(BorrowingRecordView.class);
+        Root<BorrowingRecord> record = query.from(BorrowingRecord.class);
+        Join<BorrowingRecord, Book> book = record.join("book");
+        Join<Book, Author> author = book.join("author", JoinType.LEFT);
+
+        List<Predicate> predicates = filters(cb, record, status, borrowerEmail, fromDate, toDate);
+        predicates.add(KeysetPredicates.after(cb, record.get("borrowDate"), record.get("id"), afterDate, afterId));
+        query.select(cb.construct(BorrowingRecordView.class,
+                        record.get("id"), record.get("borrowerName"), record.get("borrowerEmail"),
+                        record.get("borrowDate"), record.get("dueDate"), record.get("returnDate"),
+                        record.get("status"), record.get("notes"),
+                        book.get("id"), book.get("isbn"), book.get("title"), book.get("publisher"),
+                        book.get("publicationYear"), book.get("genre"), book.get("status"),
+                        book.get("dateAdded"), book.get("location"), book.get("version"),
+                        author.get("id"), author.get("firstName"), author.get("lastName"), author.get("biography"),
+                        author.get("birthDate"), author.get("nationality"), author.get("email"),
+                        author.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(record.get("borrowDate")), cb.asc(record.get("id")));
+        return KeysetPredicates.limit(entityManager.createQuery(query), limit).getResultList();
+    }
+
+    @Override
+    public Stream<BorrowingRecord> streamRecordsWithFilters(BorrowingStatus status, String borrowerEmail,
+                                                            LocalDate fromDate, LocalDate toDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BorrowingRecord> query = cb.createQuery(BorrowingRecord.class);
+        Root<BorrowingRecord> record = query.from(BorrowingRecord.class);
+        Fetch<BorrowingRecord, Book> book = record.fetch("book");
+        book.fetch("author", JoinType.LEFT);
+
+        query.select(record)
+                .where(filters(cb, record, status, borrowerEmail, fromDate, toDate).toArray(Predicate[]::new))
+                .orderBy(cb.asc(record.get("borrowDate")), cb.asc(record.get("id")));
+        return StreamingQueries.stream(entityManager, entityManager.createQuery(query));
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, Root<BorrowingRecord> record, BorrowingStatus status,
+                                    String borrowerEmail, LocalDate fromDate, LocalDate toDate) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(record.get("status"), status));
+        }
+        if (borrowerEmail != null) {
+            predicates.add(cb.equal(record.get("borrowerEmailKey"), BorrowingRecord.borrowerEmailKey(borrowerEmail)));
+        }
+        if (fromDate != null) {
+            predicates.add(cb.greaterThanOrEqualTo(record.get("borrowDate"), fromDate));
+        }
+        if (toDate != null) {
+            predicates.add(cb.lessThanOrEqualTo(record.get("borrowDate"), toDate));
+        }
+        return predicates;
+    }
+}
\ No newline at end of file
@@ -1,52 +1,99 @@
 package com.gen.example.officelibrary.library.persistence;
 
-import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.ActiveLoan;
+import com.gen.example.officelibrary.library.domain.BookBorrowCount;
+import com.gen.example.officelibrary.library.domain.BorrowerLoanCount;
 import com.gen.example.officelibrary.library.domain.BorrowingRecord;
-import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord, UUID> {
+public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord, UUID>, BorrowingRecordFilterQueries {
 
-    List<BorrowingRecord> findByStatus(BorrowingStatus status);
+    // Loans not returned yet: ACTIVE ones and those the overdue sweep has flipped to OVERDUE
+    @Query("SELECT new com.gen.example.officelibrary.library.domain.ActiveLoan(" +
+           "br.id, br.borrowerEmail, br.borrowDate, br.dueDate, br.status) FROM BorrowingRecord br " +
+           "WHERE br.status IN ('ACTIVE', 'OVERDUE')")
+    List<ActiveLoan> findActiveLoans();
 
-    List<BorrowingRecord> findByBook(Book book);
+    // Overdue sweep: the chunk's records that are still on loan, locked so a concurrent return waits
+    // for the chunk to commit, then flipped with a single UPDATE by primary key
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.gen.example.officelibrary.library.domain.ActiveLoan(" +
+           "br.id, br.borrowerEmail, br.borrowDate, br.dueDate, br.status) FROM BorrowingRecord br " +
+           "WHERE br.id IN :ids AND br.status IN ('ACTIVE', 'OVERDUE')")
+    List<ActiveLoan> findActiveLoansForUpdate(@Param("ids") Collection<UUID> ids);
 
-    List<BorrowingRecord> findByBookId(UUID bookId);
+    // Leaves records that are already OVERDUE alone, so their version only moves on a real change
+    @Modifying
+    @Query("UPDATE BorrowingRecord br SET br.status = 'OVERDUE', br.version = br.version + 1 " +
+           "WHERE br.id IN :ids AND br.status = 'ACTIVE'")
+    int markAsOverdue(@Param("ids") Collection<UUID> ids);
 
-    List<BorrowingRecord> findByBorrowerEmailIgnoreCase(String borrowerEmail);
+    // Overdue loans still count against the borrowing limit until they are returned
+    @Query("SELECT br.borrowerEmail AS borrowerEmail, COUNT(br) AS activeCount FROM BorrowingRecord br " +
+           "WHERE br.status IN ('ACTIVE', 'OVERDUE') GROUP BY br.borrowerEmail")
+    List<BorrowerLoanCount> countActiveBorrowingsPerBorrower();
 
-    List<BorrowingRecord> findByBorrowerNameContainingIgnoreCase(String borrowerName);
+    // Locks the record so concurrent returns of the same loan are applied one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.id = :id")
+    Optional<BorrowingRecord> findByIdForUpdate(@Param("id") UUID id);
 
-    @Query("SELECT br FROM BorrowingRecord br WHERE br.status = 'ACTIVE' AND br.dueDate < :currentDate")
-    List<BorrowingRecord> findOverdueRecords(@Param("currentDate") LocalDate currentDate);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT br FROM BorrowingRecord br WHERE br.id IN :ids")
+    List<BorrowingRecord> findByIdInForUpdate(@Param("ids") Collection<UUID> ids);
 
-    @Query("SELECT br FROM BorrowingRecord br WHERE br.book.id = :bookId AND br.status = 'ACTIVE'")
-    Optional<BorrowingRecord> findActiveRecordByBookId(@Param("bookId") UUID bookId);
+    @Query("SELECT br.book.id AS bookId, COUNT(br) AS borrowCount FROM BorrowingRecord br GROUP BY br.book.id")
+    List<BookBorrowCount> countBorrowingsPerBook();
 
-    @Query("SELECT br FROM BorrowingRecord br WHERE " +
-           "(:status IS NULL OR br.status = :status) AND " +
-           "(:borrowerEmail IS NULL OR LOWER(br.borrowerEmail) = LOWER(:borrowerEmail)) AND " +
-           "(:fromDate IS NULL OR br.borrowDate >= :fromDate) AND " +
-           "(:toDate IS NULL OR br.borrowDate <= :toDate)")
-    List<BorrowingRecord> findRecordsWithFilters(@Param("status") BorrowingStatus status,
-                                                @Param("borrowerEmail") String borrowerEmail,
-                                                @Param("fromDate") LocalDate fromDate,
-                                                @Param("toDate") LocalDate toDate);
+    // Keyset-paginated reads, ordered by (borrowDate, id) and resumed after the given position.
+    // They return read-only views built from a single joined SELECT instead of managed entities.
 
-    @Query("SELECT br FROM BorrowingRecord br WHERE br.book.id = :bookId ORDER BY br.borrowDate DESC")
-    List<BorrowingRecord> findBorrowingHistoryByBookId(@Param("bookId") UUID bookId);
+    String VIEW_SELECT = "SELECT new com.gen.example.officelibrary.library.domain.BorrowingRecordView(" +
+            "br.id, br.borrowerName, br.borrowerEmail, br.borrowDate, br.dueDate, br.returnDate, br.status, br.notes, " +
+            "b.id, b.isbn, b.title, b.publisher, b.publicationYear, b.genre, b.status, b.dateAdded, b.location, b.version, " +
+            "a.id, a.firstName, a.lastName, a.biography, a.birthDate, a.nationality, a.email, a.version) " +
+            "FROM BorrowingRecord br JOIN br.book b LEFT JOIN b.author a ";
 
-    boolean existsByBookAndStatus(Book book, BorrowingStatus status);
+    @Query(VIEW_SELECT + "WHERE " +
+           "(br.borrowDate > :afterDate OR (br.borrowDate = :afterDate AND br.id > :afterId)) " +
+           "ORDER BY br.borrowDate, br.id")
+    List<BorrowingRecordView> findAllAfter(@Param("afterDate") LocalDate afterDate,
+                                           @Param("afterId") UUID afterId,
+                                           Limit limit);
 
-    @Query("SELECT COUNT(br) FROM BorrowingRecord br WHERE br.borrowerEmail = :email AND br.status = 'ACTIVE'")
-    long countActiveBorrowingsByEmail(@Param("email") String email);
+    // Matches on the lower-cased email key, so callers pass BorrowingRecord.borrowerEmailKey(email)
+    @Query(VIEW_SELECT + "WHERE br.borrowerEmailKey = :borrowerEmailKey AND " +
+           "(br.borrowDate > :afterDate OR (br.borrowDate = :afterDate AND br.id > :afterId)) " +
+           "ORDER BY br.borrowDate, br.id")
+    List<BorrowingRecordView> findByBorrowerEmailAfter(@Param("borrowerEmailKey") String borrowerEmailKey,
+                                                       @Param("afterDate") LocalDate afterDate,
+                                                       @Param("afterId") UUID afterId,
+                                                       Limit limit);
+
+    @Query(VIEW_SELECT + "WHERE br.id IN :ids")
+    List<BorrowingRecordView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Newest first, so the keyset walks (borrowDate, id) downwards
+    @Query(VIEW_SELECT + "WHERE b.id = :bookId AND " +
+           "(br.borrowDate < :beforeDate OR (br.borrowDate = :beforeDate AND br.id < :beforeId)) " +
+           "ORDER BY br.borrowDate DESC, br.id DESC")
+    List<BorrowingRecordView> findBorrowingHistoryByBookIdBefore(@Param("bookId") UUID bookId,
+                                                                 @Param("beforeDate") LocalDate beforeDate,
+                                                                 @Param("beforeId") UUID beforeId,
+                                                                 Limit limit);
 }
\ No newline at end of file
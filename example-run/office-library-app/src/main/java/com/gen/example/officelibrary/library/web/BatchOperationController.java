@@ -0,0 +1,34 @@
+package com.gen.example.officelibrary.library.web;
+
+import com.gen.example.officelibrary.library.application.BatchOperationService;
+import com.gen.example.officelibrary.library.domain.BatchRequest;
+import com.gen.example.officelibrary.library.domain.BatchResultDTO;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/batch")
+public class BatchOperationController {
+
+    private final BatchOperationService batchOperationService;
+
+    public BatchOperationController(BatchOperationService batchOperationService) {
+        this.batchOperationService = batchOperationService;
+    }
+
+    /**
+     * Applies borrows, returns and relocations in one request. Responds 200 with a result per
+     * operation once the batch is written, or 400 with the results if an all-or-nothing batch was
+     * rolled back.
+     */
+    @PostMapping
+    public ResponseEntity<BatchResultDTO> apply(@Valid @RequestBody BatchRequest request) {
+        log.debug("Processing batch of {} operations", request.getOperations().size());
+        BatchResultDTO result = batchOperationService.apply(request);
+        return new ResponseEntity<>(result, result.isCommitted() ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+    }
+}
\ No newline at end of file
@@ -1,15 +1,29 @@
 package com.gen.example.officelibrary.library.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.author.domain.Author;
 import com.gen.example.officelibrary.library.application.BookService;
+import com.gen.example.officelibrary.library.domain.Book;
 import com.gen.example.officelibrary.library.domain.BookDTO;
 import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BookSuggestionDTO;
 import com.gen.example.officelibrary.library.domain.CreateBookRequest;
 import com.gen.example.officelibrary.library.domain.UpdateBookRequest;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
+import com.gen.example.officelibrary.shared.web.EntityTags;
+import com.gen.example.officelibrary.shared.web.PagedResponses;
+import com.gen.example.officelibrary.shared.web.StreamingResponses;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,9 +34,13 @@ import java.util.UUID;
 public class BookController {
     
     private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final TableVersions tableVersions;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, ObjectMapper objectMapper, TableVersions tableVersions) {
         this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.tableVersions = tableVersions;
     }
 
     @PostMapping
@@ -36,31 +54,58 @@ public class BookController {
     public ResponseEntity<List<BookDTO>> findAll(
             @RequestParam(required = false) BookStatus status,
             @RequestParam(required = false) String genre,
-            @RequestParam(required = false) UUID authorId) {
+            @RequestParam(required = false) UUID authorId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
         log.debug("Fetching books with filters - status: {}, genre: {}, authorId: {}", status, genre, authorId);
+        if (notModified(request)) {
+            return null;
+        }
         
-        List<BookDTO> books;
+        CursorRequest page = CursorRequest.of(after, limit);
+        CursorPage<BookDTO> books;
         if (status != null || genre != null || authorId != null) {
-            books = bookService.findBooksWithFilters(status, genre, authorId);
+            books = bookService.findBooksWithFilters(status, genre, authorId, page);
         } else {
-            books = bookService.findAll();
+            books = bookService.findAll(page);
         }
         
-        return ResponseEntity.ok(books);
+        return PagedResponses.ok(books);
+    }
+
+    /**
+     * Every book matching the filters, unpaginated, written as it is read: a JSON array, or NDJSON
+     * when the client accepts {@code application/x-ndjson}.
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(required = false) BookStatus status,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) UUID authorId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Streaming books with filters - status: {}, genre: {}, authorId: {}", status, genre, authorId);
+        return StreamingResponses.<BookDTO>ok(objectMapper, accept,
+                sink -> bookService.streamBooksWithFilters(status, genre, authorId, sink));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<BookDTO> findById(@PathVariable UUID id) {
         log.debug("Fetching book with ID: {}", id);
         BookDTO book = bookService.findById(id);
-        return ResponseEntity.ok(book);
+        return tagged(book);
     }
 
+    /**
+     * Replaces the book; with an {@code If-Match} header only if it has not changed since the
+     * client read it, otherwise 412.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<BookDTO> update(@PathVariable UUID id, @Valid @RequestBody UpdateBookRequest request) {
+    public ResponseEntity<BookDTO> update(@PathVariable UUID id, @Valid @RequestBody UpdateBookRequest request,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("Updating book with ID: {}", id);
-        BookDTO updated = bookService.update(id, request);
-        return ResponseEntity.ok(updated);
+        BookDTO updated = bookService.update(id, request, EntityTags.expectedVersion(ifMatch));
+        return tagged(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -71,23 +116,56 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<BookDTO>> searchBooks(@RequestParam String query) {
+    public ResponseEntity<List<BookDTO>> searchBooks(
+            @RequestParam String query,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         log.debug("Searching books with query: {}", query);
-        List<BookDTO> books = bookService.searchBooks(query);
-        return ResponseEntity.ok(books);
+        CursorPage<BookDTO> books = bookService.searchBooks(query, CursorRequest.of(after, limit));
+        return PagedResponses.ok(books);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BookSuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Suggesting books for prefix: {}", prefix);
+        List<BookSuggestionDTO> suggestions = bookService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<BookDTO>> findAvailableBooks() {
+    public ResponseEntity<List<BookDTO>> findAvailableBooks(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
         log.debug("Fetching available books");
-        List<BookDTO> books = bookService.findAvailableBooks();
-        return ResponseEntity.ok(books);
+        if (notModified(request)) {
+            return null;
+        }
+        CursorPage<BookDTO> books = bookService.findAvailableBooks(CursorRequest.of(after, limit));
+        return PagedResponses.ok(books);
     }
 
     @GetMapping("/isbn/{isbn}")
     public ResponseEntity<BookDTO> findByIsbn(@PathVariable String isbn) {
         log.debug("Fetching book with ISBN: {}", isbn);
         BookDTO book = bookService.findByIsbn(isbn);
-        return ResponseEntity.ok(book);
+        return tagged(book);
+    }
+
+    /**
+     * Answers 304 when neither books nor authors changed since the client's copy; otherwise adds
+     * the validators to the response. Read before the rows, so the rows are at least as new.
+     */
+    private boolean notModified(WebRequest request) {
+        TableVersions.Snapshot snapshot = tableVersions.snapshot(Book.class, Author.class);
+        return request.checkNotModified(snapshot.etag(), snapshot.lastModifiedMillis());
+    }
+
+    // Spring answers 304 for a GET whose If-None-Match matches, without writing the body
+    private static ResponseEntity<BookDTO> tagged(BookDTO book) {
+        Long authorVersion = book.getAuthor() != null ? book.getAuthor().getVersion() : null;
+        return ResponseEntity.ok().eTag(EntityTags.of(book.getVersion(), authorVersion)).body(book);
     }
 }
\ No newline at end of file
@@ -1,15 +1,24 @@
 package com.gen.example.officelibrary.library.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gen.example.officelibrary.library.application.BorrowingService;
 import com.gen.example.officelibrary.library.domain.BorrowBookRequest;
+import com.gen.example.officelibrary.library.domain.BorrowerLoansDTO;
 import com.gen.example.officelibrary.library.domain.BorrowingRecordDTO;
 import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.web.PagedResponses;
+import com.gen.example.officelibrary.shared.web.StreamingResponses;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,9 +30,11 @@ import java.util.UUID;
 public class BorrowingController {
     
     private final BorrowingService borrowingService;
+    private final ObjectMapper objectMapper;
 
-    public BorrowingController(BorrowingService borrowingService) {
+    public BorrowingController(BorrowingService borrowingService, ObjectMapper objectMapper) {
         this.borrowingService = borrowingService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/books/{bookId}/borrow")
@@ -42,23 +53,50 @@ public class BorrowingController {
         return ResponseEntity.ok(borrowingRecord);
     }
 
+    @GetMapping("/borrowers/{email}/active-count")
+    public ResponseEntity<BorrowerLoansDTO> findActiveLoans(@PathVariable String email) {
+        log.debug("Fetching active loan count for borrower: {}", email);
+        return ResponseEntity.ok(borrowingService.findActiveLoans(email));
+    }
+
     @GetMapping("/borrowing-records")
     public ResponseEntity<List<BorrowingRecordDTO>> findAll(
             @RequestParam(required = false) BorrowingStatus status,
             @RequestParam(required = false) String borrowerEmail,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         log.debug("Fetching borrowing records with filters - status: {}, email: {}, from: {}, to: {}", 
                  status, borrowerEmail, fromDate, toDate);
         
-        List<BorrowingRecordDTO> records;
+        CursorRequest page = CursorRequest.of(after, limit);
+        CursorPage<BorrowingRecordDTO> records;
         if (status != null || borrowerEmail != null || fromDate != null || toDate != null) {
-            records = borrowingService.findRecordsWithFilters(status, borrowerEmail, fromDate, toDate);
+            records = borrowingService.findRecordsWithFilters(status, borrowerEmail, fromDate, toDate, page);
         } else {
-            records = borrowingService.findAll();
+            records = borrowingService.findAll(page);
         }
         
-        return ResponseEntity.ok(records);
+        return PagedResponses.ok(records);
+    }
+
+    /**
+     * Every record matching the filters, unpaginated, written as it is read: a JSON array, or
+     * NDJSON when the client accepts {@code application/x-ndjson}.
+     */
+    @GetMapping(value = "/borrowing-records/stream",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(required = false) BorrowingStatus status,
+            @RequestParam(required = false) String borrowerEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Streaming borrowing records with filters - status: {}, email: {}, from: {}, to: {}",
+                 status, borrowerEmail, fromDate, toDate);
+        return StreamingResponses.<BorrowingRecordDTO>ok(objectMapper, accept,
+                sink -> borrowingService.streamRecordsWithFilters(status, borrowerEmail, fromDate, toDate, sink));
     }
 
     @GetMapping("/borrowing-records/{id}")
@@ -69,23 +107,32 @@ public class BorrowingController {
     }
 
     @GetMapping("/borrowing-records/overdue")
-    public ResponseEntity<List<BorrowingRecordDTO>> findOverdueRecords() {
+    public ResponseEntity<List<BorrowingRecordDTO>> findOverdueRecords(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         log.debug("Fetching overdue borrowing records");
-        List<BorrowingRecordDTO> records = borrowingService.findOverdueRecords();
-        return ResponseEntity.ok(records);
+        CursorPage<BorrowingRecordDTO> records = borrowingService.findOverdueRecords(CursorRequest.of(after, limit));
+        return PagedResponses.ok(records);
     }
 
     @GetMapping("/borrowing-records/by-borrower")
-    public ResponseEntity<List<BorrowingRecordDTO>> findByBorrowerEmail(@RequestParam String email) {
+    public ResponseEntity<List<BorrowingRecordDTO>> findByBorrowerEmail(
+            @RequestParam String email,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         log.debug("Fetching borrowing records for borrower: {}", email);
-        List<BorrowingRecordDTO> records = borrowingService.findByBorrowerEmail(email);
-        return ResponseEntity.ok(records);
+        CursorPage<BorrowingRecordDTO> records = borrowingService.findByBorrowerEmail(email, CursorRequest.of(after, limit));
+        return PagedResponses.ok(records);
     }
 
     @GetMapping("/books/{bookId}/borrowing-history")
-    public ResponseEntity<List<BorrowingRecordDTO>> findBorrowingHistoryByBookId(@PathVariable UUID bookId) {
+    public ResponseEntity<List<BorrowingRecordDTO>> findBorrowingHistoryByBookId(
+            @PathVariable UUID bookId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         log.debug("Fetching borrowing history for book: {}", bookId);
-        List<BorrowingRecordDTO> records = borrowingService.findBorrowingHistoryByBookId(bookId);
-        return ResponseEntity.ok(records);
+        CursorPage<BorrowingRecordDTO> records = borrowingService.findBorrowingHistoryByBookId(bookId,
+                CursorRequest.of(after, limit));
+        return PagedResponses.ok(records);
     }
 }
\ No newline at end of file
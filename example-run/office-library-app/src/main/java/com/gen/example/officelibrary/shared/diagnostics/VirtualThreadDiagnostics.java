@@ -0,0 +1,110 @@
+package com.gen.example.officelibrary.shared.diagnostics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+
+/**
+ * Pinning and carrier-thread metrics for the virtual-thread mode ({@code spring.threads.virtual.enabled}).
+ *
+ * <p>A virtual thread that blocks while holding a monitor or inside a native frame can not unmount
+ * and keeps its carrier thread blocked with it. JFR reports these as {@code jdk.VirtualThreadPinned}
+ * events once they last longer than the threshold; each one is recorded in the
+ * {@code virtual.threads.pinned} timer, tagged with the first frame outside the JDK, so pinning in
+ * the JDBC path shows up as, for instance, an H2 session method. Carrier utilization is sampled
+ * whenever the gauges are read.
+ *
+ * <p>For the same reason, in-memory structures that query the database while holding a lock, such
+ * as the loan counters and the due-date and suggestion indexes during a rebuild, use a
+ * {@link java.util.concurrent.locks.ReentrantLock} rather than a {@code synchronized} monitor.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadDiagnostics {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // A carrier's own stack ends in the frame that runs the mounted virtual thread
+    private static final String CONTINUATION = "jdk.internal.vm.Continuation";
+
+    private final MeterRegistry meterRegistry;
+    private final RecordingStream events;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final int parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+            Runtime.getRuntime().availableProcessors());
+
+    public VirtualThreadDiagnostics(
+            MeterRegistry meterRegistry,
+            @Value("${library.virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("virtual.threads.carriers.mounted", this, VirtualThreadDiagnostics::mountedCarriers)
+                .description("Carrier threads currently running a virtual thread")
+                .register(meterRegistry);
+        Gauge.builder("virtual.threads.carriers.utilization", this,
+                        diagnostics -> (double) diagnostics.mountedCarriers() / diagnostics.parallelism)
+                .description("Share of the virtual-thread scheduler's carriers currently running a virtual thread")
+                .register(meterRegistry);
+
+        this.events = new RecordingStream();
+        events.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        events.onEvent(PINNED_EVENT, this::recordPinned);
+        events.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms on {} carriers",
+                pinnedThreshold.toMillis(), parallelism);
+    }
+
+    @PreDestroy
+    public void close() {
+        events.close();
+    }
+
+    int mountedCarriers() {
+        int mounted = 0;
+        for (ThreadInfo thread : threads.dumpAllThreads(false, false, 1)) {
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (stack.length > 0 && CONTINUATION.equals(stack[0].getClassName())) {
+                mounted++;
+            }
+        }
+        return mounted;
+    }
+
+    private void recordPinned(RecordedEvent event) {
+        String frame = pinningFrame(event.getStackTrace());
+        Timer.builder("virtual.threads.pinned")
+                .description("Time virtual threads blocked their carrier, by first frame outside the JDK")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        log.debug("Virtual thread pinned for {} ms in {}", event.getDuration().toMillis(), frame);
+    }
+
+    private static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "unknown";
+    }
+}
\ No newline at end of file
@@ -16,6 +16,10 @@ public abstract class BaseEntity {
     @GeneratedValue(strategy = GenerationType.UUID)
     @NotNull
     private UUID id;
+
+    // Bumped by every write, including bulk statements, so it doubles as the row's entity tag
+    @Version
+    private Long version;
     
     protected BaseEntity() {
     }
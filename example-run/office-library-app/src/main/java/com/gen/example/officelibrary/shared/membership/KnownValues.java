@@ -0,0 +1,33 @@
+package com.gen.example.officelibrary.shared.membership;
+
+import java.util.Collection;
+
+/**
+ * Answers "could this value already be stored?" without a query. Writers {@link #add} values before
+ * their transaction commits, so the filter is always a superset of the committed values; until the
+ * initial {@link #load} has run every value is reported as possibly present.
+ */
+public class KnownValues {
+
+    private final BloomFilter filter;
+    private volatile boolean loaded;
+
+    public KnownValues(long expectedValues, double falsePositiveRate) {
+        this.filter = new BloomFilter(expectedValues, falsePositiveRate);
+    }
+
+    public void add(String value) {
+        if (value != null) {
+            filter.add(value);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        return !loaded || filter.mightContain(value);
+    }
+
+    protected void load(Collection<String> values) {
+        values.forEach(this::add);
+        loaded = true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.gen.example.officelibrary.shared.pagination;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link CursorRequest#fetchLimit()}: the extra row, if
+     * present, is dropped and the cursor of the last returned row becomes the next cursor.
+     */
+    public static <E, T> CursorPage<T> from(List<E> rows, CursorRequest request,
+                                            Function<E, PageCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > request.getLimit();
+        List<E> pageRows = hasNext ? rows.subList(0, request.getLimit()) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+        List<T> items = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+}
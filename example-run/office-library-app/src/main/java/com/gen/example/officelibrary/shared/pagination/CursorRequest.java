@@ -0,0 +1,63 @@
+package com.gen.example.officelibrary.shared.pagination;
+
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import lombok.Getter;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A decoded {@code after}/{@code limit} pair for a keyset-paginated list. The limit is capped at
+ * {@link #MAX_LIMIT} so that no list endpoint can return an unbounded result.
+ */
+@Getter
+public class CursorRequest {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final PageCursor after;
+    private final int limit;
+
+    private CursorRequest(PageCursor after, int limit) {
+        this.after = after;
+        this.limit = limit;
+    }
+
+    public static CursorRequest of(String after, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new BusinessRuleException("Page limit must be at least 1");
+        }
+        PageCursor cursor = after != null && !after.isBlank() ? PageCursor.decode(after) : null;
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return new CursorRequest(cursor, effectiveLimit);
+    }
+
+    public static CursorRequest first(int limit) {
+        return new CursorRequest(null, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * One row more than the page size, so the service can tell whether a next page exists.
+     */
+    public Limit fetchLimit() {
+        return Limit.of(limit + 1);
+    }
+
+    public LocalDate ascendingKey() {
+        return after != null && after.getKey() != null ? after.getKey() : PageCursor.LOWEST_DATE;
+    }
+
+    public UUID ascendingId() {
+        return after != null ? after.getId() : PageCursor.LOWEST_ID;
+    }
+
+    public LocalDate descendingKey() {
+        return after != null && after.getKey() != null ? after.getKey() : PageCursor.HIGHEST_DATE;
+    }
+
+    public UUID descendingId() {
+        return after != null ? after.getId() : PageCursor.HIGHEST_ID;
+    }
+}
@@ -0,0 +1,64 @@
+package com.gen.example.officelibrary.shared.pagination;
+
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a page in a keyset-ordered result: the sort key (if the ordering
+ * has one besides the id) and the id used as tie-breaker. Serialized as an opaque URL-safe token.
+ */
+@Getter
+@EqualsAndHashCode
+public class PageCursor {
+
+    public static final LocalDate LOWEST_DATE = LocalDate.of(1, 1, 1);
+    public static final LocalDate HIGHEST_DATE = LocalDate.of(9999, 12, 31);
+    public static final UUID LOWEST_ID = new UUID(0L, 0L);
+    public static final UUID HIGHEST_ID = new UUID(-1L, -1L);
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate key;
+    private final UUID id;
+
+    private PageCursor(LocalDate key, UUID id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static PageCursor of(LocalDate key, UUID id) {
+        return new PageCursor(key, id);
+    }
+
+    public static PageCursor of(UUID id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = (key != null ? key.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessRuleException("Invalid page cursor: " + token);
+            }
+            String keyPart = raw.substring(0, separator);
+            LocalDate key = keyPart.isEmpty() ? null : LocalDate.parse(keyPart);
+            UUID id = UUID.fromString(raw.substring(separator + 1));
+            return new PageCursor(key, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessRuleException("Invalid page cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gen.example.officelibrary.shared.persistence;
+
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Criteria counterparts of the keyset clauses used by the {@code ...After} repository queries:
+ * rows strictly after {@code (afterDate, afterId)} in {@code (date, id)} order.
+ */
+public final class KeysetPredicates {
+
+    private KeysetPredicates() {
+    }
+
+    public static Predicate after(CriteriaBuilder cb, Expression<LocalDate> date, Expression<UUID> id,
+                                  LocalDate afterDate, UUID afterId) {
+        return cb.or(cb.greaterThan(date, afterDate),
+                cb.and(cb.equal(date, afterDate), cb.greaterThan(id, afterId)));
+    }
+
+    public static <T> TypedQuery<T> limit(TypedQuery<T> query, Limit limit) {
+        return limit.isLimited() ? query.setMaxResults(limit.max()) : query;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.gen.example.officelibrary.shared.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Runs a query as a stream of entities for exports too large to hold as a list. Rows are fetched
+ * from the driver {@link #FETCH_SIZE} at a time and loaded read-only, and the persistence context
+ * is cleared after every {@link #FETCH_SIZE} rows, so memory stays flat however many rows there
+ * are. Whatever the caller needs from a row must be fetched with it, and the stream must be
+ * consumed and closed inside the transaction.
+ */
+public final class StreamingQueries {
+
+    public static final int FETCH_SIZE = 500;
+
+    private StreamingQueries() {
+    }
+
+    public static <T> Stream<T> stream(EntityManager entityManager, TypedQuery<T> query) {
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        long[] rows = {0};
+        return query.getResultStream().map(row -> {
+            // Rows are handed on one at a time, so the ones before this are done with
+            if (++rows[0] % FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+            return row;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.gen.example.officelibrary.shared.persistence;
+
+import com.gen.example.officelibrary.shared.transaction.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Modification counter and time per entity table, so collection endpoints can tell whether
+ * anything they return may have changed without reading a row.
+ *
+ * <p>Entity writes through Hibernate are counted by {@link TableVersionListener} once their
+ * transaction commits. Bulk JPQL and JDBC statements bypass it, so code issuing them calls
+ * {@link #changed}. A count is bumped after the commit, never before, so a reader that sees the
+ * new count also sees the new rows. Counts start over on every boot; the tags carry the boot time
+ * so a tag from before a restart never matches.
+ */
+@Component
+public class TableVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Instant started = Instant.now();
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a write to the tables of the given entities once the surrounding transaction commits.
+     */
+    public void changed(Class<?>... entities) {
+        AfterCommit.run(() -> {
+            for (Class<?> entity : entities) {
+                bump(entity);
+            }
+        });
+    }
+
+    void bump(Class<?> entity) {
+        counters.computeIfAbsent(entity, key -> new Counter()).bump();
+    }
+
+    /**
+     * The current state of the given entities' tables, to read before the rows it describes.
+     */
+    public Snapshot snapshot(Class<?>... entities) {
+        StringBuilder tag = new StringBuilder(epoch);
+        Instant lastModified = started;
+        for (Class<?> entity : entities) {
+            Counter counter = counters.get(entity);
+            tag.append('.').append(counter != null ? counter.count.get() : 0);
+            if (counter != null && counter.modified.isAfter(lastModified)) {
+                lastModified = counter.modified;
+            }
+        }
+        return new Snapshot(tag.toString(), lastModified);
+    }
+
+    /**
+     * A strong entity tag and the last modification time for a combination of tables.
+     */
+    public record Snapshot(String etag, Instant lastModified) {
+
+        public long lastModifiedMillis() {
+            return lastModified.toEpochMilli();
+        }
+    }
+
+    private static final class Counter {
+
+        private final AtomicLong count = new AtomicLong();
+        private volatile Instant modified = Instant.now();
+
+        private void bump() {
+            // Time first, so a reader that sees the new count never pairs it with the old time
+            modified = Instant.now();
+            count.incrementAndGet();
+        }
+    }
+}
\ No newline at end of file
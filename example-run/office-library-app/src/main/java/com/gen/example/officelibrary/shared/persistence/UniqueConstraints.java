@@ -0,0 +1,43 @@
+package com.gen.example.officelibrary.shared.persistence;
+
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Lets the database enforce uniqueness: the write is attempted directly and a violation of the
+ * named unique constraint becomes a {@link BusinessRuleException}. The write must flush, so the
+ * violation surfaces here rather than at commit.
+ */
+public final class UniqueConstraints {
+
+    private UniqueConstraints() {
+    }
+
+    public static <T> T enforce(String constraintName, String message, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException ex) {
+            if (violates(ex, constraintName)) {
+                throw new BusinessRuleException(message);
+            }
+            throw ex;
+        }
+    }
+
+    static boolean violates(DataIntegrityViolationException ex, String constraintName) {
+        String expected = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            // Databases report the name differently (H2 appends "_INDEX_n"), so match by containment
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+        }
+        String message = ex.getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(expected);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.gen.example.officelibrary.shared.search;
+
+import java.util.List;
+
+/**
+ * Cursor paging over a ranking computed in memory, where the cursor is the key of the last
+ * returned entry.
+ */
+public final class Ranking {
+
+    private Ranking() {
+    }
+
+    /**
+     * Up to {@code limit} keys following {@code after} (from the start when it is null). If
+     * {@code after} is no longer part of the ranking, the ranking has moved under the caller and
+     * an empty list is returned rather than restarting from the top.
+     */
+    public static <K> List<K> resumeAfter(List<K> ranked, K after, int limit) {
+        int from = 0;
+        if (after != null) {
+            from = ranked.indexOf(after) + 1;
+            if (from == 0) {
+                return List.of();
+            }
+        }
+        return List.copyOf(ranked.subList(from, Math.min(ranked.size(), from + limit)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.gen.example.officelibrary.shared.web;
+
+import com.gen.example.officelibrary.shared.exception.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Strong entity tags for single resources, built from the row versions of everything the
+ * representation shows: the resource's own version first, then those of embedded resources. An
+ * {@code If-Match} header is checked against the first part only, the version the write replaces.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(Long... versions) {
+        return Arrays.stream(versions)
+                .map(version -> version != null ? version.toString() : "0")
+                .collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    /**
+     * The row version an {@code If-Match} header asks for, or {@code null} if the write is
+     * unconditional. A weak or malformed tag can never match.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || tag.length() < 3) {
+            throw new PreconditionFailedException("If-Match must be a strong entity tag of this resource");
+        }
+        String version = tag.substring(1, tag.length() - 1).split("\\.")[0];
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match must be a strong entity tag of this resource");
+        }
+    }
+}
\ No newline at end of file
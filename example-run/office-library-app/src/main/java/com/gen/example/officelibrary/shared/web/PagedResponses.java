@@ -0,0 +1,26 @@
+package com.gen.example.officelibrary.shared.web;
+
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Writes a {@link CursorPage} as a plain JSON array, with the cursor for the next page (if any)
+ * in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+public final class PagedResponses {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PagedResponses() {
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+}
@@ -0,0 +1,75 @@
+package com.gen.example.officelibrary.shared.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows to the response as they are produced instead of collecting them first: as one JSON
+ * array, or as NDJSON (one object per line) when the client accepts {@code application/x-ndjson}.
+ * The output is flushed every {@value #FLUSH_INTERVAL} rows so clients receive data while the
+ * export is still running. The rows are produced on the async request thread, after the
+ * controller has returned.
+ */
+public final class StreamingResponses {
+
+    private static final int FLUSH_INTERVAL = 100;
+
+    private StreamingResponses() {
+    }
+
+    /**
+     * @param accept the request's Accept header, if any
+     * @param rows   hands every row to the given consumer
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ok(ObjectMapper objectMapper, String accept,
+                                                               Consumer<Consumer<T>> rows) {
+        boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                if (!ndjson) {
+                    generator.writeStartArray();
+                }
+                rows.accept(rowWriter(writer, generator, ndjson));
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static <T> Consumer<T> rowWriter(ObjectWriter writer, JsonGenerator generator, boolean ndjson) {
+        int[] written = {0};
+        return row -> {
+            try {
+                writer.writeValue(generator, row);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                if (++written[0] % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            } catch (IOException ex) {
+                // Usually the client went away; ends the export
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+-- Tables and constraints as mapped by the JPA entities; Hibernate validates against this at startup
+
+CREATE TABLE authors (
+    id          UUID         NOT NULL,
+    first_name  VARCHAR(100) NOT NULL,
+    last_name   VARCHAR(100) NOT NULL,
+    biography   VARCHAR(1000),
+    birth_date  DATE,
+    nationality VARCHAR(100),
+    email       VARCHAR(255),
+    CONSTRAINT pk_authors PRIMARY KEY (id),
+    CONSTRAINT uk_authors_email UNIQUE (email)
+);
+
+CREATE TABLE books (
+    id               UUID         NOT NULL,
+    isbn             VARCHAR(17)  NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    publisher        VARCHAR(255),
+    publication_year INTEGER CHECK (publication_year BETWEEN 1000 AND 9999),
+    genre            VARCHAR(100),
+    genre_key        VARCHAR(100),
+    status           ENUM ('AVAILABLE', 'BORROWED', 'MAINTENANCE', 'RESERVED') NOT NULL,
+    date_added       DATE         NOT NULL,
+    location         VARCHAR(100),
+    author_id        UUID,
+    version          BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_books PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn),
+    CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES authors (id)
+);
+
+CREATE TABLE borrowing_records (
+    id                 UUID         NOT NULL,
+    borrower_name      VARCHAR(255) NOT NULL,
+    borrower_email     VARCHAR(255) NOT NULL,
+    borrower_email_key VARCHAR(255) NOT NULL,
+    borrow_date        DATE         NOT NULL,
+    due_date           DATE         NOT NULL,
+    return_date        DATE,
+    status             ENUM ('ACTIVE', 'OVERDUE', 'RETURNED') NOT NULL,
+    notes              VARCHAR(500),
+    book_id            UUID         NOT NULL,
+    CONSTRAINT pk_borrowing_records PRIMARY KEY (id),
+    CONSTRAINT fk_borrowing_records_book FOREIGN KEY (book_id) REFERENCES books (id)
+);
@@ -0,0 +1,24 @@
+-- One index per repository access path. Keyset-paginated reads order by (date, id), so their
+-- indexes end in those columns and a page is a range read that stops after the limit.
+-- RepositoryQueryPlanTest fails when a repository query falls back to a table scan.
+
+-- BookRepository.findAllAfter
+CREATE INDEX idx_books_date_added_id ON books (date_added, id);
+-- BookRepository.findByStatusAfter and the status filter
+CREATE INDEX idx_books_status_date_added_id ON books (status, date_added, id);
+-- The book genre filter
+CREATE INDEX idx_books_genre_key_date_added_id ON books (genre_key, date_added, id);
+-- BookRepository.findByAuthorIdAfter and the author filter
+CREATE INDEX idx_books_author_date_added_id ON books (author_id, date_added, id);
+
+-- BorrowingRecordRepository.findAllAfter and the borrow date range filter
+CREATE INDEX idx_borrowing_records_borrow_date_id ON borrowing_records (borrow_date, id);
+-- BorrowingRecordRepository.findActiveLoans, countActiveBorrowingsPerBorrower and the status filter
+CREATE INDEX idx_borrowing_records_status_borrow_date_id ON borrowing_records (status, borrow_date, id);
+-- BorrowingRecordRepository.findByBorrowerEmailAfter and the email filter
+CREATE INDEX idx_borrowing_records_email_key_borrow_date_id
+    ON borrowing_records (borrower_email_key, borrow_date, id);
+-- Loans of a book still out: BookRepository.hasActiveBorrowingRecords
+CREATE INDEX idx_borrowing_records_book_status ON borrowing_records (book_id, status);
+-- BorrowingRecordRepository.findBorrowingHistoryByBookIdBefore
+CREATE INDEX idx_borrowing_records_book_borrow_date_id ON borrowing_records (book_id, borrow_date, id);
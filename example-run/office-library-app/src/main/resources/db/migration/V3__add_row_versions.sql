@@ -0,0 +1,5 @@
+-- Optimistic-locking versions for the entities that did not have one yet; rows written before start at 0
+
+ALTER TABLE authors ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE borrowing_records ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
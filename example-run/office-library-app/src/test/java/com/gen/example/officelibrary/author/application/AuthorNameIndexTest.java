@@ -0,0 +1,142 @@
+package com.gen.example.officelibrary.author.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorNameIndexTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthorNameIndex index;
+    private Author johnSmith;
+    private Author janeSmithers;
+    private Author gabriel;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new AuthorNameIndex(authorRepository, meterRegistry);
+
+        johnSmith = author("John", "Smith");
+        janeSmithers = author("Jane", "Smithers");
+        gabriel = author("Gabriel", "García Márquez");
+
+        index.index(johnSmith);
+        index.index(janeSmithers);
+        index.index(gabriel);
+    }
+
+    @Test
+    void search_ShouldRankCloserNamesFirst() {
+        // When
+        List<UUID> result = index.search("john smith", null, 10);
+
+        // Then
+        assertEquals(johnSmith.getId(), result.get(0));
+    }
+
+    @Test
+    void search_ShouldFindNamesContainingQuery() {
+        // When
+        List<UUID> result = index.search("smith", null, 10);
+
+        // Then
+        assertEquals(List.of(johnSmith.getId(), janeSmithers.getId()), result);
+    }
+
+    @Test
+    void search_ShouldTolerateMisspellings() {
+        // When & Then
+        assertEquals(List.of(johnSmith.getId()), index.search("jonh smtih", null, 10));
+        assertEquals(List.of(gabriel.getId()), index.search("garcia marques", null, 10));
+    }
+
+    @Test
+    void search_ShouldNotMatchBeyondEditDistance() {
+        // When & Then
+        assertTrue(index.search("xavier", null, 10).isEmpty());
+        assertTrue(index.search("jxxx smxxxx", null, 10).isEmpty());
+    }
+
+    @Test
+    void index_ShouldReplaceName_WhenAuthorIsRenamed() {
+        // Given
+        johnSmith.setLastName("Doe");
+
+        // When
+        index.index(johnSmith);
+
+        // Then
+        assertEquals(List.of(janeSmithers.getId()), index.search("smith", null, 10));
+        assertEquals(List.of(johnSmith.getId()), index.search("john doe", null, 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropAuthorFromResults() {
+        // When
+        index.remove(janeSmithers.getId());
+
+        // Then
+        assertEquals(List.of(johnSmith.getId()), index.search("smith", null, 10));
+    }
+
+    @Test
+    void search_ShouldResumeAfterGivenAuthor() {
+        // When
+        List<UUID> firstPage = index.search("smith", null, 1);
+        List<UUID> secondPage = index.search("smith", firstPage.get(0), 10);
+
+        // Then
+        assertEquals(List.of(johnSmith.getId()), firstPage);
+        assertEquals(List.of(janeSmithers.getId()), secondPage);
+    }
+
+    @Test
+    void editDistance_ShouldCountTranspositionsAsOneEdit() {
+        // When & Then
+        assertEquals(1, AuthorNameIndex.editDistance("smtih", "smith", 2));
+        assertEquals(2, AuthorNameIndex.editDistance("smyth", "smiths", 2));
+        assertEquals(3, AuthorNameIndex.editDistance("xavier", "smith", 2));
+    }
+
+    @Test
+    void rebuild_ShouldLoadAuthorsAndPublishMetrics() {
+        // Given
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(any(UUID.class), any(Limit.class)))
+                .thenReturn(List.of(gabriel));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(1, index.size());
+        assertTrue(index.search("smith", null, 10).isEmpty());
+        assertEquals(1.0, meterRegistry.get("authors.name.index.size").gauge().value());
+        assertTrue(meterRegistry.get("authors.name.index.memory").gauge().value() > 0);
+        assertEquals(1, meterRegistry.get("authors.name.index.rebuild").timer().count());
+    }
+
+    private Author author(String firstName, String lastName) {
+        Author author = new Author(firstName, lastName);
+        author.setId(UUID.randomUUID());
+        return author;
+    }
+}
\ No newline at end of file
@@ -2,13 +2,20 @@ package com.gen.example.officelibrary.author.application;
 
 import com.gen.example.officelibrary.author.domain.*;
 import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.application.BookSearchIndex;
+import com.gen.example.officelibrary.library.application.BookCache;
+import com.gen.example.officelibrary.library.application.BookSuggestionIndex;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,6 +26,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +38,21 @@ class AuthorServiceTest {
     @Mock
     private AuthorMapper authorMapper;
 
+    @Mock
+    private AuthorNameIndex authorNameIndex;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+
+    @Mock
+    private BookCache bookCache;
+
+    @Mock
+    private KnownAuthorEmails knownAuthorEmails;
+
     @InjectMocks
     private AuthorService authorService;
 
@@ -48,13 +71,15 @@ class AuthorServiceTest {
         author.setId(authorId);
         
         authorDTO = new AuthorDTO(authorId, "John", "Doe", "Famous author",
-                                 LocalDate.of(1970, 1, 1), "American", "john.doe@example.com");
+                                 LocalDate.of(1970, 1, 1), "American", "john.doe@example.com", 0L);
         
         createRequest = new CreateAuthorRequest("John", "Doe", "Famous author",
                                                LocalDate.of(1970, 1, 1), "American", "john.doe@example.com");
         
         updateRequest = new UpdateAuthorRequest("Jane", "Smith", "Updated biography",
                                                LocalDate.of(1975, 5, 15), "British", "jane.smith@example.com");
+
+        lenient().when(knownAuthorEmails.mightContain(any())).thenReturn(true);
     }
 
     @Test
@@ -62,7 +87,7 @@ class AuthorServiceTest {
         // Given
         when(authorRepository.existsByEmail(createRequest.getEmail())).thenReturn(false);
         when(authorMapper.toEntity(createRequest)).thenReturn(author);
-        when(authorRepository.save(author)).thenReturn(author);
+        when(authorRepository.saveAndFlush(author)).thenReturn(author);
         when(authorMapper.toDto(author)).thenReturn(authorDTO);
 
         // When
@@ -73,8 +98,9 @@ class AuthorServiceTest {
         assertEquals(authorDTO, result);
         verify(authorRepository).existsByEmail(createRequest.getEmail());
         verify(authorMapper).toEntity(createRequest);
-        verify(authorRepository).save(author);
+        verify(authorRepository).saveAndFlush(author);
         verify(authorMapper).toDto(author);
+        verify(authorNameIndex).index(author);
     }
 
     @Test
@@ -86,7 +112,37 @@ class AuthorServiceTest {
         assertThrows(BusinessRuleException.class, () -> authorService.create(createRequest));
         verify(authorRepository).existsByEmail(createRequest.getEmail());
         verify(authorMapper, never()).toEntity(any());
-        verify(authorRepository, never()).save(any());
+        verify(authorRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void create_ShouldSkipEmailProbe_WhenEmailIsDefinitelyNew() {
+        // Given
+        when(knownAuthorEmails.mightContain(createRequest.getEmail())).thenReturn(false);
+        when(authorMapper.toEntity(createRequest)).thenReturn(author);
+        when(authorRepository.saveAndFlush(author)).thenReturn(author);
+        when(authorMapper.toDto(author)).thenReturn(authorDTO);
+
+        // When
+        authorService.create(createRequest);
+
+        // Then
+        verify(authorRepository, never()).existsByEmail(any());
+        verify(knownAuthorEmails).add(createRequest.getEmail());
+    }
+
+    @Test
+    void create_ShouldThrowBusinessRuleException_WhenEmailConstraintIsViolated() {
+        // Given
+        when(authorRepository.existsByEmail(createRequest.getEmail())).thenReturn(false);
+        when(authorMapper.toEntity(createRequest)).thenReturn(author);
+        when(authorRepository.saveAndFlush(author)).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_AUTHORS_EMAIL_INDEX_4 ON PUBLIC.AUTHORS(EMAIL)\""));
+
+        // When & Then
+        BusinessRuleException ex = assertThrows(BusinessRuleException.class, () -> authorService.create(createRequest));
+        assertEquals("Author with email " + createRequest.getEmail() + " already exists", ex.getMessage());
+        verify(authorNameIndex, never()).index(any());
     }
 
     @Test
@@ -94,7 +150,7 @@ class AuthorServiceTest {
         // Given
         createRequest.setEmail(null);
         when(authorMapper.toEntity(createRequest)).thenReturn(author);
-        when(authorRepository.save(author)).thenReturn(author);
+        when(authorRepository.saveAndFlush(author)).thenReturn(author);
         when(authorMapper.toDto(author)).thenReturn(authorDTO);
 
         // When
@@ -104,7 +160,7 @@ class AuthorServiceTest {
         assertNotNull(result);
         verify(authorRepository, never()).existsByEmail(any());
         verify(authorMapper).toEntity(createRequest);
-        verify(authorRepository).save(author);
+        verify(authorRepository).saveAndFlush(author);
         verify(authorMapper).toDto(author);
     }
 
@@ -112,17 +168,17 @@ class AuthorServiceTest {
     void findAll_ShouldReturnListOfAuthorDTOs() {
         // Given
         List<Author> authors = Arrays.asList(author);
-        when(authorRepository.findAll()).thenReturn(authors);
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(any(UUID.class), any(Limit.class))).thenReturn(authors);
         when(authorMapper.toDto(author)).thenReturn(authorDTO);
 
         // When
-        List<AuthorDTO> result = authorService.findAll();
+        CursorPage<AuthorDTO> result = authorService.findAll(CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(authorDTO, result.get(0));
-        verify(authorRepository).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(authorDTO, result.getItems().get(0));
+        verify(authorRepository).findByIdGreaterThanOrderByIdAsc(any(UUID.class), any(Limit.class));
         verify(authorMapper).toDto(author);
     }
 
@@ -158,36 +214,50 @@ class AuthorServiceTest {
         // Given
         String searchTerm = "John";
         List<Author> authors = Arrays.asList(author);
-        when(authorRepository.searchByFullName(searchTerm)).thenReturn(authors);
+        when(authorNameIndex.search(searchTerm, null, 11)).thenReturn(List.of(authorId));
+        when(authorRepository.findAllById(List.of(authorId))).thenReturn(authors);
         when(authorMapper.toDto(author)).thenReturn(authorDTO);
 
         // When
-        List<AuthorDTO> result = authorService.searchByName(searchTerm);
+        CursorPage<AuthorDTO> result = authorService.searchByName(searchTerm, CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(authorDTO, result.get(0));
-        verify(authorRepository).searchByFullName(searchTerm);
+        assertEquals(1, result.getItems().size());
+        assertEquals(authorDTO, result.getItems().get(0));
+        verify(authorNameIndex).search(searchTerm, null, 11);
         verify(authorMapper).toDto(author);
     }
 
+    @Test
+    void searchByName_ShouldNotQueryDatabase_WhenIndexHasNoMatches() {
+        // Given
+        when(authorNameIndex.search("Nobody", null, 11)).thenReturn(List.of());
+
+        // When
+        CursorPage<AuthorDTO> result = authorService.searchByName("Nobody", CursorRequest.first(10));
+
+        // Then
+        assertTrue(result.getItems().isEmpty());
+        verify(authorRepository, never()).findAllById(any());
+    }
+
     @Test
     void findByNationality_ShouldReturnListOfAuthorDTOs() {
         // Given
         String nationality = "American";
         List<Author> authors = Arrays.asList(author);
-        when(authorRepository.findByNationalityIgnoreCase(nationality)).thenReturn(authors);
+        when(authorRepository.findByNationalityIgnoreCaseAndIdGreaterThanOrderByIdAsc(eq(nationality), any(UUID.class), any(Limit.class))).thenReturn(authors);
         when(authorMapper.toDto(author)).thenReturn(authorDTO);
 
         // When
-        List<AuthorDTO> result = authorService.findByNationality(nationality);
+        CursorPage<AuthorDTO> result = authorService.findByNationality(nationality, CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(authorDTO, result.get(0));
-        verify(authorRepository).findByNationalityIgnoreCase(nationality);
+        assertEquals(1, result.getItems().size());
+        assertEquals(authorDTO, result.getItems().get(0));
+        verify(authorRepository).findByNationalityIgnoreCaseAndIdGreaterThanOrderByIdAsc(eq(nationality), any(UUID.class), any(Limit.class));
         verify(authorMapper).toDto(author);
     }
 
@@ -196,7 +266,7 @@ class AuthorServiceTest {
         // Given
         when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(authorRepository.existsByEmail(updateRequest.getEmail())).thenReturn(false);
-        when(authorRepository.save(author)).thenReturn(author);
+        when(authorRepository.saveAndFlush(author)).thenReturn(author);
         when(authorMapper.toDto(author)).thenReturn(authorDTO);
 
         // When
@@ -208,8 +278,12 @@ class AuthorServiceTest {
         verify(authorRepository).findById(authorId);
         verify(authorRepository).existsByEmail(updateRequest.getEmail());
         verify(authorMapper).updateEntity(author, updateRequest);
-        verify(authorRepository).save(author);
+        verify(authorRepository).saveAndFlush(author);
         verify(authorMapper).toDto(author);
+        verify(authorNameIndex).index(author);
+        verify(bookSearchIndex).renameAuthor(authorId, author.getFullName());
+        verify(bookSuggestionIndex).renameAuthor(authorId, author.getFullName());
+        verify(bookCache).invalidateAuthor(authorId);
     }
 
     @Test
@@ -222,7 +296,7 @@ class AuthorServiceTest {
         verify(authorRepository).findById(authorId);
         verify(authorRepository, never()).existsByEmail(any());
         verify(authorMapper, never()).updateEntity(any(), any());
-        verify(authorRepository, never()).save(any());
+        verify(authorRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -237,7 +311,7 @@ class AuthorServiceTest {
         verify(authorRepository).findById(authorId);
         verify(authorRepository).existsByEmail(updateRequest.getEmail());
         verify(authorMapper, never()).updateEntity(any(), any());
-        verify(authorRepository, never()).save(any());
+        verify(authorRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -245,7 +319,7 @@ class AuthorServiceTest {
         // Given
         updateRequest.setEmail(author.getEmail());
         when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(authorRepository.save(author)).thenReturn(author);
+        when(authorRepository.saveAndFlush(author)).thenReturn(author);
         when(authorMapper.toDto(author)).thenReturn(authorDTO);
 
         // When
@@ -256,7 +330,7 @@ class AuthorServiceTest {
         verify(authorRepository).findById(authorId);
         verify(authorRepository, never()).existsByEmail(any());
         verify(authorMapper).updateEntity(author, updateRequest);
-        verify(authorRepository).save(author);
+        verify(authorRepository).saveAndFlush(author);
         verify(authorMapper).toDto(author);
     }
 
@@ -271,6 +345,7 @@ class AuthorServiceTest {
         // Then
         verify(authorRepository).existsById(authorId);
         verify(authorRepository).deleteById(authorId);
+        verify(authorNameIndex).remove(authorId);
     }
 
     @Test
@@ -1,10 +1,12 @@
 package com.gen.example.officelibrary.author.persistence;
 
 import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
@@ -42,66 +44,6 @@ class AuthorRepositoryTest {
         assertThat(savedAuthor.getEmail()).isEqualTo("john.doe@example.com");
     }
 
-    @Test
-    void shouldFindByFirstNameOrLastNameContaining() {
-        // Given
-        Author author1 = new Author("John", "Smith");
-        Author author2 = new Author("Jane", "Doe");
-        Author author3 = new Author("Bob", "Johnson");
-        
-        entityManager.persistAndFlush(author1);
-        entityManager.persistAndFlush(author2);
-        entityManager.persistAndFlush(author3);
-        
-        // When
-        List<Author> johnsAuthors = authorRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase("john", "john");
-        
-        // Then
-        assertThat(johnsAuthors).hasSize(2);
-        assertThat(johnsAuthors).extracting(Author::getFirstName)
-            .containsExactlyInAnyOrder("John", "Bob");
-    }
-
-    @Test
-    void shouldSearchByFullName() {
-        // Given
-        Author author1 = new Author("John", "Smith");
-        Author author2 = new Author("Jane", "Doe");
-        Author author3 = new Author("John", "Doe");
-        
-        entityManager.persistAndFlush(author1);
-        entityManager.persistAndFlush(author2);
-        entityManager.persistAndFlush(author3);
-        
-        // When
-        List<Author> johnDoeAuthors = authorRepository.searchByFullName("john doe");
-        
-        // Then
-        assertThat(johnDoeAuthors).hasSize(1);
-        assertThat(johnDoeAuthors.get(0).getFirstName()).isEqualTo("John");
-        assertThat(johnDoeAuthors.get(0).getLastName()).isEqualTo("Doe");
-    }
-
-    @Test
-    void shouldFindByNationality() {
-        // Given
-        Author author1 = new Author("John", "Smith", null, null, "American", null);
-        Author author2 = new Author("Jane", "Doe", null, null, "British", null);
-        Author author3 = new Author("Bob", "Johnson", null, null, "american", null);
-        
-        entityManager.persistAndFlush(author1);
-        entityManager.persistAndFlush(author2);
-        entityManager.persistAndFlush(author3);
-        
-        // When
-        List<Author> americanAuthors = authorRepository.findByNationalityIgnoreCase("American");
-        
-        // Then
-        assertThat(americanAuthors).hasSize(2);
-        assertThat(americanAuthors).extracting(Author::getFirstName)
-            .containsExactlyInAnyOrder("John", "Bob");
-    }
-
     @Test
     void shouldCheckIfEmailExists() {
         // Given
@@ -146,15 +88,19 @@ class AuthorRepositoryTest {
     }
 
     @Test
-    void shouldReturnEmptyListWhenNoAuthorsMatchSearch() {
+    void shouldPageAuthorsById() {
         // Given
-        Author author = new Author("John", "Smith");
-        entityManager.persistAndFlush(author);
-        
+        entityManager.persistAndFlush(new Author("John", "Smith"));
+        entityManager.persistAndFlush(new Author("Jane", "Doe"));
+        entityManager.persistAndFlush(new Author("Bob", "Johnson"));
+
         // When
-        List<Author> results = authorRepository.searchByFullName("nonexistent author");
-        
+        List<Author> firstPage = authorRepository.findByIdGreaterThanOrderByIdAsc(PageCursor.LOWEST_ID, Limit.of(2));
+        List<Author> secondPage = authorRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(1).getId(), Limit.of(2));
+
         // Then
-        assertThat(results).isEmpty();
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(firstPage).doesNotContainAnyElementsOf(secondPage);
     }
 }
\ No newline at end of file
@@ -10,9 +10,13 @@ import com.gen.example.officelibrary.library.application.BookService;
 import com.gen.example.officelibrary.library.domain.BookDTO;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
 import com.gen.example.officelibrary.shared.exception.GlobalExceptionHandler;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -24,11 +28,13 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest({AuthorController.class, GlobalExceptionHandler.class})
+@Import(TableVersions.class)
 class AuthorControllerTest {
 
     @Autowired
@@ -114,7 +120,7 @@ class AuthorControllerTest {
         author2.setLastName("Smith");
 
         List<AuthorDTO> authors = Arrays.asList(author1, author2);
-        when(authorService.findAll()).thenReturn(authors);
+        when(authorService.findAll(any(CursorRequest.class))).thenReturn(new CursorPage<>(authors, null));
 
         // When & Then
         mockMvc.perform(get("/api/authors"))
@@ -123,7 +129,7 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$[0].firstName").value("John"))
                 .andExpect(jsonPath("$[1].firstName").value("Jane"));
 
-        verify(authorService).findAll();
+        verify(authorService).findAll(any(CursorRequest.class));
     }
 
     @Test
@@ -136,7 +142,7 @@ class AuthorControllerTest {
         author1.setNationality("American");
 
         List<AuthorDTO> authors = Arrays.asList(author1);
-        when(authorService.findByNationality("American")).thenReturn(authors);
+        when(authorService.findByNationality(eq("American"), any(CursorRequest.class))).thenReturn(new CursorPage<>(authors, null));
 
         // When & Then
         mockMvc.perform(get("/api/authors?nationality=American"))
@@ -144,8 +150,8 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].nationality").value("American"));
 
-        verify(authorService).findByNationality("American");
-        verify(authorService, never()).findAll();
+        verify(authorService).findByNationality(eq("American"), any(CursorRequest.class));
+        verify(authorService, never()).findAll(any(CursorRequest.class));
     }
 
     @Test
@@ -197,7 +203,7 @@ class AuthorControllerTest {
         expectedDto.setLastName("Updated Doe");
         expectedDto.setBiography("Updated biography");
 
-        when(authorService.update(eq(authorId), any(UpdateAuthorRequest.class))).thenReturn(expectedDto);
+        when(authorService.update(eq(authorId), any(UpdateAuthorRequest.class), isNull())).thenReturn(expectedDto);
 
         // When & Then
         mockMvc.perform(put("/api/authors/{id}", authorId)
@@ -209,7 +215,7 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$.lastName").value("Updated Doe"))
                 .andExpect(jsonPath("$.biography").value("Updated biography"));
 
-        verify(authorService).update(eq(authorId), any(UpdateAuthorRequest.class));
+        verify(authorService).update(eq(authorId), any(UpdateAuthorRequest.class), isNull());
     }
 
     @Test
@@ -220,7 +226,7 @@ class AuthorControllerTest {
         request.setFirstName("Updated John");
         request.setLastName("Updated Doe");
 
-        when(authorService.update(eq(authorId), any(UpdateAuthorRequest.class)))
+        when(authorService.update(eq(authorId), any(UpdateAuthorRequest.class), isNull()))
                 .thenThrow(new AuthorNotFoundException(authorId));
 
         // When & Then
@@ -229,7 +235,7 @@ class AuthorControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isNotFound());
 
-        verify(authorService).update(eq(authorId), any(UpdateAuthorRequest.class));
+        verify(authorService).update(eq(authorId), any(UpdateAuthorRequest.class), isNull());
     }
 
     @Test
@@ -268,7 +274,7 @@ class AuthorControllerTest {
         author1.setLastName("Doe");
 
         List<AuthorDTO> authors = Arrays.asList(author1);
-        when(authorService.searchByName(searchQuery)).thenReturn(authors);
+        when(authorService.searchByName(eq(searchQuery), any(CursorRequest.class))).thenReturn(new CursorPage<>(authors, null));
 
         // When & Then
         mockMvc.perform(get("/api/authors/search?query={query}", searchQuery))
@@ -276,7 +282,7 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].firstName").value("John"));
 
-        verify(authorService).searchByName(searchQuery);
+        verify(authorService).searchByName(eq(searchQuery), any(CursorRequest.class));
     }
 
     @Test
@@ -294,7 +300,7 @@ class AuthorControllerTest {
         book2.setAuthorId(authorId);
 
         List<BookDTO> books = Arrays.asList(book1, book2);
-        when(bookService.findByAuthorId(authorId)).thenReturn(books);
+        when(bookService.findByAuthorId(eq(authorId), any(CursorRequest.class))).thenReturn(new CursorPage<>(books, null));
 
         // When & Then
         mockMvc.perform(get("/api/authors/{id}/books", authorId))
@@ -303,7 +309,7 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$[0].title").value("Book 1"))
                 .andExpect(jsonPath("$[1].title").value("Book 2"));
 
-        verify(bookService).findByAuthorId(authorId);
+        verify(bookService).findByAuthorId(eq(authorId), any(CursorRequest.class));
     }
 
     @Test
@@ -0,0 +1,127 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.importing.domain.ImportFormat;
+import com.gen.example.officelibrary.importing.domain.ImportReportDTO;
+import com.gen.example.officelibrary.library.application.BookService;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookDTO;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports a few thousand books through the whole pipeline into the database. Statement counts are
+ * per batch, not per row; throughput is logged for comparison.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    "library.import.batch-size=" + CatalogImportIntegrationTest.BATCH_SIZE
+})
+@ActiveProfiles("test")
+class CatalogImportIntegrationTest {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportIntegrationTest.class);
+
+    private static final int ROWS = 5_000;
+    private static final int AUTHORS = 50;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Author existingAuthor;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        existingAuthor = new Author("Existing", "Author");
+        existingAuthor.setEmail("author-0@example.com");
+        existingAuthor = authorRepository.save(existingAuthor);
+        bookRepository.save(new Book("978-0000000000", "Already here", existingAuthor, BookStatus.AVAILABLE,
+                LocalDate.now()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importBooks_ShouldInsertValidRowsAndReportTheRest() {
+        // Given
+        StringBuilder csv = new StringBuilder("isbn,title,genre,authorEmail,authorFirstName,authorLastName\n");
+        for (int i = 1; i <= ROWS; i++) {
+            csv.append(String.format("978-%010d,Imported Book %d,Fiction,author-%d@example.com,First%d,Last%d%n",
+                    i, i, i % AUTHORS, i % AUTHORS, i % AUTHORS));
+        }
+        // Already stored, repeated within the import, and an unknown author without a name
+        csv.append("978-0000000000,Duplicate,,author-1@example.com,,\n");
+        csv.append("978-0000000001,Repeated,,author-1@example.com,,\n");
+        csv.append("978-9999999999,Nameless,,nobody@example.com,,\n");
+        statistics.clear();
+
+        // When
+        ImportReportDTO report = catalogImportService.importBooks(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        // Then
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Imported {} rows in {} ms ({} rows/s) with {} JPA statements", report.getImported(),
+                report.getElapsedMillis(), Math.round(report.getRowsPerSecond()), statements);
+        assertEquals(ROWS + 3, report.getReceived());
+        assertEquals(ROWS, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(AUTHORS - 1, report.getAuthorsCreated());
+        assertEquals(ROWS + 1, bookRepository.count());
+        assertEquals(AUTHORS, authorRepository.count());
+        assertTrue(report.getErrors().get(2).getMessage().startsWith("Author nobody@example.com does not exist"));
+        // Two lookups per batch; the inserts go through JDBC batches
+        assertTrue(statements <= 2L * (ROWS / BATCH_SIZE + 1), () -> statements + " statements");
+
+        BookDTO imported = bookService.findByIsbn("978-0000000042");
+        assertEquals("Imported Book 42", imported.getTitle());
+        assertEquals("author-42@example.com", imported.getAuthor().getEmail());
+        assertEquals(ROWS / AUTHORS + 1L, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM books WHERE author_id = ?", Long.class, existingAuthor.getId()));
+        assertEquals(0L, bookRepository.findById(imported.getId()).orElseThrow().getVersion());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.gen.example.officelibrary.importing.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.gen.example.officelibrary.importing.domain.BookImportRow;
+import com.gen.example.officelibrary.importing.domain.ImportFormat;
+import com.gen.example.officelibrary.importing.domain.ImportReportDTO;
+import com.gen.example.officelibrary.importing.domain.ImportRowError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceTest {
+
+    private static final String HEADER = "isbn,title,publicationYear,authorEmail,authorFirstName,authorLastName\n";
+
+    @Mock
+    private CatalogImportWriter writer;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void importBooks_ShouldWriteCsvRowsInBatches() {
+        // Given
+        CatalogImportService service = service(2, 10);
+        writeEverything();
+        String csv = HEADER
+                + "978-0000000001,First,2001,jane@example.com,Jane,Doe\n"
+                + "978-0000000002,Second,2002,jane@example.com,Jane,Doe\r\n"
+                + "978-0000000003,Third,2003,john@example.com,John,Roe";
+
+        // When
+        ImportReportDTO report = service.importBooks(input(csv), ImportFormat.CSV);
+
+        // Then
+        assertEquals(3, report.getReceived());
+        assertEquals(3, report.getImported());
+        assertEquals(0, report.getFailed());
+        List<List<ImportRecord>> batches = capturedBatches(2);
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        BookImportRow first = batches.get(0).get(0).row();
+        assertEquals("978-0000000001", first.getIsbn());
+        assertEquals(2001, first.getPublicationYear());
+        assertEquals("jane@example.com", first.getAuthorEmail());
+        assertEquals(3.0, meterRegistry.get("catalog.import.rows").tag("outcome", "imported").counter().count());
+        assertEquals(2, meterRegistry.get("catalog.import.batch").timer().count());
+        assertTrue(meterRegistry.get("catalog.import.throughput").gauge().value() > 0);
+    }
+
+    @Test
+    void importBooks_ShouldReadQuotedCsvFields() {
+        // Given
+        CatalogImportService service = service(10, 10);
+        writeEverything();
+        String csv = HEADER + "978-0000000001,\"Commas, \"\"Quotes\"\"\nand lines\",,jane@example.com,Jane,Doe\n";
+
+        // When
+        ImportReportDTO report = service.importBooks(input(csv), ImportFormat.CSV);
+
+        // Then
+        assertEquals(1, report.getImported());
+        BookImportRow row = capturedBatches(1).get(0).get(0).row();
+        assertEquals("Commas, \"Quotes\"\nand lines", row.getTitle());
+        assertNull(row.getPublicationYear());
+    }
+
+    @Test
+    void importBooks_ShouldReportBadRows_WithoutStoppingImport() {
+        // Given
+        CatalogImportService service = service(10, 10);
+        writeEverything();
+        String ndjson = """
+                {"isbn":"978-0000000001","title":"Good","authorEmail":"jane@example.com"}
+                {"isbn":"978-0000000002","title":"Bad year","publicationYear":"soon","authorEmail":"jane@example.com"}
+                {"isbn":"978-0000000003",
+
+                {"isbn":"978-0000000004","authorEmail":"jane@example.com"}
+                {"isbn":"978-0000000005","title":"No author"}
+                {"isbn":"978-0000000006","title":"Bad email","authorEmail":"not-an-email"}
+                """;
+
+        // When
+        ImportReportDTO report = service.importBooks(input(ndjson), ImportFormat.NDJSON);
+
+        // Then
+        assertEquals(6, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals(5, report.getFailed());
+        List<ImportRowError> errors = report.getErrors();
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L), errors.stream().map(ImportRowError::getLine).toList());
+        assertEquals("Invalid value for publicationYear", errors.get(0).getMessage());
+        assertEquals("Title is required", errors.get(2).getMessage());
+        assertEquals("978-0000000004", errors.get(2).getIsbn());
+        assertEquals("Author email is required", errors.get(3).getMessage());
+        assertEquals("Email must be valid", errors.get(4).getMessage());
+        assertEquals(5.0, meterRegistry.get("catalog.import.rows").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void importBooks_ShouldReportCsvRowWithWrongFieldCount() {
+        // Given
+        CatalogImportService service = service(10, 10);
+        String csv = HEADER + "978-0000000001,Too few\n";
+
+        // When
+        ImportReportDTO report = service.importBooks(input(csv), ImportFormat.CSV);
+
+        // Then
+        assertEquals(1, report.getFailed());
+        assertEquals(new ImportRowError(2, null, "Expected 6 fields but found 2"), report.getErrors().get(0));
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void importBooks_ShouldRetryRowByRow_WhenBatchConflicts() {
+        // Given
+        CatalogImportService service = service(10, 10);
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<ImportRecord> records = invocation.getArgument(0);
+            if (records.size() > 1 || records.get(0).isbn().endsWith("2")) {
+                throw new DataIntegrityViolationException("Unique index or primary key violation");
+            }
+            return new CatalogImportWriter.BatchResult(1, 0, List.of());
+        });
+        String csv = HEADER
+                + "978-0000000001,First,2001,jane@example.com,Jane,Doe\n"
+                + "978-0000000002,Second,2002,jane@example.com,Jane,Doe\n";
+
+        // When
+        ImportReportDTO report = service.importBooks(input(csv), ImportFormat.CSV);
+
+        // Then
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(3L, report.getErrors().get(0).getLine());
+        assertEquals("978-0000000002", report.getErrors().get(0).getIsbn());
+        verify(writer, times(3)).write(anyList());
+    }
+
+    @Test
+    void importBooks_ShouldStreamInputLargerThanQueue() {
+        // Given
+        CatalogImportService service = service(7, 3);
+        writeEverything();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            ndjson.append("{\"isbn\":\"978-").append(1_000_000_000L + i)
+                    .append("\",\"title\":\"Book ").append(i)
+                    .append("\",\"authorEmail\":\"jane@example.com\",\"authorBirthDate\":\"")
+                    .append(LocalDate.of(1970, 1, 1)).append("\"}\n");
+        }
+
+        // When
+        ImportReportDTO report = service.importBooks(input(ndjson.toString()), ImportFormat.NDJSON);
+
+        // Then
+        assertEquals(100, report.getImported());
+        verify(writer, times(15)).write(anyList());
+    }
+
+    @Test
+    void importBooks_ShouldCapReportedErrors() {
+        // Given
+        CatalogImportService service = new CatalogImportService(writer, objectMapper, validator, meterRegistry, 10, 10, 2);
+        String ndjson = "{}\n{}\n{}\n{}\n";
+
+        // When
+        ImportReportDTO report = service.importBooks(input(ndjson), ImportFormat.NDJSON);
+
+        // Then
+        assertEquals(4, report.getFailed());
+        assertEquals(2, report.getErrors().size());
+    }
+
+    private CatalogImportService service(int batchSize, int queueCapacity) {
+        return new CatalogImportService(writer, objectMapper, validator, meterRegistry, batchSize, queueCapacity, 100);
+    }
+
+    private void writeEverything() {
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<ImportRecord> records = invocation.getArgument(0);
+            return new CatalogImportWriter.BatchResult(records.size(), 0, List.of());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ImportRecord>> capturedBatches(int count) {
+        ArgumentCaptor<List<ImportRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(count)).write(captor.capture());
+        return new ArrayList<>(captor.getAllValues());
+    }
+
+    private InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
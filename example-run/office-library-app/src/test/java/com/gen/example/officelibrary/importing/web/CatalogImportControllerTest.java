@@ -0,0 +1,64 @@
+package com.gen.example.officelibrary.importing.web;
+
+import com.gen.example.officelibrary.importing.application.CatalogImportService;
+import com.gen.example.officelibrary.importing.domain.ImportFormat;
+import com.gen.example.officelibrary.importing.domain.ImportReportDTO;
+import com.gen.example.officelibrary.importing.domain.ImportRowError;
+import com.gen.example.officelibrary.shared.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest({CatalogImportController.class, GlobalExceptionHandler.class})
+class CatalogImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CatalogImportService catalogImportService;
+
+    @Test
+    void importCsv_ShouldReturnReport() throws Exception {
+        // Given
+        ImportReportDTO report = new ImportReportDTO(2, 1, 1, 1, 12, 166.7,
+                List.of(new ImportRowError(3, "978-0000000002", "Title is required")));
+        when(catalogImportService.importBooks(any(InputStream.class), eq(ImportFormat.CSV))).thenReturn(report);
+
+        // When & Then
+        mockMvc.perform(post("/api/imports/books")
+                .contentType(CatalogImportController.CSV)
+                .content("isbn,title\n978-0000000001,Book\n978-0000000002,\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Title is required"));
+    }
+
+    @Test
+    void importNdjson_ShouldImportAsNdjson() throws Exception {
+        // Given
+        when(catalogImportService.importBooks(any(InputStream.class), eq(ImportFormat.NDJSON)))
+                .thenReturn(new ImportReportDTO(1, 1, 0, 0, 5, 200.0, List.of()));
+
+        // When & Then
+        mockMvc.perform(post("/api/imports/books")
+                .contentType(CatalogImportController.NDJSON)
+                .content("{\"isbn\":\"978-0000000001\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+        verify(catalogImportService).importBooks(any(InputStream.class), eq(ImportFormat.NDJSON));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.BorrowerLoanCount;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveLoanCountersTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    @Mock
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private ActiveLoanCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ActiveLoanCounters(borrowingRecordRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_ShouldSeedCountersFromActiveRecords() {
+        // Given
+        when(borrowingRecordRepository.countActiveBorrowingsPerBorrower())
+                .thenReturn(List.of(loanCount(EMAIL, 2), loanCount("john@example.com", 1)));
+
+        // When
+        counters.rebuild();
+
+        // Then
+        assertEquals(2, counters.activeCount(EMAIL));
+        assertEquals(1, counters.activeCount("john@example.com"));
+        assertEquals(0, counters.activeCount("nobody@example.com"));
+    }
+
+    @Test
+    void reserve_ShouldThrowBusinessRuleException_WhenLimitReached() {
+        // Given
+        for (int i = 0; i < ActiveLoanCounters.MAX_ACTIVE_LOANS; i++) {
+            counters.reserve(EMAIL);
+        }
+
+        // When & Then
+        assertThrows(BusinessRuleException.class, () -> counters.reserve(EMAIL));
+        assertEquals(ActiveLoanCounters.MAX_ACTIVE_LOANS, counters.activeCount(EMAIL));
+    }
+
+    @Test
+    void release_ShouldFreeSlot() {
+        // Given
+        counters.reserve(EMAIL);
+        counters.reserve(EMAIL);
+
+        // When
+        counters.release(EMAIL);
+
+        // Then
+        assertEquals(1, counters.activeCount(EMAIL));
+    }
+
+    @Test
+    void reserve_ShouldGiveSlotBack_WhenTransactionRollsBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        counters.reserve(EMAIL);
+        assertEquals(1, counters.activeCount(EMAIL));
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertEquals(0, counters.activeCount(EMAIL));
+    }
+
+    @Test
+    void release_ShouldWaitForCommit() {
+        // Given
+        counters.reserve(EMAIL);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        counters.release(EMAIL);
+
+        // Then
+        assertEquals(1, counters.activeCount(EMAIL));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(0, counters.activeCount(EMAIL));
+    }
+
+    @Test
+    void reserve_ShouldNeverExceedLimit_UnderContention() throws Exception {
+        // Given
+        int attempts = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < attempts; i++) {
+                results.add(pool.submit((Callable<Object>) () -> {
+                    start.await();
+                    counters.reserve(EMAIL);
+                    return null;
+                }));
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        int reserved = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+                reserved++;
+            } catch (ExecutionException ex) {
+                assertInstanceOf(BusinessRuleException.class, ex.getCause());
+            }
+        }
+        assertEquals(ActiveLoanCounters.MAX_ACTIVE_LOANS, reserved);
+        assertEquals(ActiveLoanCounters.MAX_ACTIVE_LOANS, counters.activeCount(EMAIL));
+    }
+
+    private BorrowerLoanCount loanCount(String email, long activeCount) {
+        return new BorrowerLoanCount() {
+            @Override
+            public String getBorrowerEmail() {
+                return email;
+            }
+
+            @Override
+            public long getActiveCount() {
+                return activeCount;
+            }
+        };
+    }
+}
\ No newline at end of file
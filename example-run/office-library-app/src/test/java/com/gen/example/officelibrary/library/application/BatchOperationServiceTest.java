@@ -0,0 +1,187 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.*;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class BatchOperationServiceTest {
+
+    private static final String JANE = "jane@example.com";
+
+    @Autowired
+    private BatchOperationService batchOperationService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ActiveLoanCounters activeLoanCounters;
+
+    @Autowired
+    private DueDateIndex dueDateIndex;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Author author = authorRepository.save(new Author("Batch", "Writer"));
+        books = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            books.add(bookRepository.save(new Book("978-000000010" + i, "Batch Book " + i, author,
+                    BookStatus.AVAILABLE, LocalDate.now())));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        activeLoanCounters.rebuild();
+        dueDateIndex.rebuild();
+    }
+
+    @Test
+    void apply_ShouldWriteBatchWithTwoLookups() {
+        // Given
+        UUID loan = borrow(books.get(0), JANE);
+        List<BatchOperationRequest> operations = List.of(
+                BatchOperationRequest.returnRecord(loan),
+                BatchOperationRequest.borrow(books.get(1).getId(), "Jane", JANE),
+                BatchOperationRequest.borrow(books.get(2).getId(), "John", "john@example.com"),
+                BatchOperationRequest.relocate(books.get(3).getId(), "Shelf Z9"));
+        statistics.clear();
+
+        // When
+        BatchResultDTO result = batchOperationService.apply(new BatchRequest(BatchMode.BEST_EFFORT, operations));
+
+        // Then
+        assertTrue(result.isCommitted());
+        assertEquals(4, result.getSucceeded());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(BorrowingStatus.RETURNED, borrowingRecordRepository.findById(loan).orElseThrow().getStatus());
+        assertEquals(BookStatus.AVAILABLE, bookService.findById(books.get(0).getId()).getStatus());
+        assertEquals(BookStatus.BORROWED, bookService.findById(books.get(1).getId()).getStatus());
+        assertEquals("Shelf Z9", bookService.findById(books.get(3).getId()).getLocation());
+
+        BorrowingRecord created = borrowingRecordRepository
+                .findById(result.getResults().get(1).getBorrowingRecordId()).orElseThrow();
+        assertEquals(JANE, created.getBorrowerEmail());
+        assertEquals(LocalDate.now().plusWeeks(2), created.getDueDate());
+        assertEquals(1, activeLoanCounters.activeCount(JANE));
+        assertEquals(2, dueDateIndex.size());
+    }
+
+    @Test
+    void apply_ShouldReportFailedOperations_WhenBestEffort() {
+        // Given
+        UUID missing = UUID.randomUUID();
+        List<BatchOperationRequest> operations = List.of(
+                BatchOperationRequest.borrow(books.get(0).getId(), "Jane", JANE),
+                BatchOperationRequest.borrow(books.get(0).getId(), "John", "john@example.com"),
+                BatchOperationRequest.returnRecord(missing),
+                BatchOperationRequest.relocate(books.get(1).getId(), " "));
+
+        // When
+        BatchResultDTO result = batchOperationService.apply(new BatchRequest(BatchMode.BEST_EFFORT, operations));
+
+        // Then
+        assertTrue(result.isCommitted());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        List<BatchOperationResultDTO> results = result.getResults();
+        assertEquals("Book is not available for borrowing", results.get(1).getMessage());
+        assertTrue(results.get(2).getMessage().contains(missing.toString()));
+        assertEquals("Location is required", results.get(3).getMessage());
+        assertEquals(BookStatus.BORROWED, bookService.findById(books.get(0).getId()).getStatus());
+        assertEquals(0, activeLoanCounters.activeCount("john@example.com"));
+    }
+
+    @Test
+    void apply_ShouldWriteNothing_WhenAllOrNothingHasFailure() {
+        // Given
+        UUID loan = borrow(books.get(0), JANE);
+        List<BatchOperationRequest> operations = List.of(
+                BatchOperationRequest.borrow(books.get(1).getId(), "John", "john@example.com"),
+                BatchOperationRequest.returnRecord(loan),
+                BatchOperationRequest.returnRecord(loan));
+
+        // When
+        BatchResultDTO result = batchOperationService.apply(new BatchRequest(BatchMode.ALL_OR_NOTHING, operations));
+
+        // Then
+        assertFalse(result.isCommitted());
+        assertEquals(0, result.getSucceeded());
+        assertEquals("Borrowing record is not active", result.getResults().get(2).getMessage());
+        assertEquals("Rolled back because another operation of the batch failed",
+                result.getResults().get(0).getMessage());
+        assertEquals(BookStatus.AVAILABLE, bookService.findById(books.get(1).getId()).getStatus());
+        assertEquals(BorrowingStatus.ACTIVE, borrowingRecordRepository.findById(loan).orElseThrow().getStatus());
+        assertEquals(0, activeLoanCounters.activeCount("john@example.com"));
+        assertEquals(1, activeLoanCounters.activeCount(JANE));
+    }
+
+    @Test
+    void apply_ShouldLetReturnsFreeLoanSlotsForLaterBorrows() {
+        // Given
+        List<UUID> loans = List.of(borrow(books.get(0), JANE), borrow(books.get(1), JANE), borrow(books.get(2), JANE));
+        List<BatchOperationRequest> operations = List.of(
+                BatchOperationRequest.borrow(books.get(3).getId(), "Jane", JANE),
+                BatchOperationRequest.returnRecord(loans.get(0)),
+                BatchOperationRequest.borrow(books.get(3).getId(), "Jane", JANE),
+                BatchOperationRequest.borrow(books.get(0).getId(), "Jane", JANE));
+
+        // When
+        BatchResultDTO result = batchOperationService.apply(new BatchRequest(BatchMode.BEST_EFFORT, operations));
+
+        // Then
+        assertEquals(List.of(false, true, true, false),
+                result.getResults().stream().map(BatchOperationResultDTO::isSucceeded).toList());
+        assertTrue(result.getResults().get(0).getMessage().startsWith("Maximum borrowing limit"));
+        assertEquals(3, activeLoanCounters.activeCount(JANE));
+    }
+
+    private UUID borrow(Book book, String email) {
+        return borrowingService.borrowBook(book.getId(), new BorrowBookRequest("Reader", email, null)).getId();
+    }
+}
\ No newline at end of file
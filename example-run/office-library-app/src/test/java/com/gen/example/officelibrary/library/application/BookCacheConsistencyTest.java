@@ -0,0 +1,128 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.application.AuthorService;
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.domain.UpdateAuthorRequest;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowBookRequest;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordDTO;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The book cache must never serve a status older than the last committed borrow or return, even
+ * while other threads keep reading (and re-populating) the same entry.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookCacheConsistencyTest {
+
+    private static final int CYCLES = 25;
+    private static final int READERS = 4;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private KnownIsbns knownIsbns;
+
+    private Author author;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        author = authorRepository.save(new Author("Ursula", "Le Guin"));
+        book = bookRepository.save(new Book("978-0441478125", "The Left Hand of Darkness", author,
+                BookStatus.AVAILABLE, LocalDate.now()));
+        knownIsbns.add(book.getIsbn());
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    void findById_ShouldReflectEveryCommittedBorrowAndReturn_WhileOthersRead() throws Exception {
+        // Given
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        Future<?>[] reads = new Future<?>[READERS];
+        for (int i = 0; i < READERS; i++) {
+            reads[i] = readers.submit(() -> {
+                while (running.get()) {
+                    bookService.findById(book.getId());
+                    bookService.findByIsbn(book.getIsbn());
+                }
+            });
+        }
+
+        // When & Then
+        try {
+            for (int i = 0; i < CYCLES; i++) {
+                BorrowingRecordDTO record = borrowingService.borrowBook(book.getId(),
+                        new BorrowBookRequest("Reader", "reader@example.com", null));
+                assertEquals(BookStatus.BORROWED, bookService.findById(book.getId()).getStatus());
+                assertEquals(BookStatus.BORROWED, bookService.findByIsbn(book.getIsbn()).getStatus());
+
+                borrowingService.returnBook(record.getId());
+                assertEquals(BookStatus.AVAILABLE, bookService.findById(book.getId()).getStatus());
+                assertEquals(BookStatus.AVAILABLE, bookService.findByIsbn(book.getIsbn()).getStatus());
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+        }
+        for (Future<?> read : reads) {
+            read.get();
+        }
+    }
+
+    @Test
+    void findById_ShouldReflectCommittedAuthorChanges() {
+        // Given
+        bookService.findById(book.getId());
+        UpdateAuthorRequest request = new UpdateAuthorRequest();
+        request.setFirstName("Ursula K.");
+        request.setLastName("Le Guin");
+
+        // When
+        authorService.update(author.getId(), request);
+
+        // Then
+        assertEquals("Ursula K.", bookService.findById(book.getId()).getAuthor().getFirstName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.domain.AuthorDTO;
+import com.gen.example.officelibrary.library.domain.BookDTO;
+import com.gen.example.officelibrary.library.domain.BookNotFoundException;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookCache cache;
+    private UUID authorId;
+    private BookDTO hobbit;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BookCache(meterRegistry, 1024 * 1024);
+        authorId = UUID.randomUUID();
+        hobbit = book("978-0-261-10221-7", "The Hobbit", BookStatus.AVAILABLE);
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getById_ShouldLoadOnceAndServeCopiesAfterwards() {
+        // When
+        BookDTO first = cache.getById(hobbit.getId(), loader(hobbit));
+        BookDTO second = cache.getById(hobbit.getId(), loader(hobbit));
+        second.setTitle("Changed by caller");
+        BookDTO third = cache.getById(hobbit.getId(), loader(hobbit));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(hobbit, first);
+        assertEquals("The Hobbit", third.getTitle());
+        assertEquals(2.0, meterRegistry.get("books.cache.gets").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("books.cache.gets").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void getByIsbn_ShouldShareEntriesWithIdLookups() {
+        // Given
+        cache.getById(hobbit.getId(), loader(hobbit));
+
+        // When
+        BookDTO result = cache.getByIsbn(hobbit.getIsbn(), isbn -> {
+            throw new AssertionError("should be served from cache");
+        });
+
+        // Then
+        assertEquals(hobbit, result);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void getById_ShouldNotCacheFailedLoads() {
+        // When & Then
+        assertThrows(BookNotFoundException.class, () -> cache.getById(hobbit.getId(), id -> {
+            throw new BookNotFoundException(id);
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void store_ShouldEvictLeastRecentlyUsed_WhenOverSizeBound() {
+        // Given
+        BookDTO second = book("978-0-261-10273-6", "The Silmarillion", BookStatus.AVAILABLE);
+        BookDTO third = book("978-0-375-41340-6", "Mastering the Art of French Cooking", BookStatus.AVAILABLE);
+        cache.getById(hobbit.getId(), loader(hobbit));
+        long perBook = cache.estimatedMemoryBytes();
+        cache = new BookCache(meterRegistry = new SimpleMeterRegistry(), perBook * 2 + perBook / 2);
+        cache.getById(hobbit.getId(), loader(hobbit));
+        cache.getById(second.getId(), loader(second));
+        cache.getById(hobbit.getId(), loader(hobbit));
+
+        // When
+        cache.getById(third.getId(), loader(third));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.get("books.cache.evictions").counter().count());
+        int before = loads.get();
+        cache.getById(hobbit.getId(), loader(hobbit));
+        assertEquals(before, loads.get());
+        cache.getById(second.getId(), loader(second));
+        assertEquals(before + 1, loads.get());
+        assertTrue(cache.estimatedMemoryBytes() <= perBook * 2 + perBook / 2);
+    }
+
+    @Test
+    void invalidate_ShouldBypassCacheUntilTransactionCompletes() {
+        // Given
+        cache.getById(hobbit.getId(), loader(hobbit));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.invalidate(hobbit.getId());
+        cache.getById(hobbit.getId(), loader(hobbit));
+        cache.getById(hobbit.getId(), loader(hobbit));
+
+        // Then
+        assertEquals(3, loads.get());
+        assertEquals(0, cache.size());
+
+        completeTransaction();
+        cache.getById(hobbit.getId(), loader(hobbit));
+        cache.getById(hobbit.getId(), loader(hobbit));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void store_ShouldDropLoadStartedBeforeCommittedInvalidation() {
+        // Given: a reader loads the old row while a writer commits
+        BookDTO borrowed = book(hobbit.getIsbn(), hobbit.getTitle(), BookStatus.BORROWED);
+        borrowed.setId(hobbit.getId());
+        Function<UUID, BookDTO> slowReader = id -> {
+            cache.invalidate(id);
+            return hobbit;
+        };
+
+        // When
+        BookDTO stale = cache.getById(hobbit.getId(), slowReader);
+        BookDTO fresh = cache.getById(hobbit.getId(), loader(borrowed));
+
+        // Then
+        assertEquals(BookStatus.AVAILABLE, stale.getStatus());
+        assertEquals(BookStatus.BORROWED, fresh.getStatus());
+        assertEquals(BookStatus.BORROWED, cache.getById(hobbit.getId(), loader(hobbit)).getStatus());
+    }
+
+    @Test
+    void invalidateAuthor_ShouldEvictAllBooksOfAuthor() {
+        // Given
+        BookDTO other = book("978-0-261-10273-6", "The Silmarillion", BookStatus.AVAILABLE);
+        BookDTO unrelated = book("978-0-375-41340-6", "French Cooking", BookStatus.AVAILABLE);
+        unrelated.setAuthorId(UUID.randomUUID());
+        cache.getById(hobbit.getId(), loader(hobbit));
+        cache.getById(other.getId(), loader(other));
+        cache.getById(unrelated.getId(), loader(unrelated));
+
+        // When
+        cache.invalidateAuthor(authorId);
+
+        // Then
+        assertEquals(1, cache.size());
+        cache.getByIsbn(unrelated.getIsbn(), isbn -> {
+            throw new AssertionError("should be served from cache");
+        });
+    }
+
+    private Function<UUID, BookDTO> loader(BookDTO book) {
+        return id -> {
+            loads.incrementAndGet();
+            return book;
+        };
+    }
+
+    private void completeTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private BookDTO book(String isbn, String title, BookStatus status) {
+        AuthorDTO author = new AuthorDTO(authorId, "J.R.R.", "Tolkien", null, null, "British", null, 0L);
+        return new BookDTO(UUID.randomUUID(), isbn, title, authorId, "Allen & Unwin", 1937, "Fantasy", status,
+                LocalDate.now(), "A1", author, 0L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookSearchIndex index;
+    private Author tolkien;
+    private Book hobbit;
+    private Book silmarillion;
+    private Book cookbook;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(bookRepository);
+
+        tolkien = author("J.R.R.", "Tolkien");
+        Author chef = author("Julia", "Child");
+        hobbit = book("978-0-261-10221-7", "The Hobbit", tolkien, "Allen & Unwin", "Fantasy");
+        silmarillion = book("978-0-261-10273-6", "The Silmarillion", tolkien, "Allen & Unwin", "Fantasy");
+        cookbook = book("978-0-375-41340-6", "Mastering the Art of French Cooking", chef, "Knopf", "Cooking");
+
+        index.index(hobbit);
+        index.index(silmarillion);
+        index.index(cookbook);
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchFirst() {
+        // When
+        List<UUID> result = index.search("hobbit", null, 10);
+
+        // Then
+        assertEquals(List.of(hobbit.getId()), result);
+    }
+
+    @Test
+    void search_ShouldMatchAuthorNameGenreAndPublisher() {
+        // When & Then
+        assertEquals(2, index.search("tolkien", null, 10).size());
+        assertEquals(2, index.search("fantasy", null, 10).size());
+        assertEquals(List.of(cookbook.getId()), index.search("knopf", null, 10));
+    }
+
+    @Test
+    void search_ShouldMatchIsbnWithOrWithoutHyphens() {
+        // When & Then
+        assertEquals(List.of(silmarillion.getId()), index.search("9780261102736", null, 10));
+        assertEquals(List.of(silmarillion.getId()), index.search("978-0-261-10273-6", null, 10).subList(0, 1));
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesAndIgnoreCaseAndAccents() {
+        // When & Then
+        assertEquals(List.of(silmarillion.getId()), index.search("SILMAR", null, 10));
+        assertEquals(List.of(cookbook.getId()), index.search("Frénch", null, 10));
+    }
+
+    @Test
+    void search_ShouldRankDocumentsMatchingMoreTermsHigher() {
+        // When
+        List<UUID> result = index.search("tolkien hobbit", null, 10);
+
+        // Then
+        assertEquals(List.of(hobbit.getId(), silmarillion.getId()), result);
+    }
+
+    @Test
+    void search_ShouldResumeAfterGivenBook() {
+        // Given
+        List<UUID> all = index.search("the", null, 10);
+
+        // When
+        List<UUID> firstPage = index.search("the", null, 1);
+        List<UUID> secondPage = index.search("the", firstPage.get(0), 10);
+
+        // Then
+        assertEquals(all.subList(0, 1), firstPage);
+        assertEquals(all.subList(1, all.size()), secondPage);
+        assertTrue(index.search("the", UUID.randomUUID(), 10).isEmpty());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousTerms_WhenBookIsUpdated() {
+        // Given
+        hobbit.setTitle("There and Back Again");
+
+        // When
+        index.index(hobbit);
+
+        // Then
+        assertTrue(index.search("hobbit", null, 10).isEmpty());
+        assertEquals(List.of(hobbit.getId()), index.search("again", null, 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropBookFromResults() {
+        // When
+        index.remove(hobbit.getId());
+
+        // Then
+        assertEquals(List.of(silmarillion.getId()), index.search("tolkien", null, 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void renameAuthor_ShouldReindexAllBooksOfAuthor() {
+        // When
+        index.renameAuthor(tolkien.getId(), "John Tolkien");
+
+        // Then
+        assertEquals(2, index.search("john", null, 10).size());
+        assertTrue(index.search("j r r", null, 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldReturnEmpty_WhenQueryHasNoTerms() {
+        // When & Then
+        assertTrue(index.search("  -- ", null, 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldLoadAllBooksFromRepository() {
+        // Given
+        when(bookRepository.findAllAfter(any(LocalDate.class), any(UUID.class), any(Limit.class)))
+                .thenReturn(List.of(cookbook));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(1, index.size());
+        assertTrue(index.search("hobbit", null, 10).isEmpty());
+        assertEquals(List.of(cookbook.getId()), index.search("cooking", null, 10));
+    }
+
+    private Author author(String firstName, String lastName) {
+        Author author = new Author(firstName, lastName);
+        author.setId(UUID.randomUUID());
+        return author;
+    }
+
+    private Book book(String isbn, String title, Author author, String publisher, String genre) {
+        Book book = new Book(isbn, title, author, publisher, 2000, genre, BookStatus.AVAILABLE, LocalDate.now(), null);
+        book.setId(UUID.randomUUID());
+        return book;
+    }
+}
\ No newline at end of file
@@ -6,12 +6,21 @@ import com.gen.example.officelibrary.author.persistence.AuthorRepository;
 import com.gen.example.officelibrary.library.domain.*;
 import com.gen.example.officelibrary.library.persistence.BookRepository;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -21,6 +30,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +45,21 @@ class BookServiceTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+
+    @Mock
+    private KnownIsbns knownIsbns;
+
+    @Mock
+    private TableVersions tableVersions;
+
+    @Spy
+    private BookCache bookCache = new BookCache(new SimpleMeterRegistry(), 1024 * 1024);
+
     @InjectMocks
     private BookService bookService;
 
@@ -59,13 +84,15 @@ class BookServiceTest {
         
         bookDTO = new BookDTO(bookId, "978-0123456789", "Test Book", authorId, 
                              "Test Publisher", 2023, "Fiction", BookStatus.AVAILABLE, 
-                             LocalDate.now(), "A1", null);
+                             LocalDate.now(), "A1", null, 0L);
         
         createRequest = new CreateBookRequest("978-0123456789", "Test Book", authorId,
                                             "Test Publisher", 2023, "Fiction", "A1");
         
         updateRequest = new UpdateBookRequest("978-0987654321", "Updated Book", authorId,
                                             "Updated Publisher", 2024, "Non-Fiction", "B2");
+
+        lenient().when(knownIsbns.mightContain(any())).thenReturn(true);
     }
 
     @Test
@@ -74,7 +101,7 @@ class BookServiceTest {
         when(bookRepository.existsByIsbn(createRequest.getIsbn())).thenReturn(false);
         when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(bookMapper.toEntity(createRequest, author)).thenReturn(book);
-        when(bookRepository.save(book)).thenReturn(book);
+        when(bookRepository.saveAndFlush(book)).thenReturn(book);
         when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         // When
@@ -86,8 +113,10 @@ class BookServiceTest {
         verify(bookRepository).existsByIsbn(createRequest.getIsbn());
         verify(authorRepository).findById(authorId);
         verify(bookMapper).toEntity(createRequest, author);
-        verify(bookRepository).save(book);
+        verify(bookRepository).saveAndFlush(book);
         verify(bookMapper).toDto(book);
+        verify(bookSearchIndex).index(book);
+        verify(bookSuggestionIndex).index(book);
     }
 
     @Test
@@ -100,7 +129,39 @@ class BookServiceTest {
         verify(bookRepository).existsByIsbn(createRequest.getIsbn());
         verify(authorRepository, never()).findById(any());
         verify(bookMapper, never()).toEntity(any(), any());
-        verify(bookRepository, never()).save(any());
+        verify(bookRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void create_ShouldSkipIsbnProbe_WhenIsbnIsDefinitelyNew() {
+        // Given
+        when(knownIsbns.mightContain(createRequest.getIsbn())).thenReturn(false);
+        when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
+        when(bookMapper.toEntity(createRequest, author)).thenReturn(book);
+        when(bookRepository.saveAndFlush(book)).thenReturn(book);
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
+
+        // When
+        bookService.create(createRequest);
+
+        // Then
+        verify(bookRepository, never()).existsByIsbn(any());
+        verify(knownIsbns).add(createRequest.getIsbn());
+    }
+
+    @Test
+    void create_ShouldThrowBusinessRuleException_WhenIsbnConstraintIsViolated() {
+        // Given
+        when(bookRepository.existsByIsbn(createRequest.getIsbn())).thenReturn(false);
+        when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
+        when(bookMapper.toEntity(createRequest, author)).thenReturn(book);
+        when(bookRepository.saveAndFlush(book)).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_BOOKS_ISBN_INDEX_3 ON PUBLIC.BOOKS(ISBN)\""));
+
+        // When & Then
+        BusinessRuleException ex = assertThrows(BusinessRuleException.class, () -> bookService.create(createRequest));
+        assertEquals("Book with ISBN " + createRequest.getIsbn() + " already exists", ex.getMessage());
+        verify(bookSearchIndex, never()).index(any());
     }
 
     @Test
@@ -114,31 +175,31 @@ class BookServiceTest {
         verify(bookRepository).existsByIsbn(createRequest.getIsbn());
         verify(authorRepository).findById(authorId);
         verify(bookMapper, never()).toEntity(any(), any());
-        verify(bookRepository, never()).save(any());
+        verify(bookRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void findAll_ShouldReturnListOfBookDTOs() {
         // Given
         List<Book> books = Arrays.asList(book);
-        when(bookRepository.findAll()).thenReturn(books);
+        when(bookRepository.findAllAfter(any(LocalDate.class), any(UUID.class), any(Limit.class))).thenReturn(books);
         when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         // When
-        List<BookDTO> result = bookService.findAll();
+        CursorPage<BookDTO> result = bookService.findAll(CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(bookDTO, result.get(0));
-        verify(bookRepository).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(bookDTO, result.getItems().get(0));
+        verify(bookRepository).findAllAfter(any(LocalDate.class), any(UUID.class), any(Limit.class));
         verify(bookMapper).toDto(book);
     }
 
     @Test
     void findById_ShouldReturnBookDTO_WhenBookExists() {
         // Given
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.of(book));
         when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         // When
@@ -147,21 +208,60 @@ class BookServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(bookDTO, result);
-        verify(bookRepository).findById(bookId);
+        verify(bookRepository).findWithAuthorById(bookId);
         verify(bookMapper).toDto(book);
     }
 
     @Test
     void findById_ShouldThrowBookNotFoundException_WhenBookDoesNotExist() {
         // Given
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(BookNotFoundException.class, () -> bookService.findById(bookId));
-        verify(bookRepository).findById(bookId);
+        verify(bookRepository).findWithAuthorById(bookId);
         verify(bookMapper, never()).toDto(any());
     }
 
+    @Test
+    void findById_ShouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
+        bookService.findById(bookId);
+
+        // When
+        BookDTO byId = bookService.findById(bookId);
+        BookDTO byIsbn = bookService.findByIsbn(bookDTO.getIsbn());
+
+        // Then
+        assertEquals(bookDTO, byId);
+        assertEquals(bookDTO, byIsbn);
+        assertNotSame(bookDTO, byId);
+        verify(bookRepository, times(1)).findWithAuthorById(bookId);
+        verify(bookRepository, never()).findByIsbn(any());
+    }
+
+    @Test
+    void findById_ShouldReloadBook_AfterItIsMarkedAsBorrowed() {
+        // Given
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.transitionStatus(bookId, BookStatus.AVAILABLE, BookStatus.BORROWED)).thenAnswer(invocation -> {
+            book.markAsBorrowed();
+            return 1;
+        });
+        when(bookMapper.toDto(book)).thenAnswer(invocation -> BookDTO.fromEntity(book));
+        bookService.findById(bookId);
+
+        // When
+        bookService.markAsBorrowed(bookId);
+        BookDTO result = bookService.findById(bookId);
+
+        // Then
+        assertEquals(BookStatus.BORROWED, result.getStatus());
+        verify(bookRepository, times(2)).findWithAuthorById(bookId);
+    }
+
     @Test
     void findByIsbn_ShouldReturnBookDTO_WhenBookExists() {
         // Given
@@ -191,22 +291,33 @@ class BookServiceTest {
         verify(bookMapper, never()).toDto(any());
     }
 
+    @Test
+    void findByIsbn_ShouldNotQueryDatabase_WhenIsbnIsDefinitelyUnknown() {
+        // Given
+        String isbn = "978-0000000000";
+        when(knownIsbns.mightContain(isbn)).thenReturn(false);
+
+        // When & Then
+        assertThrows(BookNotFoundException.class, () -> bookService.findByIsbn(isbn));
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     void findByStatus_ShouldReturnListOfBookDTOs() {
         // Given
         BookStatus status = BookStatus.AVAILABLE;
         List<Book> books = Arrays.asList(book);
-        when(bookRepository.findByStatus(status)).thenReturn(books);
+        when(bookRepository.findByStatusAfter(eq(status), any(LocalDate.class), any(UUID.class), any(Limit.class))).thenReturn(books);
         when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         // When
-        List<BookDTO> result = bookService.findByStatus(status);
+        CursorPage<BookDTO> result = bookService.findByStatus(status, CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(bookDTO, result.get(0));
-        verify(bookRepository).findByStatus(status);
+        assertEquals(1, result.getItems().size());
+        assertEquals(bookDTO, result.getItems().get(0));
+        verify(bookRepository).findByStatusAfter(eq(status), any(LocalDate.class), any(UUID.class), any(Limit.class));
         verify(bookMapper).toDto(book);
     }
 
@@ -214,17 +325,17 @@ class BookServiceTest {
     void findByAuthorId_ShouldReturnListOfBookDTOs() {
         // Given
         List<Book> books = Arrays.asList(book);
-        when(bookRepository.findByAuthor_Id(authorId)).thenReturn(books);
+        when(bookRepository.findByAuthorIdAfter(eq(authorId), any(LocalDate.class), any(UUID.class), any(Limit.class))).thenReturn(books);
         when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         // When
-        List<BookDTO> result = bookService.findByAuthorId(authorId);
+        CursorPage<BookDTO> result = bookService.findByAuthorId(authorId, CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(bookDTO, result.get(0));
-        verify(bookRepository).findByAuthor_Id(authorId);
+        assertEquals(1, result.getItems().size());
+        assertEquals(bookDTO, result.getItems().get(0));
+        verify(bookRepository).findByAuthorIdAfter(eq(authorId), any(LocalDate.class), any(UUID.class), any(Limit.class));
         verify(bookMapper).toDto(book);
     }
 
@@ -233,27 +344,83 @@ class BookServiceTest {
         // Given
         String searchTerm = "Test";
         List<Book> books = Arrays.asList(book);
-        when(bookRepository.searchBooks(searchTerm)).thenReturn(books);
+        when(bookSearchIndex.search(searchTerm, null, 11)).thenReturn(List.of(bookId));
+        when(bookRepository.findByIdIn(List.of(bookId))).thenReturn(books);
         when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         // When
-        List<BookDTO> result = bookService.searchBooks(searchTerm);
+        CursorPage<BookDTO> result = bookService.searchBooks(searchTerm, CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(bookDTO, result.get(0));
-        verify(bookRepository).searchBooks(searchTerm);
+        assertEquals(1, result.getItems().size());
+        assertEquals(bookDTO, result.getItems().get(0));
+        verify(bookSearchIndex).search(searchTerm, null, 11);
         verify(bookMapper).toDto(book);
     }
 
+    @Test
+    void searchBooks_ShouldKeepIndexRankingAndSkipMissingBooks() {
+        // Given
+        Book otherBook = new Book("978-0123456790", "Other Book", author, BookStatus.AVAILABLE, LocalDate.now());
+        otherBook.setId(UUID.randomUUID());
+        UUID deletedId = UUID.randomUUID();
+        BookDTO otherDTO = new BookDTO();
+        otherDTO.setId(otherBook.getId());
+        List<UUID> ranking = List.of(otherBook.getId(), deletedId, bookId);
+        when(bookSearchIndex.search("book", null, 11)).thenReturn(ranking);
+        when(bookRepository.findByIdIn(ranking)).thenReturn(Arrays.asList(book, otherBook));
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
+        when(bookMapper.toDto(otherBook)).thenReturn(otherDTO);
+
+        // When
+        CursorPage<BookDTO> result = bookService.searchBooks("book", CursorRequest.first(10));
+
+        // Then
+        assertEquals(Arrays.asList(otherDTO, bookDTO), result.getItems());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void searchBooks_ShouldNotQueryDatabase_WhenIndexHasNoMatches() {
+        // Given
+        when(bookSearchIndex.search("nothing", null, 11)).thenReturn(List.of());
+
+        // When
+        CursorPage<BookDTO> result = bookService.searchBooks("nothing", CursorRequest.first(10));
+
+        // Then
+        assertTrue(result.getItems().isEmpty());
+        verify(bookRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    void suggest_ShouldCapLimitAtMaximum() {
+        // Given
+        List<BookSuggestionDTO> suggestions = List.of(new BookSuggestionDTO("Test Book", SuggestionType.TITLE, 3));
+        when(bookSuggestionIndex.suggest("tes", BookSuggestionIndex.MAX_SUGGESTIONS)).thenReturn(suggestions);
+
+        // When
+        List<BookSuggestionDTO> result = bookService.suggest("tes", 1000);
+
+        // Then
+        assertEquals(suggestions, result);
+    }
+
+    @Test
+    void suggest_ShouldThrowBusinessRuleException_WhenLimitBelowOne() {
+        // When & Then
+        assertThrows(BusinessRuleException.class, () -> bookService.suggest("tes", 0));
+        verify(bookSuggestionIndex, never()).suggest(any(), anyInt());
+    }
+
     @Test
     void update_ShouldReturnUpdatedBookDTO_WhenBookExists() {
         // Given
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
         when(bookRepository.existsByIsbn(updateRequest.getIsbn())).thenReturn(false);
         when(authorRepository.findById(authorId)).thenReturn(Optional.of(author));
-        when(bookRepository.save(book)).thenReturn(book);
+        when(bookRepository.saveAndFlush(book)).thenReturn(book);
         when(bookMapper.toDto(book)).thenReturn(bookDTO);
 
         // When
@@ -266,8 +433,9 @@ class BookServiceTest {
         verify(bookRepository).existsByIsbn(updateRequest.getIsbn());
         verify(authorRepository).findById(authorId);
         verify(bookMapper).updateEntity(book, updateRequest, author);
-        verify(bookRepository).save(book);
+        verify(bookRepository).saveAndFlush(book);
         verify(bookMapper).toDto(book);
+        verify(bookCache).invalidate(bookId);
     }
 
     @Test
@@ -281,7 +449,7 @@ class BookServiceTest {
         verify(bookRepository, never()).existsByIsbn(any());
         verify(authorRepository, never()).findById(any());
         verify(bookMapper, never()).updateEntity(any(), any(), any());
-        verify(bookRepository, never()).save(any());
+        verify(bookRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -297,7 +465,7 @@ class BookServiceTest {
         verify(bookRepository).existsByIsbn(updateRequest.getIsbn());
         verify(authorRepository, never()).findById(any());
         verify(bookMapper, never()).updateEntity(any(), any(), any());
-        verify(bookRepository, never()).save(any());
+        verify(bookRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -313,6 +481,9 @@ class BookServiceTest {
         verify(bookRepository).findById(bookId);
         verify(bookRepository).hasActiveBorrowingRecords(bookId);
         verify(bookRepository).deleteById(bookId);
+        verify(bookSearchIndex).remove(bookId);
+        verify(bookSuggestionIndex).remove(bookId);
+        verify(bookCache).invalidate(bookId);
     }
 
     @Test
@@ -343,43 +514,81 @@ class BookServiceTest {
     @Test
     void markAsBorrowed_ShouldUpdateBookStatus_WhenBookIsAvailable() {
         // Given
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(bookRepository.save(book)).thenReturn(book);
+        when(bookRepository.transitionStatus(bookId, BookStatus.AVAILABLE, BookStatus.BORROWED)).thenReturn(1);
 
         // When
         bookService.markAsBorrowed(bookId);
 
         // Then
-        verify(bookRepository).findById(bookId);
-        assertEquals(BookStatus.BORROWED, book.getStatus());
-        verify(bookRepository).save(book);
+        verify(bookRepository).transitionStatus(bookId, BookStatus.AVAILABLE, BookStatus.BORROWED);
+        verify(bookRepository, never()).findById(any());
+        verify(bookRepository, never()).existsById(any());
+        verify(bookSuggestionIndex).recordBorrow(bookId);
+        verify(bookCache).invalidate(bookId);
     }
 
     @Test
     void markAsBorrowed_ShouldThrowBusinessRuleException_WhenBookIsNotAvailable() {
         // Given
-        book.setStatus(BookStatus.BORROWED);
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.transitionStatus(bookId, BookStatus.AVAILABLE, BookStatus.BORROWED)).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(true);
 
         // When & Then
         assertThrows(BusinessRuleException.class, () -> bookService.markAsBorrowed(bookId));
-        verify(bookRepository).findById(bookId);
-        verify(bookRepository, never()).save(any());
+        verify(bookSuggestionIndex, never()).recordBorrow(any());
+    }
+
+    @Test
+    void markAsBorrowed_ShouldThrowBusinessRuleException_WhenConcurrentUpdateWins() {
+        // Given
+        when(bookRepository.transitionStatus(bookId, BookStatus.AVAILABLE, BookStatus.BORROWED))
+                .thenThrow(new CannotAcquireLockException("row locked"));
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+
+        // When & Then
+        assertThrows(BusinessRuleException.class, () -> bookService.markAsBorrowed(bookId));
+    }
+
+    @Test
+    void markAsBorrowed_ShouldThrowBookNotFoundException_WhenBookDoesNotExist() {
+        // Given
+        when(bookRepository.transitionStatus(bookId, BookStatus.AVAILABLE, BookStatus.BORROWED)).thenReturn(0);
+        when(bookRepository.existsById(bookId)).thenReturn(false);
+
+        // When & Then
+        assertThrows(BookNotFoundException.class, () -> bookService.markAsBorrowed(bookId));
     }
 
     @Test
     void markAsAvailable_ShouldUpdateBookStatus() {
         // Given
-        book.setStatus(BookStatus.BORROWED); // Set initial state
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(bookRepository.save(book)).thenReturn(book);
+        when(bookRepository.transitionStatus(bookId, BookStatus.BORROWED, BookStatus.AVAILABLE)).thenReturn(1);
 
         // When
         bookService.markAsAvailable(bookId);
 
         // Then
-        verify(bookRepository).findById(bookId);
-        assertEquals(BookStatus.AVAILABLE, book.getStatus());
-        verify(bookRepository).save(book);
+        verify(bookRepository).transitionStatus(bookId, BookStatus.BORROWED, BookStatus.AVAILABLE);
+        verify(bookRepository, never()).existsById(any());
+        verify(bookCache).invalidate(bookId);
+    }
+
+    @Test
+    void findAll_ShouldReturnNextCursor_WhenMoreRowsThanLimit() {
+        // Given
+        Book secondBook = new Book("978-0123456790", "Second Book", author, BookStatus.AVAILABLE, LocalDate.now());
+        secondBook.setId(UUID.randomUUID());
+        when(bookRepository.findAllAfter(any(LocalDate.class), any(UUID.class), eq(Limit.of(2))))
+                .thenReturn(Arrays.asList(book, secondBook));
+        when(bookMapper.toDto(book)).thenReturn(bookDTO);
+
+        // When
+        CursorPage<BookDTO> result = bookService.findAll(CursorRequest.first(1));
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.hasNext());
+        assertEquals(PageCursor.of(book.getDateAdded(), bookId), PageCursor.decode(result.getNextCursor()));
+        verify(bookMapper, never()).toDto(secondBook);
     }
 }
\ No newline at end of file
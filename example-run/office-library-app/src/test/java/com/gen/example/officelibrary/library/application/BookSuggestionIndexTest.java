@@ -0,0 +1,200 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookBorrowCount;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BookSuggestionDTO;
+import com.gen.example.officelibrary.library.domain.SuggestionType;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSuggestionIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private BookSuggestionIndex index;
+    private Author tolkien;
+    private Book hobbit;
+    private Book twoTowers;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSuggestionIndex(bookRepository, borrowingRecordRepository);
+
+        tolkien = new Author("J.R.R.", "Tolkien");
+        tolkien.setId(UUID.randomUUID());
+        hobbit = book("The Hobbit", tolkien);
+        twoTowers = book("The Two Towers", tolkien);
+
+        index.index(hobbit);
+        index.index(twoTowers);
+    }
+
+    @Test
+    void suggest_ShouldCompleteFromStartOfTitle() {
+        // When
+        List<BookSuggestionDTO> result = index.suggest("the h", 10);
+
+        // Then
+        assertEquals(List.of(new BookSuggestionDTO("The Hobbit", SuggestionType.TITLE, 0)), result);
+    }
+
+    @Test
+    void suggest_ShouldCompleteFromAnyWordOfTitleOrAuthor() {
+        // When & Then
+        assertEquals(List.of("The Hobbit"), texts(index.suggest("hob", 10)));
+        assertEquals(List.of("J.R.R. Tolkien"), texts(index.suggest("tolk", 10)));
+    }
+
+    @Test
+    void suggest_ShouldOrderByBorrowCount() {
+        // Given
+        index.recordBorrow(twoTowers.getId());
+        index.recordBorrow(twoTowers.getId());
+        index.recordBorrow(hobbit.getId());
+
+        // When
+        List<BookSuggestionDTO> result = index.suggest("t", 10);
+
+        // Then
+        assertEquals(List.of("J.R.R. Tolkien", "The Two Towers", "The Hobbit"), texts(result));
+        assertEquals(3, result.get(0).getBorrowCount());
+        assertEquals(2, result.get(1).getBorrowCount());
+    }
+
+    @Test
+    void suggest_ShouldRespectLimitAndIgnoreCaseAndPunctuation() {
+        // When & Then
+        assertEquals(1, index.suggest("THE", 1).size());
+        assertEquals(List.of("J.R.R. Tolkien"), texts(index.suggest("j.r", 10)));
+        assertTrue(index.suggest("   ", 10).isEmpty());
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void index_ShouldReplaceOldTitle_WhenBookIsUpdated() {
+        // Given
+        hobbit.setTitle("There and Back Again");
+
+        // When
+        index.index(hobbit);
+
+        // Then
+        assertTrue(index.suggest("hob", 10).isEmpty());
+        assertEquals(List.of("There and Back Again"), texts(index.suggest("back", 10)));
+    }
+
+    @Test
+    void remove_ShouldDropTitleButKeepAuthorWhileOtherBooksRemain() {
+        // When
+        index.remove(hobbit.getId());
+
+        // Then
+        assertTrue(index.suggest("hob", 10).isEmpty());
+        assertEquals(List.of("J.R.R. Tolkien"), texts(index.suggest("tolkien", 10)));
+
+        index.remove(twoTowers.getId());
+        assertTrue(index.suggest("t", 10).isEmpty());
+    }
+
+    @Test
+    void renameAuthor_ShouldReplaceAuthorCompletion() {
+        // When
+        index.renameAuthor(tolkien.getId(), "John Tolkien");
+
+        // Then
+        assertEquals(List.of("John Tolkien"), texts(index.suggest("jo", 10)));
+        assertTrue(index.suggest("j r", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldLoadBooksWithBorrowCounts() {
+        // Given
+        BookBorrowCount count = new BookBorrowCount() {
+            @Override
+            public UUID getBookId() {
+                return hobbit.getId();
+            }
+
+            @Override
+            public long getBorrowCount() {
+                return 7;
+            }
+        };
+        when(borrowingRecordRepository.countBorrowingsPerBook()).thenReturn(List.of(count));
+        when(bookRepository.findAllAfter(any(LocalDate.class), any(UUID.class), any(Limit.class)))
+                .thenReturn(List.of(hobbit));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(List.of(new BookSuggestionDTO("The Hobbit", SuggestionType.TITLE, 7)), index.suggest("the", 10));
+    }
+
+    @Test
+    void suggest_ShouldNotBlockWhileWritesAreApplied() throws Exception {
+        // Given
+        List<Book> extra = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            extra.add(book("The Book " + i, tolkien));
+        }
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            started.countDown();
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    List<BookSuggestionDTO> result = index.suggest("the", 10);
+                    assertTrue(result.size() <= 10);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+
+        // When
+        reader.start();
+        started.await();
+        extra.forEach(index::index);
+        reader.join();
+
+        // Then
+        assertNull(failure.get());
+        assertEquals(10, index.suggest("the book", 10).size());
+    }
+
+    private List<String> texts(List<BookSuggestionDTO> suggestions) {
+        return suggestions.stream().map(BookSuggestionDTO::getText).toList();
+    }
+
+    private Book book(String title, Author author) {
+        Book book = new Book(UUID.randomUUID().toString(), title, author, null, 2000, null,
+                BookStatus.AVAILABLE, LocalDate.now(), null);
+        book.setId(UUID.randomUUID());
+        return book;
+    }
+}
\ No newline at end of file
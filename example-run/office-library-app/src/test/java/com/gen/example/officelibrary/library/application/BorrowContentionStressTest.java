@@ -0,0 +1,150 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowBookRequest;
+import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordDTO;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires thousands of concurrent borrows at a handful of hot books. Every successful borrower
+ * returns the book straight away, so the books keep flipping between available and borrowed
+ * while the other threads compete for them. A double borrow is two threads holding the same
+ * book at once, or more than one active record per book in the database. Tagged {@code benchmark},
+ * so it runs with {@code ./gradlew benchmarkTest} rather than {@code test}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@Tag("benchmark")
+class BorrowContentionStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowContentionStressTest.class);
+
+    private static final int HOT_BOOKS = 4;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 2_000;
+
+    @Autowired
+    private BorrowingService borrowingService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private List<Book> hotBooks;
+
+    @BeforeEach
+    void setUp() {
+        Author author = authorRepository.save(new Author("Hot", "Writer"));
+        hotBooks = new ArrayList<>();
+        for (int i = 0; i < HOT_BOOKS; i++) {
+            hotBooks.add(bookRepository.save(new Book(String.format("979%010d", i), "Hot Book " + i, author,
+                    BookStatus.AVAILABLE, LocalDate.now())));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    void borrowBook_ShouldNeverLendTheSameBookTwice_UnderContention() throws Exception {
+        // Given
+        AtomicInteger[] holders = new AtomicInteger[HOT_BOOKS];
+        for (int i = 0; i < HOT_BOOKS; i++) {
+            holders[i] = new AtomicInteger();
+        }
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger doubleBorrows = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            int bookIndex = attempt % HOT_BOOKS;
+            UUID bookId = hotBooks.get(bookIndex).getId();
+            BorrowBookRequest request = new BorrowBookRequest("Reader " + attempt,
+                    "reader-" + attempt + "@example.com", null);
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    BorrowingRecordDTO record = borrowingService.borrowBook(bookId, request);
+                    borrowed.incrementAndGet();
+                    if (holders[bookIndex].incrementAndGet() > 1) {
+                        doubleBorrows.incrementAndGet();
+                    }
+                    holders[bookIndex].decrementAndGet();
+                    borrowingService.returnBook(record.getId());
+                } catch (BusinessRuleException ex) {
+                    conflicts.incrementAndGet();
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+                return null;
+            });
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        // Then
+        log.info("{} borrow attempts on {} books in {} s: {} borrowed, {} conflicts, {} double borrows, {} errors "
+                        + "({} attempts/s)", ATTEMPTS, HOT_BOOKS, String.format("%.2f", seconds), borrowed.get(),
+                conflicts.get(), doubleBorrows.get(), errors.size(), Math.round(ATTEMPTS / seconds));
+        assertTrue(errors.isEmpty(), () -> "Unexpected errors: " + errors);
+        assertEquals(0, doubleBorrows.get());
+        assertEquals(ATTEMPTS, borrowed.get() + conflicts.get());
+        assertTrue(borrowed.get() >= HOT_BOOKS);
+
+        List<BorrowingRecord> records = borrowingRecordRepository.findAll();
+        assertEquals(borrowed.get(), records.size());
+        Map<UUID, Long> activePerBook = records.stream()
+                .filter(record -> record.getStatus() == BorrowingStatus.ACTIVE)
+                .collect(Collectors.groupingBy(record -> record.getBook().getId(), Collectors.counting()));
+        assertTrue(activePerBook.isEmpty(), () -> "Books left with active records: " + activePerBook);
+        bookRepository.findAll().forEach(book -> assertEquals(BookStatus.AVAILABLE, book.getStatus()));
+    }
+}
\ No newline at end of file
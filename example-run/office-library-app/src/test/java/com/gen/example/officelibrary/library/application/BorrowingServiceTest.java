@@ -5,12 +5,17 @@ import com.gen.example.officelibrary.library.domain.*;
 import com.gen.example.officelibrary.library.persistence.BookRepository;
 import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -20,6 +25,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +44,15 @@ class BorrowingServiceTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private ActiveLoanCounters activeLoanCounters;
+
+    @Mock
+    private DueDateIndex dueDateIndex;
+
+    @Mock
+    private TableVersions tableVersions;
+
     @InjectMocks
     private BorrowingService borrowingService;
 
@@ -45,6 +61,7 @@ class BorrowingServiceTest {
     private Book book;
     private Author author;
     private BorrowingRecord borrowingRecord;
+    private BorrowingRecordView borrowingRecordView;
     private BorrowingRecordDTO borrowingRecordDTO;
     private BorrowBookRequest borrowBookRequest;
 
@@ -64,6 +81,13 @@ class BorrowingServiceTest {
                                             BorrowingStatus.ACTIVE, book);
         borrowingRecord.setId(borrowingRecordId);
         
+        borrowingRecordView = new BorrowingRecordView(borrowingRecordId, "Jane Smith", "jane@example.com",
+                                                    LocalDate.now(), LocalDate.now().plusWeeks(2), null,
+                                                    BorrowingStatus.ACTIVE, null,
+                                                    bookId, "978-0123456789", "Test Book", null, null, null,
+                                                    BookStatus.AVAILABLE, LocalDate.now(), null, 0L,
+                                                    author.getId(), "John", "Doe", null, null, null, null, 0L);
+        
         borrowingRecordDTO = new BorrowingRecordDTO(borrowingRecordId, "Jane Smith", "jane@example.com",
                                                   LocalDate.now(), LocalDate.now().plusWeeks(2), null,
                                                   BorrowingStatus.ACTIVE, null, bookId, null);
@@ -74,9 +98,7 @@ class BorrowingServiceTest {
     @Test
     void borrowBook_ShouldReturnBorrowingRecordDTO_WhenValidRequest() {
         // Given
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(borrowingRecordRepository.existsByBookAndStatus(book, BorrowingStatus.ACTIVE)).thenReturn(false);
-        when(borrowingRecordRepository.countActiveBorrowingsByEmail(borrowBookRequest.getBorrowerEmail())).thenReturn(0L);
+        when(bookRepository.findWithAuthorById(bookId)).thenReturn(Optional.of(book));
         when(borrowingRecordMapper.toEntity(borrowBookRequest, book)).thenReturn(borrowingRecord);
         when(borrowingRecordRepository.save(borrowingRecord)).thenReturn(borrowingRecord);
         when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
@@ -87,77 +109,55 @@ class BorrowingServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(borrowingRecordDTO, result);
-        verify(bookRepository).findById(bookId);
-        verify(borrowingRecordRepository).existsByBookAndStatus(book, BorrowingStatus.ACTIVE);
-        verify(borrowingRecordRepository).countActiveBorrowingsByEmail(borrowBookRequest.getBorrowerEmail());
+        verify(activeLoanCounters).reserve(borrowBookRequest.getBorrowerEmail());
+        verify(bookService).markAsBorrowed(bookId);
+        verify(bookRepository).findWithAuthorById(bookId);
         verify(borrowingRecordMapper).toEntity(borrowBookRequest, book);
         verify(borrowingRecordRepository).save(borrowingRecord);
-        verify(bookService).markAsBorrowed(bookId);
+        verify(dueDateIndex).add(any(ActiveLoan.class));
         verify(borrowingRecordMapper).toDto(borrowingRecord);
     }
 
     @Test
     void borrowBook_ShouldThrowBookNotFoundException_WhenBookDoesNotExist() {
         // Given
-        when(bookRepository.findById(bookId)).thenReturn(Optional.empty());
+        doThrow(new BookNotFoundException(bookId)).when(bookService).markAsBorrowed(bookId);
 
         // When & Then
         assertThrows(BookNotFoundException.class, () -> borrowingService.borrowBook(bookId, borrowBookRequest));
-        verify(bookRepository).findById(bookId);
-        verify(borrowingRecordRepository, never()).existsByBookAndStatus(any(), any());
+        verify(bookService).markAsBorrowed(bookId);
         verify(borrowingRecordRepository, never()).save(any());
-        verify(bookService, never()).markAsBorrowed(any());
     }
 
     @Test
     void borrowBook_ShouldThrowBusinessRuleException_WhenBookIsNotAvailable() {
         // Given
-        book.setStatus(BookStatus.BORROWED);
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        doThrow(new BusinessRuleException("Book is not available for borrowing"))
+                .when(bookService).markAsBorrowed(bookId);
 
         // When & Then
         assertThrows(BusinessRuleException.class, () -> borrowingService.borrowBook(bookId, borrowBookRequest));
-        verify(bookRepository).findById(bookId);
-        verify(borrowingRecordRepository, never()).existsByBookAndStatus(any(), any());
-        verify(borrowingRecordRepository, never()).save(any());
-        verify(bookService, never()).markAsBorrowed(any());
-    }
-
-    @Test
-    void borrowBook_ShouldThrowBusinessRuleException_WhenBookAlreadyBorrowed() {
-        // Given
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(borrowingRecordRepository.existsByBookAndStatus(book, BorrowingStatus.ACTIVE)).thenReturn(true);
-
-        // When & Then
-        assertThrows(BusinessRuleException.class, () -> borrowingService.borrowBook(bookId, borrowBookRequest));
-        verify(bookRepository).findById(bookId);
-        verify(borrowingRecordRepository).existsByBookAndStatus(book, BorrowingStatus.ACTIVE);
-        verify(borrowingRecordRepository, never()).countActiveBorrowingsByEmail(any());
+        verify(bookService).markAsBorrowed(bookId);
+        verify(bookRepository, never()).findWithAuthorById(any());
         verify(borrowingRecordRepository, never()).save(any());
-        verify(bookService, never()).markAsBorrowed(any());
     }
 
     @Test
     void borrowBook_ShouldThrowBusinessRuleException_WhenBorrowingLimitReached() {
         // Given
-        when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
-        when(borrowingRecordRepository.existsByBookAndStatus(book, BorrowingStatus.ACTIVE)).thenReturn(false);
-        when(borrowingRecordRepository.countActiveBorrowingsByEmail(borrowBookRequest.getBorrowerEmail())).thenReturn(3L);
+        doThrow(new BusinessRuleException("Maximum borrowing limit (3 books) reached for user: jane@example.com"))
+                .when(activeLoanCounters).reserve(borrowBookRequest.getBorrowerEmail());
 
         // When & Then
         assertThrows(BusinessRuleException.class, () -> borrowingService.borrowBook(bookId, borrowBookRequest));
-        verify(bookRepository).findById(bookId);
-        verify(borrowingRecordRepository).existsByBookAndStatus(book, BorrowingStatus.ACTIVE);
-        verify(borrowingRecordRepository).countActiveBorrowingsByEmail(borrowBookRequest.getBorrowerEmail());
-        verify(borrowingRecordRepository, never()).save(any());
         verify(bookService, never()).markAsBorrowed(any());
+        verify(borrowingRecordRepository, never()).save(any());
     }
 
     @Test
     void returnBook_ShouldReturnBorrowingRecordDTO_WhenValidRequest() {
         // Given
-        when(borrowingRecordRepository.findById(borrowingRecordId)).thenReturn(Optional.of(borrowingRecord));
+        when(borrowingRecordRepository.findByIdForUpdate(borrowingRecordId)).thenReturn(Optional.of(borrowingRecord));
         when(borrowingRecordRepository.save(borrowingRecord)).thenReturn(borrowingRecord);
         when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
 
@@ -167,23 +167,44 @@ class BorrowingServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(borrowingRecordDTO, result);
-        verify(borrowingRecordRepository).findById(borrowingRecordId);
+        verify(borrowingRecordRepository).findByIdForUpdate(borrowingRecordId);
         assertEquals(BorrowingStatus.RETURNED, borrowingRecord.getStatus());
         assertNotNull(borrowingRecord.getReturnDate());
         verify(borrowingRecordRepository).save(borrowingRecord);
+        verify(activeLoanCounters).release("jane@example.com");
+        verify(dueDateIndex).remove(borrowingRecordId);
         verify(bookService).markAsAvailable(book.getId());
         verify(borrowingRecordMapper).toDto(borrowingRecord);
     }
 
+    @Test
+    void returnBook_ShouldReturnBook_WhenLoanWasMarkedOverdue() {
+        // Given
+        borrowingRecord.setStatus(BorrowingStatus.OVERDUE);
+        when(borrowingRecordRepository.findByIdForUpdate(borrowingRecordId)).thenReturn(Optional.of(borrowingRecord));
+        when(borrowingRecordRepository.save(borrowingRecord)).thenReturn(borrowingRecord);
+        when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
+
+        // When
+        borrowingService.returnBook(borrowingRecordId);
+
+        // Then
+        assertEquals(BorrowingStatus.RETURNED, borrowingRecord.getStatus());
+        verify(activeLoanCounters).release("jane@example.com");
+        verify(dueDateIndex).remove(borrowingRecordId);
+        verify(bookService).markAsAvailable(book.getId());
+    }
+
     @Test
     void returnBook_ShouldThrowBorrowingRecordNotFoundException_WhenRecordDoesNotExist() {
         // Given
-        when(borrowingRecordRepository.findById(borrowingRecordId)).thenReturn(Optional.empty());
+        when(borrowingRecordRepository.findByIdForUpdate(borrowingRecordId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(BorrowingRecordNotFoundException.class, () -> borrowingService.returnBook(borrowingRecordId));
-        verify(borrowingRecordRepository).findById(borrowingRecordId);
+        verify(borrowingRecordRepository).findByIdForUpdate(borrowingRecordId);
         verify(borrowingRecordRepository, never()).save(any());
+        verify(activeLoanCounters, never()).release(any());
         verify(bookService, never()).markAsAvailable(any());
     }
 
@@ -191,31 +212,47 @@ class BorrowingServiceTest {
     void returnBook_ShouldThrowBusinessRuleException_WhenRecordIsNotActive() {
         // Given
         borrowingRecord.setStatus(BorrowingStatus.RETURNED);
-        when(borrowingRecordRepository.findById(borrowingRecordId)).thenReturn(Optional.of(borrowingRecord));
+        when(borrowingRecordRepository.findByIdForUpdate(borrowingRecordId)).thenReturn(Optional.of(borrowingRecord));
 
         // When & Then
         assertThrows(BusinessRuleException.class, () -> borrowingService.returnBook(borrowingRecordId));
-        verify(borrowingRecordRepository).findById(borrowingRecordId);
+        verify(borrowingRecordRepository).findByIdForUpdate(borrowingRecordId);
         verify(borrowingRecordRepository, never()).save(any());
+        verify(activeLoanCounters, never()).release(any());
         verify(bookService, never()).markAsAvailable(any());
     }
 
+    @Test
+    void findActiveLoans_ShouldReturnCounterValue_WithoutQuerying() {
+        // Given
+        when(activeLoanCounters.activeCount("jane@example.com")).thenReturn(2);
+
+        // When
+        BorrowerLoansDTO result = borrowingService.findActiveLoans("jane@example.com");
+
+        // Then
+        assertEquals("jane@example.com", result.getBorrowerEmail());
+        assertEquals(2, result.getActiveCount());
+        assertEquals(ActiveLoanCounters.MAX_ACTIVE_LOANS, result.getMaxActiveLoans());
+        verifyNoInteractions(borrowingRecordRepository);
+    }
+
     @Test
     void findAll_ShouldReturnListOfBorrowingRecordDTOs() {
         // Given
-        List<BorrowingRecord> records = Arrays.asList(borrowingRecord);
-        when(borrowingRecordRepository.findAll()).thenReturn(records);
-        when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
+        List<BorrowingRecordView> records = Arrays.asList(borrowingRecordView);
+        when(borrowingRecordRepository.findAllAfter(any(LocalDate.class), any(UUID.class), any(Limit.class))).thenReturn(records);
+        when(borrowingRecordMapper.toDto(borrowingRecordView)).thenReturn(borrowingRecordDTO);
 
         // When
-        List<BorrowingRecordDTO> result = borrowingService.findAll();
+        CursorPage<BorrowingRecordDTO> result = borrowingService.findAll(CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(borrowingRecordDTO, result.get(0));
-        verify(borrowingRecordRepository).findAll();
-        verify(borrowingRecordMapper).toDto(borrowingRecord);
+        assertEquals(1, result.getItems().size());
+        assertEquals(borrowingRecordDTO, result.getItems().get(0));
+        verify(borrowingRecordRepository).findAllAfter(any(LocalDate.class), any(UUID.class), any(Limit.class));
+        verify(borrowingRecordMapper).toDto(borrowingRecordView);
     }
 
     @Test
@@ -242,112 +279,125 @@ class BorrowingServiceTest {
         // When & Then
         assertThrows(BorrowingRecordNotFoundException.class, () -> borrowingService.findById(borrowingRecordId));
         verify(borrowingRecordRepository).findById(borrowingRecordId);
-        verify(borrowingRecordMapper, never()).toDto(any());
+        verify(borrowingRecordMapper, never()).toDto(any(BorrowingRecord.class));
     }
 
     @Test
-    void findByStatus_ShouldReturnListOfBorrowingRecordDTOs() {
+    void findByBorrowerEmail_ShouldReturnListOfBorrowingRecordDTOs() {
         // Given
-        BorrowingStatus status = BorrowingStatus.ACTIVE;
-        List<BorrowingRecord> records = Arrays.asList(borrowingRecord);
-        when(borrowingRecordRepository.findByStatus(status)).thenReturn(records);
-        when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
+        String email = "jane@example.com";
+        List<BorrowingRecordView> records = Arrays.asList(borrowingRecordView);
+        when(borrowingRecordRepository.findByBorrowerEmailAfter(eq(email), any(LocalDate.class), any(UUID.class), any(Limit.class))).thenReturn(records);
+        when(borrowingRecordMapper.toDto(borrowingRecordView)).thenReturn(borrowingRecordDTO);
 
         // When
-        List<BorrowingRecordDTO> result = borrowingService.findByStatus(status);
+        CursorPage<BorrowingRecordDTO> result = borrowingService.findByBorrowerEmail(email, CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(borrowingRecordDTO, result.get(0));
-        verify(borrowingRecordRepository).findByStatus(status);
-        verify(borrowingRecordMapper).toDto(borrowingRecord);
+        assertEquals(1, result.getItems().size());
+        assertEquals(borrowingRecordDTO, result.getItems().get(0));
+        verify(borrowingRecordRepository).findByBorrowerEmailAfter(eq(email), any(LocalDate.class), any(UUID.class), any(Limit.class));
+        verify(borrowingRecordMapper).toDto(borrowingRecordView);
     }
 
     @Test
-    void findByBorrowerEmail_ShouldReturnListOfBorrowingRecordDTOs() {
+    void findOverdueRecords_ShouldHydrateLoansFromDueDateIndex() {
         // Given
-        String email = "jane@example.com";
-        List<BorrowingRecord> records = Arrays.asList(borrowingRecord);
-        when(borrowingRecordRepository.findByBorrowerEmailIgnoreCase(email)).thenReturn(records);
-        when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
+        ActiveLoan loan = new ActiveLoan(borrowingRecordId, "jane@example.com", LocalDate.now().minusWeeks(3),
+                LocalDate.now().minusWeeks(1));
+        when(dueDateIndex.overduePage(any(LocalDate.class), eq(PageCursor.LOWEST_DATE), eq(PageCursor.LOWEST_ID), eq(11)))
+                .thenReturn(List.of(loan));
+        when(borrowingRecordRepository.findViewsByIdIn(List.of(borrowingRecordId))).thenReturn(List.of(borrowingRecordView));
+        when(borrowingRecordMapper.toDto(borrowingRecordView)).thenReturn(borrowingRecordDTO);
 
         // When
-        List<BorrowingRecordDTO> result = borrowingService.findByBorrowerEmail(email);
+        CursorPage<BorrowingRecordDTO> result = borrowingService.findOverdueRecords(CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(borrowingRecordDTO, result.get(0));
-        verify(borrowingRecordRepository).findByBorrowerEmailIgnoreCase(email);
-        verify(borrowingRecordMapper).toDto(borrowingRecord);
+        assertEquals(1, result.getItems().size());
+        assertEquals(borrowingRecordDTO, result.getItems().get(0));
+        verify(borrowingRecordRepository).findViewsByIdIn(List.of(borrowingRecordId));
+        verify(borrowingRecordMapper).toDto(borrowingRecordView);
     }
 
     @Test
-    void findOverdueRecords_ShouldReturnListOfBorrowingRecordDTOs() {
+    void findOverdueRecords_ShouldNotQuery_WhenNothingIsOverdue() {
         // Given
-        List<BorrowingRecord> records = Arrays.asList(borrowingRecord);
-        when(borrowingRecordRepository.findOverdueRecords(any(LocalDate.class))).thenReturn(records);
-        when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
+        when(dueDateIndex.overduePage(any(LocalDate.class), any(LocalDate.class), any(UUID.class), anyInt()))
+                .thenReturn(List.of());
 
         // When
-        List<BorrowingRecordDTO> result = borrowingService.findOverdueRecords();
+        CursorPage<BorrowingRecordDTO> result = borrowingService.findOverdueRecords(CursorRequest.first(10));
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(borrowingRecordDTO, result.get(0));
-        verify(borrowingRecordRepository).findOverdueRecords(any(LocalDate.class));
-        verify(borrowingRecordMapper).toDto(borrowingRecord);
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.hasNext());
+        verifyNoInteractions(borrowingRecordRepository);
     }
 
     @Test
     void findBorrowingHistoryByBookId_ShouldReturnListOfBorrowingRecordDTOs() {
         // Given
-        List<BorrowingRecord> records = Arrays.asList(borrowingRecord);
-        when(borrowingRecordRepository.findBorrowingHistoryByBookId(bookId)).thenReturn(records);
-        when(borrowingRecordMapper.toDto(borrowingRecord)).thenReturn(borrowingRecordDTO);
+        List<BorrowingRecordView> records = Arrays.asList(borrowingRecordView);
+        when(borrowingRecordRepository.findBorrowingHistoryByBookIdBefore(eq(bookId), any(LocalDate.class), any(UUID.class), any(Limit.class))).thenReturn(records);
+        when(borrowingRecordMapper.toDto(borrowingRecordView)).thenReturn(borrowingRecordDTO);
 
         // When
-        List<BorrowingRecordDTO> result = borrowingService.findBorrowingHistoryByBookId(bookId);
+        CursorPage<BorrowingRecordDTO> result = borrowingService.findBorrowingHistoryByBookId(bookId, CursorRequest.first(10));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(borrowingRecordDTO, result.get(0));
-        verify(borrowingRecordRepository).findBorrowingHistoryByBookId(bookId);
-        verify(borrowingRecordMapper).toDto(borrowingRecord);
+        assertEquals(1, result.getItems().size());
+        assertEquals(borrowingRecordDTO, result.getItems().get(0));
+        verify(borrowingRecordRepository).findBorrowingHistoryByBookIdBefore(eq(bookId), any(LocalDate.class), any(UUID.class), any(Limit.class));
+        verify(borrowingRecordMapper).toDto(borrowingRecordView);
     }
 
     @Test
-    void markOverdueRecords_ShouldMarkActiveRecordsAsOverdue() {
+    void markOverdueRecords_ShouldFlipChunkWithSingleUpdate() {
         // Given
-        List<BorrowingRecord> overdueRecords = Arrays.asList(borrowingRecord);
-        when(borrowingRecordRepository.findOverdueRecords(any(LocalDate.class))).thenReturn(overdueRecords);
-        when(borrowingRecordRepository.save(borrowingRecord)).thenReturn(borrowingRecord);
+        LocalDate today = LocalDate.now();
+        UUID otherId = UUID.randomUUID();
+        UUID returnedId = UUID.randomUUID();
+        UUID notYetDueId = UUID.randomUUID();
+        List<UUID> chunk = List.of(borrowingRecordId, otherId, returnedId, notYetDueId);
+        when(borrowingRecordRepository.findActiveLoansForUpdate(chunk)).thenReturn(List.of(
+                new ActiveLoan(borrowingRecordId, "jane@example.com", today.minusDays(15), today.minusDays(1)),
+                new ActiveLoan(otherId, "bob@example.com", today.minusDays(17), today.minusDays(3)),
+                new ActiveLoan(notYetDueId, "bob@example.com", today, today.plusDays(14))));
+        when(borrowingRecordRepository.markAsOverdue(List.of(borrowingRecordId, otherId))).thenReturn(2);
 
         // When
-        borrowingService.markOverdueRecords();
+        int marked = borrowingService.markOverdueRecords(today, chunk);
 
         // Then
-        verify(borrowingRecordRepository).findOverdueRecords(any(LocalDate.class));
-        assertEquals(BorrowingStatus.OVERDUE, borrowingRecord.getStatus());
-        verify(borrowingRecordRepository).save(borrowingRecord);
+        assertEquals(2, marked);
+        verify(borrowingRecordRepository).markAsOverdue(List.of(borrowingRecordId, otherId));
+        verify(dueDateIndex).markOverdue(List.of(borrowingRecordId, otherId));
+        verify(dueDateIndex).remove(returnedId);
+        verify(dueDateIndex, never()).remove(borrowingRecordId);
+        verify(dueDateIndex, never()).remove(otherId);
+        verify(dueDateIndex, never()).remove(notYetDueId);
+        verifyNoInteractions(activeLoanCounters);
+        verify(borrowingRecordRepository, never()).save(any());
     }
 
     @Test
-    void markOverdueRecords_ShouldNotMarkAlreadyOverdueRecords() {
+    void markOverdueRecords_ShouldNotUpdate_WhenNoLoanIsStillOnLoan() {
         // Given
-        borrowingRecord.setStatus(BorrowingStatus.OVERDUE);
-        List<BorrowingRecord> overdueRecords = Arrays.asList(borrowingRecord);
-        when(borrowingRecordRepository.findOverdueRecords(any(LocalDate.class))).thenReturn(overdueRecords);
+        LocalDate today = LocalDate.now();
+        when(borrowingRecordRepository.findActiveLoansForUpdate(List.of(borrowingRecordId))).thenReturn(List.of());
 
         // When
-        borrowingService.markOverdueRecords();
+        int marked = borrowingService.markOverdueRecords(today, List.of(borrowingRecordId));
 
         // Then
-        verify(borrowingRecordRepository).findOverdueRecords(any(LocalDate.class));
-        assertEquals(BorrowingStatus.OVERDUE, borrowingRecord.getStatus()); // Should remain OVERDUE
-        verify(borrowingRecordRepository, never()).save(borrowingRecord);
+        assertEquals(0, marked);
+        verify(borrowingRecordRepository, never()).markAsOverdue(any());
+        verify(dueDateIndex, never()).markOverdue(any());
+        verify(dueDateIndex).remove(borrowingRecordId);
+        verifyNoInteractions(activeLoanCounters);
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.application.AuthorService;
+import com.gen.example.officelibrary.author.domain.AuthorDTO;
+import com.gen.example.officelibrary.author.domain.CreateAuthorRequest;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.CreateBookRequest;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Bulk-insert benchmark for the write path: creating a book costs the author lookup plus the
+ * insert, and creating an author costs the insert alone. The duplicate probes the services used
+ * to issue are skipped for definitely-new keys, and the unique constraints catch the races the
+ * probes could not. Timings are logged for comparison; the assertions are on round trips.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class BulkInsertRoundTripTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkInsertRoundTripTest.class);
+
+    private static final int BOOKS = 500;
+    private static final int AUTHORS = 200;
+    private static final int CONCURRENT_WRITERS = 8;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    void createBooks_ShouldNeedTwoStatementsPerBook() {
+        // Given
+        AuthorDTO author = authorService.create(authorRequest("bulk-author@example.com"));
+        statistics.clear();
+        long start = System.nanoTime();
+
+        // When
+        for (int i = 0; i < BOOKS; i++) {
+            bookService.create(bookRequest(String.format("978%010d", i), author));
+        }
+
+        // Then
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Created {} books in {} ms with {} statements ({} saved duplicate probes)",
+                BOOKS, elapsedMs, statements, BOOKS);
+        assertEquals(2L * BOOKS, statements);
+    }
+
+    @Test
+    void createAuthors_ShouldNeedOneStatementPerAuthor() {
+        // Given
+        statistics.clear();
+        long start = System.nanoTime();
+
+        // When
+        for (int i = 0; i < AUTHORS; i++) {
+            authorService.create(authorRequest("author-" + i + "@example.com"));
+        }
+
+        // Then
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Created {} authors in {} ms with {} statements ({} saved duplicate probes)",
+                AUTHORS, elapsedMs, statements, AUTHORS);
+        assertEquals(AUTHORS, statements);
+    }
+
+    @Test
+    void createBook_ShouldRejectConcurrentDuplicates_ThroughUniqueConstraint() throws Exception {
+        // Given
+        AuthorDTO author = authorService.create(authorRequest("race-author@example.com"));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(CONCURRENT_WRITERS);
+        List<Future<?>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < CONCURRENT_WRITERS; i++) {
+                results.add(writers.submit((Callable<Object>) () -> {
+                    start.await();
+                    return bookService.create(bookRequest("9781111111111", author));
+                }));
+            }
+            start.countDown();
+        } finally {
+            writers.shutdown();
+        }
+
+        // Then
+        int created = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+                created++;
+            } catch (ExecutionException ex) {
+                assertInstanceOf(BusinessRuleException.class, ex.getCause());
+            }
+        }
+        assertEquals(1, created);
+        assertEquals(1, bookRepository.count());
+    }
+
+    private CreateAuthorRequest authorRequest(String email) {
+        return new CreateAuthorRequest("Bulk", "Writer", null, null, null, email);
+    }
+
+    private CreateBookRequest bookRequest(String isbn, AuthorDTO author) {
+        return new CreateBookRequest(isbn, "Book " + isbn, author.getId(), null, null, null, null);
+    }
+}
\ No newline at end of file
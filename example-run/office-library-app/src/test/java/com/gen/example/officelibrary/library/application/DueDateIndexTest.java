@@ -0,0 +1,168 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.ActiveLoan;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DueDateIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+    @Mock
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DueDateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new DueDateIndex(borrowingRecordRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_ShouldSeedFromActiveLoans() {
+        // Given
+        ActiveLoan overdue = loan(TODAY.minusDays(20), TODAY.minusDays(6));
+        ActiveLoan current = loan(TODAY.minusDays(2), TODAY.plusDays(12));
+        when(borrowingRecordRepository.findActiveLoans()).thenReturn(List.of(overdue, current));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(2, index.size());
+        assertEquals(List.of(overdue), index.overdue(TODAY));
+        assertEquals(2.0, meterRegistry.get("borrowing.due.index.size").gauge().value());
+    }
+
+    @Test
+    void overdue_ShouldOnlyReturnLoansDueBeforeToday() {
+        // Given
+        ActiveLoan yesterday = loan(TODAY.minusDays(15), TODAY.minusDays(1));
+        ActiveLoan dueToday = loan(TODAY.minusDays(14), TODAY);
+        ActiveLoan later = loan(TODAY.minusDays(1), TODAY.plusDays(13));
+        index.add(yesterday);
+        index.add(dueToday);
+        index.add(later);
+
+        // When
+        List<ActiveLoan> overdue = index.overdue(TODAY);
+
+        // Then
+        assertEquals(List.of(yesterday), overdue);
+    }
+
+    @Test
+    void remove_ShouldDropLoan() {
+        // Given
+        ActiveLoan loan = loan(TODAY.minusDays(20), TODAY.minusDays(6));
+        index.add(loan);
+
+        // When
+        index.remove(loan.getId());
+
+        // Then
+        assertTrue(index.overdue(TODAY).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void add_ShouldWaitForCommit() {
+        // Given
+        ActiveLoan loan = loan(TODAY.minusDays(20), TODAY.minusDays(6));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        index.add(loan);
+
+        // Then
+        assertEquals(0, index.size());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(loan), index.overdue(TODAY));
+    }
+
+    @Test
+    void unswept_ShouldSkipLoansAlreadyMarkedOverdue() {
+        // Given
+        ActiveLoan swept = loan(TODAY.minusDays(30), TODAY.minusDays(16)).markedOverdue();
+        ActiveLoan late = loan(TODAY.minusDays(20), TODAY.minusDays(6));
+        when(borrowingRecordRepository.findActiveLoans()).thenReturn(List.of(swept, late));
+        index.rebuild();
+
+        // When
+        List<ActiveLoan> unswept = index.unswept(TODAY);
+
+        // Then
+        assertEquals(List.of(late), unswept);
+        assertEquals(2, index.overdue(TODAY).size());
+    }
+
+    @Test
+    void markOverdue_ShouldKeepLoanOverdueButOutOfTheNextSweep_AfterCommit() {
+        // Given
+        ActiveLoan loan = loan(TODAY.minusDays(20), TODAY.minusDays(6));
+        index.add(loan);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        index.markOverdue(List.of(loan.getId()));
+
+        // Then
+        assertEquals(List.of(loan), index.unswept(TODAY));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(index.unswept(TODAY).isEmpty());
+        assertEquals(BorrowingStatus.OVERDUE, index.overdue(TODAY).get(0).getStatus());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void overduePage_ShouldPageInBorrowOrder() {
+        // Given
+        ActiveLoan first = new ActiveLoan(new UUID(0x7fffffffffffffffL, 1), "a@example.com",
+                TODAY.minusDays(30), TODAY.minusDays(16));
+        ActiveLoan second = new ActiveLoan(new UUID(0x8000000000000000L, 1), "b@example.com",
+                TODAY.minusDays(30), TODAY.minusDays(16));
+        ActiveLoan third = loan(TODAY.minusDays(20), TODAY.minusDays(6));
+        index.add(third);
+        index.add(second);
+        index.add(first);
+
+        // When
+        List<ActiveLoan> firstPage = index.overduePage(TODAY, PageCursor.LOWEST_DATE, PageCursor.LOWEST_ID, 2);
+        List<ActiveLoan> secondPage = index.overduePage(TODAY, second.getBorrowDate(), second.getId(), 2);
+
+        // Then
+        assertEquals(List.of(first, second), firstPage);
+        assertEquals(List.of(third), secondPage);
+    }
+
+    private ActiveLoan loan(LocalDate borrowDate, LocalDate dueDate) {
+        return new ActiveLoan(UUID.randomUUID(), "jane@example.com", borrowDate, dueDate);
+    }
+}
\ No newline at end of file
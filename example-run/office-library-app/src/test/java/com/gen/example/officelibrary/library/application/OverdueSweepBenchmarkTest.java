@@ -0,0 +1,146 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Overdue sweep over a large {@code borrowing_records} table. Half of the records are overdue; the
+ * sweep finds them through the due-date index and must flip exactly those with two statements per
+ * chunk. Tagged {@code benchmark}, so it runs with {@code ./gradlew benchmarkTest} rather than
+ * {@code test}; add {@code -Pbenchmark.overdue.rows=3000000} for the multi-million-row figures.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    "library.overdue-sweep.chunk-size=" + OverdueSweepBenchmarkTest.CHUNK_SIZE
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+class OverdueSweepBenchmarkTest {
+
+    static final int CHUNK_SIZE = 5_000;
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueSweepBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.overdue.rows", 100_000);
+    private static final int INSERT_BATCH = 10_000;
+    private static final int BORROWERS = 1_000;
+
+    @Autowired
+    private OverdueSweepJob overdueSweepJob;
+
+    @Autowired
+    private ActiveLoanCounters activeLoanCounters;
+
+    @Autowired
+    private DueDateIndex dueDateIndex;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        today = LocalDate.now();
+        Author author = authorRepository.save(new Author("Sweep", "Writer"));
+        Book book = bookRepository.save(new Book("978-0000000001", "Sweep Book", author,
+                BookStatus.BORROWED, today));
+
+        // Even rows are a day overdue, odd rows are due next week
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDate dueDate = i % 2 == 0 ? today.minusDays(1) : today.plusDays(7);
+            String email = "reader-" + (i % BORROWERS) + "@example.com";
+            batch.add(new Object[] {UUID.randomUUID(), "Reader " + (i % BORROWERS), email, email,
+                    Date.valueOf(dueDate.minusDays(14)), Date.valueOf(dueDate), BorrowingStatus.ACTIVE.name(),
+                    book.getId()});
+            if (batch.size() == INSERT_BATCH || i == ROWS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO borrowing_records "
+                        + "(id, borrower_name, borrower_email, borrower_email_key, borrow_date, due_date, status, book_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        activeLoanCounters.rebuild();
+        dueDateIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+        activeLoanCounters.rebuild();
+        dueDateIndex.rebuild();
+    }
+
+    @Test
+    void sweep_ShouldFlipOverdueRecordsInChunks() {
+        // Given
+        int overdue = (ROWS + 1) / 2;
+        statistics.clear();
+
+        // When
+        long marked = overdueSweepJob.sweep(today);
+
+        // Then
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Swept {} of {} records in {} chunks of {} with {} statements ({} records/s)", marked, ROWS,
+                overdue / CHUNK_SIZE + 1, CHUNK_SIZE, statements, Math.round(overdueSweepJob.lastRecordsPerSecond()));
+        assertEquals(overdue, marked);
+        assertTrue(statements <= 2L * (overdue / CHUNK_SIZE + 1), () -> statements + " statements");
+        // Swept loans stay indexed, and so on the overdue list, until they are returned
+        assertEquals(overdue, dueDateIndex.overdue(today).size());
+        assertEquals(overdue, countByStatus(BorrowingStatus.OVERDUE));
+        assertEquals(ROWS - overdue, countByStatus(BorrowingStatus.ACTIVE));
+        assertEquals(0, overdueSweepJob.sweep(today));
+    }
+
+    private long countByStatus(BorrowingStatus status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM borrowing_records WHERE status = ?",
+                Long.class, status.name());
+    }
+}
\ No newline at end of file
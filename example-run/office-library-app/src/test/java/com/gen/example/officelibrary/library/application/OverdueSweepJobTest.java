@@ -0,0 +1,106 @@
+package com.gen.example.officelibrary.library.application;
+
+import com.gen.example.officelibrary.library.domain.ActiveLoan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueSweepJobTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private BorrowingService borrowingService;
+
+    @Mock
+    private DueDateIndex dueDateIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OverdueSweepJob job;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new OverdueSweepJob(borrowingService, dueDateIndex, meterRegistry, CHUNK_SIZE);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void sweep_ShouldMarkOverdueLoansFromIndex_InChunks() {
+        // Given
+        List<ActiveLoan> overdue = List.of(loan(), loan(), loan());
+        when(dueDateIndex.unswept(today)).thenReturn(overdue);
+        when(borrowingService.markOverdueRecords(today, ids(overdue.subList(0, 2)))).thenReturn(2);
+        when(borrowingService.markOverdueRecords(today, ids(overdue.subList(2, 3)))).thenReturn(1);
+
+        // When
+        long marked = job.sweep(today);
+
+        // Then
+        assertEquals(3, marked);
+        verify(borrowingService, times(2)).markOverdueRecords(eq(today), anyCollection());
+        assertEquals(3.0, meterRegistry.get("borrowing.overdue.sweep.records").counter().count());
+        assertEquals(1, meterRegistry.get("borrowing.overdue.sweep").timer().count());
+        assertTrue(meterRegistry.get("borrowing.overdue.sweep.throughput").gauge().value() > 0);
+    }
+
+    @Test
+    void sweep_ShouldNotTouchDatabase_WhenNothingIsOverdue() {
+        // Given
+        when(dueDateIndex.unswept(today)).thenReturn(List.of());
+
+        // When
+        long marked = job.sweep(today);
+
+        // Then
+        assertEquals(0, marked);
+        verifyNoInteractions(borrowingService);
+    }
+
+    @Test
+    void sweep_ShouldKeepCommittedChunks_WhenLaterChunkFails() {
+        // Given
+        List<ActiveLoan> overdue = List.of(loan(), loan(), loan());
+        when(dueDateIndex.unswept(today)).thenReturn(overdue);
+        when(borrowingService.markOverdueRecords(today, ids(overdue.subList(0, 2)))).thenReturn(2);
+        when(borrowingService.markOverdueRecords(today, ids(overdue.subList(2, 3))))
+                .thenThrow(new IllegalStateException("Connection lost"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> job.sweep(today));
+        assertEquals(2.0, meterRegistry.get("borrowing.overdue.sweep.records").counter().count());
+
+        // A later run picks up what is left and is not blocked by the failed one
+        when(dueDateIndex.unswept(today)).thenReturn(overdue.subList(2, 3));
+        reset(borrowingService);
+        when(borrowingService.markOverdueRecords(today, ids(overdue.subList(2, 3)))).thenReturn(1);
+        assertEquals(1, job.sweep(today));
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveChunkSize() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new OverdueSweepJob(borrowingService, dueDateIndex, new SimpleMeterRegistry(), 0));
+    }
+
+    private ActiveLoan loan() {
+        return new ActiveLoan(UUID.randomUUID(), "jane@example.com", today.minusDays(20), today.minusDays(6));
+    }
+
+    private List<UUID> ids(List<ActiveLoan> loans) {
+        return loans.stream().map(ActiveLoan::getId).toList();
+    }
+}
\ No newline at end of file
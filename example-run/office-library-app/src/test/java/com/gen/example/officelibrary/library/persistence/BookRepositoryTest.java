@@ -5,16 +5,17 @@ import com.gen.example.officelibrary.library.domain.Book;
 import com.gen.example.officelibrary.library.domain.BookStatus;
 import com.gen.example.officelibrary.library.domain.BorrowingRecord;
 import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -53,56 +54,6 @@ class BookRepositoryTest {
         assertThat(savedBook.getLocation()).isEqualTo("A1");
     }
 
-    @Test
-    void shouldFindByStatus() {
-        // Given
-        Author author = new Author("John", "Doe");
-        entityManager.persistAndFlush(author);
-        
-        Book availableBook = new Book("978-0123456789", "Available Book", author,
-                                    BookStatus.AVAILABLE, LocalDate.now());
-        Book borrowedBook = new Book("978-0123456790", "Borrowed Book", author,
-                                   BookStatus.BORROWED, LocalDate.now());
-        
-        entityManager.persistAndFlush(availableBook);
-        entityManager.persistAndFlush(borrowedBook);
-        
-        // When
-        List<Book> availableBooks = bookRepository.findByStatus(BookStatus.AVAILABLE);
-        
-        // Then
-        assertThat(availableBooks).hasSize(1);
-        assertThat(availableBooks.get(0).getTitle()).isEqualTo("Available Book");
-    }
-
-    @Test
-    void shouldFindByAuthorId() {
-        // Given
-        Author author1 = new Author("John", "Doe");
-        Author author2 = new Author("Jane", "Smith");
-        entityManager.persistAndFlush(author1);
-        entityManager.persistAndFlush(author2);
-        
-        Book book1 = new Book("978-0123456789", "Book 1", author1,
-                            BookStatus.AVAILABLE, LocalDate.now());
-        Book book2 = new Book("978-0123456790", "Book 2", author1,
-                            BookStatus.AVAILABLE, LocalDate.now());
-        Book book3 = new Book("978-0123456791", "Book 3", author2,
-                            BookStatus.AVAILABLE, LocalDate.now());
-        
-        entityManager.persistAndFlush(book1);
-        entityManager.persistAndFlush(book2);
-        entityManager.persistAndFlush(book3);
-        
-        // When
-        List<Book> author1Books = bookRepository.findByAuthor_Id(author1.getId());
-        
-        // Then
-        assertThat(author1Books).hasSize(2);
-        assertThat(author1Books).extracting(Book::getTitle)
-            .containsExactlyInAnyOrder("Book 1", "Book 2");
-    }
-
     @Test
     void shouldFindByIsbn() {
         // Given
@@ -121,30 +72,6 @@ class BookRepositoryTest {
         assertThat(foundBook.get().getTitle()).isEqualTo("Test Book");
     }
 
-    @Test
-    void shouldFindByGenre() {
-        // Given
-        Author author = new Author("John", "Doe");
-        entityManager.persistAndFlush(author);
-        
-        Book fictionBook = new Book("978-0123456789", "Fiction Book", author,
-                                  "Publisher", 2023, "Fiction",
-                                  BookStatus.AVAILABLE, LocalDate.now(), "A1");
-        Book scienceBook = new Book("978-0123456790", "Science Book", author,
-                                  "Publisher", 2023, "Science",
-                                  BookStatus.AVAILABLE, LocalDate.now(), "B1");
-        
-        entityManager.persistAndFlush(fictionBook);
-        entityManager.persistAndFlush(scienceBook);
-        
-        // When
-        List<Book> fictionBooks = bookRepository.findByGenreIgnoreCase("fiction");
-        
-        // Then
-        assertThat(fictionBooks).hasSize(1);
-        assertThat(fictionBooks.get(0).getTitle()).isEqualTo("Fiction Book");
-    }
-
     @Test
     void shouldSearchBooks() {
         // Given
@@ -250,4 +177,33 @@ class BookRepositoryTest {
         Optional<Book> foundBook = bookRepository.findById(savedBook.getId());
         assertThat(foundBook).isEmpty();
     }
+
+    @Test
+    void shouldPageBooksByDateAddedAndId() {
+        // Given
+        Author author = new Author("John", "Doe");
+        entityManager.persistAndFlush(author);
+
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        entityManager.persistAndFlush(new Book("978-0123456789", "Oldest", author, BookStatus.AVAILABLE, day.minusDays(1)));
+        entityManager.persistAndFlush(new Book("978-0123456790", "Same Day A", author, BookStatus.AVAILABLE, day));
+        entityManager.persistAndFlush(new Book("978-0123456791", "Same Day B", author, BookStatus.AVAILABLE, day));
+        entityManager.persistAndFlush(new Book("978-0123456792", "Newest", author, BookStatus.BORROWED, day.plusDays(1)));
+
+        // When
+        List<Book> firstPage = bookRepository.findAllAfter(PageCursor.LOWEST_DATE, PageCursor.LOWEST_ID, Limit.of(2));
+        Book lastOfFirstPage = firstPage.get(1);
+        List<Book> secondPage = bookRepository.findAllAfter(lastOfFirstPage.getDateAdded(), lastOfFirstPage.getId(), Limit.of(2));
+        List<Book> availableAfterFirst = bookRepository.findByStatusAfter(BookStatus.AVAILABLE,
+                firstPage.get(0).getDateAdded(), firstPage.get(0).getId(), Limit.of(10));
+
+        // Then
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).getTitle()).isEqualTo("Oldest");
+        assertThat(secondPage).hasSize(2);
+        assertThat(secondPage.get(1).getTitle()).isEqualTo("Newest");
+        assertThat(firstPage).doesNotContainAnyElementsOf(secondPage);
+        assertThat(availableAfterFirst).extracting(Book::getTitle)
+            .containsExactlyInAnyOrder("Same Day A", "Same Day B");
+    }
 }
\ No newline at end of file
@@ -3,12 +3,17 @@ package com.gen.example.officelibrary.library.persistence;
 import com.gen.example.officelibrary.author.domain.Author;
 import com.gen.example.officelibrary.library.domain.Book;
 import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowerLoanCount;
 import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingRecordView;
 import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
@@ -16,6 +21,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -54,170 +60,6 @@ class BorrowingRecordRepositoryTest {
         assertThat(savedRecord.getBook()).isEqualTo(book);
     }
 
-    @Test
-    void shouldFindByStatus() {
-        // Given
-        Author author = new Author("John", "Doe");
-        entityManager.persistAndFlush(author);
-        
-        Book book1 = new Book("978-0123456789", "Book 1", author,
-                            BookStatus.BORROWED, LocalDate.now());
-        Book book2 = new Book("978-0123456790", "Book 2", author,
-                            BookStatus.AVAILABLE, LocalDate.now());
-        entityManager.persistAndFlush(book1);
-        entityManager.persistAndFlush(book2);
-        
-        BorrowingRecord activeRecord = new BorrowingRecord(
-            "Jane Smith", "jane@example.com",
-            LocalDate.now(), LocalDate.now().plusDays(14),
-            BorrowingStatus.ACTIVE, book1);
-        BorrowingRecord returnedRecord = new BorrowingRecord(
-            "John Smith", "john@example.com",
-            LocalDate.now().minusDays(30), LocalDate.now().minusDays(16),
-            BorrowingStatus.RETURNED, book2);
-        returnedRecord.setReturnDate(LocalDate.now().minusDays(20));
-        
-        entityManager.persistAndFlush(activeRecord);
-        entityManager.persistAndFlush(returnedRecord);
-        
-        // When
-        List<BorrowingRecord> activeRecords = borrowingRecordRepository.findByStatus(BorrowingStatus.ACTIVE);
-        
-        // Then
-        assertThat(activeRecords).hasSize(1);
-        assertThat(activeRecords.get(0).getBorrowerName()).isEqualTo("Jane Smith");
-    }
-
-    @Test
-    void shouldFindByBook() {
-        // Given
-        Author author = new Author("John", "Doe");
-        entityManager.persistAndFlush(author);
-        
-        Book book1 = new Book("978-0123456789", "Book 1", author,
-                            BookStatus.AVAILABLE, LocalDate.now());
-        Book book2 = new Book("978-0123456790", "Book 2", author,
-                            BookStatus.AVAILABLE, LocalDate.now());
-        entityManager.persistAndFlush(book1);
-        entityManager.persistAndFlush(book2);
-        
-        BorrowingRecord record1 = new BorrowingRecord(
-            "Jane Smith", "jane@example.com",
-            LocalDate.now().minusDays(30), LocalDate.now().minusDays(16),
-            BorrowingStatus.RETURNED, book1);
-        BorrowingRecord record2 = new BorrowingRecord(
-            "John Smith", "john@example.com",
-            LocalDate.now().minusDays(60), LocalDate.now().minusDays(46),
-            BorrowingStatus.RETURNED, book1);
-        BorrowingRecord record3 = new BorrowingRecord(
-            "Bob Johnson", "bob@example.com",
-            LocalDate.now(), LocalDate.now().plusDays(14),
-            BorrowingStatus.ACTIVE, book2);
-        
-        entityManager.persistAndFlush(record1);
-        entityManager.persistAndFlush(record2);
-        entityManager.persistAndFlush(record3);
-        
-        // When
-        List<BorrowingRecord> book1Records = borrowingRecordRepository.findByBook(book1);
-        
-        // Then
-        assertThat(book1Records).hasSize(2);
-        assertThat(book1Records).extracting(BorrowingRecord::getBorrowerName)
-            .containsExactlyInAnyOrder("Jane Smith", "John Smith");
-    }
-
-    @Test
-    void shouldFindByBorrowerEmail() {
-        // Given
-        Author author = new Author("John", "Doe");
-        entityManager.persistAndFlush(author);
-        
-        Book book1 = new Book("978-0123456789", "Book 1", author,
-                            BookStatus.AVAILABLE, LocalDate.now());
-        Book book2 = new Book("978-0123456790", "Book 2", author,
-                            BookStatus.BORROWED, LocalDate.now());
-        entityManager.persistAndFlush(book1);
-        entityManager.persistAndFlush(book2);
-        
-        BorrowingRecord record1 = new BorrowingRecord(
-            "Jane Smith", "jane@example.com",
-            LocalDate.now().minusDays(30), LocalDate.now().minusDays(16),
-            BorrowingStatus.RETURNED, book1);
-        BorrowingRecord record2 = new BorrowingRecord(
-            "Jane Smith", "jane@example.com",
-            LocalDate.now(), LocalDate.now().plusDays(14),
-            BorrowingStatus.ACTIVE, book2);
-        
-        entityManager.persistAndFlush(record1);
-        entityManager.persistAndFlush(record2);
-        
-        // When
-        List<BorrowingRecord> janeRecords = borrowingRecordRepository.findByBorrowerEmailIgnoreCase("JANE@EXAMPLE.COM");
-        
-        // Then
-        assertThat(janeRecords).hasSize(2);
-        assertThat(janeRecords).allMatch(record -> record.getBorrowerEmail().equals("jane@example.com"));
-    }
-
-    @Test
-    void shouldFindOverdueRecords() {
-        // Given
-        Author author = new Author("John", "Doe");
-        entityManager.persistAndFlush(author);
-        
-        Book book1 = new Book("978-0123456789", "Book 1", author,
-                            BookStatus.BORROWED, LocalDate.now());
-        Book book2 = new Book("978-0123456790", "Book 2", author,
-                            BookStatus.BORROWED, LocalDate.now());
-        entityManager.persistAndFlush(book1);
-        entityManager.persistAndFlush(book2);
-        
-        BorrowingRecord overdueRecord = new BorrowingRecord(
-            "Jane Smith", "jane@example.com",
-            LocalDate.now().minusDays(20), LocalDate.now().minusDays(6),
-            BorrowingStatus.ACTIVE, book1);
-        BorrowingRecord currentRecord = new BorrowingRecord(
-            "John Smith", "john@example.com",
-            LocalDate.now(), LocalDate.now().plusDays(14),
-            BorrowingStatus.ACTIVE, book2);
-        
-        entityManager.persistAndFlush(overdueRecord);
-        entityManager.persistAndFlush(currentRecord);
-        
-        // When
-        List<BorrowingRecord> overdueRecords = borrowingRecordRepository.findOverdueRecords(LocalDate.now());
-        
-        // Then
-        assertThat(overdueRecords).hasSize(1);
-        assertThat(overdueRecords.get(0).getBorrowerName()).isEqualTo("Jane Smith");
-    }
-
-    @Test
-    void shouldFindActiveRecordByBookId() {
-        // Given
-        Author author = new Author("John", "Doe");
-        entityManager.persistAndFlush(author);
-        
-        Book book = new Book("978-0123456789", "Test Book", author,
-                           BookStatus.BORROWED, LocalDate.now());
-        entityManager.persistAndFlush(book);
-        
-        BorrowingRecord activeRecord = new BorrowingRecord(
-            "Jane Smith", "jane@example.com",
-            LocalDate.now(), LocalDate.now().plusDays(14),
-            BorrowingStatus.ACTIVE, book);
-        entityManager.persistAndFlush(activeRecord);
-        
-        // When
-        Optional<BorrowingRecord> foundRecord = borrowingRecordRepository.findActiveRecordByBookId(book.getId());
-        
-        // Then
-        assertThat(foundRecord).isPresent();
-        assertThat(foundRecord.get().getBorrowerName()).isEqualTo("Jane Smith");
-        assertThat(foundRecord.get().getStatus()).isEqualTo(BorrowingStatus.ACTIVE);
-    }
-
     @Test
     void shouldFindRecordsWithFilters() {
         // Given
@@ -251,39 +93,75 @@ class BorrowingRecordRepositoryTest {
     }
 
     @Test
-    void shouldFindBorrowingHistoryByBookId() {
+    void shouldPageBorrowingHistoryMostRecentFirst() {
         // Given
         Author author = new Author("John", "Doe");
         entityManager.persistAndFlush(author);
-        
+
         Book book = new Book("978-0123456789", "Test Book", author,
                            BookStatus.AVAILABLE, LocalDate.now());
         entityManager.persistAndFlush(book);
-        
-        BorrowingRecord oldRecord = new BorrowingRecord(
-            "Jane Smith", "jane@example.com",
-            LocalDate.now().minusDays(60), LocalDate.now().minusDays(46),
-            BorrowingStatus.RETURNED, book);
-        BorrowingRecord recentRecord = new BorrowingRecord(
-            "John Smith", "john@example.com",
-            LocalDate.now().minusDays(30), LocalDate.now().minusDays(16),
-            BorrowingStatus.RETURNED, book);
-        
-        entityManager.persistAndFlush(oldRecord);
-        entityManager.persistAndFlush(recentRecord);
-        
+
+        for (int i = 1; i <= 3; i++) {
+            entityManager.persistAndFlush(new BorrowingRecord(
+                "Borrower " + i, "borrower" + i + "@example.com",
+                LocalDate.now().minusDays(30L * i), LocalDate.now().minusDays(30L * i - 14),
+                BorrowingStatus.RETURNED, book));
+        }
+
         // When
-        List<BorrowingRecord> history = borrowingRecordRepository.findBorrowingHistoryByBookId(book.getId());
-        
+        List<BorrowingRecordView> firstPage = borrowingRecordRepository.findBorrowingHistoryByBookIdBefore(
+            book.getId(), PageCursor.HIGHEST_DATE, PageCursor.HIGHEST_ID, Limit.of(2));
+        BorrowingRecordView last = firstPage.get(1);
+        List<BorrowingRecordView> secondPage = borrowingRecordRepository.findBorrowingHistoryByBookIdBefore(
+            book.getId(), last.getBorrowDate(), last.getId(), Limit.of(2));
+
+        // Then
+        assertThat(firstPage).extracting(BorrowingRecordView::getBorrowerName)
+            .containsExactly("Borrower 1", "Borrower 2");
+        assertThat(secondPage).extracting(BorrowingRecordView::getBorrowerName)
+            .containsExactly("Borrower 3");
+    }
+
+    @Test
+    void shouldSelectRecordBookAndAuthorColumnsIntoView() {
+        // Given
+        Author author = new Author("John", "Doe", "Bio", LocalDate.of(1970, 1, 1), "British", "john@example.com");
+        entityManager.persistAndFlush(author);
+
+        Book book = new Book("978-0123456789", "Test Book", author, "Publisher", 2020,
+                           "Fiction", BookStatus.BORROWED, LocalDate.now(), "A1");
+        entityManager.persistAndFlush(book);
+
+        BorrowingRecord record = new BorrowingRecord(
+            "Jane Smith", "Jane@Example.com",
+            LocalDate.now().minusDays(20), LocalDate.now().minusDays(6),
+            BorrowingStatus.ACTIVE, "Handle with care", book);
+        entityManager.persistAndFlush(record);
+        entityManager.clear();
+
+        // When
+        List<BorrowingRecordView> views = borrowingRecordRepository.findByBorrowerEmailAfter(
+            "jane@example.com", PageCursor.LOWEST_DATE, PageCursor.LOWEST_ID, Limit.of(10));
+
         // Then
-        assertThat(history).hasSize(2);
-        // Should be ordered by borrow date DESC (most recent first)
-        assertThat(history.get(0).getBorrowerName()).isEqualTo("John Smith");
-        assertThat(history.get(1).getBorrowerName()).isEqualTo("Jane Smith");
+        assertThat(views).hasSize(1);
+        BorrowingRecordView view = views.get(0);
+        assertThat(view.getId()).isEqualTo(record.getId());
+        assertThat(view.getNotes()).isEqualTo("Handle with care");
+        assertThat(view.getBookId()).isEqualTo(book.getId());
+        assertThat(view.getBookTitle()).isEqualTo("Test Book");
+        assertThat(view.getBookStatus()).isEqualTo(BookStatus.BORROWED);
+        assertThat(view.getBookVersion()).isEqualTo(book.getVersion());
+        assertThat(view.getAuthorId()).isEqualTo(author.getId());
+        assertThat(view.getAuthorNationality()).isEqualTo("British");
+        assertThat(view.getAuthorVersion()).isEqualTo(author.getVersion());
+        // No managed entities were created for the read
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
     }
 
     @Test
-    void shouldCountActiveBorrowingsByEmail() {
+    void shouldCountActiveAndOverdueBorrowingsPerBorrower() {
         // Given
         Author author = new Author("John", "Doe");
         entityManager.persistAndFlush(author);
@@ -295,23 +173,30 @@ class BorrowingRecordRepositoryTest {
         entityManager.persistAndFlush(book1);
         entityManager.persistAndFlush(book2);
         
-        BorrowingRecord activeRecord1 = new BorrowingRecord(
+        entityManager.persistAndFlush(new BorrowingRecord(
             "Jane Smith", "jane@example.com",
             LocalDate.now(), LocalDate.now().plusDays(14),
-            BorrowingStatus.ACTIVE, book1);
-        BorrowingRecord activeRecord2 = new BorrowingRecord(
+            BorrowingStatus.ACTIVE, book1));
+        entityManager.persistAndFlush(new BorrowingRecord(
             "Jane Smith", "jane@example.com",
+            LocalDate.now().minusDays(30), LocalDate.now().minusDays(16),
+            BorrowingStatus.RETURNED, book2));
+        entityManager.persistAndFlush(new BorrowingRecord(
+            "Bob Johnson", "bob@example.com",
             LocalDate.now(), LocalDate.now().plusDays(14),
-            BorrowingStatus.ACTIVE, book2);
-        
-        entityManager.persistAndFlush(activeRecord1);
-        entityManager.persistAndFlush(activeRecord2);
+            BorrowingStatus.ACTIVE, book2));
+        entityManager.persistAndFlush(new BorrowingRecord(
+            "Bob Johnson", "bob@example.com",
+            LocalDate.now().minusDays(30), LocalDate.now().minusDays(16),
+            BorrowingStatus.OVERDUE, book1));
         
         // When
-        long count = borrowingRecordRepository.countActiveBorrowingsByEmail("jane@example.com");
+        List<BorrowerLoanCount> counts = borrowingRecordRepository.countActiveBorrowingsPerBorrower();
         
         // Then
-        assertThat(count).isEqualTo(2);
+        assertThat(counts)
+            .extracting(BorrowerLoanCount::getBorrowerEmail, BorrowerLoanCount::getActiveCount)
+            .containsExactlyInAnyOrder(tuple("jane@example.com", 1L), tuple("bob@example.com", 2L));
     }
 
     @Test
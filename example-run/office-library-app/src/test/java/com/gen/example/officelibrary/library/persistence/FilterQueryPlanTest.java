@@ -0,0 +1,106 @@
+package com.gen.example.officelibrary.library.persistence;
+
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.persistence.QueryPlans;
+import com.gen.example.officelibrary.shared.persistence.SqlCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every filter combination of the book and borrowing record list endpoints, then asks H2 for
+ * the plan of the statement Hibernate actually sent. Each combination must read the filtered table
+ * through an index lookup on one of the filtered columns, never through a table scan.
+ */
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@ActiveProfiles("test")
+class FilterQueryPlanTest {
+
+    private static final String STATUS = "STATUS";
+    private static final String GENRE = "GENRE_KEY";
+    private static final String AUTHOR = "AUTHOR_ID";
+    private static final String EMAIL = "BORROWER_EMAIL_KEY";
+    private static final String FROM = "BORROW_DATE >=";
+    private static final String TO = "BORROW_DATE <=";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.clear();
+    }
+
+    static Stream<List<String>> bookFilters() {
+        return Stream.of(List.of(STATUS), List.of(GENRE), List.of(AUTHOR), List.of(STATUS, GENRE),
+                List.of(STATUS, AUTHOR), List.of(GENRE, AUTHOR), List.of(STATUS, GENRE, AUTHOR));
+    }
+
+    static Stream<List<String>> recordFilters() {
+        return Stream.of(List.of(STATUS), List.of(EMAIL), List.of(FROM), List.of(TO), List.of(FROM, TO),
+                List.of(STATUS, EMAIL), List.of(STATUS, FROM, TO), List.of(EMAIL, FROM, TO),
+                List.of(STATUS, EMAIL, FROM, TO));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("bookFilters")
+    void bookFilters_ShouldLookUpFilteredColumnsThroughIndex(List<String> filters) throws SQLException {
+        // When
+        bookRepository.findBooksWithFiltersAfter(
+                filters.contains(STATUS) ? BookStatus.AVAILABLE : null,
+                filters.contains(GENRE) ? "Fiction" : null,
+                filters.contains(AUTHOR) ? UUID.randomUUID() : null,
+                PageCursor.LOWEST_DATE, PageCursor.LOWEST_ID, Limit.of(20));
+
+        // Then
+        assertOnlyActivePredicates(SqlCapture.last());
+        assertIndexLookup(QueryPlans.explain(dataSource, SqlCapture.last()), "BOOKS", filters);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("recordFilters")
+    void recordFilters_ShouldLookUpFilteredColumnsThroughIndex(List<String> filters) throws SQLException {
+        // When
+        borrowingRecordRepository.findRecordsWithFiltersAfter(
+                filters.contains(STATUS) ? BorrowingStatus.ACTIVE : null,
+                filters.contains(EMAIL) ? "Jane@Example.com" : null,
+                filters.contains(FROM) ? LocalDate.of(2024, 1, 1) : null,
+                filters.contains(TO) ? LocalDate.of(2024, 12, 31) : null,
+                PageCursor.LOWEST_DATE, PageCursor.LOWEST_ID, Limit.of(20));
+
+        // Then
+        assertOnlyActivePredicates(SqlCapture.last());
+        assertIndexLookup(QueryPlans.explain(dataSource, SqlCapture.last()), "BORROWING_RECORDS", filters);
+    }
+
+    private void assertOnlyActivePredicates(String sql) {
+        assertThat(sql).doesNotContainIgnoringCase(" is null").doesNotContainIgnoringCase("lower(");
+    }
+
+    private void assertIndexLookup(String plan, String table, List<String> filters) {
+        assertThat(plan).doesNotContain(table + ".tableScan");
+        String condition = QueryPlans.indexCondition(plan, table).orElseThrow(() -> new AssertionError(plan));
+        assertThat(filters).as(plan).anyMatch(condition::contains);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.gen.example.officelibrary.library.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.library.application.BatchOperationService;
+import com.gen.example.officelibrary.library.domain.*;
+import com.gen.example.officelibrary.shared.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest({BatchOperationController.class, GlobalExceptionHandler.class})
+class BatchOperationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BatchOperationService batchOperationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void apply_ShouldReturnResults_WhenCommitted() throws Exception {
+        // Given
+        UUID bookId = UUID.randomUUID();
+        UUID recordId = UUID.randomUUID();
+        BatchRequest request = new BatchRequest(BatchMode.BEST_EFFORT,
+                List.of(BatchOperationRequest.borrow(bookId, "Jane", "jane@example.com")));
+        BatchResultDTO result = new BatchResultDTO(BatchMode.BEST_EFFORT, true, 1, 0,
+                List.of(new BatchOperationResultDTO(0, BatchOperationType.BORROW, true, null, bookId, recordId)));
+        when(batchOperationService.apply(any(BatchRequest.class))).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(true))
+                .andExpect(jsonPath("$.results[0].borrowingRecordId").value(recordId.toString()));
+    }
+
+    @Test
+    void apply_ShouldReturnBadRequest_WhenRolledBack() throws Exception {
+        // Given
+        BatchRequest request = new BatchRequest(BatchMode.ALL_OR_NOTHING,
+                List.of(BatchOperationRequest.returnRecord(UUID.randomUUID())));
+        BatchResultDTO result = new BatchResultDTO(BatchMode.ALL_OR_NOTHING, false, 0, 1,
+                List.of(new BatchOperationResultDTO(0, BatchOperationType.RETURN, false, "Not found", null, null)));
+        when(batchOperationService.apply(any(BatchRequest.class))).thenReturn(result);
+
+        // When & Then
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.results[0].message").value("Not found"));
+    }
+
+    @Test
+    void apply_ShouldReturnBadRequest_WhenBatchIsEmpty() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":[]}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(batchOperationService);
+    }
+}
\ No newline at end of file
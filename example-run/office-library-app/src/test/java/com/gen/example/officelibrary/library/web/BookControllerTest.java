@@ -5,9 +5,15 @@ import com.gen.example.officelibrary.library.application.BookService;
 import com.gen.example.officelibrary.library.domain.*;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
 import com.gen.example.officelibrary.shared.exception.GlobalExceptionHandler;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import com.gen.example.officelibrary.shared.persistence.TableVersions;
+import com.gen.example.officelibrary.shared.web.PagedResponses;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,11 +25,13 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest({BookController.class, GlobalExceptionHandler.class})
+@Import(TableVersions.class)
 class BookControllerTest {
 
     @Autowired
@@ -112,7 +120,7 @@ class BookControllerTest {
         book2.setStatus(BookStatus.BORROWED);
 
         List<BookDTO> books = Arrays.asList(book1, book2);
-        when(bookService.findAll()).thenReturn(books);
+        when(bookService.findAll(any(CursorRequest.class))).thenReturn(new CursorPage<>(books, null));
 
         // When & Then
         mockMvc.perform(get("/api/books"))
@@ -121,7 +129,7 @@ class BookControllerTest {
                 .andExpect(jsonPath("$[0].title").value("Book 1"))
                 .andExpect(jsonPath("$[1].title").value("Book 2"));
 
-        verify(bookService).findAll();
+        verify(bookService).findAll(any(CursorRequest.class));
     }
 
     @Test
@@ -139,7 +147,7 @@ class BookControllerTest {
         book1.setAuthorId(authorId);
 
         List<BookDTO> books = Arrays.asList(book1);
-        when(bookService.findBooksWithFilters(status, genre, authorId)).thenReturn(books);
+        when(bookService.findBooksWithFilters(eq(status), eq(genre), eq(authorId), any(CursorRequest.class))).thenReturn(new CursorPage<>(books, null));
 
         // When & Then
         mockMvc.perform(get("/api/books")
@@ -152,8 +160,8 @@ class BookControllerTest {
                 .andExpect(jsonPath("$[0].status").value("AVAILABLE"))
                 .andExpect(jsonPath("$[0].genre").value("Fiction"));
 
-        verify(bookService).findBooksWithFilters(status, genre, authorId);
-        verify(bookService, never()).findAll();
+        verify(bookService).findBooksWithFilters(eq(status), eq(genre), eq(authorId), any(CursorRequest.class));
+        verify(bookService, never()).findAll(any(CursorRequest.class));
     }
 
     @Test
@@ -213,7 +221,7 @@ class BookControllerTest {
         expectedDto.setGenre("Non-Fiction");
         expectedDto.setLocation("B2-C3");
 
-        when(bookService.update(eq(bookId), any(UpdateBookRequest.class))).thenReturn(expectedDto);
+        when(bookService.update(eq(bookId), any(UpdateBookRequest.class), isNull())).thenReturn(expectedDto);
 
         // When & Then
         mockMvc.perform(put("/api/books/{id}", bookId)
@@ -228,7 +236,7 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.genre").value("Non-Fiction"))
                 .andExpect(jsonPath("$.location").value("B2-C3"));
 
-        verify(bookService).update(eq(bookId), any(UpdateBookRequest.class));
+        verify(bookService).update(eq(bookId), any(UpdateBookRequest.class), isNull());
     }
 
     @Test
@@ -241,7 +249,7 @@ class BookControllerTest {
         request.setTitle("Updated Book");
         request.setAuthorId(authorId);
 
-        when(bookService.update(eq(bookId), any(UpdateBookRequest.class)))
+        when(bookService.update(eq(bookId), any(UpdateBookRequest.class), isNull()))
                 .thenThrow(new BookNotFoundException(bookId));
 
         // When & Then
@@ -250,7 +258,7 @@ class BookControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isNotFound());
 
-        verify(bookService).update(eq(bookId), any(UpdateBookRequest.class));
+        verify(bookService).update(eq(bookId), any(UpdateBookRequest.class), isNull());
     }
 
     @Test
@@ -302,7 +310,7 @@ class BookControllerTest {
         book1.setTitle("Java Programming");
 
         List<BookDTO> books = Arrays.asList(book1);
-        when(bookService.searchBooks(searchQuery)).thenReturn(books);
+        when(bookService.searchBooks(eq(searchQuery), any(CursorRequest.class))).thenReturn(new CursorPage<>(books, null));
 
         // When & Then
         mockMvc.perform(get("/api/books/search?query={query}", searchQuery))
@@ -310,7 +318,7 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].title").value("Java Programming"));
 
-        verify(bookService).searchBooks(searchQuery);
+        verify(bookService).searchBooks(eq(searchQuery), any(CursorRequest.class));
     }
 
     @Test
@@ -322,7 +330,7 @@ class BookControllerTest {
         book1.setStatus(BookStatus.AVAILABLE);
 
         List<BookDTO> books = Arrays.asList(book1);
-        when(bookService.findAvailableBooks()).thenReturn(books);
+        when(bookService.findAvailableBooks(any(CursorRequest.class))).thenReturn(new CursorPage<>(books, null));
 
         // When & Then
         mockMvc.perform(get("/api/books/available"))
@@ -331,7 +339,7 @@ class BookControllerTest {
                 .andExpect(jsonPath("$[0].title").value("Available Book"))
                 .andExpect(jsonPath("$[0].status").value("AVAILABLE"));
 
-        verify(bookService).findAvailableBooks();
+        verify(bookService).findAvailableBooks(any(CursorRequest.class));
     }
 
     @Test
@@ -381,4 +389,71 @@ class BookControllerTest {
 
         verify(bookService, never()).create(any(CreateBookRequest.class));
     }
+
+    @Test
+    void findAll_ShouldExposeNextCursorHeader_WhenMorePagesExist() throws Exception {
+        // Given
+        BookDTO book1 = new BookDTO();
+        book1.setId(UUID.randomUUID());
+        book1.setTitle("Book 1");
+
+        String nextCursor = PageCursor.of(LocalDate.now(), book1.getId()).encode();
+        when(bookService.findAll(any(CursorRequest.class))).thenReturn(new CursorPage<>(List.of(book1), nextCursor));
+
+        // When & Then
+        mockMvc.perform(get("/api/books").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PagedResponses.NEXT_CURSOR_HEADER, nextCursor))
+                .andExpect(jsonPath("$.length()").value(1));
+
+        verify(bookService).findAll(argThat(page -> page.getLimit() == 1 && page.getAfter() == null));
+    }
+
+    @Test
+    void findAll_ShouldCapLimitAndDecodeCursor() throws Exception {
+        // Given
+        PageCursor after = PageCursor.of(LocalDate.of(2024, 1, 1), UUID.randomUUID());
+        when(bookService.findAll(any(CursorRequest.class))).thenReturn(new CursorPage<>(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/books")
+                .param("after", after.encode())
+                .param("limit", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PagedResponses.NEXT_CURSOR_HEADER));
+
+        verify(bookService).findAll(argThat(page ->
+                page.getLimit() == CursorRequest.MAX_LIMIT && after.equals(page.getAfter())));
+    }
+
+    @Test
+    void findAll_ShouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/books").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookService, never()).findAll(any(CursorRequest.class));
+    }
+
+    @Test
+    void suggest_ShouldReturnCompletions() throws Exception {
+        // Given
+        List<BookSuggestionDTO> suggestions = List.of(
+                new BookSuggestionDTO("The Hobbit", SuggestionType.TITLE, 12),
+                new BookSuggestionDTO("Thomas Hardy", SuggestionType.AUTHOR, 4));
+        when(bookService.suggest("th", 5)).thenReturn(suggestions);
+
+        // When & Then
+        mockMvc.perform(get("/api/books/suggest")
+                .param("prefix", "th")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].text").value("The Hobbit"))
+                .andExpect(jsonPath("$[0].type").value("TITLE"))
+                .andExpect(jsonPath("$[0].borrowCount").value(12))
+                .andExpect(jsonPath("$[1].type").value("AUTHOR"));
+
+        verify(bookService).suggest("th", 5);
+    }
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import com.gen.example.officelibrary.library.application.BorrowingService;
 import com.gen.example.officelibrary.library.domain.*;
 import com.gen.example.officelibrary.shared.exception.BusinessRuleException;
 import com.gen.example.officelibrary.shared.exception.GlobalExceptionHandler;
+import com.gen.example.officelibrary.shared.pagination.CursorPage;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -178,7 +180,7 @@ class BorrowingControllerTest {
         record2.setStatus(BorrowingStatus.RETURNED);
 
         List<BorrowingRecordDTO> records = Arrays.asList(record1, record2);
-        when(borrowingService.findAll()).thenReturn(records);
+        when(borrowingService.findAll(any(CursorRequest.class))).thenReturn(new CursorPage<>(records, null));
 
         // When & Then
         mockMvc.perform(get("/api/borrowing-records"))
@@ -187,7 +189,7 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$[0].borrowerName").value("John Doe"))
                 .andExpect(jsonPath("$[1].borrowerName").value("Jane Smith"));
 
-        verify(borrowingService).findAll();
+        verify(borrowingService).findAll(any(CursorRequest.class));
     }
 
     @Test
@@ -205,7 +207,7 @@ class BorrowingControllerTest {
         record1.setStatus(BorrowingStatus.ACTIVE);
 
         List<BorrowingRecordDTO> records = Arrays.asList(record1);
-        when(borrowingService.findRecordsWithFilters(status, borrowerEmail, fromDate, toDate)).thenReturn(records);
+        when(borrowingService.findRecordsWithFilters(eq(status), eq(borrowerEmail), eq(fromDate), eq(toDate), any(CursorRequest.class))).thenReturn(new CursorPage<>(records, null));
 
         // When & Then
         mockMvc.perform(get("/api/borrowing-records")
@@ -218,8 +220,8 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$[0].borrowerEmail").value("john.doe@example.com"))
                 .andExpect(jsonPath("$[0].status").value("ACTIVE"));
 
-        verify(borrowingService).findRecordsWithFilters(status, borrowerEmail, fromDate, toDate);
-        verify(borrowingService, never()).findAll();
+        verify(borrowingService).findRecordsWithFilters(eq(status), eq(borrowerEmail), eq(fromDate), eq(toDate), any(CursorRequest.class));
+        verify(borrowingService, never()).findAll(any(CursorRequest.class));
     }
 
     @Test
@@ -266,7 +268,7 @@ class BorrowingControllerTest {
         overdueRecord.setDueDate(LocalDate.now().minusDays(5));
 
         List<BorrowingRecordDTO> records = Arrays.asList(overdueRecord);
-        when(borrowingService.findOverdueRecords()).thenReturn(records);
+        when(borrowingService.findOverdueRecords(any(CursorRequest.class))).thenReturn(new CursorPage<>(records, null));
 
         // When & Then
         mockMvc.perform(get("/api/borrowing-records/overdue"))
@@ -274,7 +276,7 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].status").value("OVERDUE"));
 
-        verify(borrowingService).findOverdueRecords();
+        verify(borrowingService).findOverdueRecords(any(CursorRequest.class));
     }
 
     @Test
@@ -288,7 +290,7 @@ class BorrowingControllerTest {
         record1.setStatus(BorrowingStatus.ACTIVE);
 
         List<BorrowingRecordDTO> records = Arrays.asList(record1);
-        when(borrowingService.findByBorrowerEmail(email)).thenReturn(records);
+        when(borrowingService.findByBorrowerEmail(eq(email), any(CursorRequest.class))).thenReturn(new CursorPage<>(records, null));
 
         // When & Then
         mockMvc.perform(get("/api/borrowing-records/by-borrower?email={email}", email))
@@ -296,7 +298,7 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].borrowerEmail").value(email));
 
-        verify(borrowingService).findByBorrowerEmail(email);
+        verify(borrowingService).findByBorrowerEmail(eq(email), any(CursorRequest.class));
     }
 
     @Test
@@ -316,7 +318,7 @@ class BorrowingControllerTest {
         record2.setStatus(BorrowingStatus.ACTIVE);
 
         List<BorrowingRecordDTO> records = Arrays.asList(record1, record2);
-        when(borrowingService.findBorrowingHistoryByBookId(bookId)).thenReturn(records);
+        when(borrowingService.findBorrowingHistoryByBookId(eq(bookId), any(CursorRequest.class))).thenReturn(new CursorPage<>(records, null));
 
         // When & Then
         mockMvc.perform(get("/api/books/{bookId}/borrowing-history", bookId))
@@ -325,7 +327,23 @@ class BorrowingControllerTest {
                 .andExpect(jsonPath("$[0].bookId").value(bookId.toString()))
                 .andExpect(jsonPath("$[1].bookId").value(bookId.toString()));
 
-        verify(borrowingService).findBorrowingHistoryByBookId(bookId);
+        verify(borrowingService).findBorrowingHistoryByBookId(eq(bookId), any(CursorRequest.class));
+    }
+
+    @Test
+    void findActiveLoans_ShouldReturnBorrowerActiveCount() throws Exception {
+        // Given
+        when(borrowingService.findActiveLoans("jane@example.com"))
+                .thenReturn(new BorrowerLoansDTO("jane@example.com", 2, 3));
+
+        // When & Then
+        mockMvc.perform(get("/api/borrowers/{email}/active-count", "jane@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.borrowerEmail").value("jane@example.com"))
+                .andExpect(jsonPath("$.activeCount").value(2))
+                .andExpect(jsonPath("$.maxActiveLoans").value(3));
+
+        verify(borrowingService).findActiveLoans("jane@example.com");
     }
 
     @Test
@@ -0,0 +1,167 @@
+package com.gen.example.officelibrary.library.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowBookRequest;
+import com.gen.example.officelibrary.library.domain.UpdateBookRequest;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private Statistics statistics;
+    private Author author;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        author = authorRepository.save(new Author("Tagged", "Writer"));
+        book = bookRepository.save(new Book("978-4000000001", "Tagged Book", author, BookStatus.AVAILABLE,
+            LocalDate.now()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listBooks_ShouldAnswerNotModifiedWithoutQuery_WhenNothingChanged() throws Exception {
+        // Given
+        String etag = etagOf("/api/books");
+        statistics.clear();
+
+        // When & Then
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void listBooks_ShouldChangeTag_WhenBookIsBorrowedOrAuthorRenamed() throws Exception {
+        // Given
+        String initial = etagOf("/api/books");
+
+        // When
+        mockMvc.perform(post("/api/books/{id}/borrow", book.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BorrowBookRequest("Reader", "reader@example.com", null))))
+            .andExpect(status().isCreated());
+        String afterBorrow = etagOf("/api/books");
+        author.setLastName("Renamed");
+        authorRepository.save(author);
+
+        // Then
+        assertThat(afterBorrow).isNotEqualTo(initial);
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, afterBorrow))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void listAuthors_ShouldAnswerNotModified_WhenOnlyBooksChanged() throws Exception {
+        // Given
+        String etag = etagOf("/api/authors");
+        bookRepository.save(new Book("978-4000000002", "Another Book", author, BookStatus.AVAILABLE,
+            LocalDate.now()));
+
+        // When & Then
+        mockMvc.perform(get("/api/authors").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getBook_ShouldAnswerNotModified_WhenTagMatches() throws Exception {
+        // Given
+        String etag = etagOf("/api/books/" + book.getId());
+
+        // When & Then
+        mockMvc.perform(get("/api/books/{id}", book.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateBook_ShouldRejectStaleIfMatch_AndAcceptCurrentOne() throws Exception {
+        // Given
+        String etag = etagOf("/api/books/" + book.getId());
+        UpdateBookRequest request = new UpdateBookRequest("978-4000000001", "Retitled", author.getId(), null, null,
+            null, null);
+        mockMvc.perform(put("/api/books/{id}", book.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk());
+
+        // When & Then
+        request.setTitle("Lost Update");
+        mockMvc.perform(put("/api/books/{id}", book.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isPreconditionFailed());
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getTitle()).isEqualTo("Retitled");
+    }
+
+    private String etagOf(String path) throws Exception {
+        String etag = mockMvc.perform(get(path))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.gen.example.officelibrary.library.web;
+
+import com.gen.example.officelibrary.author.application.AuthorNameIndex;
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.application.ActiveLoanCounters;
+import com.gen.example.officelibrary.library.application.BookSearchIndex;
+import com.gen.example.officelibrary.library.application.BookSuggestionIndex;
+import com.gen.example.officelibrary.library.application.DueDateIndex;
+import com.gen.example.officelibrary.library.application.KnownIsbns;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.persistence.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Holds every endpoint to the number of statements it may run against a library where each listed
+ * book has its own author and loan, so a lazy association read per row blows the budget. Raise a
+ * budget only together with the change that needs the extra statement.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@Import(StatementCounter.class)
+@ActiveProfiles("test")
+class EndpointStatementBudgetTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private BookSuggestionIndex bookSuggestionIndex;
+
+    @Autowired
+    private AuthorNameIndex authorNameIndex;
+
+    @Autowired
+    private DueDateIndex dueDateIndex;
+
+    @Autowired
+    private ActiveLoanCounters activeLoanCounters;
+
+    @Autowired
+    private KnownIsbns knownIsbns;
+
+    private Library library;
+
+    @BeforeEach
+    void setUp() {
+        Author prolificAuthor = authorRepository.save(new Author("Prolific", "Writer"));
+        Author idleAuthor = authorRepository.save(new Author("Idle", "Writer"));
+        Book popularBook = bookRepository.save(new Book("978-0000000000", "Popular Book", prolificAuthor,
+                BookStatus.AVAILABLE, LocalDate.now()));
+        Book shelvedBook = bookRepository.save(new Book("978-0000000001", "Shelved Book", prolificAuthor,
+                BookStatus.AVAILABLE, LocalDate.now()));
+        BorrowingRecord activeLoan = null;
+        for (int i = 0; i < ROWS; i++) {
+            Author author = authorRepository.save(new Author("Author" + i, "Listed", null, null, "British",
+                    "author" + i + "@example.com"));
+            Book book = bookRepository.save(new Book("978-1" + String.format("%012d", i), "Listed Book " + i,
+                    author, null, 2020, "Fiction", BookStatus.BORROWED, LocalDate.now(), null));
+            bookRepository.save(new Book("978-2" + String.format("%012d", i), "Listed Prolific " + i,
+                    prolificAuthor, null, 2020, "Fiction", BookStatus.AVAILABLE, LocalDate.now(), null));
+            activeLoan = borrowingRecordRepository.save(new BorrowingRecord("Reader " + i, "reader@example.com",
+                    LocalDate.now().minusDays(30L + i), LocalDate.now().minusDays(16L + i),
+                    BorrowingStatus.ACTIVE, book));
+            borrowingRecordRepository.save(new BorrowingRecord("Past Reader " + i, "past@example.com",
+                    LocalDate.now().minusDays(90L + i), LocalDate.now().minusDays(76L + i),
+                    BorrowingStatus.RETURNED, popularBook));
+        }
+        library = new Library(prolificAuthor.getId(), idleAuthor.getId(), popularBook.getId(), shelvedBook.getId(),
+                activeLoan.getId());
+        // Seeded straight through the repositories, so the in-memory indexes and counters have to catch up
+        bookSearchIndex.rebuild();
+        bookSuggestionIndex.rebuild();
+        authorNameIndex.rebuild();
+        dueDateIndex.rebuild();
+        activeLoanCounters.rebuild();
+        knownIsbns.add(popularBook.getIsbn());
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    static Stream<Arguments> budgets() {
+        return Stream.of(
+                budget("GET /api/books", 1, library -> get("/api/books")),
+                budget("GET /api/books?genre", 1, library -> get("/api/books").param("genre", "Fiction")),
+                budget("GET /api/books/stream", 1, library -> get("/api/books/stream")),
+                budget("GET /api/books/{id}", 1, library -> get("/api/books/{id}", library.popularBook())),
+                budget("GET /api/books/isbn/{isbn}", 1, library -> get("/api/books/isbn/{isbn}", "978-0000000000")),
+                budget("GET /api/books/search", 1, library -> get("/api/books/search").param("query", "Listed")),
+                budget("GET /api/books/suggest", 0, library -> get("/api/books/suggest").param("prefix", "List")),
+                budget("GET /api/books/available", 1, library -> get("/api/books/available")),
+                budget("POST /api/books", 2, library -> post("/api/books").contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson("978-3000000000", library.prolificAuthor()))),
+                budget("PUT /api/books/{id}", 3, library -> put("/api/books/{id}", library.shelvedBook())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson("978-0000000001", library.prolificAuthor()))),
+                budget("DELETE /api/books/{id}", 4, library -> delete("/api/books/{id}", library.shelvedBook())),
+                budget("POST /api/books/{id}/borrow", 3, library -> post("/api/books/{id}/borrow", library.shelvedBook())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"borrowerName\": \"New Reader\", \"borrowerEmail\": \"new@example.com\"}")),
+                budget("PUT /api/borrowing-records/{id}/return", 5,
+                        library -> put("/api/borrowing-records/{id}/return", library.activeLoan())),
+                budget("GET /api/borrowers/{email}/active-count", 0,
+                        library -> get("/api/borrowers/{email}/active-count", "reader@example.com")),
+                budget("GET /api/borrowing-records", 1, library -> get("/api/borrowing-records")),
+                budget("GET /api/borrowing-records?status", 1,
+                        library -> get("/api/borrowing-records").param("status", "ACTIVE")),
+                budget("GET /api/borrowing-records/stream", 1, library -> get("/api/borrowing-records/stream")),
+                budget("GET /api/borrowing-records/{id}", 3,
+                        library -> get("/api/borrowing-records/{id}", library.activeLoan())),
+                budget("GET /api/borrowing-records/overdue", 1, library -> get("/api/borrowing-records/overdue")),
+                budget("GET /api/borrowing-records/by-borrower", 1,
+                        library -> get("/api/borrowing-records/by-borrower").param("email", "reader@example.com")),
+                budget("GET /api/books/{id}/borrowing-history", 1,
+                        library -> get("/api/books/{id}/borrowing-history", library.popularBook())),
+                budget("POST /api/batch", 5, library -> post("/api/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": ["
+                                + "{\"type\": \"BORROW\", \"bookId\": \"" + library.shelvedBook() + "\", "
+                                + "\"borrowerName\": \"Batch Reader\", \"borrowerEmail\": \"batch@example.com\"}, "
+                                + "{\"type\": \"RETURN\", \"borrowingRecordId\": \"" + library.activeLoan() + "\"}, "
+                                + "{\"type\": \"RELOCATE\", \"bookId\": \"" + library.popularBook() + "\", "
+                                + "\"location\": \"Shelf 9\"}]}")),
+                budget("POST /api/imports/books", 4, library -> post("/api/imports/books").contentType("text/csv")
+                        .content("isbn,title,genre,authorEmail,authorFirstName,authorLastName\n"
+                                + "978-4000000000,Imported One,Fiction,imported@example.com,Imported,Author\n"
+                                + "978-4000000001,Imported Two,Fiction,imported@example.com,Imported,Author\n")),
+                budget("GET /api/authors", 1, library -> get("/api/authors")),
+                budget("GET /api/authors?nationality", 1, library -> get("/api/authors").param("nationality", "British")),
+                budget("GET /api/authors/{id}", 1, library -> get("/api/authors/{id}", library.prolificAuthor())),
+                budget("GET /api/authors/search", 1, library -> get("/api/authors/search").param("query", "Listed")),
+                budget("GET /api/authors/{id}/books", 1, library -> get("/api/authors/{id}/books", library.prolificAuthor())),
+                budget("POST /api/authors", 1, library -> post("/api/authors").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"New\", \"lastName\": \"Writer\", \"email\": \"new@example.com\"}")),
+                budget("PUT /api/authors/{id}", 2, library -> put("/api/authors/{id}", library.idleAuthor())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Busy\", \"lastName\": \"Writer\"}")),
+                budget("DELETE /api/authors/{id}", 3, library -> delete("/api/authors/{id}", library.idleAuthor())));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    void endpoint_ShouldStayWithinStatementBudget_WhenEveryRowHasItsOwnAssociations(
+            String endpoint, int budget, Function<Library, MockHttpServletRequestBuilder> request) throws Exception {
+        // When
+        StatementCounter.Counts counts = statementCounter.count(() -> perform(request.apply(library)));
+
+        // Then
+        counts.assertWithinBudget(endpoint, budget);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            // Streamed responses write their rows once the request is dispatched again
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        status().is2xxSuccessful().match(result);
+    }
+
+    private static Arguments budget(String endpoint, int statements,
+                                    Function<Library, MockHttpServletRequestBuilder> request) {
+        return Arguments.of(endpoint, statements, request);
+    }
+
+    private static String bookJson(String isbn, UUID authorId) {
+        return "{\"isbn\": \"" + isbn + "\", \"title\": \"Budgeted Book\", \"authorId\": \"" + authorId + "\"}";
+    }
+
+    record Library(UUID prolificAuthor, UUID idleAuthor, UUID popularBook, UUID shelvedBook, UUID activeLoan) {
+    }
+}
\ No newline at end of file
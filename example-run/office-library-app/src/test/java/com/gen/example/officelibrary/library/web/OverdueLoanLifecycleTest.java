@@ -0,0 +1,160 @@
+package com.gen.example.officelibrary.library.web;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.application.ActiveLoanCounters;
+import com.gen.example.officelibrary.library.application.DueDateIndex;
+import com.gen.example.officelibrary.library.application.OverdueSweepJob;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A loan the nightly sweep has flagged OVERDUE is still out: it stays on the overdue list, keeps
+ * its borrower's loan slot, blocks deleting its book and can be returned, singly or in a batch,
+ * until the book comes back.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OverdueLoanLifecycleTest {
+
+    private static final String READER = "reader@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private DueDateIndex dueDateIndex;
+
+    @Autowired
+    private ActiveLoanCounters activeLoanCounters;
+
+    @Autowired
+    private OverdueSweepJob overdueSweepJob;
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        dueDateIndex.rebuild();
+        activeLoanCounters.rebuild();
+    }
+
+    @Test
+    void overdueLoan_ShouldStayListedAndCounted_UntilReturned() throws Exception {
+        // Given
+        Author author = authorRepository.save(new Author("Jane", "Austen"));
+        BorrowingRecord late = loan(author, "978-0000000001", READER, 10);
+        BorrowingRecord current = loan(author, "978-0000000002", READER, -7);
+        loan(author, "978-0000000003", READER, -3);
+        BorrowingRecord otherLate = loan(author, "978-0000000004", "other@example.com", 2);
+        Book shelved = bookRepository.save(new Book("978-0000000005", "Shelved", author, BookStatus.AVAILABLE,
+                LocalDate.now()));
+        dueDateIndex.rebuild();
+        activeLoanCounters.rebuild();
+
+        // When
+        long marked = overdueSweepJob.sweep(LocalDate.now());
+
+        // Then
+        assertEquals(2, marked);
+        assertTrue(dueDateIndex.unswept(LocalDate.now()).isEmpty());
+        mockMvc.perform(get("/api/borrowing-records/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", containsInAnyOrder(late.getId().toString(),
+                        otherLate.getId().toString())))
+                .andExpect(jsonPath("$[*].status", everyItem(is("OVERDUE"))));
+        mockMvc.perform(get("/api/borrowers/{email}/active-count", READER))
+                .andExpect(jsonPath("$.activeCount").value(3));
+        mockMvc.perform(post("/api/books/{bookId}/borrow", shelved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"borrowerName\": \"Reader\", \"borrowerEmail\": \"" + READER + "\"}"))
+                .andExpect(status().isBadRequest());
+
+        // When
+        mockMvc.perform(put("/api/borrowing-records/{id}/return", late.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RETURNED"));
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": [{\"type\": \"RETURN\", \"borrowingRecordId\": \""
+                                + otherLate.getId() + "\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(true));
+
+        // Then
+        mockMvc.perform(get("/api/borrowing-records/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/books/{id}", late.getBook().getId()))
+                .andExpect(jsonPath("$.status").value("AVAILABLE"));
+        mockMvc.perform(get("/api/books/{id}", otherLate.getBook().getId()))
+                .andExpect(jsonPath("$.status").value("AVAILABLE"));
+        mockMvc.perform(get("/api/borrowers/{email}/active-count", READER))
+                .andExpect(jsonPath("$.activeCount").value(2));
+        assertEquals(BorrowingStatus.ACTIVE,
+                borrowingRecordRepository.findById(current.getId()).orElseThrow().getStatus());
+        assertEquals(0, overdueSweepJob.sweep(LocalDate.now()));
+    }
+
+    @Test
+    void deleteBook_ShouldBeRejected_WhenItsLoanWasMarkedOverdue() throws Exception {
+        // Given
+        Author author = authorRepository.save(new Author("Jane", "Austen"));
+        BorrowingRecord late = loan(author, "978-0000000006", READER, 5);
+        dueDateIndex.rebuild();
+        activeLoanCounters.rebuild();
+        assertEquals(1, overdueSweepJob.sweep(LocalDate.now()));
+
+        // When & Then
+        mockMvc.perform(delete("/api/books/{id}", late.getBook().getId()))
+                .andExpect(status().isBadRequest());
+        assertEquals(BorrowingStatus.OVERDUE,
+                borrowingRecordRepository.findById(late.getId()).orElseThrow().getStatus());
+        mockMvc.perform(get("/api/borrowers/{email}/active-count", READER))
+                .andExpect(jsonPath("$.activeCount").value(1));
+    }
+
+    private BorrowingRecord loan(Author author, String isbn, String borrowerEmail, int daysOverdue) {
+        Book book = bookRepository.save(new Book(isbn, "Book " + isbn, author, BookStatus.BORROWED, LocalDate.now()));
+        LocalDate dueDate = LocalDate.now().minusDays(daysOverdue);
+        return borrowingRecordRepository.save(new BorrowingRecord("Reader", borrowerEmail, dueDate.minusDays(14),
+                dueDate, BorrowingStatus.ACTIVE, book));
+    }
+}
\ No newline at end of file
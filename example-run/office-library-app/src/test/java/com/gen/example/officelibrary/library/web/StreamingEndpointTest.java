@@ -0,0 +1,148 @@
+package com.gen.example.officelibrary.library.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingRecord;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.persistence.StreamingQueries;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StreamingEndpointTest {
+
+    // More than one fetch, so the persistence context is cleared on the way
+    private static final int BOOKS = StreamingQueries.FETCH_SIZE + 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Author author = authorRepository.save(new Author("Streamed", "Writer"));
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new Book("978-3" + String.format("%012d", i), "Streamed Book " + i, author, null, 2020,
+                i % 2 == 0 ? "Fiction" : "History", BookStatus.AVAILABLE, LocalDate.now().minusDays(i), null));
+        }
+        books = bookRepository.saveAll(books);
+        borrowingRecordRepository.save(new BorrowingRecord("Reader", "reader@example.com",
+            LocalDate.now().minusDays(3), LocalDate.now().plusDays(11), BorrowingStatus.ACTIVE, books.get(0)));
+        borrowingRecordRepository.save(new BorrowingRecord("Past Reader", "past@example.com",
+            LocalDate.now().minusDays(40), LocalDate.now().minusDays(26), BorrowingStatus.RETURNED, books.get(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowingRecordRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void streamBooks_ShouldWriteJsonArrayWithOneQuery_WhenAcceptIsJson() throws Exception {
+        // Given
+        statistics.clear();
+
+        // When
+        MvcResult result = perform(get("/api/books/stream").accept(MediaType.APPLICATION_JSON));
+
+        // Then
+        JsonNode books = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(books.isArray()).isTrue();
+        assertThat(books).hasSize(BOOKS);
+        assertThat(books.get(0).get("title").asText()).isEqualTo("Streamed Book " + (BOOKS - 1));
+        assertThat(books.get(0).get("author").get("lastName").asText()).isEqualTo("Writer");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamBooks_ShouldWriteOneObjectPerLine_WhenAcceptIsNdjson() throws Exception {
+        // When
+        MvcResult result = perform(get("/api/books/stream")
+            .param("genre", "history")
+            .accept(MediaType.APPLICATION_NDJSON));
+
+        // Then
+        assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(BOOKS / 2);
+        for (String line : lines) {
+            assertThat(objectMapper.readTree(line).get("genre").asText()).isEqualTo("History");
+        }
+    }
+
+    @Test
+    void streamBorrowingRecords_ShouldApplyFilters() throws Exception {
+        // When
+        MvcResult result = perform(get("/api/borrowing-records/stream")
+            .param("status", "ACTIVE")
+            .accept(MediaType.APPLICATION_JSON));
+
+        // Then
+        JsonNode records = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).get("borrowerEmail").asText()).isEqualTo("reader@example.com");
+        assertThat(records.get(0).get("book").get("title").asText()).isEqualTo("Streamed Book 0");
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+    }
+}
\ No newline at end of file
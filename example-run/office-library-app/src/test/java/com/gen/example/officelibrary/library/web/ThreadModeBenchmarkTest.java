@@ -0,0 +1,245 @@
+package com.gen.example.officelibrary.library.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gen.example.officelibrary.OfficeLibraryAppApplication;
+import com.gen.example.officelibrary.author.application.AuthorService;
+import com.gen.example.officelibrary.author.domain.CreateAuthorRequest;
+import com.gen.example.officelibrary.library.application.BookService;
+import com.gen.example.officelibrary.library.domain.BorrowBookRequest;
+import com.gen.example.officelibrary.library.domain.CreateBookRequest;
+import com.gen.example.officelibrary.shared.diagnostics.VirtualThreadDiagnostics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Platform against virtual threads on the search and borrow endpoints, with more concurrent
+ * clients than Tomcat has platform threads. Each mode gets its own application on a random port,
+ * and every JDBC statement is delayed to stand in for a database slower than in-memory H2, so a
+ * platform-thread request holds its thread for every round trip. The connection pool is larger
+ * than the Tomcat pool, which leaves the request threads as the bottleneck in platform mode. Runs
+ * with {@code ./gradlew benchmarkTest}; scale with {@code -Pbenchmark.threads.clients},
+ * {@code .requests}, {@code .tomcat-threads}, {@code .pool-size} and {@code .statement-latency-ms}.
+ */
+@Tag("benchmark")
+class ThreadModeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeBenchmarkTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.threads.clients", 32);
+    private static final int REQUESTS = Integer.getInteger("benchmark.threads.requests", 256);
+    private static final int TOMCAT_THREADS = Integer.getInteger("benchmark.threads.tomcat-threads", 8);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.threads.pool-size", 16);
+    private static final long STATEMENT_LATENCY_MS = Long.getLong("benchmark.threads.statement-latency-ms", 2);
+
+    private static final String[] TOPICS = {"systems", "patterns", "databases", "networks"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void searchAndBorrow_ShouldServeEveryRequest_OnPlatformAndVirtualThreads() throws Exception {
+        // When
+        ModeResult platform = run(false);
+        ModeResult virtual = run(true);
+
+        // Then
+        for (ModeResult result : List.of(platform, virtual)) {
+            log.info("{} threads, {} clients, {} Tomcat threads, {} connections, {} ms per statement: "
+                            + "search {}, borrow+return {}, {} pinned virtual threads", result.mode(), CLIENTS,
+                    TOMCAT_THREADS, POOL_SIZE, STATEMENT_LATENCY_MS, result.search(), result.borrow(), result.pinned());
+            assertEquals(0, result.search().failures(), () -> result.mode() + " search failures");
+            assertEquals(0, result.borrow().failures(), () -> result.mode() + " borrow failures");
+        }
+        log.info("Virtual over platform threads: search {}x, borrow+return {}x",
+                String.format("%.2f", virtual.search().throughput() / platform.search().throughput()),
+                String.format("%.2f", virtual.borrow().throughput() / platform.borrow().throughput()));
+    }
+
+    private ModeResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OfficeLibraryAppApplication.class)
+                .profiles("test")
+                .initializers(app -> app.getBeanFactory()
+                        .addBeanPostProcessor(new SlowStatements(STATEMENT_LATENCY_MS)))
+                // Arguments rather than default properties, which application.properties would override
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:thread-mode-" + mode,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.jpa.show-sql=false")) {
+            VirtualThreadDiagnostics diagnostics = context.getBeanProvider(VirtualThreadDiagnostics.class)
+                    .getIfAvailable();
+            if (virtualThreads) {
+                assertNotNull(diagnostics, "Pinning diagnostics are not active in virtual-thread mode");
+            } else {
+                assertNull(diagnostics, "Pinning diagnostics are active in platform-thread mode");
+            }
+
+            List<UUID> books = seed(context);
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            Phase search = measure(client -> get(base.resolve("/api/books/search?query="
+                    + TOPICS[client % TOPICS.length])));
+            Phase borrow = measure(client -> borrowAndReturn(base, books.get(client), client));
+            long pinned = context.getBean(MeterRegistry.class).find("virtual.threads.pinned").timers().stream()
+                    .mapToLong(Timer::count)
+                    .sum();
+            return new ModeResult(mode, search, borrow, pinned);
+        }
+    }
+
+    // One book per client, so borrows never conflict and every failure is a failed request
+    private List<UUID> seed(ConfigurableApplicationContext context) {
+        UUID authorId = context.getBean(AuthorService.class)
+                .create(new CreateAuthorRequest("Bench", "Writer", null, null, null, "bench@example.com"))
+                .getId();
+        BookService bookService = context.getBean(BookService.class);
+        List<UUID> books = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            String title = "Practical " + TOPICS[i % TOPICS.length] + " volume " + i;
+            books.add(bookService.create(new CreateBookRequest(String.format("978%010d", i), title, authorId,
+                    null, null, null, null)).getId());
+        }
+        return books;
+    }
+
+    private boolean get(URI uri) throws Exception {
+        return send(HttpRequest.newBuilder(uri).GET()).statusCode() == 200;
+    }
+
+    private boolean borrowAndReturn(URI base, UUID bookId, int client) throws Exception {
+        String body = objectMapper.writeValueAsString(new BorrowBookRequest("Reader " + client,
+                "reader-" + client + "@example.com", null));
+        HttpResponse<String> borrowed = send(HttpRequest.newBuilder(base.resolve("/api/books/" + bookId + "/borrow"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+        if (borrowed.statusCode() != 201) {
+            return false;
+        }
+        String recordId = objectMapper.readTree(borrowed.body()).get("id").asText();
+        return send(HttpRequest.newBuilder(base.resolve("/api/borrowing-records/" + recordId + "/return"))
+                .PUT(HttpRequest.BodyPublishers.noBody())).statusCode() == 200;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Phase measure(Operation operation) {
+        int perClient = Math.max(1, REQUESTS / CLIENTS);
+        long[] latencies = new long[perClient * CLIENTS];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        long startedAt;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perClient; i++) {
+                        long begin = System.nanoTime();
+                        boolean succeeded;
+                        try {
+                            succeeded = operation.perform(client);
+                        } catch (Exception ex) {
+                            succeeded = false;
+                        }
+                        latencies[client * perClient + i] = System.nanoTime() - begin;
+                        if (!succeeded) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        Arrays.sort(latencies);
+        return new Phase(latencies.length, failures.get(), seconds, percentile(latencies, 0.5),
+                percentile(latencies, 0.99));
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        return sortedNanos[(int) Math.ceil(quantile * sortedNanos.length) - 1] / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        boolean perform(int client) throws Exception;
+    }
+
+    private record Phase(int operations, int failures, double seconds, double p50Millis, double p99Millis) {
+
+        double throughput() {
+            return operations / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f ops/s (p50 %.1f ms, p99 %.1f ms)", throughput(), p50Millis, p99Millis);
+        }
+    }
+
+    private record ModeResult(String mode, Phase search, Phase borrow, long pinned) {
+    }
+
+    /**
+     * Delays every statement execution by a fixed latency.
+     */
+    private record SlowStatements(long latencyMillis) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource ? delaying(DataSource.class, dataSource) : bean;
+        }
+
+        private Object delaying(Class<?> type, Object target) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    Thread.sleep(latencyMillis);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                Class<?> returned = method.getReturnType();
+                boolean jdbc = returned == Connection.class || Statement.class.isAssignableFrom(returned);
+                return result != null && jdbc ? delaying(returned, result) : result;
+            });
+        }
+    }
+}
\ No newline at end of file
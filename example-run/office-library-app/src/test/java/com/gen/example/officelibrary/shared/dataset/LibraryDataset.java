@@ -0,0 +1,351 @@
+package com.gen.example.officelibrary.shared.dataset;
+
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * A synthetic library of configurable size and shape, the same for the same {@link Spec} on every
+ * run and machine. Authors get a Zipfian number of books and books a Zipfian number of loans, so
+ * a few prolific authors and popular books dominate the way they do in a real catalog. Each
+ * book's loans follow one another over the history window, and for a share of the books the
+ * latest loan is still open, overdue when it started more than two weeks ago.
+ *
+ * <p>{@link #plan} draws the shape; the rows themselves are derived from the seed when they are
+ * written or looked up, so a plan of millions of loans stays small. Ids are derived from the spec,
+ * which lets {@link #writeTo} tell whether a database already holds exactly this dataset.
+ *
+ * <p>Use it from tests through {@link SyntheticDataset}, or from the command line:
+ * {@code ./gradlew generateDataset -Pdataset.url=jdbc:h2:file:./build/dataset/library -Pdataset.loans=5000000},
+ * which migrates the schema and writes the dataset; every {@link Spec} component can be set as
+ * {@code -Pdataset.<component>}.
+ */
+public class LibraryDataset {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryDataset.class);
+
+    // The day the dataset was taken; dates are relative to it instead of to the clock
+    public static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    public static final String[] TOPICS = {"systems", "patterns", "databases", "networks", "compilers",
+            "security", "testing", "design", "algorithms", "leadership"};
+    public static final int GENRES = 20;
+    public static final int NATIONALITIES = 10;
+    public static final int PUBLISHERS = 100;
+    public static final int LOAN_DAYS = 14;
+
+    private static final double MAINTENANCE_SHARE = 0.02;
+    private static final int BATCH_SIZE = 1_000;
+
+    // Streams of the per-row random generators, so authors, books and loans draw independently
+    private static final int AUTHORS = 1;
+    private static final int BOOKS = 2;
+    private static final int LOANS = 3;
+
+    private final Spec spec;
+    private final int[] authorOfBook;
+    private final int[] loansOfBook;
+    private final BitSet onLoan;
+
+    private LibraryDataset(Spec spec, int[] authorOfBook, int[] loansOfBook, BitSet onLoan) {
+        this.spec = spec;
+        this.authorOfBook = authorOfBook;
+        this.loansOfBook = loansOfBook;
+        this.onLoan = onLoan;
+    }
+
+    /**
+     * The size and shape of a dataset. Skews are Zipf exponents: 0 spreads books over authors and
+     * loans over books evenly, 1 gives a realistic long tail, higher values concentrate them further.
+     */
+    public record Spec(long seed, int authors, int books, int loans, int borrowers,
+                       double authorSkew, double bookSkew, double onLoanShare, int historyDays) {
+
+        public static final Spec DEFAULT = new Spec(42, 1_000, 10_000, 50_000, 2_000, 1.0, 1.0, 0.25, 730);
+
+        /**
+         * This spec with every component that is set as a system property {@code <prefix>.<component>}
+         * replaced, for instance {@code dataset.books}.
+         */
+        public Spec withOverrides(String prefix) {
+            return new Spec(
+                    Long.getLong(prefix + ".seed", seed),
+                    Integer.getInteger(prefix + ".authors", authors),
+                    Integer.getInteger(prefix + ".books", books),
+                    Integer.getInteger(prefix + ".loans", loans),
+                    Integer.getInteger(prefix + ".borrowers", borrowers),
+                    doubleProperty(prefix + ".author-skew", authorSkew),
+                    doubleProperty(prefix + ".book-skew", bookSkew),
+                    doubleProperty(prefix + ".on-loan-share", onLoanShare),
+                    Integer.getInteger(prefix + ".history-days", historyDays));
+        }
+
+        private static double doubleProperty(String name, double defaultValue) {
+            String value = System.getProperty(name);
+            return value != null ? Double.parseDouble(value) : defaultValue;
+        }
+    }
+
+    public record AuthorRow(UUID id, String firstName, String lastName, String biography, LocalDate birthDate,
+                            String nationality, String email) {
+    }
+
+    public record BookRow(UUID id, String isbn, String title, String topic, String publisher, int publicationYear,
+                          String genre, BookStatus status, LocalDate dateAdded, String location, int author) {
+    }
+
+    public record LoanRow(UUID id, int borrower, LocalDate borrowDate, LocalDate dueDate, LocalDate returnDate,
+                          BorrowingStatus status) {
+    }
+
+    public static LibraryDataset plan(Spec spec) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Zipf authorPopularity = new Zipf(spec.authors(), spec.authorSkew());
+        int[] authorOfBook = new int[spec.books()];
+        for (int book = 0; book < spec.books(); book++) {
+            authorOfBook[book] = authorPopularity.sample(random);
+        }
+        Zipf bookPopularity = new Zipf(spec.books(), spec.bookSkew());
+        int[] loansOfBook = new int[spec.books()];
+        for (int loan = 0; loan < spec.loans(); loan++) {
+            loansOfBook[bookPopularity.sample(random)]++;
+        }
+        BitSet onLoan = new BitSet(spec.books());
+        for (int book = 0; book < spec.books(); book++) {
+            if (loansOfBook[book] > 0 && random.nextDouble() < spec.onLoanShare()) {
+                onLoan.set(book);
+            }
+        }
+        return new LibraryDataset(spec, authorOfBook, loansOfBook, onLoan);
+    }
+
+    public Spec spec() {
+        return spec;
+    }
+
+    public UUID authorId(int author) {
+        return id("author-" + author);
+    }
+
+    public UUID bookId(int book) {
+        return id("book-" + book);
+    }
+
+    public UUID loanId(int book, int loan) {
+        return id("loan-" + book + "-" + loan);
+    }
+
+    public String borrowerName(int borrower) {
+        return "Reader " + borrower;
+    }
+
+    // Mixed case, so lookups have to go through the lower-cased email key
+    public String borrowerEmail(int borrower) {
+        return "Reader-" + borrower + "@Example.com";
+    }
+
+    public int authorOf(int book) {
+        return authorOfBook[book];
+    }
+
+    public int loanCount(int book) {
+        return loansOfBook[book];
+    }
+
+    public boolean isOnLoan(int book) {
+        return onLoan.get(book);
+    }
+
+    /**
+     * The book with the longest loan history among those currently out on loan.
+     */
+    public int popularBookOnLoan() {
+        int popular = onLoan.nextSetBit(0);
+        for (int book = popular; book >= 0; book = onLoan.nextSetBit(book + 1)) {
+            if (loansOfBook[book] > loansOfBook[popular]) {
+                popular = book;
+            }
+        }
+        if (popular < 0) {
+            throw new IllegalStateException("No book is out on loan in " + spec);
+        }
+        return popular;
+    }
+
+    public AuthorRow author(int author) {
+        SplittableRandom random = random(AUTHORS, author);
+        return new AuthorRow(authorId(author), "First " + author, "Last " + author,
+                "Biography of author " + author,
+                LocalDate.of(1940 + random.nextInt(60), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                "Nationality " + random.nextInt(NATIONALITIES), "author-" + author + "@example.com");
+    }
+
+    public BookRow book(int book) {
+        SplittableRandom random = random(BOOKS, book);
+        String topic = TOPICS[random.nextInt(TOPICS.length)];
+        BookStatus status = onLoan.get(book) ? BookStatus.BORROWED
+                : random.nextDouble() < MAINTENANCE_SHARE ? BookStatus.MAINTENANCE : BookStatus.AVAILABLE;
+        return new BookRow(bookId(book), String.format("978%010d", book), "Practical " + topic + " volume " + book,
+                topic, "Publisher " + random.nextInt(PUBLISHERS), 1950 + random.nextInt(75),
+                "Genre " + random.nextInt(GENRES), status,
+                TODAY.minusDays(spec.historyDays() + random.nextInt(3_650)), "Shelf " + random.nextInt(200),
+                authorOfBook[book]);
+    }
+
+    /**
+     * The book's loans, oldest first, spread over the history window; the latest is still open
+     * when the book is out on loan.
+     */
+    public List<LoanRow> loans(int book) {
+        SplittableRandom random = random(LOANS, book);
+        int count = loansOfBook[book];
+        List<LoanRow> loans = new ArrayList<>(count);
+        LocalDate historyStart = TODAY.minusDays(spec.historyDays() + 2L * LOAN_DAYS);
+        double slot = (double) spec.historyDays() / count;
+        for (int loan = 0; loan < count; loan++) {
+            int borrower = random.nextInt(spec.borrowers());
+            if (loan == count - 1 && onLoan.get(book)) {
+                LocalDate borrowed = TODAY.minusDays(random.nextInt(2 * LOAN_DAYS));
+                LocalDate due = borrowed.plusDays(LOAN_DAYS);
+                loans.add(new LoanRow(loanId(book, loan), borrower, borrowed, due, null,
+                        due.isBefore(TODAY) ? BorrowingStatus.OVERDUE : BorrowingStatus.ACTIVE));
+            } else {
+                LocalDate borrowed = historyStart.plusDays((long) (loan * slot)
+                        + random.nextInt(Math.max(1, (int) slot / 2)));
+                loans.add(new LoanRow(loanId(book, loan), borrower, borrowed, borrowed.plusDays(LOAN_DAYS),
+                        borrowed.plusDays(random.nextInt(1, LOAN_DAYS + 1)), BorrowingStatus.RETURNED));
+            }
+        }
+        return loans;
+    }
+
+    public boolean isWrittenTo(JdbcTemplate jdbc) {
+        return count(jdbc, "authors") == spec.authors() && count(jdbc, "books") == spec.books()
+                && count(jdbc, "borrowing_records") == spec.loans()
+                && jdbc.queryForObject("SELECT COUNT(*) FROM books WHERE id = ?", Long.class, bookId(0)) == 1;
+    }
+
+    /**
+     * Writes the dataset in JDBC batches unless the database already holds it; any other data in
+     * the tables is deleted first. Afterwards the table statistics are refreshed, so H2 plans
+     * queries with realistic selectivities.
+     *
+     * @return whether anything was written
+     */
+    public boolean writeTo(JdbcTemplate jdbc) {
+        if (isWrittenTo(jdbc)) {
+            return false;
+        }
+        long started = System.nanoTime();
+        jdbc.update("DELETE FROM borrowing_records");
+        jdbc.update("DELETE FROM books");
+        jdbc.update("DELETE FROM authors");
+
+        Batch authors = new Batch(jdbc, "INSERT INTO authors (id, first_name, last_name, biography, birth_date, "
+                + "nationality, email, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)");
+        for (int i = 0; i < spec.authors(); i++) {
+            AuthorRow author = author(i);
+            authors.add(author.id(), author.firstName(), author.lastName(), author.biography(),
+                    Date.valueOf(author.birthDate()), author.nationality(), author.email());
+        }
+        authors.flush();
+
+        Batch books = new Batch(jdbc, "INSERT INTO books (id, isbn, title, publisher, publication_year, genre, "
+                + "genre_key, status, date_added, location, author_id, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        Batch loans = new Batch(jdbc, "INSERT INTO borrowing_records (id, borrower_name, borrower_email, "
+                + "borrower_email_key, borrow_date, due_date, return_date, status, notes, book_id, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, NULL, ?, 0)");
+        for (int i = 0; i < spec.books(); i++) {
+            BookRow book = book(i);
+            books.add(book.id(), book.isbn(), book.title(), book.publisher(), book.publicationYear(), book.genre(),
+                    book.genre().toLowerCase(Locale.ROOT), book.status().name(), Date.valueOf(book.dateAdded()),
+                    book.location(), authorId(book.author()));
+        }
+        books.flush();
+        for (int i = 0; i < spec.books(); i++) {
+            for (LoanRow loan : loans(i)) {
+                String email = borrowerEmail(loan.borrower());
+                loans.add(loan.id(), borrowerName(loan.borrower()), email, email.toLowerCase(Locale.ROOT),
+                        Date.valueOf(loan.borrowDate()), Date.valueOf(loan.dueDate()),
+                        loan.returnDate() != null ? Date.valueOf(loan.returnDate()) : null, loan.status().name(),
+                        bookId(i));
+            }
+        }
+        loans.flush();
+        jdbc.execute("ANALYZE");
+        log.info("Wrote {} authors, {} books and {} loans in {} s", spec.authors(), spec.books(), spec.loans(),
+                (System.nanoTime() - started) / 1_000_000_000);
+        return true;
+    }
+
+    public static void main(String[] args) {
+        Spec spec = Spec.DEFAULT.withOverrides("dataset");
+        // One connection throughout, so the file database is not reopened for every batch
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                System.getProperty("dataset.url", "jdbc:h2:file:./build/dataset/office-library"),
+                System.getProperty("dataset.username", "sa"),
+                System.getProperty("dataset.password", "password"), true);
+        try {
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            if (!plan(spec).writeTo(new JdbcTemplate(dataSource))) {
+                log.info("The database already holds {}", spec);
+            }
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private SplittableRandom random(int stream, int index) {
+        return new SplittableRandom(spec.seed() ^ (stream * 0x9E3779B97F4A7C15L + index * 0xC2B2AE3D27D4EB4FL));
+    }
+
+    // Derived from the whole spec, so a database holding another dataset never looks up to date
+    private UUID id(String name) {
+        return UUID.nameUUIDFromBytes((spec + "/" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long count(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static final class Batch {
+
+        private final JdbcTemplate jdbc;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        Batch(JdbcTemplate jdbc, String sql) {
+            this.jdbc = jdbc;
+            this.sql = sql;
+        }
+
+        void add(Object... values) {
+            rows.add(values);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbc.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
\ No newline at end of file
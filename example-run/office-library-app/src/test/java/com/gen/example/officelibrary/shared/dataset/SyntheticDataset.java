@@ -0,0 +1,46 @@
+package com.gen.example.officelibrary.shared.dataset;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Writes a {@link LibraryDataset} of the given shape to the test's Spring data source before its
+ * first test, unless the database already holds it, and injects it into test methods that take a
+ * {@link LibraryDataset} parameter. Point the data source at a file database to keep a large
+ * dataset between runs. The defaults are those of {@link LibraryDataset.Spec#DEFAULT}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(SyntheticDatasetExtension.class)
+public @interface SyntheticDataset {
+
+    long seed() default 42;
+
+    int authors() default 1_000;
+
+    int books() default 10_000;
+
+    int loans() default 50_000;
+
+    int borrowers() default 2_000;
+
+    double authorSkew() default 1.0;
+
+    double bookSkew() default 1.0;
+
+    double onLoanShare() default 0.25;
+
+    int historyDays() default 730;
+
+    /**
+     * Prefix of the system properties that override the values above, so {@code "benchmark.queries"}
+     * lets {@code -Pbenchmark.queries.loans=5000000} resize the dataset.
+     */
+    String properties() default "dataset";
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.gen.example.officelibrary.shared.dataset;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+
+import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
+
+/**
+ * Backs {@link SyntheticDataset}: plans the dataset once per test class and writes it through the
+ * data source of the class's Spring test context.
+ */
+class SyntheticDatasetExtension implements BeforeAllCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SyntheticDatasetExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        SyntheticDataset annotation = findMergedAnnotation(context.getRequiredTestClass(), SyntheticDataset.class);
+        LibraryDataset dataset = LibraryDataset.plan(new LibraryDataset.Spec(annotation.seed(), annotation.authors(),
+                annotation.books(), annotation.loans(), annotation.borrowers(), annotation.authorSkew(),
+                annotation.bookSkew(), annotation.onLoanShare(), annotation.historyDays())
+                .withOverrides(annotation.properties()));
+        DataSource dataSource = SpringExtension.getApplicationContext(context).getBean(DataSource.class);
+        dataset.writeTo(new JdbcTemplate(dataSource));
+        context.getStore(NAMESPACE).put(LibraryDataset.class, dataset);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == LibraryDataset.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(LibraryDataset.class, LibraryDataset.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.gen.example.officelibrary.shared.diagnostics;
+
+import com.gen.example.officelibrary.author.application.AuthorService;
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.domain.AuthorNotFoundException;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ServiceMetricsTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    void serviceTimer_ShouldRecordSuccessfulCall_WithPercentiles() {
+        // Given
+        Author author = authorRepository.save(new Author("Timed", "Author"));
+        long before = count(serviceTimer("SUCCESS", "none"));
+
+        // When
+        authorService.findById(author.getId());
+
+        // Then
+        Timer timer = serviceTimer("SUCCESS", "none");
+        assertEquals(before + 1, timer.count());
+        assertEquals(3, timer.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void serviceTimer_ShouldRecordFailedCall_TaggedWithException() {
+        // When
+        assertThrows(AuthorNotFoundException.class, () -> authorService.findById(UUID.randomUUID()));
+
+        // Then
+        assertTrue(serviceTimer("ERROR", "AuthorNotFoundException").count() >= 1);
+    }
+
+    @Test
+    void repositoryTimerAndHibernateStatistics_ShouldRecordServiceCallQueries() {
+        // Given
+        Author author = authorRepository.save(new Author("Loaded", "Author"));
+
+        // When
+        authorService.findById(author.getId());
+
+        // Then
+        Timer repository = meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "AuthorRepository")
+                .tag("method", "findById")
+                .tag("state", "SUCCESS")
+                .timer();
+        assertTrue(repository.count() >= 1);
+        assertTrue(meterRegistry.get("hibernate.entities.loads").functionCounter().count() >= 1);
+        assertNotNull(meterRegistry.find("hibernate.query.executions.max").timeGauge());
+        assertNotNull(meterRegistry.find("hibernate.cache.query.requests").tag("result", "hit").functionCounter());
+    }
+
+    private Timer serviceTimer(String outcome, String exception) {
+        return meterRegistry.find(ServiceMetrics.TIMER)
+                .tag("service", "AuthorService")
+                .tag("method", "findById")
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .timer();
+    }
+
+    private static long count(Timer timer) {
+        return timer == null ? 0 : timer.count();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.gen.example.officelibrary.shared.diagnostics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadDiagnosticsTest {
+
+    private final Object monitor = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadDiagnostics diagnostics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        diagnostics = new VirtualThreadDiagnostics(meterRegistry, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        diagnostics.close();
+    }
+
+    @Test
+    void pinnedTimer_ShouldRecordBlockingInsideMonitor_TaggedWithCallingFrame() throws Exception {
+        // When
+        Thread.ofVirtual().start(this::sleepHoldingMonitor).join();
+
+        // Then
+        Timer pinned = awaitPinnedTimer();
+        assertNotNull(pinned, "No pinned event recorded");
+        assertEquals(getClass().getName() + ".sleepHoldingMonitor", pinned.getId().getTag("frame"));
+        assertEquals(1, pinned.count());
+        assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) >= 10);
+    }
+
+    @Test
+    void carrierGauges_ShouldCountCarrierRunningVirtualThread() throws Exception {
+        // Given
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch running = new CountDownLatch(1);
+        Thread spinning = Thread.ofVirtual().start(() -> {
+            running.countDown();
+            while (!stop.get()) {
+                Thread.onSpinWait();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        try {
+            // When
+            double mounted = meterRegistry.get("virtual.threads.carriers.mounted").gauge().value();
+            double utilization = meterRegistry.get("virtual.threads.carriers.utilization").gauge().value();
+
+            // Then
+            assertTrue(mounted >= 1, () -> mounted + " carriers mounted");
+            assertTrue(utilization > 0 && utilization <= 1, () -> "Utilization " + utilization);
+        } finally {
+            stop.set(true);
+            spinning.join();
+        }
+    }
+
+    private void sleepHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Timer awaitPinnedTimer() throws InterruptedException {
+        // Events reach the stream when JFR flushes, about once a second
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Timer timer = meterRegistry.find("virtual.threads.pinned").timer();
+            if (timer != null) {
+                return timer;
+            }
+            Thread.sleep(100);
+        }
+        return null;
+    }
+}
\ No newline at end of file
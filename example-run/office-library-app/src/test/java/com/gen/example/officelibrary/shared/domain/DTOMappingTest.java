@@ -40,7 +40,7 @@ class DTOMappingTest {
         // Given
         UUID authorId = UUID.randomUUID();
         AuthorDTO dto = new AuthorDTO(authorId, "Jane", "Smith", "Bestselling author", 
-                                     LocalDate.of(1980, 5, 15), "British", "jane.smith@example.com");
+                                     LocalDate.of(1980, 5, 15), "British", "jane.smith@example.com", 0L);
         
         // When
         Author author = dto.toEntity();
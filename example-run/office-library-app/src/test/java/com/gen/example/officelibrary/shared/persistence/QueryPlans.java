@@ -0,0 +1,47 @@
+package com.gen.example.officelibrary.shared.persistence;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * H2 query plans for captured statements. H2 plans a statement without its parameter values, so
+ * the SQL is explained as sent, on the test's transactional connection.
+ */
+public final class QueryPlans {
+
+    private QueryPlans() {
+    }
+
+    public static String explain(DataSource dataSource, String sql) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet result = statement.executeQuery()) {
+            result.next();
+            return result.getString(1);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * The index condition H2 notes next to the given table in the plan, e.g. {@code STATUS = ?1}
+     * when books are read through their status index. Empty when the table is not read by index.
+     */
+    public static Optional<String> indexCondition(String plan, String table) {
+        Matcher access = Pattern.compile("\"PUBLIC\"\\.\"" + table + "\"( \"\\w+\")?\\s+/\\* PUBLIC\\.\\w+: ([^*]+)\\*/")
+                .matcher(plan);
+        return access.find() ? Optional.of(access.group(2)) : Optional.empty();
+    }
+
+    public static boolean scansTable(String plan) {
+        return plan.contains(".tableScan");
+    }
+}
\ No newline at end of file
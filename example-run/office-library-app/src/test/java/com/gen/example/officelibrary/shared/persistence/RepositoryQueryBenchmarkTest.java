@@ -0,0 +1,330 @@
+package com.gen.example.officelibrary.shared.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.domain.BorrowingStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import com.gen.example.officelibrary.shared.pagination.CursorRequest;
+import com.gen.example.officelibrary.shared.dataset.LibraryDataset;
+import com.gen.example.officelibrary.shared.dataset.SyntheticDataset;
+import com.gen.example.officelibrary.shared.pagination.PageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query against a synthetic library in a file-backed H2 database and reports
+ * p50 and p99 latency, statements issued and rows read per call. Statements and rows read fail the
+ * test when they go up against the baseline stored for the same dataset size; latency depends on
+ * the machine and is only reported. The dataset is written on the first run and reused afterwards.
+ *
+ * <p>Tagged {@code benchmark}, so it runs with {@code ./gradlew benchmarkTest} rather than
+ * {@code test}. {@code -Pbenchmark.queries.books=200000
+ * -Pbenchmark.queries.loans=2000000} gives over two million rows, and every other
+ * {@link LibraryDataset.Spec} component can be set the same way. {@code -Pbenchmark.queries.calls}
+ * and {@code .warmup} set the number of calls per query, and
+ * {@code -Pbenchmark.queries.update-baseline=true} stores the results as the new baseline.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BoundStatements.class)
+// Seeding has to commit, and every query runs in its own transaction that is rolled back
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+@SyntheticDataset(authors = 500, books = 5_000, loans = 25_000, borrowers = 5_000, properties = "benchmark.queries")
+@Tag("benchmark")
+class RepositoryQueryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryQueryBenchmarkTest.class);
+
+    private static final int WARMUP = Integer.getInteger("benchmark.queries.warmup", 3);
+    private static final int CALLS = Integer.getInteger("benchmark.queries.calls", 10);
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("benchmark.queries.update-baseline");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            AuthorRepository.class, BookRepository.class, BorrowingRecordRepository.class);
+
+    // Left out of the optional-filter queries, which the list endpoints mostly call with one or two filters
+    private static final Set<String> UNSET_FILTERS = Set.of("authorId", "borrowerEmail");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BoundStatements statements;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private LibraryDataset dataset;
+
+    // A popular book that is out on loan, so it has a long loan history and an open loan
+    private int sampleBook;
+
+    @DynamicPropertySource
+    static void datasetDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:./build/query-benchmark/office-library");
+    }
+
+    @BeforeEach
+    void sampleBook(LibraryDataset dataset) {
+        this.dataset = dataset;
+        this.sampleBook = dataset.popularBookOnLoan();
+    }
+
+    @Test
+    void repositoryQueries_ShouldNotIssueMoreStatementsOrReadMoreRows_ThanBaseline() throws Exception {
+        // Given
+        String size = dataset.spec().books() + "-" + dataset.spec().loans();
+        Path baselinePath = Path.of("src/test/resources/query-benchmark/baseline-" + size + ".json");
+        Path reportPath = Path.of("build/reports/query-benchmark/results-" + size + ".json");
+        Book book = bookRepository.findById(dataset.bookId(sampleBook)).orElseThrow();
+
+        // When
+        List<QueryResult> results = new ArrayList<>();
+        for (Method method : queryMethods()) {
+            results.add(measure(method, arguments(method, book)));
+        }
+
+        // Then
+        Report report = new Report(dataset.spec(), CALLS, results);
+        Files.createDirectories(reportPath.getParent());
+        objectMapper.writeValue(reportPath.toFile(), report);
+        if (UPDATE_BASELINE) {
+            Files.createDirectories(baselinePath.getParent());
+            objectMapper.writeValue(baselinePath.toFile(), report);
+            log.info("Stored {} query results as the baseline in {}", results.size(), baselinePath);
+            return;
+        }
+        assertThat(regressions(results, baselinePath)).isEmpty();
+    }
+
+    private List<Method> queryMethods() {
+        return REPOSITORIES.stream()
+                .flatMap(repository -> Stream.concat(Stream.of(repository), Arrays.stream(repository.getInterfaces())
+                        .filter(fragment -> fragment.getPackage() == repository.getPackage())))
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                        .sorted(Comparator.comparing(Method::getName)))
+                .toList();
+    }
+
+    private QueryResult measure(Method method, Object[] arguments) {
+        Object repository = applicationContext.getBean(repositoryOf(method));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long[] latencies = new long[CALLS];
+        int[] issued = new int[1];
+        long[] rowsRead = new long[1];
+        for (int call = -WARMUP; call < CALLS; call++) {
+            boolean sampled = call == 0;
+            int measured = call;
+            transaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                statements.clear();
+                long started = System.nanoTime();
+                consume(invoke(method, repository, arguments));
+                long elapsed = System.nanoTime() - started;
+                if (measured >= 0) {
+                    latencies[measured] = elapsed;
+                }
+                if (sampled) {
+                    List<BoundStatements.Executed> executed = statements.executed();
+                    issued[0] = executed.size();
+                    rowsRead[0] = rowsScanned(executed);
+                }
+            });
+        }
+        Arrays.sort(latencies);
+        QueryResult result = new QueryResult(queryName(method), percentile(latencies, 0.5),
+                percentile(latencies, 0.99), issued[0], rowsRead[0]);
+        log.info("{}: p50 {} ms, p99 {} ms, {} statements, {} rows read", result.query(),
+                String.format("%.2f", result.p50Millis()), String.format("%.2f", result.p99Millis()),
+                result.statements(), result.rowsRead());
+        return result;
+    }
+
+    // Rows read by the statements of the call, replayed on the call's own connection before it rolls back
+    private long rowsScanned(List<BoundStatements.Executed> executed) {
+        try {
+            long rows = 0;
+            for (BoundStatements.Executed statement : executed) {
+                rows += BoundStatements.rowsScanned(DataSourceUtils.getConnection(dataSource), statement);
+            }
+            return rows;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not explain " + executed, ex);
+        }
+    }
+
+    private List<String> regressions(List<QueryResult> results, Path baselinePath) throws IOException {
+        if (!Files.exists(baselinePath)) {
+            log.warn("No baseline for this dataset in {}; run with -Pbenchmark.queries.update-baseline=true "
+                    + "to store one", baselinePath);
+            return List.of();
+        }
+        Map<String, QueryResult> baseline = new LinkedHashMap<>();
+        objectMapper.readValue(baselinePath.toFile(), Report.class).queries()
+                .forEach(result -> baseline.put(result.query(), result));
+        List<String> regressions = new ArrayList<>();
+        for (QueryResult result : results) {
+            QueryResult before = baseline.get(result.query());
+            if (before == null) {
+                log.info("{} is new, it has no baseline yet", result.query());
+                continue;
+            }
+            log.info("{}: p50 {} ms -> {} ms, p99 {} ms -> {} ms", result.query(),
+                    String.format("%.2f", before.p50Millis()), String.format("%.2f", result.p50Millis()),
+                    String.format("%.2f", before.p99Millis()), String.format("%.2f", result.p99Millis()));
+            if (result.statements() > before.statements()) {
+                regressions.add(result.query() + " issues " + result.statements() + " statements instead of "
+                        + before.statements());
+            }
+            if (result.rowsRead() > before.rowsRead()) {
+                regressions.add(result.query() + " reads " + result.rowsRead() + " rows instead of "
+                        + before.rowsRead());
+            }
+        }
+        return regressions;
+    }
+
+    private Object[] arguments(Method method, Book book) {
+        return Arrays.stream(method.getParameters()).map(parameter -> sampleValue(method, parameter, book)).toArray();
+    }
+
+    // Values that hit existing rows, so every query returns a realistic result
+    private Object sampleValue(Method method, Parameter parameter, Book book) {
+        boolean loans = repositoryOf(method) == BorrowingRecordRepository.class;
+        String name = parameter.getName();
+        if (method.getName().contains("WithFilters") && UNSET_FILTERS.contains(name)) {
+            return null;
+        }
+        LibraryDataset.BookRow sampled = dataset.book(sampleBook);
+        LibraryDataset.AuthorRow author = dataset.author(sampled.author());
+        List<LibraryDataset.LoanRow> history = dataset.loans(sampleBook);
+        int borrower = history.getLast().borrower();
+        return switch (name) {
+            case "id", "bookId" -> loans && name.equals("id")
+                    ? history.getLast().id()
+                    : sampled.id();
+            case "ids" -> IntStream.range(0, CursorRequest.DEFAULT_LIMIT)
+                    .mapToObj(i -> loans ? dataset.loanId(sampleBook, i) : dataset.bookId(i))
+                    .toList();
+            case "book" -> book;
+            case "authorId" -> author.id();
+            case "isbn" -> sampled.isbn();
+            case "isbns" -> IntStream.range(0, CursorRequest.DEFAULT_LIMIT)
+                    .mapToObj(i -> dataset.book(i).isbn())
+                    .toList();
+            case "email" -> loans ? dataset.borrowerEmail(borrower) : author.email();
+            case "emails" -> IntStream.range(0, CursorRequest.DEFAULT_LIMIT)
+                    .mapToObj(i -> dataset.author(i).email())
+                    .toList();
+            case "borrowerEmail" -> dataset.borrowerEmail(borrower);
+            case "borrowerEmailKey" -> dataset.borrowerEmail(borrower).toLowerCase(Locale.ROOT);
+            case "searchTerm" -> sampled.topic();
+            case "nationality" -> author.nationality().toLowerCase(Locale.ROOT);
+            case "genre" -> sampled.genre();
+            case "status", "from" -> loans ? BorrowingStatus.ACTIVE : BookStatus.AVAILABLE;
+            case "to" -> BookStatus.BORROWED;
+            case "toDate" -> LibraryDataset.TODAY;
+            case "fromDate" -> LibraryDataset.TODAY.minusDays(30);
+            // First page of a keyset walk
+            case "afterDate" -> PageCursor.LOWEST_DATE;
+            case "afterId" -> PageCursor.LOWEST_ID;
+            case "beforeDate" -> PageCursor.HIGHEST_DATE;
+            case "beforeId" -> PageCursor.HIGHEST_ID;
+            case "limit" -> Limit.of(CursorRequest.DEFAULT_LIMIT);
+            default -> throw new IllegalArgumentException("No sample value for " + queryName(method) + "(" + name + ")");
+        };
+    }
+
+    private static Object invoke(Method method, Object repository, Object[] arguments) {
+        try {
+            return method.invoke(repository, arguments);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException(queryName(method) + " failed", ex.getCause());
+        }
+    }
+
+    // Streams only run their query as they are read
+    private static void consume(Object result) {
+        if (result instanceof Stream<?> stream) {
+            try (stream) {
+                stream.forEach(row -> { });
+            }
+        }
+    }
+
+    private static Class<?> repositoryOf(Method method) {
+        return REPOSITORIES.stream()
+                .filter(repository -> method.getDeclaringClass().isAssignableFrom(repository))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String queryName(Method method) {
+        return repositoryOf(method).getSimpleName() + "." + method.getName();
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        return sortedNanos[(int) Math.ceil(quantile * sortedNanos.length) - 1] / 1e6;
+    }
+
+    record QueryResult(String query, double p50Millis, double p99Millis, int statements, long rowsRead) {
+    }
+
+    record Report(LibraryDataset.Spec dataset, int calls, List<QueryResult> queries) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.gen.example.officelibrary.shared.persistence;
+
+import com.gen.example.officelibrary.author.domain.Author;
+import com.gen.example.officelibrary.author.persistence.AuthorRepository;
+import com.gen.example.officelibrary.library.domain.Book;
+import com.gen.example.officelibrary.library.domain.BookStatus;
+import com.gen.example.officelibrary.library.persistence.BookRepository;
+import com.gen.example.officelibrary.library.persistence.BorrowingRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls every query method declared on the repositories and runs EXPLAIN on each statement it
+ * sends. A statement that reads a table without an index fails the test, unless the query is
+ * listed in {@link #WHOLE_TABLE_READS} as reading everything by design. New repository queries
+ * are picked up automatically. The optional-filter queries are covered by FilterQueryPlanTest.
+ */
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            AuthorRepository.class, BookRepository.class, BorrowingRecordRepository.class);
+
+    // Query -> why it reads the whole table
+    private static final Map<String, String> WHOLE_TABLE_READS = Map.of(
+            "BookRepository.searchBooks", "contains match; book search is served by BookSearchIndex");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Book book;
+
+    static Stream<Arguments> queryMethods() {
+        return REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                        .sorted(Comparator.comparing(Method::getName)))
+                .map(method -> Arguments.of(method.getDeclaringClass().getSimpleName() + "." + method.getName(), method));
+    }
+
+    @BeforeEach
+    void setUp() {
+        Author author = entityManager.persistAndFlush(new Author("Plan", "Writer"));
+        book = entityManager.persistAndFlush(new Book("978-0000000001", "Plan Book", author,
+                BookStatus.AVAILABLE, LocalDate.now()));
+        SqlCapture.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queryMethods")
+    void repositoryQuery_ShouldNotScanTables(String query, Method method) throws Exception {
+        // When
+        method.invoke(applicationContext.getBean(method.getDeclaringClass()), arguments(method));
+
+        // Then
+        List<String> statements = SqlCapture.statements();
+        assertThat(statements).as(query).isNotEmpty();
+        if (WHOLE_TABLE_READS.containsKey(query)) {
+            return;
+        }
+        for (String sql : statements) {
+            String plan = QueryPlans.explain(dataSource, sql);
+            assertThat(QueryPlans.scansTable(plan)).as("%s scans a table:%n%s", query, plan).isFalse();
+        }
+    }
+
+    private Object[] arguments(Method method) {
+        return Arrays.stream(method.getGenericParameterTypes()).map(this::sampleValue).toArray();
+    }
+
+    private Object sampleValue(Type parameterType) {
+        if (parameterType instanceof ParameterizedType collection
+                && Collection.class.isAssignableFrom((Class<?>) collection.getRawType())) {
+            return List.of(sampleValue(collection.getActualTypeArguments()[0]));
+        }
+        Class<?> type = (Class<?>) parameterType;
+        if (type == UUID.class) {
+            return UUID.randomUUID();
+        }
+        if (type == String.class) {
+            return "value";
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == Integer.class) {
+            return 2020;
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == Limit.class) {
+            return Limit.of(10);
+        }
+        if (type == Book.class) {
+            return book;
+        }
+        throw new IllegalArgumentException("No sample value for " + type.getName());
+    }
+}
\ No newline at end of file
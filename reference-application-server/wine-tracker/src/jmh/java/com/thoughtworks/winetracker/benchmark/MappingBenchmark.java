@@ -0,0 +1,29 @@
+package com.thoughtworks.winetracker.benchmark;
+
+import com.thoughtworks.winetracker.wine.wine.dto.WineDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a whole response list, as the service does before returning.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Benchmark
+    public List<WineDto> wines(ResponseFixtures fixtures) {
+        return fixtures.wines.stream().map(fixtures.wineMapper::toDto).toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.thoughtworks.winetracker.benchmark;
+
+import com.thoughtworks.winetracker.wine.producer.entity.Producer;
+import com.thoughtworks.winetracker.wine.producer.mapper.ProducerMapper;
+import com.thoughtworks.winetracker.wine.region.entity.Region;
+import com.thoughtworks.winetracker.wine.region.mapper.RegionMapper;
+import com.thoughtworks.winetracker.wine.wine.dto.WineDto;
+import com.thoughtworks.winetracker.wine.wine.entity.Wine;
+import com.thoughtworks.winetracker.wine.wine.mapper.WineMapper;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Response-sized lists of fully populated wines and their DTOs, the way the list endpoint hands them
+ * to the mapper and to Jackson. Every ten wines share a producer, and every producer has its region.
+ */
+@State(Scope.Benchmark)
+public class ResponseFixtures {
+
+    @Param({"1", "100", "10000"})
+    public int size;
+
+    final RegionMapper regionMapper = new RegionMapper();
+    final WineMapper wineMapper = new WineMapper(new ProducerMapper(regionMapper), regionMapper);
+
+    List<Wine> wines;
+    List<WineDto> wineDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2025, 6, 1);
+        List<Producer> producers = new ArrayList<>();
+        wines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (i % 10 == 0) {
+                producers.add(producer(i, random));
+            }
+            Producer producer = producers.get(producers.size() - 1);
+            Wine wine = new Wine("Wine number " + i, 1990 + i % 35, 11.5 + i % 30 / 10.0,
+                    i % 3 == 0 ? "WHITE" : "RED", today.minusDays(random.nextInt(3_650)), 1 + i % 5,
+                    "Tasting notes for wine " + i + " ".repeat(40), 10.0 + i % 90, producer, producer.getRegion());
+            wine.setId(new UUID(i, random.nextLong()));
+            wine.setVersion(0L);
+            wines.add(wine);
+        }
+        wineDtos = wines.stream().map(wineMapper::toDto).toList();
+    }
+
+    private static Producer producer(int i, Random random) {
+        Region region = new Region("Region " + i, "Country " + i % 12, "Description of region " + i, "Climate");
+        region.setId(new UUID(random.nextLong(), i));
+        region.setVersion(0L);
+        Producer producer = new Producer("Producer " + i, "Description of producer " + i, 1800 + i % 200,
+                "https://producer" + i + ".example.com", region);
+        producer.setId(new UUID(random.nextLong(), i));
+        producer.setVersion(0L);
+        return producer;
+    }
+}
\ No newline at end of file
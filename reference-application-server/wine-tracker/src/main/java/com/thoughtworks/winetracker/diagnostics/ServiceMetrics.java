@@ -0,0 +1,85 @@
+package com.thoughtworks.winetracker.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Times every public method of the application's {@code *Service} classes in the
+ * {@code service.invocations} timer, tagged with the service, the method, the outcome
+ * ({@code SUCCESS} or {@code ERROR}) and the exception thrown. Together with Spring Data's
+ * {@code spring.data.repository.invocations} this shows which repository calls a slow service
+ * method spends its time in; percentiles for both are configured in {@code application.properties}.
+ *
+ * <p>The timer wraps the transaction, so commit time counts towards the method. Methods returning a
+ * {@code Stream} are timed until they return it, not until it has been read.
+ */
+@Component
+public class ServiceMetrics extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public static final String TIMER = "service.invocations";
+
+    private static final String BASE_PACKAGE = "com.thoughtworks.winetracker";
+
+    public ServiceMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut publicServiceMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        publicServiceMethods.setClassFilter(ServiceMetrics::isService);
+        this.advisor = new DefaultPointcutAdvisor(publicServiceMethods, new TimingInterceptor(meterRegistry));
+        // Outside the transaction advice, so the timer includes the commit
+        setBeforeExistingAdvisors(true);
+    }
+
+    private static boolean isService(Class<?> type) {
+        Class<?> userClass = ClassUtils.getUserClass(type);
+        return userClass.getPackageName().startsWith(BASE_PACKAGE) && userClass.getSimpleName().endsWith("Service");
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        // Resolved on first use; a bean post-processor that depends on the registry would create it too early
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+            Timer.Sample sample = Timer.start(registry);
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable ex) {
+                exception = ex.getClass().getSimpleName();
+                throw ex;
+            } finally {
+                sample.stop(Timer.builder(TIMER)
+                        .description("Time spent in public service methods")
+                        .tag("service", ClassUtils.getUserClass(invocation.getThis()).getSimpleName())
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("outcome", exception.equals("none") ? "SUCCESS" : "ERROR")
+                        .tag("exception", exception)
+                        .register(registry));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.thoughtworks.winetracker.exception;
+
+import java.util.UUID;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String resourceType, UUID id) {
+        super(resourceType + " has changed since it was read, id: " + id);
+    }
+
+    /**
+     * Throws unless the row is still at the version the client expects; no expectation always passes.
+     */
+    public static void check(Long expectedVersion, Long currentVersion, String resourceType, UUID id) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(resourceType, id);
+        }
+    }
+}
\ No newline at end of file
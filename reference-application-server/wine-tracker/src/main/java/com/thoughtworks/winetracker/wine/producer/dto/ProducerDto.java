@@ -16,4 +16,5 @@ public class ProducerDto {
     private Integer foundedYear;
     private String website;
     private RegionDto region;
+    private Long version;
 }
\ No newline at end of file
@@ -22,6 +22,9 @@ public class Producer {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     @NotNull
     @Size(min = 1, max = 200)
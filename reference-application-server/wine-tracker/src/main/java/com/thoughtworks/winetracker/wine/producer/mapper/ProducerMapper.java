@@ -28,7 +28,8 @@ public class ProducerMapper {
             producer.getDescription(),
             producer.getFoundedYear(),
             producer.getWebsite(),
-            regionMapper.toDto(producer.getRegion())
+            regionMapper.toDto(producer.getRegion()),
+            producer.getVersion()
         );
     }
     
@@ -14,4 +14,5 @@ public class RegionDto {
     private String country;
     private String description;
     private String climate;
+    private Long version;
 }
\ No newline at end of file
@@ -21,6 +21,9 @@ public class Region {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     @NotNull
     @Size(min = 1, max = 200)
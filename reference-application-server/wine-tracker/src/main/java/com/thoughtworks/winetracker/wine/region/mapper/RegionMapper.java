@@ -19,7 +19,8 @@ public class RegionMapper {
             region.getName(),
             region.getCountry(),
             region.getDescription(),
-            region.getClimate()
+            region.getClimate(),
+            region.getVersion()
         );
     }
     
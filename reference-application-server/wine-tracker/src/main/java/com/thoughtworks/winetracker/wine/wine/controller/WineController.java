@@ -2,8 +2,15 @@ package com.thoughtworks.winetracker.wine.wine.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import com.thoughtworks.winetracker.persistence.TableVersions;
+import com.thoughtworks.winetracker.web.EntityTags;
+import com.thoughtworks.winetracker.wine.producer.entity.Producer;
+import com.thoughtworks.winetracker.wine.region.entity.Region;
+import com.thoughtworks.winetracker.wine.wine.entity.Wine;
 import com.thoughtworks.winetracker.wine.wine.service.WineService;
 import com.thoughtworks.winetracker.wine.wine.dto.WineDto;
 import com.thoughtworks.winetracker.wine.wine.dto.CreateWineRequest;
@@ -18,9 +25,11 @@ import java.util.UUID;
 @RequestMapping("/api/v1/wines")
 public class WineController {
     private final WineService service;
+    private final TableVersions tableVersions;
 
-    public WineController(WineService service) {
+    public WineController(WineService service, TableVersions tableVersions) {
         this.service = service;
+        this.tableVersions = tableVersions;
     }
 
     @PostMapping
@@ -31,8 +40,13 @@ public class WineController {
     }
 
     @GetMapping
-    public ResponseEntity<List<WineDto>> findAll() {
+    public ResponseEntity<List<WineDto>> findAll(WebRequest request) {
         log.debug("Fetching all wines");
+        // Answers 304 when no wine, producer or region changed since the client's copy, before reading any row
+        TableVersions.Snapshot versions = tableVersions.snapshot(Wine.class, Producer.class, Region.class);
+        if (request.checkNotModified(versions.etag(), versions.lastModifiedMillis())) {
+            return null;
+        }
         List<WineDto> entities = service.findAll();
         return ResponseEntity.ok(entities);
     }
@@ -41,14 +55,19 @@ public class WineController {
     public ResponseEntity<WineDto> findById(@PathVariable UUID id) {
         log.debug("Fetching wine with ID: {}", id);
         WineDto entity = service.findById(id);
-        return ResponseEntity.ok(entity);
+        return tagged(entity);
     }
 
+    /**
+     * Updates the wine; with an {@code If-Match} header only if it has not changed since the client
+     * read it, otherwise 412.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<WineDto> update(@PathVariable UUID id, @Valid @RequestBody UpdateWineRequest request) {
+    public ResponseEntity<WineDto> update(@PathVariable UUID id, @Valid @RequestBody UpdateWineRequest request,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.debug("Updating wine with ID: {}", id);
-        WineDto updated = service.update(id, request);
-        return ResponseEntity.ok(updated);
+        WineDto updated = service.update(id, request, EntityTags.expectedVersion(ifMatch));
+        return tagged(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -57,4 +76,11 @@ public class WineController {
         service.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Spring answers 304 for a GET whose If-None-Match matches, without writing the body
+    private static ResponseEntity<WineDto> tagged(WineDto wine) {
+        Long producerVersion = wine.getProducer() != null ? wine.getProducer().getVersion() : null;
+        Long regionVersion = wine.getRegion() != null ? wine.getRegion().getVersion() : null;
+        return ResponseEntity.ok().eTag(EntityTags.of(wine.getVersion(), producerVersion, regionVersion)).body(wine);
+    }
 }
\ No newline at end of file
@@ -23,4 +23,5 @@ public class WineDto {
     private Double price;
     private ProducerDto producer;
     private RegionDto region;
+    private Long version;
 }
\ No newline at end of file
@@ -20,6 +20,9 @@ public class Wine {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     @NotNull
     @Size(min = 1, max = 200)
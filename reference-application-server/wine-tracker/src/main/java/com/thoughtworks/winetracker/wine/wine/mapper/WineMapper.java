@@ -38,7 +38,8 @@ public class WineMapper {
             wine.getTastingNotes(),
             wine.getPrice(),
             producerMapper.toDto(wine.getProducer()),
-            regionMapper.toDto(wine.getRegion())
+            regionMapper.toDto(wine.getRegion()),
+            wine.getVersion()
         );
     }
     
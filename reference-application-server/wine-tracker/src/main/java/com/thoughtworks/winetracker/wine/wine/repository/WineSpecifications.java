@@ -0,0 +1,28 @@
+package com.thoughtworks.winetracker.wine.wine.repository;
+
+import java.util.Locale;
+import org.springframework.data.jpa.domain.Specification;
+import com.thoughtworks.winetracker.wine.wine.entity.Wine;
+
+/**
+ * Search filters for {@link WineRepository#searchWines}. Each one is only added to the query when
+ * its value is given, so vintage and rating lookups can use their indexes.
+ */
+public final class WineSpecifications {
+
+    private WineSpecifications() {
+    }
+
+    // A contains match, which no B-tree index can serve; combine it with vintage or rating to narrow the scan
+    public static Specification<Wine> nameContains(String name) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase(Locale.ROOT) + "%");
+    }
+
+    public static Specification<Wine> hasVintage(Integer vintage) {
+        return (root, query, cb) -> cb.equal(root.get("vintage"), vintage);
+    }
+
+    public static Specification<Wine> hasPersonalRating(Integer rating) {
+        return (root, query, cb) -> cb.equal(root.get("personalRating"), rating);
+    }
+}
\ No newline at end of file
@@ -16,6 +16,7 @@ import com.thoughtworks.winetracker.wine.producer.exception.ProducerNotFoundExce
 import com.thoughtworks.winetracker.wine.region.repository.RegionRepository;
 import com.thoughtworks.winetracker.wine.region.entity.Region;
 import com.thoughtworks.winetracker.wine.region.exception.RegionNotFoundException;
+import com.thoughtworks.winetracker.exception.PreconditionFailedException;
 
 import java.util.List;
 import java.util.UUID;
@@ -67,8 +68,17 @@ public class WineService {
     }
 
     public WineDto update(UUID id, UpdateWineRequest request) {
+        return update(id, request, null);
+    }
+
+    /**
+     * Updates the wine only if it is still at {@code expectedVersion}, so a client cannot overwrite
+     * a change it has not seen. A {@code null} version updates unconditionally.
+     */
+    public WineDto update(UUID id, UpdateWineRequest request, Long expectedVersion) {
         Wine wine = repository.findById(id)
                 .orElseThrow(() -> new WineNotFoundException(id));
+        PreconditionFailedException.check(expectedVersion, wine.getVersion(), "Wine", id);
         
         Producer producer = null;
         if (request.getProducerId() != null) {
@@ -83,7 +93,7 @@ public class WineService {
         }
         
         mapper.updateEntity(wine, request, producer, region);
-        Wine updatedWine = repository.save(wine);
+        Wine updatedWine = repository.saveAndFlush(wine);
         return mapper.toDto(updatedWine);
     }
 
@@ -0,0 +1,38 @@
+-- Tables and constraints as mapped by the JPA entities; Hibernate validates against this at startup
+
+CREATE TABLE regions (
+    id          UUID         NOT NULL,
+    name        VARCHAR(200) NOT NULL,
+    country     VARCHAR(100) NOT NULL,
+    climate     VARCHAR(200),
+    description VARCHAR(500),
+    CONSTRAINT pk_regions PRIMARY KEY (id)
+);
+
+CREATE TABLE producers (
+    id           UUID         NOT NULL,
+    name         VARCHAR(200) NOT NULL,
+    description  VARCHAR(500),
+    founded_year INTEGER CHECK (founded_year >= 1000),
+    website      VARCHAR(255),
+    region_id    UUID,
+    CONSTRAINT pk_producers PRIMARY KEY (id),
+    CONSTRAINT fk_producers_region FOREIGN KEY (region_id) REFERENCES regions (id)
+);
+
+CREATE TABLE wines (
+    id              UUID             NOT NULL,
+    name            VARCHAR(200)     NOT NULL,
+    vintage         INTEGER CHECK (vintage BETWEEN 1800 AND 2030),
+    alcohol_content DOUBLE PRECISION,
+    color           VARCHAR(255)     NOT NULL,
+    drinking_date   DATE             NOT NULL,
+    personal_rating INTEGER CHECK (personal_rating BETWEEN 1 AND 10),
+    tasting_notes   VARCHAR(1000),
+    price           DOUBLE PRECISION,
+    producer_id     UUID             NOT NULL,
+    region_id       UUID             NOT NULL,
+    CONSTRAINT pk_wines PRIMARY KEY (id),
+    CONSTRAINT fk_wines_producer FOREIGN KEY (producer_id) REFERENCES producers (id),
+    CONSTRAINT fk_wines_region FOREIGN KEY (region_id) REFERENCES regions (id)
+);
@@ -0,0 +1,17 @@
+-- One index per repository access path. RepositoryQueryPlanTest fails when a repository query
+-- falls back to a table scan.
+
+-- RegionRepository.findByNameAndCountry
+CREATE INDEX idx_regions_name_country ON regions (name, country);
+
+-- ProducerRepository.findByRegion
+CREATE INDEX idx_producers_region ON producers (region_id);
+
+-- WineRepository.findByProducer
+CREATE INDEX idx_wines_producer ON wines (producer_id);
+-- WineRepository.findByRegion
+CREATE INDEX idx_wines_region ON wines (region_id);
+-- WineRepository.searchWines by vintage
+CREATE INDEX idx_wines_vintage ON wines (vintage);
+-- WineRepository.searchWines by rating
+CREATE INDEX idx_wines_personal_rating ON wines (personal_rating);
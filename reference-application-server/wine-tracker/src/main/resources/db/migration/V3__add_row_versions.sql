@@ -0,0 +1,7 @@
+-- Optimistic-locking versions, which also serve as entity tags; rows written before start at 0
+
+ALTER TABLE regions ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE producers ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE wines ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
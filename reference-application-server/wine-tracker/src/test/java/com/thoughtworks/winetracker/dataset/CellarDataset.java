@@ -0,0 +1,298 @@
+package com.thoughtworks.winetracker.dataset;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * A synthetic wine cellar of configurable size and shape, the same for the same {@link Spec} on
+ * every run and machine. Producers are spread over regions and wines over producers along Zipf
+ * distributions, so a few famous regions and large producers hold much of the cellar; a wine comes
+ * from its producer's region. Vintages span 35 years and ratings cluster around 7.
+ *
+ * <p>{@link #plan} draws the shape; the rows themselves are derived from the seed when they are
+ * written or looked up. Ids are derived from the spec, which lets {@link #writeTo} tell whether a
+ * database already holds exactly this dataset.
+ *
+ * <p>Use it from tests through {@link SyntheticDataset}, or from the command line:
+ * {@code ./gradlew generateDataset -Pdataset.url=jdbc:h2:file:./build/dataset/cellar -Pdataset.wines=1000000},
+ * which migrates the schema and writes the dataset; every {@link Spec} component can be set as
+ * {@code -Pdataset.<component>}.
+ */
+public class CellarDataset {
+
+    private static final Logger log = LoggerFactory.getLogger(CellarDataset.class);
+
+    // The day the dataset was taken; dates are relative to it instead of to the clock
+    public static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    public static final String[] STYLES = {"Reserve", "Grand Cru", "Estate", "Old Vines", "Cuvée"};
+    public static final String[] GRAPES = {"Merlot", "Syrah", "Riesling", "Pinot Noir", "Chardonnay",
+            "Nebbiolo", "Tempranillo"};
+    public static final String[] COLORS = {"Red", "White", "Rosé", "Sparkling"};
+    public static final int COUNTRIES = 12;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    // Streams of the per-row random generators, so regions, producers and wines draw independently
+    private static final int REGIONS = 1;
+    private static final int PRODUCERS = 2;
+    private static final int WINES = 3;
+
+    private final Spec spec;
+    private final int[] regionOfProducer;
+    private final int[] producerOfWine;
+
+    private CellarDataset(Spec spec, int[] regionOfProducer, int[] producerOfWine) {
+        this.spec = spec;
+        this.regionOfProducer = regionOfProducer;
+        this.producerOfWine = producerOfWine;
+    }
+
+    /**
+     * The size and shape of a dataset. Skews are Zipf exponents: 0 spreads producers over regions
+     * and wines over producers evenly, 1 gives a realistic long tail, higher values concentrate
+     * them further.
+     */
+    public record Spec(long seed, int regions, int producers, int wines, double regionSkew, double producerSkew) {
+
+        public static final Spec DEFAULT = new Spec(42, 100, 2_000, 20_000, 1.0, 1.0);
+
+        /**
+         * This spec with every component that is set as a system property {@code <prefix>.<component>}
+         * replaced, for instance {@code dataset.wines}.
+         */
+        public Spec withOverrides(String prefix) {
+            return new Spec(
+                    Long.getLong(prefix + ".seed", seed),
+                    Integer.getInteger(prefix + ".regions", regions),
+                    Integer.getInteger(prefix + ".producers", producers),
+                    Integer.getInteger(prefix + ".wines", wines),
+                    doubleProperty(prefix + ".region-skew", regionSkew),
+                    doubleProperty(prefix + ".producer-skew", producerSkew));
+        }
+
+        private static double doubleProperty(String name, double defaultValue) {
+            String value = System.getProperty(name);
+            return value != null ? Double.parseDouble(value) : defaultValue;
+        }
+    }
+
+    public record RegionRow(UUID id, String name, String country, String climate, String description) {
+    }
+
+    public record ProducerRow(UUID id, String name, String description, int foundedYear, String website,
+                              int region) {
+    }
+
+    public record WineRow(UUID id, String name, String style, int vintage, double alcoholContent, String color,
+                          LocalDate drinkingDate, int rating, String tastingNotes, double price, int producer,
+                          int region) {
+    }
+
+    public static CellarDataset plan(Spec spec) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Zipf regionPopularity = new Zipf(spec.regions(), spec.regionSkew());
+        int[] regionOfProducer = new int[spec.producers()];
+        for (int producer = 0; producer < spec.producers(); producer++) {
+            regionOfProducer[producer] = regionPopularity.sample(random);
+        }
+        Zipf producerSize = new Zipf(spec.producers(), spec.producerSkew());
+        int[] producerOfWine = new int[spec.wines()];
+        for (int wine = 0; wine < spec.wines(); wine++) {
+            producerOfWine[wine] = producerSize.sample(random);
+        }
+        return new CellarDataset(spec, regionOfProducer, producerOfWine);
+    }
+
+    public Spec spec() {
+        return spec;
+    }
+
+    public UUID regionId(int region) {
+        return id("region-" + region);
+    }
+
+    public UUID producerId(int producer) {
+        return id("producer-" + producer);
+    }
+
+    public UUID wineId(int wine) {
+        return id("wine-" + wine);
+    }
+
+    public int regionOf(int producer) {
+        return regionOfProducer[producer];
+    }
+
+    public int producerOf(int wine) {
+        return producerOfWine[wine];
+    }
+
+    /**
+     * The first wine of the producer with the most wines.
+     */
+    public int wineOfLargestProducer() {
+        int[] winesOfProducer = new int[spec.producers()];
+        for (int producer : producerOfWine) {
+            winesOfProducer[producer]++;
+        }
+        int largest = 0;
+        for (int producer = 1; producer < spec.producers(); producer++) {
+            if (winesOfProducer[producer] > winesOfProducer[largest]) {
+                largest = producer;
+            }
+        }
+        for (int wine = 0; wine < spec.wines(); wine++) {
+            if (producerOfWine[wine] == largest) {
+                return wine;
+            }
+        }
+        throw new IllegalStateException("No wines in " + spec);
+    }
+
+    public RegionRow region(int region) {
+        SplittableRandom random = random(REGIONS, region);
+        return new RegionRow(regionId(region), "Region " + region, "Country " + random.nextInt(COUNTRIES),
+                "Climate " + random.nextInt(4), "Description of region " + region);
+    }
+
+    public ProducerRow producer(int producer) {
+        SplittableRandom random = random(PRODUCERS, producer);
+        return new ProducerRow(producerId(producer), "Producer " + producer, "Description of producer " + producer,
+                1800 + random.nextInt(220), "https://producer-" + producer + ".example.com",
+                regionOfProducer[producer]);
+    }
+
+    public WineRow wine(int wine) {
+        SplittableRandom random = random(WINES, wine);
+        String style = STYLES[random.nextInt(STYLES.length)];
+        int producer = producerOfWine[wine];
+        int rating = (int) Math.max(1, Math.min(10, Math.round(7 + random.nextGaussian() * 1.5)));
+        return new WineRow(wineId(wine), style + " " + GRAPES[random.nextInt(GRAPES.length)] + " " + wine, style,
+                1990 + random.nextInt(35), 11.5 + random.nextInt(8) * 0.5, COLORS[random.nextInt(COLORS.length)],
+                TODAY.minusDays(random.nextInt(1_000)), rating, "Tasting notes for wine " + wine,
+                8.0 + random.nextInt(90), producer, regionOfProducer[producer]);
+    }
+
+    public boolean isWrittenTo(JdbcTemplate jdbc) {
+        return count(jdbc, "regions") == spec.regions() && count(jdbc, "producers") == spec.producers()
+                && count(jdbc, "wines") == spec.wines()
+                && jdbc.queryForObject("SELECT COUNT(*) FROM wines WHERE id = ?", Long.class, wineId(0)) == 1;
+    }
+
+    /**
+     * Writes the dataset in JDBC batches unless the database already holds it; any other data in
+     * the tables is deleted first. Afterwards the table statistics are refreshed, so H2 plans
+     * queries with realistic selectivities.
+     *
+     * @return whether anything was written
+     */
+    public boolean writeTo(JdbcTemplate jdbc) {
+        if (isWrittenTo(jdbc)) {
+            return false;
+        }
+        long started = System.nanoTime();
+        jdbc.update("DELETE FROM wines");
+        jdbc.update("DELETE FROM producers");
+        jdbc.update("DELETE FROM regions");
+
+        Batch regions = new Batch(jdbc, "INSERT INTO regions (id, name, country, climate, description, version) "
+                + "VALUES (?, ?, ?, ?, ?, 0)");
+        for (int i = 0; i < spec.regions(); i++) {
+            RegionRow region = region(i);
+            regions.add(region.id(), region.name(), region.country(), region.climate(), region.description());
+        }
+        regions.flush();
+
+        Batch producers = new Batch(jdbc, "INSERT INTO producers (id, name, description, founded_year, website, "
+                + "region_id, version) VALUES (?, ?, ?, ?, ?, ?, 0)");
+        for (int i = 0; i < spec.producers(); i++) {
+            ProducerRow producer = producer(i);
+            producers.add(producer.id(), producer.name(), producer.description(), producer.foundedYear(),
+                    producer.website(), regionId(producer.region()));
+        }
+        producers.flush();
+
+        Batch wines = new Batch(jdbc, "INSERT INTO wines (id, name, vintage, alcohol_content, color, drinking_date, "
+                + "personal_rating, tasting_notes, price, producer_id, region_id, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        for (int i = 0; i < spec.wines(); i++) {
+            WineRow wine = wine(i);
+            wines.add(wine.id(), wine.name(), wine.vintage(), wine.alcoholContent(), wine.color(),
+                    Date.valueOf(wine.drinkingDate()), wine.rating(), wine.tastingNotes(), wine.price(),
+                    producerId(wine.producer()), regionId(wine.region()));
+        }
+        wines.flush();
+        jdbc.execute("ANALYZE");
+        log.info("Wrote {} regions, {} producers and {} wines in {} s", spec.regions(), spec.producers(),
+                spec.wines(), (System.nanoTime() - started) / 1_000_000_000);
+        return true;
+    }
+
+    public static void main(String[] args) {
+        Spec spec = Spec.DEFAULT.withOverrides("dataset");
+        // One connection throughout, so the file database is not reopened for every batch
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                System.getProperty("dataset.url", "jdbc:h2:file:./build/dataset/wine-tracker"),
+                System.getProperty("dataset.username", "sa"),
+                System.getProperty("dataset.password", "password"), true);
+        try {
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            if (!plan(spec).writeTo(new JdbcTemplate(dataSource))) {
+                log.info("The database already holds {}", spec);
+            }
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private SplittableRandom random(int stream, int index) {
+        return new SplittableRandom(spec.seed() ^ (stream * 0x9E3779B97F4A7C15L + index * 0xC2B2AE3D27D4EB4FL));
+    }
+
+    // Derived from the whole spec, so a database holding another dataset never looks up to date
+    private UUID id(String name) {
+        return UUID.nameUUIDFromBytes((spec + "/" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long count(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static final class Batch {
+
+        private final JdbcTemplate jdbc;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        Batch(JdbcTemplate jdbc, String sql) {
+            this.jdbc = jdbc;
+            this.sql = sql;
+        }
+
+        void add(Object... values) {
+            rows.add(values);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbc.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
\ No newline at end of file
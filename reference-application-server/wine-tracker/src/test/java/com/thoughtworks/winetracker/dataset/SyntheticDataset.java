@@ -0,0 +1,40 @@
+package com.thoughtworks.winetracker.dataset;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Writes a {@link CellarDataset} of the given shape to the test's Spring data source before its
+ * first test, unless the database already holds it, and injects it into test methods that take a
+ * {@link CellarDataset} parameter. Point the data source at a file database to keep a large
+ * dataset between runs. The defaults are those of {@link CellarDataset.Spec#DEFAULT}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(SyntheticDatasetExtension.class)
+public @interface SyntheticDataset {
+
+    long seed() default 42;
+
+    int regions() default 100;
+
+    int producers() default 2_000;
+
+    int wines() default 20_000;
+
+    double regionSkew() default 1.0;
+
+    double producerSkew() default 1.0;
+
+    /**
+     * Prefix of the system properties that override the values above, so {@code "benchmark.queries"}
+     * lets {@code -Pbenchmark.queries.wines=1000000} resize the dataset.
+     */
+    String properties() default "dataset";
+}
\ No newline at end of file
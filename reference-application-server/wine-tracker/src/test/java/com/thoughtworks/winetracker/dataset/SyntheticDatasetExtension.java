@@ -0,0 +1,43 @@
+package com.thoughtworks.winetracker.dataset;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+
+import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
+
+/**
+ * Backs {@link SyntheticDataset}: plans the dataset once per test class and writes it through the
+ * data source of the class's Spring test context.
+ */
+class SyntheticDatasetExtension implements BeforeAllCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SyntheticDatasetExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        SyntheticDataset annotation = findMergedAnnotation(context.getRequiredTestClass(), SyntheticDataset.class);
+        CellarDataset dataset = CellarDataset.plan(new CellarDataset.Spec(annotation.seed(), annotation.regions(),
+                annotation.producers(), annotation.wines(), annotation.regionSkew(), annotation.producerSkew())
+                .withOverrides(annotation.properties()));
+        DataSource dataSource = SpringExtension.getApplicationContext(context).getBean(DataSource.class);
+        dataset.writeTo(new JdbcTemplate(dataSource));
+        context.getStore(NAMESPACE).put(CellarDataset.class, dataset);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == CellarDataset.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(CellarDataset.class, CellarDataset.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.thoughtworks.winetracker.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.thoughtworks.winetracker.wine.region.entity.Region;
+import com.thoughtworks.winetracker.wine.region.exception.RegionNotFoundException;
+import com.thoughtworks.winetracker.wine.region.repository.RegionRepository;
+import com.thoughtworks.winetracker.wine.region.service.RegionService;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ServiceMetricsTest {
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        regionRepository.deleteAll();
+    }
+
+    @Test
+    void serviceTimer_ShouldRecordSuccessfulCall_WithPercentiles() {
+        // Given
+        Region region = regionRepository.save(new Region("Bordeaux", "France"));
+        long before = count(serviceTimer("SUCCESS", "none"));
+
+        // When
+        regionService.findById(region.getId());
+
+        // Then
+        Timer timer = serviceTimer("SUCCESS", "none");
+        assertEquals(before + 1, timer.count());
+        assertEquals(3, timer.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void serviceTimer_ShouldRecordFailedCall_TaggedWithException() {
+        // When
+        assertThrows(RegionNotFoundException.class, () -> regionService.findById(UUID.randomUUID()));
+
+        // Then
+        assertTrue(serviceTimer("ERROR", "RegionNotFoundException").count() >= 1);
+    }
+
+    @Test
+    void repositoryTimerAndHibernateStatistics_ShouldRecordServiceCallQueries() {
+        // Given
+        Region region = regionRepository.save(new Region("Rioja", "Spain"));
+
+        // When
+        regionService.findById(region.getId());
+
+        // Then
+        Timer repository = meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "RegionRepository")
+                .tag("method", "findById")
+                .tag("state", "SUCCESS")
+                .timer();
+        assertTrue(repository.count() >= 1);
+        assertTrue(meterRegistry.get("hibernate.entities.loads").functionCounter().count() >= 1);
+        assertNotNull(meterRegistry.find("hibernate.query.executions.max").timeGauge());
+        assertNotNull(meterRegistry.find("hibernate.cache.query.requests").tag("result", "hit").functionCounter());
+    }
+
+    private Timer serviceTimer(String outcome, String exception) {
+        return meterRegistry.find(ServiceMetrics.TIMER)
+                .tag("service", "RegionService")
+                .tag("method", "findById")
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .timer();
+    }
+
+    private static long count(Timer timer) {
+        return timer == null ? 0 : timer.count();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.thoughtworks.winetracker.persistence;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records every statement executed through the data source together with the parameters bound to
+ * it, so a statement can be replayed, for instance as {@code EXPLAIN ANALYZE} to see how many rows
+ * it read. Register it as a bean; it wraps the application's data source. Only prepared statements
+ * are recorded, which is all Hibernate issues.
+ */
+public class BoundStatements implements BeanPostProcessor {
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    private final List<Executed> executed = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? recording(DataSource.class, dataSource, null) : bean;
+    }
+
+    public void clear() {
+        executed.clear();
+    }
+
+    public List<Executed> executed() {
+        return new ArrayList<>(executed);
+    }
+
+    /**
+     * Rows H2 read to answer the statement, summed over every table access in its plan. Runs the
+     * statement again, so call it inside a transaction that is rolled back for anything but a query.
+     */
+    public static long rowsScanned(Connection connection, Executed statement) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN ANALYZE " + statement.sql())) {
+            for (Binding binding : statement.bindings()) {
+                binding.applyTo(explain);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                long rows = 0;
+                while (plan.next()) {
+                    Matcher scanCount = SCAN_COUNT.matcher(plan.getString(1));
+                    while (scanCount.find()) {
+                        rows += Long.parseLong(scanCount.group(1));
+                    }
+                }
+                return rows;
+            }
+        }
+    }
+
+    private Object recording(Class<?> type, Object target, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            String name = method.getName();
+            if (sql != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (sql != null && (name.equals("clearParameters") || name.equals("addBatch"))) {
+                // A batch is recorded without its rows, there is no single set of parameters to replay
+                bindings.clear();
+            } else if (sql != null && name.startsWith("execute")) {
+                executed.add(new Executed(sql, List.copyOf(bindings)));
+            }
+            Class<?> returned = method.getReturnType();
+            if (result != null && returned == Connection.class) {
+                return recording(Connection.class, result, null);
+            }
+            if (result != null && PreparedStatement.class.isAssignableFrom(returned)) {
+                return recording(returned, result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    public record Executed(String sql, List<Binding> bindings) {
+    }
+
+    public record Binding(Method setter, Object[] arguments) {
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, arguments);
+            } catch (ReflectiveOperationException ex) {
+                throw new SQLException("Could not rebind " + setter.getName(), ex);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.thoughtworks.winetracker.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.thoughtworks.winetracker.wine.producer.entity.Producer;
+import com.thoughtworks.winetracker.wine.producer.repository.ProducerRepository;
+import com.thoughtworks.winetracker.wine.region.entity.Region;
+import com.thoughtworks.winetracker.wine.region.repository.RegionRepository;
+import com.thoughtworks.winetracker.wine.wine.repository.WineRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls every query method declared on the repositories and runs EXPLAIN on each statement it
+ * sends. A statement that reads a table without an index fails the test. New repository queries
+ * are picked up automatically; WineSearchPlanTest covers the search filter combinations.
+ */
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            RegionRepository.class, ProducerRepository.class, WineRepository.class);
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Region region;
+    private Producer producer;
+
+    static Stream<Arguments> queryMethods() {
+        return REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                        .sorted(Comparator.comparing(Method::getName)))
+                .map(method -> Arguments.of(method.getDeclaringClass().getSimpleName() + "." + method.getName(), method));
+    }
+
+    @BeforeEach
+    void setUp() {
+        region = entityManager.persistAndFlush(new Region("Bordeaux", "France"));
+        producer = entityManager.persistAndFlush(new Producer("Château Margaux"));
+        SqlCapture.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queryMethods")
+    void repositoryQuery_ShouldNotScanTables(String query, Method method) throws Exception {
+        // When
+        method.invoke(applicationContext.getBean(method.getDeclaringClass()), arguments(method));
+
+        // Then
+        List<String> statements = SqlCapture.statements();
+        assertThat(statements).as(query).isNotEmpty();
+        for (String sql : statements) {
+            String plan = QueryPlans.explain(dataSource, sql);
+            assertThat(QueryPlans.scansTable(plan)).as("%s scans a table:%n%s", query, plan).isFalse();
+        }
+    }
+
+    private Object[] arguments(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(this::sampleValue).toArray();
+    }
+
+    private Object sampleValue(Class<?> type) {
+        if (type == String.class) {
+            return "value";
+        }
+        if (type == Integer.class) {
+            return 2015;
+        }
+        if (type == Region.class) {
+            return region;
+        }
+        if (type == Producer.class) {
+            return producer;
+        }
+        throw new IllegalArgumentException("No sample value for " + type.getName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.thoughtworks.winetracker.persistence;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Counts the statements executed through the data source, by type, so a test can hold a request or
+ * a service call to a statement budget. A lazy association read per row shows up as a count that
+ * grows with the rows returned. Register it as a bean; it wraps the application's data source.
+ *
+ * <p>Every execution counts once, a JDBC batch included, on whichever thread it runs.
+ */
+public class StatementCounter implements BeanPostProcessor {
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        static Type of(String sql) {
+            String keyword = sql.stripLeading().split("\\s", 2)[0].toUpperCase(Locale.ROOT);
+            return switch (keyword) {
+                case "SELECT", "WITH" -> SELECT;
+                case "INSERT", "MERGE" -> INSERT;
+                case "UPDATE" -> UPDATE;
+                case "DELETE" -> DELETE;
+                default -> OTHER;
+            };
+        }
+    }
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? counting(DataSource.class, dataSource, null) : bean;
+    }
+
+    /**
+     * The statements the action executed.
+     */
+    public Counts count(Action action) throws Exception {
+        executed.clear();
+        action.run();
+        return new Counts(new ArrayList<>(executed));
+    }
+
+    private Object counting(Class<?> type, Object target, String sql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            String name = method.getName();
+            if (Statement.class.isAssignableFrom(type) && name.startsWith("execute")) {
+                // A plain statement gets its SQL with the call, a prepared one when it was prepared
+                executed.add(sql != null ? sql : args != null && args.length > 0 ? (String) args[0] : "batch");
+            }
+            Class<?> returned = method.getReturnType();
+            if (result != null && returned == Connection.class) {
+                return counting(Connection.class, result, null);
+            }
+            if (result != null && Statement.class.isAssignableFrom(returned)) {
+                return counting(returned, result, args != null && args.length > 0 && args[0] instanceof String s
+                        ? s : null);
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public record Counts(List<String> statements) {
+
+        public int total() {
+            return statements.size();
+        }
+
+        public long of(Type type) {
+            return statements.stream().filter(sql -> Type.of(sql) == type).count();
+        }
+
+        public Map<Type, Long> byType() {
+            Map<Type, Long> byType = new EnumMap<>(Type.class);
+            statements.forEach(sql -> byType.merge(Type.of(sql), 1L, Long::sum));
+            return byType;
+        }
+
+        /**
+         * Fails, listing the statements, when more than {@code budget} were executed.
+         */
+        public Counts assertWithinBudget(String action, int budget) {
+            if (total() > budget) {
+                throw new AssertionError(String.format("%s ran %d statements %s, over its budget of %d:%n  %s",
+                        action, total(), byType(), budget, String.join(System.lineSeparator() + "  ", statements)));
+            }
+            return this;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.thoughtworks.winetracker.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import com.thoughtworks.winetracker.persistence.StatementCounter;
+import com.thoughtworks.winetracker.wine.producer.entity.Producer;
+import com.thoughtworks.winetracker.wine.producer.repository.ProducerRepository;
+import com.thoughtworks.winetracker.wine.region.entity.Region;
+import com.thoughtworks.winetracker.wine.region.repository.RegionRepository;
+import com.thoughtworks.winetracker.wine.wine.entity.Wine;
+import com.thoughtworks.winetracker.wine.wine.repository.WineRepository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Holds every endpoint to the number of statements it may run against a cellar where each wine
+ * comes from its own producer and region, so mapping a lazy association per row blows the budget.
+ * Raise a budget only together with the change that needs the extra statement.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.class)
+class EndpointStatementBudgetTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private ProducerRepository producerRepository;
+
+    @Autowired
+    private WineRepository wineRepository;
+
+    private Cellar cellar;
+
+    @BeforeEach
+    void setUp() {
+        Wine wine = null;
+        Producer producer = null;
+        Region region = null;
+        for (int i = 0; i < ROWS; i++) {
+            region = regionRepository.save(new Region("Region " + i, "France", null, "Maritime"));
+            producer = producerRepository.save(new Producer("Producer " + i, null, 1900, null, region));
+            wine = wineRepository.save(new Wine("Wine " + i, 2015, 13.5, "Red", LocalDate.of(2020, 1, 1), 8,
+                    null, 40.0, producer, region));
+        }
+        Region emptyRegion = regionRepository.save(new Region("Empty Region", "Italy"));
+        Producer idleProducer = producerRepository.save(new Producer("Idle Producer", null, 1950, null, region));
+        cellar = new Cellar(region.getId(), emptyRegion.getId(), producer.getId(), idleProducer.getId(), wine.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wineRepository.deleteAll();
+        producerRepository.deleteAll();
+        regionRepository.deleteAll();
+    }
+
+    static Stream<Arguments> budgets() {
+        return Stream.of(
+                budget("GET /api/v1/wines", 3, cellar -> get("/api/v1/wines")),
+                budget("GET /api/v1/wines/{id}", 3, cellar -> get("/api/v1/wines/{id}", cellar.wine())),
+                budget("POST /api/v1/wines", 3, cellar -> post("/api/v1/wines").contentType(MediaType.APPLICATION_JSON)
+                        .content(wineJson(cellar))),
+                budget("PUT /api/v1/wines/{id}", 4, cellar -> put("/api/v1/wines/{id}", cellar.wine())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(wineJson(cellar))),
+                budget("DELETE /api/v1/wines/{id}", 3, cellar -> delete("/api/v1/wines/{id}", cellar.wine())),
+                budget("GET /api/v1/producers", 2, cellar -> get("/api/v1/producers")),
+                budget("GET /api/v1/producers/{id}", 2, cellar -> get("/api/v1/producers/{id}", cellar.producer())),
+                budget("POST /api/v1/producers", 2, cellar -> post("/api/v1/producers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(producerJson(cellar))),
+                budget("PUT /api/v1/producers/{id}", 3, cellar -> put("/api/v1/producers/{id}", cellar.idleProducer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(producerJson(cellar))),
+                budget("DELETE /api/v1/producers/{id}", 4,
+                        cellar -> delete("/api/v1/producers/{id}", cellar.idleProducer())),
+                budget("GET /api/v1/regions", 1, cellar -> get("/api/v1/regions")),
+                budget("GET /api/v1/regions/{id}", 1, cellar -> get("/api/v1/regions/{id}", cellar.region())),
+                budget("POST /api/v1/regions", 1, cellar -> post("/api/v1/regions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Budgeted Region\", \"country\": \"Spain\"}")),
+                budget("PUT /api/v1/regions/{id}", 2, cellar -> put("/api/v1/regions/{id}", cellar.emptyRegion())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed Region\", \"country\": \"Spain\"}")),
+                budget("DELETE /api/v1/regions/{id}", 5,
+                        cellar -> delete("/api/v1/regions/{id}", cellar.emptyRegion())));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    void endpoint_ShouldStayWithinStatementBudget_WhenEveryRowHasItsOwnAssociations(
+            String endpoint, int budget, Function<Cellar, MockHttpServletRequestBuilder> request) throws Exception {
+        // When
+        StatementCounter.Counts counts = statementCounter.count(
+                () -> mockMvc.perform(request.apply(cellar)).andExpect(status().is2xxSuccessful()));
+
+        // Then
+        counts.assertWithinBudget(endpoint, budget);
+    }
+
+    private static Arguments budget(String endpoint, int statements,
+                                    Function<Cellar, MockHttpServletRequestBuilder> request) {
+        return Arguments.of(endpoint, statements, request);
+    }
+
+    private static String wineJson(Cellar cellar) {
+        return "{\"name\": \"Budgeted Wine\", \"color\": \"White\", \"drinkingDate\": \"2021-01-01\", "
+                + "\"producerId\": \"" + cellar.producer() + "\", \"regionId\": \"" + cellar.region() + "\"}";
+    }
+
+    private static String producerJson(Cellar cellar) {
+        return "{\"name\": \"Budgeted Producer\", \"regionId\": \"" + cellar.region() + "\"}";
+    }
+
+    record Cellar(UUID region, UUID emptyRegion, UUID producer, UUID idleProducer, UUID wine) {
+    }
+}
\ No newline at end of file
@@ -57,8 +57,8 @@ class ProducerServiceTest {
         regionId = UUID.randomUUID();
         region = new Region("Bordeaux", "France");
         producer = new Producer("Château Margaux", "Famous winery", 1815, "https://chateau-margaux.com", region);
-        regionDto = new RegionDto(regionId, "Bordeaux", "France", null, null);
-        producerDto = new ProducerDto(producerId, "Château Margaux", "Famous winery", 1815, "https://chateau-margaux.com", regionDto);
+        regionDto = new RegionDto(regionId, "Bordeaux", "France", null, null, 0L);
+        producerDto = new ProducerDto(producerId, "Château Margaux", "Famous winery", 1815, "https://chateau-margaux.com", regionDto, 0L);
         createRequest = new CreateProducerRequest("Château Margaux", "Famous winery", 1815, "https://chateau-margaux.com", regionId);
         updateRequest = new UpdateProducerRequest("Updated Château Margaux", "Updated description", 1815, "https://updated-url.com", regionId);
     }
@@ -45,7 +45,7 @@ class RegionServiceTest {
     void setUp() {
         regionId = UUID.randomUUID();
         region = new Region("Bordeaux", "France", "Famous wine region", "Maritime");
-        regionDto = new RegionDto(regionId, "Bordeaux", "France", "Famous wine region", "Maritime");
+        regionDto = new RegionDto(regionId, "Bordeaux", "France", "Famous wine region", "Maritime", 0L);
         createRequest = new CreateRegionRequest("Bordeaux", "France", "Famous wine region", "Maritime");
         updateRequest = new UpdateRegionRequest("Updated Bordeaux", "France", "Updated description", "Maritime");
     }
@@ -1,6 +1,8 @@
 package com.thoughtworks.winetracker.wine.wine.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.winetracker.exception.PreconditionFailedException;
+import com.thoughtworks.winetracker.persistence.TableVersions;
 import com.thoughtworks.winetracker.wine.wine.service.WineService;
 import com.thoughtworks.winetracker.wine.wine.dto.WineDto;
 import com.thoughtworks.winetracker.wine.wine.dto.CreateWineRequest;
@@ -9,7 +11,9 @@ import com.thoughtworks.winetracker.wine.wine.exception.WineNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -20,11 +24,13 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(WineController.class)
+@Import(TableVersions.class)
 class WineControllerTest {
 
     @Autowired
@@ -128,6 +134,57 @@ class WineControllerTest {
         verify(wineService).findById(wineId);
     }
 
+    @Test
+    void findAll_ShouldReturnNotModified_WhenTagMatches() throws Exception {
+        // Given
+        when(wineService.findAll()).thenReturn(List.of());
+        String etag = mockMvc.perform(get("/api/v1/wines"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/wines").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(wineService, times(1)).findAll();
+    }
+
+    @Test
+    void findById_ShouldReturnNotModified_WhenTagMatchesVersions() throws Exception {
+        // Given
+        UUID wineId = UUID.randomUUID();
+        WineDto expectedDto = new WineDto();
+        expectedDto.setId(wineId);
+        expectedDto.setVersion(3L);
+        when(wineService.findById(wineId)).thenReturn(expectedDto);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/wines/{id}", wineId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.0.0\""));
+        mockMvc.perform(get("/api/v1/wines/{id}", wineId).header(HttpHeaders.IF_NONE_MATCH, "\"3.0.0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void update_ShouldPassIfMatchVersion_AndReturnPreconditionFailed_WhenStale() throws Exception {
+        // Given
+        UUID wineId = UUID.randomUUID();
+        UpdateWineRequest request = new UpdateWineRequest();
+        request.setName("Updated Wine");
+        when(wineService.update(eq(wineId), any(UpdateWineRequest.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException("Wine", wineId));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/wines/{id}", wineId)
+                .header(HttpHeaders.IF_MATCH, "\"3.1.1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void findById_ShouldReturnNotFound_WhenWineDoesNotExist() throws Exception {
         // Given
@@ -156,7 +213,7 @@ class WineControllerTest {
         expectedDto.setVintage(2021);
         expectedDto.setPersonalRating(9);
 
-        when(wineService.update(eq(wineId), any(UpdateWineRequest.class))).thenReturn(expectedDto);
+        when(wineService.update(eq(wineId), any(UpdateWineRequest.class), isNull())).thenReturn(expectedDto);
 
         // When & Then
         mockMvc.perform(put("/api/v1/wines/{id}", wineId)
@@ -168,7 +225,7 @@ class WineControllerTest {
                 .andExpect(jsonPath("$.vintage").value(2021))
                 .andExpect(jsonPath("$.personalRating").value(9));
 
-        verify(wineService).update(eq(wineId), any(UpdateWineRequest.class));
+        verify(wineService).update(eq(wineId), any(UpdateWineRequest.class), isNull());
     }
 
     @Test
@@ -178,7 +235,7 @@ class WineControllerTest {
         UpdateWineRequest request = new UpdateWineRequest();
         request.setName("Updated Wine");
 
-        when(wineService.update(eq(wineId), any(UpdateWineRequest.class)))
+        when(wineService.update(eq(wineId), any(UpdateWineRequest.class), isNull()))
                 .thenThrow(new WineNotFoundException(wineId));
 
         // When & Then
@@ -187,7 +244,7 @@ class WineControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isNotFound());
 
-        verify(wineService).update(eq(wineId), any(UpdateWineRequest.class));
+        verify(wineService).update(eq(wineId), any(UpdateWineRequest.class), isNull());
     }
 
     @Test
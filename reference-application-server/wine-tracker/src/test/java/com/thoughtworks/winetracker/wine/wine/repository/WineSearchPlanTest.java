@@ -0,0 +1,90 @@
+package com.thoughtworks.winetracker.wine.wine.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.thoughtworks.winetracker.persistence.QueryPlans;
+import com.thoughtworks.winetracker.persistence.SqlCapture;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the wine search with each filter combination and asks H2 for the plan of the statement
+ * Hibernate actually sent. Any combination with a vintage or rating must look the wines up through
+ * an index on one of those columns; a name on its own is a contains match and stays a scan.
+ */
+@DataJpaTest(properties = SqlCapture.PROPERTY)
+@ActiveProfiles("test")
+class WineSearchPlanTest {
+
+    private static final String NAME = "NAME";
+    private static final String VINTAGE = "VINTAGE";
+    private static final String RATING = "PERSONAL_RATING";
+
+    @Autowired
+    private WineRepository wineRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.clear();
+    }
+
+    static Stream<List<String>> indexedFilters() {
+        return Stream.of(List.of(VINTAGE), List.of(RATING), List.of(NAME, VINTAGE), List.of(NAME, RATING),
+                List.of(VINTAGE, RATING), List.of(NAME, VINTAGE, RATING));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("indexedFilters")
+    void searchWines_ShouldLookUpThroughIndex(List<String> filters) throws SQLException {
+        // When
+        search(filters);
+
+        // Then
+        String plan = QueryPlans.explain(dataSource, SqlCapture.last());
+        assertThat(plan).doesNotContain("WINES.tableScan");
+        String condition = QueryPlans.indexCondition(plan, "WINES").orElseThrow(() -> new AssertionError(plan));
+        assertThat(List.of(VINTAGE, RATING)).as(plan)
+                .anyMatch(column -> filters.contains(column) && condition.contains(column));
+    }
+
+    @Test
+    void searchWines_ShouldOnlySendGivenFilters() {
+        // When
+        search(List.of(VINTAGE));
+
+        // Then
+        assertThat(SqlCapture.last()).doesNotContainIgnoringCase(" is null")
+                .doesNotContainIgnoringCase("like")
+                .doesNotContainIgnoringCase("personal_rating=");
+    }
+
+    @Test
+    void searchWines_ShouldScan_WhenOnlyNameIsGiven() throws SQLException {
+        // When
+        search(List.of(NAME));
+
+        // Then
+        assertThat(QueryPlans.explain(dataSource, SqlCapture.last())).contains("WINES.tableScan");
+    }
+
+    private void search(List<String> filters) {
+        wineRepository.searchWines(
+                filters.contains(NAME) ? "château" : null,
+                filters.contains(VINTAGE) ? 2015 : null,
+                filters.contains(RATING) ? 9 : null);
+    }
+}
\ No newline at end of file
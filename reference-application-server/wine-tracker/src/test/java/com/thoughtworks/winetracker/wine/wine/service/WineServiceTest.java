@@ -72,9 +72,9 @@ class WineServiceTest {
         producer = new Producer("Château Margaux", "Famous winery", 1815, "https://chateau-margaux.com", region);
         wine = new Wine("Château Margaux 2015", 2015, 13.5, "Red", LocalDate.of(2023, 6, 15), 9, "Excellent wine", 500.0, producer, region);
         
-        regionDto = new RegionDto(regionId, "Bordeaux", "France", null, null);
-        producerDto = new ProducerDto(producerId, "Château Margaux", "Famous winery", 1815, "https://chateau-margaux.com", regionDto);
-        wineDto = new WineDto(wineId, "Château Margaux 2015", 2015, 13.5, "Red", LocalDate.of(2023, 6, 15), 9, "Excellent wine", 500.0, producerDto, regionDto);
+        regionDto = new RegionDto(regionId, "Bordeaux", "France", null, null, 0L);
+        producerDto = new ProducerDto(producerId, "Château Margaux", "Famous winery", 1815, "https://chateau-margaux.com", regionDto, 0L);
+        wineDto = new WineDto(wineId, "Château Margaux 2015", 2015, 13.5, "Red", LocalDate.of(2023, 6, 15), 9, "Excellent wine", 500.0, producerDto, regionDto, 0L);
         
         createRequest = new CreateWineRequest("Château Margaux 2015", 2015, 13.5, "Red", LocalDate.of(2023, 6, 15), 9, "Excellent wine", 500.0, producerId, regionId);
         updateRequest = new UpdateWineRequest("Updated Wine", 2016, 14.0, "Red", LocalDate.of(2023, 7, 15), 8, "Updated notes", 600.0, producerId, regionId);
@@ -180,7 +180,7 @@ class WineServiceTest {
         when(repository.findById(wineId)).thenReturn(Optional.of(wine));
         when(producerRepository.findById(producerId)).thenReturn(Optional.of(producer));
         when(regionRepository.findById(regionId)).thenReturn(Optional.of(region));
-        when(repository.save(wine)).thenReturn(wine);
+        when(repository.saveAndFlush(wine)).thenReturn(wine);
         when(mapper.toDto(wine)).thenReturn(wineDto);
 
         // When
@@ -193,7 +193,7 @@ class WineServiceTest {
         verify(producerRepository).findById(producerId);
         verify(regionRepository).findById(regionId);
         verify(mapper).updateEntity(wine, updateRequest, producer, region);
-        verify(repository).save(wine);
+        verify(repository).saveAndFlush(wine);
         verify(mapper).toDto(wine);
     }
 
@@ -208,7 +208,7 @@ class WineServiceTest {
         verify(producerRepository, never()).findById(any());
         verify(regionRepository, never()).findById(any());
         verify(mapper, never()).updateEntity(any(), any(), any(), any());
-        verify(repository, never()).save(any());
+        verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -216,7 +216,7 @@ class WineServiceTest {
         // Given
         UpdateWineRequest requestWithoutIds = new UpdateWineRequest("Updated Wine", 2016, 14.0, "Red", LocalDate.of(2023, 7, 15), 8, "Updated notes", 600.0, null, null);
         when(repository.findById(wineId)).thenReturn(Optional.of(wine));
-        when(repository.save(wine)).thenReturn(wine);
+        when(repository.saveAndFlush(wine)).thenReturn(wine);
         when(mapper.toDto(wine)).thenReturn(wineDto);
 
         // When
@@ -228,7 +228,7 @@ class WineServiceTest {
         verify(producerRepository, never()).findById(any());
         verify(regionRepository, never()).findById(any());
         verify(mapper).updateEntity(wine, requestWithoutIds, null, null);
-        verify(repository).save(wine);
+        verify(repository).saveAndFlush(wine);
         verify(mapper).toDto(wine);
     }
 